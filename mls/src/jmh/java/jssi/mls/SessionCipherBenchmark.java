@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls;
+
+import java.util.concurrent.TimeUnit;
+
+import jssi.mls.protocol.Message;
+import jssi.mls.state.ProtocolStore;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.store.InMemoryProtocolStore;
+import jssi.mls.util.KeyHelper;
+import org.libsodium.jni.NaCl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static jssi.mls.ratchet.SessionFixtures.initializeSessions;
+
+/**
+ * Messages per second sent and received over one session on the in-memory store, sealed with AES-CBC and
+ * HMAC (version 3) or with ChaCha20-Poly1305 (version 4).
+ *
+ * @author ITON Solutions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SessionCipherBenchmark {
+
+    private static final ProtocolAddress ALICE_ADDRESS = new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1);
+    private static final ProtocolAddress BOB_ADDRESS = new ProtocolAddress("KHegADqTR3HZFJUS2nHDzD", 1);
+
+    @Param({"3", "4"})
+    private int version;
+
+    @Param({"64", "4096"})
+    private int size;
+
+    private byte[] plaintext;
+    private SessionCipher aliceCipher;
+    private SessionCipher bobCipher;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        NaCl.sodium();
+
+        plaintext = new byte[size];
+        ProtocolStore aliceStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), 1);
+        ProtocolStore bobStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), 2);
+
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        // alice never receives, she keeps sending in the version set here
+        aliceSessionRecord.getSessionState().setMessageVersion(version);
+
+        aliceStore.storeSession(BOB_ADDRESS, aliceSessionRecord);
+        aliceStore.saveIdentity(BOB_ADDRESS, aliceSessionRecord.getSessionState().getRemoteIdentityKey());
+        bobStore.storeSession(ALICE_ADDRESS, bobSessionRecord);
+        bobStore.saveIdentity(ALICE_ADDRESS, bobSessionRecord.getSessionState().getRemoteIdentityKey());
+
+        aliceCipher = new SessionCipher(aliceStore, BOB_ADDRESS);
+        bobCipher = new SessionCipher(bobStore, ALICE_ADDRESS);
+    }
+
+    @Benchmark
+    public byte[] message() throws Exception {
+        return bobCipher.decrypt(new Message(aliceCipher.encrypt(plaintext).serialize()));
+    }
+}
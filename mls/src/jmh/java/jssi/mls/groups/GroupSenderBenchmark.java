@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.groups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jssi.mls.ProtocolAddress;
+import jssi.mls.groups.state.SenderKeyRecord;
+import jssi.mls.groups.state.SenderKeyStore;
+import org.libsodium.jni.NaCl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Group messages per second encrypted under one sender key stored serialized, as a wallet stores it:
+ * by {@link GroupCipher} one at a time and by {@link GroupSender} one at a time or in batches.
+ *
+ * @author ITON Solutions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GroupSenderBenchmark {
+
+    private static final SenderKeyName GROUP_SENDER = new SenderKeyName("group", new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1));
+    private static final int BATCH = 64;
+
+    private byte[] plaintext;
+    private List<byte[]> plaintexts;
+    private GroupCipher cipher;
+    private GroupSender sender;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        NaCl.sodium();
+
+        plaintext = new byte[256];
+        plaintexts = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            plaintexts.add(plaintext);
+        }
+
+        SerializedSenderKeyStore store = new SerializedSenderKeyStore();
+        new GroupSessionBuilder(store).create(GROUP_SENDER);
+
+        cipher = new GroupCipher(store, GROUP_SENDER);
+        sender = new GroupSender(store, GROUP_SENDER);
+    }
+
+    @Benchmark
+    public byte[] cipher() throws Exception {
+        return cipher.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public byte[] sender() throws Exception {
+        return sender.encrypt(plaintext);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<byte[]> batch() throws Exception {
+        return sender.encrypt(plaintexts);
+    }
+
+    private static class SerializedSenderKeyStore implements SenderKeyStore {
+
+        private byte[] record;
+
+        @Override
+        public synchronized void storeSenderKey(SenderKeyName senderKeyName, SenderKeyRecord record) {
+            this.record = record.serialize();
+        }
+
+        @Override
+        public synchronized SenderKeyRecord loadSenderKey(SenderKeyName senderKeyName) {
+            try {
+                return record == null ? new SenderKeyRecord() : new SenderKeyRecord(record);
+            } catch (java.io.IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
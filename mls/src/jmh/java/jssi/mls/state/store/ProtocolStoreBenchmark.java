@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import jssi.mls.IdentityKey;
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.ProtocolAddress;
+import jssi.mls.SessionCipher;
+import jssi.mls.ecc.Curve;
+import jssi.mls.ecc.ECKeyPair;
+import jssi.mls.protocol.CiphertextMessage;
+import jssi.mls.protocol.Message;
+import jssi.mls.state.ProtocolStore;
+import jssi.mls.state.SessionRecord;
+import jssi.wallet.Wallet;
+import jssi.wallet.WalletService;
+import jssi.wallet.store.StoreHelper;
+import org.json.JSONObject;
+import org.libsodium.jni.NaCl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static jssi.mls.ratchet.SessionFixtures.initializeSessions;
+
+/**
+ * Messages per second sent and received over one session, both parties on the in-memory store, on the
+ * wallet store with batched writes or on the wallet store writing every message through. The receiver
+ * optionally keeps the keys of skipped messages, as after out of order delivery.
+ * <p>
+ * The wallet stores keep live sessions in a {@link CachingSessionStore}, so unlike the in-memory store
+ * they do not serialize the session on every message. A single session never fills a batch of dirty
+ * sessions, the batched store is flushed every batch of messages so its wallet writes are measured.
+ *
+ * @author ITON Solutions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProtocolStoreBenchmark {
+
+    private static final ProtocolAddress ALICE_ADDRESS = new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1);
+    private static final ProtocolAddress BOB_ADDRESS = new ProtocolAddress("KHegADqTR3HZFJUS2nHDzD", 1);
+    private static final byte[] PLAINTEXT = new byte[256];
+
+    @Param({"memory", "wallet", "wallet_sync"})
+    private String store;
+
+    // keys of undelivered messages the receiving chain holds during the run
+    @Param({"0", "1000"})
+    private int skipped;
+
+    private String path;
+    private WalletService service;
+    private ProtocolStore aliceStore;
+    private ProtocolStore bobStore;
+    private SessionCipher aliceCipher;
+    private SessionCipher bobCipher;
+    private int batchSize;
+    private int messages;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        NaCl.sodium();
+
+        ECKeyPair keyPair = Curve.generateKeyPair();
+        IdentityKeyPair identityKeyPair = new IdentityKeyPair(new IdentityKey(keyPair.getPublicKey()), keyPair.getPrivateKey());
+
+        if (store.equals("memory")) {
+            aliceStore = new InMemoryProtocolStore(identityKeyPair, 1);
+            bobStore = new InMemoryProtocolStore(identityKeyPair, 2);
+        } else {
+            path = File.createTempFile("mls", ".db").getAbsolutePath();
+            JSONObject credentials = new JSONObject();
+            credentials.put("id", "mls_benchmark");
+            credentials.put("key", "mls_benchmark_key");
+            credentials.put("path", path);
+            credentials.put("key_derivation_method", "ARGON2I_INT");
+            service = new WalletService(credentials);
+            service.create().blockingFirst();
+            Wallet wallet = service.open().blockingFirst();
+
+            batchSize = store.equals("wallet") ? WalletProtocolStore.DEFAULT_BATCH_SIZE : 1;
+            aliceStore = new WalletProtocolStore(wallet, identityKeyPair, 1, batchSize);
+            bobStore = new WalletProtocolStore(wallet, identityKeyPair, 2, batchSize);
+        }
+
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        aliceStore.storeSession(BOB_ADDRESS, aliceSessionRecord);
+        aliceStore.saveIdentity(BOB_ADDRESS, aliceSessionRecord.getSessionState().getRemoteIdentityKey());
+        bobStore.storeSession(ALICE_ADDRESS, bobSessionRecord);
+        bobStore.saveIdentity(ALICE_ADDRESS, bobSessionRecord.getSessionState().getRemoteIdentityKey());
+
+        aliceCipher = new SessionCipher(aliceStore, BOB_ADDRESS);
+        bobCipher = new SessionCipher(bobStore, ALICE_ADDRESS);
+
+        for (int i = 0; i < skipped; i++) {
+            aliceCipher.encrypt(PLAINTEXT);
+        }
+        message();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (service != null) {
+            ((WalletProtocolStore) aliceStore).flush();
+            ((WalletProtocolStore) bobStore).flush();
+            service.close();
+            StoreHelper.closeSource(path);
+            new File(path).delete();
+        }
+    }
+
+    @Benchmark
+    public byte[] message() throws Exception {
+        byte[] plaintext = bobCipher.decrypt(new Message(aliceCipher.encrypt(PLAINTEXT).serialize()));
+        flush(1);
+        return plaintext;
+    }
+
+    /**
+     * Two messages received in reverse order, the second one is decrypted with a skipped key.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public byte[] reordered() throws Exception {
+        CiphertextMessage first = aliceCipher.encrypt(PLAINTEXT);
+        bobCipher.decrypt(new Message(aliceCipher.encrypt(PLAINTEXT).serialize()));
+        byte[] plaintext = bobCipher.decrypt(new Message(first.serialize()));
+        flush(2);
+        return plaintext;
+    }
+
+    private void flush(int count) {
+        if (service == null) {
+            return;
+        }
+        messages += count;
+        if (messages >= batchSize) {
+            ((WalletProtocolStore) aliceStore).flush();
+            ((WalletProtocolStore) bobStore).flush();
+            messages = 0;
+        }
+    }
+}
@@ -15,6 +15,10 @@
  */
 package jssi.mls;
 
+/**
+ * Runs while the lock of the decrypting session is held, so it must not encrypt or decrypt
+ * on the session of another address or sender key.
+ */
 public interface DecryptionCallback {
   public void handlePlaintext(byte[] plaintext);
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls;
+
+import jssi.mls.protocol.CiphertextMessage;
+import jssi.mls.state.BatchSessionStore;
+import jssi.mls.state.IdentityKeyStore;
+import jssi.mls.state.ProtocolStore;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.SessionStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Encrypts one message to several remote clients, e.g. every device of a recipient. The sessions are
+ * locked together, loaded in one batch, encrypted in parallel and stored in one batch when the session
+ * store is a {@link BatchSessionStore}. Messages to a single client go through {@link SessionCipher}.
+ *
+ * @author ITON Solutions
+ */
+public class MultiSessionCipher {
+
+    private final SessionStore sessionStore;
+    private final IdentityKeyStore identityKeyStore;
+    private final ExecutorService executor;
+
+    public MultiSessionCipher(ProtocolStore store) {
+        this(store, store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor runs the encryption of each session, tasks never wait on each other
+     */
+    public MultiSessionCipher(SessionStore sessionStore, IdentityKeyStore identityKeyStore, ExecutorService executor) {
+        this.sessionStore = sessionStore;
+        this.identityKeyStore = identityKeyStore;
+        this.executor = executor;
+    }
+
+    /**
+     * Encrypt a message to every remote address. Either every session advances or, on an exception,
+     * none does.
+     *
+     * @param  remoteAddresses The addresses of the remote clients, duplicates are ignored.
+     * @param  paddedMessage The plaintext message bytes, optionally padded to a constant multiple.
+     * @return The ciphertext messages by address, in the order of the addresses.
+     * @throws NoSessionException when there is no session with one of the addresses.
+     * @throws UntrustedIdentityException when the identity key of one of the addresses is untrusted.
+     */
+    public Map<ProtocolAddress, CiphertextMessage> encrypt(List<ProtocolAddress> remoteAddresses, final byte[] paddedMessage)
+            throws NoSessionException, UntrustedIdentityException {
+        final List<ProtocolAddress> addresses = new ArrayList<>(new LinkedHashSet<>(remoteAddresses));
+
+        try {
+            return SessionCipher.callLocked(addresses, new Callable<Map<ProtocolAddress, CiphertextMessage>>() {
+                @Override
+                public Map<ProtocolAddress, CiphertextMessage> call() throws NoSessionException, UntrustedIdentityException {
+                    return encrypt(addresses, loadSessions(addresses), paddedMessage);
+                }
+            });
+        } catch (NoSessionException | UntrustedIdentityException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private Map<ProtocolAddress, CiphertextMessage> encrypt(List<ProtocolAddress> addresses,
+                                                            Map<ProtocolAddress, SessionRecord> records,
+                                                            byte[] paddedMessage)
+            throws NoSessionException, UntrustedIdentityException {
+        for (ProtocolAddress address : addresses) {
+            SessionRecord record = records.get(address);
+
+            if (!record.getSessionState().hasSenderChain()) {
+                throw new NoSessionException(String.format("No session for (%s)!", address));
+            }
+
+            IdentityKey identityKey = record.getSessionState().getRemoteIdentityKey();
+            if (!identityKeyStore.isTrustedIdentity(address, identityKey, IdentityKeyStore.Direction.SENDING)) {
+                throw new UntrustedIdentityException(address.getDid(), identityKey);
+            }
+        }
+
+        Map<ProtocolAddress, CiphertextMessage> messages = new LinkedHashMap<>();
+        if (addresses.size() == 1) {
+            messages.put(addresses.get(0), SessionCipher.encrypt(records.get(addresses.get(0)).getSessionState(), paddedMessage));
+        } else {
+            List<Callable<CiphertextMessage>> tasks = new ArrayList<>();
+            for (ProtocolAddress address : addresses) {
+                tasks.add(new EncryptTask(records.get(address), paddedMessage));
+            }
+
+            List<Future<CiphertextMessage>> results = invokeAll(tasks);
+            for (int i = 0; i < addresses.size(); i++) {
+                messages.put(addresses.get(i), get(results.get(i)));
+            }
+        }
+
+        for (ProtocolAddress address : addresses) {
+            identityKeyStore.saveIdentity(address, records.get(address).getSessionState().getRemoteIdentityKey());
+        }
+        storeSessions(records);
+
+        return messages;
+    }
+
+    private Map<ProtocolAddress, SessionRecord> loadSessions(List<ProtocolAddress> addresses) {
+        if (sessionStore instanceof BatchSessionStore) {
+            return ((BatchSessionStore) sessionStore).loadSessions(addresses);
+        }
+
+        Map<ProtocolAddress, SessionRecord> records = new LinkedHashMap<>();
+        for (ProtocolAddress address : addresses) {
+            records.put(address, sessionStore.loadSession(address));
+        }
+        return records;
+    }
+
+    private void storeSessions(Map<ProtocolAddress, SessionRecord> records) {
+        if (sessionStore instanceof BatchSessionStore) {
+            ((BatchSessionStore) sessionStore).storeSessions(records);
+            return;
+        }
+
+        for (Map.Entry<ProtocolAddress, SessionRecord> record : records.entrySet()) {
+            sessionStore.storeSession(record.getKey(), record.getValue());
+        }
+    }
+
+    private List<Future<CiphertextMessage>> invokeAll(List<Callable<CiphertextMessage>> tasks) {
+        try {
+            return executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CiphertextMessage get(Future<CiphertextMessage> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new AssertionError(e.getCause());
+        }
+    }
+
+    private static class EncryptTask implements Callable<CiphertextMessage> {
+
+        private final SessionRecord record;
+        private final byte[] paddedMessage;
+
+        EncryptTask(SessionRecord record, byte[] paddedMessage) {
+            this.record = record;
+            this.paddedMessage = paddedMessage;
+        }
+
+        @Override
+        public CiphertextMessage call() {
+            return SessionCipher.encrypt(record.getSessionState(), paddedMessage);
+        }
+    }
+}
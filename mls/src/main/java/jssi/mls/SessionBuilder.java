@@ -168,7 +168,7 @@ public class SessionBuilder {
      *                                    trusted.
      */
     public void process(PreKeyBundle preKey) throws InvalidKeyException, UntrustedIdentityException, SodiumException {
-        synchronized (SessionCipher.SESSION_LOCK) {
+        synchronized (SessionCipher.getLock(remoteAddress)) {
 
             if (!identityKeyStore.isTrustedIdentity(remoteAddress, preKey.getIdentityKey(), IdentityKeyStore.Direction.SENDING)) {
                 throw new UntrustedIdentityException(remoteAddress.getDid(), preKey.getIdentityKey());
@@ -19,8 +19,11 @@ import jssi.mls.ecc.Curve;
 import jssi.mls.ecc.ECKeyPair;
 import jssi.mls.ecc.ECPublicKey;
 import jssi.mls.state.*;
+import jssi.mls.util.Ciphers;
 import jssi.mls.util.Pair;
+import jssi.mls.util.StripedLock;
 import jssi.mls.util.guava.Optional;
+import org.libsodium.api.Crypto_aead_chacha20poly1305_ietf;
 import org.libsodium.jni.SodiumException;
 import jssi.mls.protocol.CiphertextMessage;
 import jssi.mls.protocol.PreKeyMessage;
@@ -32,16 +35,19 @@ import jssi.mls.ratchet.RootKey;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidAlgorithmParameterException;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static jssi.mls.state.SessionState.UnacknowledgedPreKeyMessageItems;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES;
 
 /**
  * The main entry point for Signal Protocol encrypt/decrypt operations.
@@ -54,7 +60,8 @@ import static jssi.mls.state.SessionState.UnacknowledgedPreKeyMessageItems;
  */
 public class SessionCipher {
 
-    public static final Object SESSION_LOCK = new Object();
+    // sessions with different remote addresses encrypt and decrypt in parallel
+    private static final StripedLock LOCKS = new StripedLock(1024);
 
     private final SessionStore sessionStore;
     private final IdentityKeyStore identityKeyStore;
@@ -92,33 +99,10 @@ public class SessionCipher {
      * @return A ciphertext message encrypted to the recipient+device tuple.
      */
     public CiphertextMessage encrypt(byte[] paddedMessage) throws UntrustedIdentityException {
-        synchronized (SESSION_LOCK) {
+        synchronized (getLock(remoteAddress)) {
             SessionRecord sessionRecord = sessionStore.loadSession(remoteAddress);
             SessionState sessionState = sessionRecord.getSessionState();
-            ChainKey chainKey = sessionState.getSenderChainKey();
-            MessageKeys messageKeys = chainKey.getMessageKeys();
-            ECPublicKey senderEphemeral = sessionState.getSenderRatchetKey();
-            int previousCounter = sessionState.getPreviousCounter();
-            int sessionVersion = sessionState.getSessionVersion();
-
-            byte[] ciphertextBody = getCiphertext(messageKeys, paddedMessage);
-            CiphertextMessage ciphertextMessage = new Message(sessionVersion, messageKeys.getMacKey(),
-                    senderEphemeral, chainKey.getIndex(),
-                    previousCounter, ciphertextBody,
-                    sessionState.getLocalIdentityKey(),
-                    sessionState.getRemoteIdentityKey());
-
-            if (sessionState.hasUnacknowledgedPreKeyMessage()) {
-                UnacknowledgedPreKeyMessageItems items = sessionState.getUnacknowledgedPreKeyMessageItems();
-                int localRegistrationId = sessionState.getLocalRegistrationId();
-
-                ciphertextMessage = new PreKeyMessage(sessionVersion, localRegistrationId, items.getPreKeyId(),
-                        items.getSignedPreKeyId(), items.getBaseKey(),
-                        sessionState.getLocalIdentityKey(),
-                        (Message) ciphertextMessage);
-            }
-
-            sessionState.setSenderChainKey(chainKey.getNextChainKey());
+            CiphertextMessage ciphertextMessage = encrypt(sessionState, paddedMessage);
 
             if (!identityKeyStore.isTrustedIdentity(remoteAddress, sessionState.getRemoteIdentityKey(), IdentityKeyStore.Direction.SENDING)) {
                 throw new UntrustedIdentityException(remoteAddress.getDid(), sessionState.getRemoteIdentityKey());
@@ -130,6 +114,47 @@ public class SessionCipher {
         }
     }
 
+    /**
+     * Encrypts the message with the next key of the sending chain and advances the chain, the caller
+     * holds the lock of the session and stores it.
+     */
+    static CiphertextMessage encrypt(SessionState sessionState, byte[] paddedMessage) {
+        ChainKey chainKey = sessionState.getSenderChainKey();
+        MessageKeys messageKeys = chainKey.getMessageKeys();
+        ECPublicKey senderEphemeral = sessionState.getSenderRatchetKey();
+        int previousCounter = sessionState.getPreviousCounter();
+        int sessionVersion = sessionState.getSessionVersion();
+        int messageVersion = sessionState.getMessageVersion();
+
+        byte[] ciphertextBody;
+        if (messageVersion >= CiphertextMessage.AEAD_VERSION) {
+            ciphertextBody = getCiphertext(messageKeys, paddedMessage,
+                    Message.getAssociatedData(messageVersion, senderEphemeral, chainKey.getIndex(), previousCounter,
+                            sessionState.getLocalIdentityKey(), sessionState.getRemoteIdentityKey()));
+        } else {
+            ciphertextBody = getCiphertext(messageKeys, paddedMessage);
+        }
+
+        CiphertextMessage ciphertextMessage = new Message(messageVersion, messageKeys.getMacKey(),
+                senderEphemeral, chainKey.getIndex(),
+                previousCounter, ciphertextBody,
+                sessionState.getLocalIdentityKey(),
+                sessionState.getRemoteIdentityKey());
+
+        if (sessionState.hasUnacknowledgedPreKeyMessage()) {
+            UnacknowledgedPreKeyMessageItems items = sessionState.getUnacknowledgedPreKeyMessageItems();
+            int localRegistrationId = sessionState.getLocalRegistrationId();
+
+            ciphertextMessage = new PreKeyMessage(sessionVersion, localRegistrationId, items.getPreKeyId(),
+                    items.getSignedPreKeyId(), items.getBaseKey(),
+                    sessionState.getLocalIdentityKey(),
+                    (Message) ciphertextMessage);
+        }
+
+        sessionState.setSenderChainKey(chainKey.getNextChainKey());
+        return ciphertextMessage;
+    }
+
     /**
      * Decrypt a message.
      *
@@ -171,7 +196,7 @@ public class SessionCipher {
     public byte[] decrypt(PreKeyMessage ciphertext, DecryptionCallback callback)
             throws DuplicateMessageException, InvalidMessageException,
             InvalidKeyIdException, InvalidKeyException, UntrustedIdentityException {
-        synchronized (SESSION_LOCK) {
+        synchronized (getLock(remoteAddress)) {
             SessionRecord sessionRecord = sessionStore.loadSession(remoteAddress);
             Optional<Integer> unsignedPreKeyId = sessionBuilder.process(sessionRecord, ciphertext);
             byte[] plaintext = decrypt(sessionRecord, ciphertext.getWhisperMessage());
@@ -221,7 +246,7 @@ public class SessionCipher {
      */
     public byte[] decrypt(Message ciphertext, DecryptionCallback callback)
             throws InvalidMessageException, DuplicateMessageException, NoSessionException, UntrustedIdentityException {
-        synchronized (SESSION_LOCK) {
+        synchronized (getLock(remoteAddress)) {
 
             if (!sessionStore.containsSession(remoteAddress)) {
                 throw new NoSessionException("No session for: " + remoteAddress);
@@ -245,7 +270,7 @@ public class SessionCipher {
     }
 
     private byte[] decrypt(SessionRecord sessionRecord, Message ciphertext) throws DuplicateMessageException, InvalidMessageException {
-        synchronized (SESSION_LOCK) {
+        synchronized (getLock(remoteAddress)) {
             Iterator<SessionState> previousStates = sessionRecord.getPreviousSessionStates().iterator();
             List<Exception> exceptions = new LinkedList<>();
 
@@ -282,7 +307,9 @@ public class SessionCipher {
             throw new InvalidMessageException("Uninitialized session!");
         }
 
-        if (ciphertextMessage.getMessageVersion() != sessionState.getSessionVersion()) {
+        int messageVersion = ciphertextMessage.getMessageVersion();
+
+        if (messageVersion != sessionState.getSessionVersion() && messageVersion != CiphertextMessage.AEAD_VERSION) {
             throw new InvalidMessageException(String.format("Message version %d, but session version %d",
                     ciphertextMessage.getMessageVersion(),
                     sessionState.getSessionVersion()));
@@ -293,26 +320,38 @@ public class SessionCipher {
         ChainKey chainKey = getOrCreateChainKey(sessionState, theirEphemeral);
         MessageKeys messageKeys = getOrCreateMessageKeys(sessionState, theirEphemeral, chainKey, counter);
 
-        ciphertextMessage.verifyMac(sessionState.getRemoteIdentityKey(),
-                sessionState.getLocalIdentityKey(),
-                messageKeys.getMacKey());
+        byte[] plaintext;
+        if (messageVersion >= CiphertextMessage.AEAD_VERSION) {
+            plaintext = getPlaintext(messageKeys, ciphertextMessage.getBody(),
+                    ciphertextMessage.getAssociatedData(sessionState.getRemoteIdentityKey(), sessionState.getLocalIdentityKey()));
+        } else {
+            ciphertextMessage.verifyMac(sessionState.getRemoteIdentityKey(),
+                    sessionState.getLocalIdentityKey(),
+                    messageKeys.getMacKey());
 
-        byte[] plaintext = getPlaintext(messageKeys, ciphertextMessage.getBody());
+            plaintext = getPlaintext(messageKeys, ciphertextMessage.getBody());
+        }
 
         sessionState.clearUnacknowledgedPreKeyMessage();
 
+        // the advertised version is authenticated with the message, the reply may be sealed
+        if (sessionState.getMessageVersion() < CiphertextMessage.AEAD_VERSION &&
+                ciphertextMessage.getSupportedVersion() >= CiphertextMessage.AEAD_VERSION) {
+            sessionState.setMessageVersion(CiphertextMessage.AEAD_VERSION);
+        }
+
         return plaintext;
     }
 
     public int getRemoteRegistrationId() {
-        synchronized (SESSION_LOCK) {
+        synchronized (getLock(remoteAddress)) {
             SessionRecord record = sessionStore.loadSession(remoteAddress);
             return record.getSessionState().getRemoteRegistrationId();
         }
     }
 
     public int getSessionVersion() {
-        synchronized (SESSION_LOCK) {
+        synchronized (getLock(remoteAddress)) {
             if (!sessionStore.containsSession(remoteAddress)) {
                 throw new IllegalStateException(String.format("No session for (%s)!", remoteAddress));
             }
@@ -322,6 +361,20 @@ public class SessionCipher {
         }
     }
 
+    /**
+     * @return monitor serializing the work on the session with the remote address
+     */
+    static Object getLock(ProtocolAddress remoteAddress) {
+        return LOCKS.get(remoteAddress);
+    }
+
+    /**
+     * Calls the callable holding the monitors of every remote address.
+     */
+    static <T> T callLocked(Collection<ProtocolAddress> remoteAddresses, Callable<T> callable) throws Exception {
+        return LOCKS.call(remoteAddresses, callable);
+    }
+
     private ChainKey getOrCreateChainKey(SessionState sessionState, ECPublicKey theirEphemeral)
             throws InvalidMessageException {
         try {
@@ -364,17 +417,21 @@ public class SessionCipher {
             throw new InvalidMessageException("Over 2000 messages into the future!");
         }
 
-        while (chainKey.getIndex() < counter) {
-            MessageKeys messageKeys = chainKey.getMessageKeys();
-            sessionState.setMessageKeys(theirEphemeral, messageKeys);
-            chainKey = chainKey.getNextChainKey();
+        if (chainKey.getIndex() < counter) {
+            List<MessageKeys> skipped = new ArrayList<>(counter - chainKey.getIndex());
+
+            while (chainKey.getIndex() < counter) {
+                skipped.add(chainKey.getMessageKeys());
+                chainKey = chainKey.getNextChainKey();
+            }
+            sessionState.setMessageKeys(theirEphemeral, skipped);
         }
 
         sessionState.setReceiverChainKey(theirEphemeral, chainKey.getNextChainKey());
         return chainKey.getMessageKeys();
     }
 
-    private byte[] getCiphertext(MessageKeys messageKeys, byte[] plaintext) {
+    private static byte[] getCiphertext(MessageKeys messageKeys, byte[] plaintext) {
         try {
             Cipher cipher = getCipher(Cipher.ENCRYPT_MODE, messageKeys.getCipherKey(), messageKeys.getIv());
             return cipher.doFinal(plaintext);
@@ -393,13 +450,34 @@ public class SessionCipher {
         }
     }
 
-    private Cipher getCipher(int mode, SecretKeySpec key, IvParameterSpec iv) {
+    private static byte[] getCiphertext(MessageKeys messageKeys, byte[] plaintext, byte[] associatedData) {
+        try {
+            return Crypto_aead_chacha20poly1305_ietf.encrypt(plaintext, associatedData,
+                    getNonce(messageKeys), messageKeys.getCipherKey().getEncoded());
+        } catch (SodiumException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private byte[] getPlaintext(MessageKeys messageKeys, byte[] cipherText, byte[] associatedData)
+            throws InvalidMessageException {
+        try {
+            return Crypto_aead_chacha20poly1305_ietf.decrypt(cipherText, associatedData,
+                    getNonce(messageKeys), messageKeys.getCipherKey().getEncoded());
+        } catch (SodiumException e) {
+            throw new InvalidMessageException("Bad Mac!");
+        }
+    }
+
+    // every message key is used once, its iv serves as the nonce
+    private static byte[] getNonce(MessageKeys messageKeys) {
+        return Arrays.copyOf(messageKeys.getIv().getIV(), CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES);
+    }
+
+    private static Cipher getCipher(int mode, SecretKeySpec key, IvParameterSpec iv) {
         try {
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(mode, key, iv);
-            return cipher;
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | java.security.InvalidKeyException |
-                InvalidAlgorithmParameterException e) {
+            return Ciphers.getAesCbc(mode, key, iv);
+        } catch (java.security.InvalidKeyException | InvalidAlgorithmParameterException e) {
             throw new AssertionError(e);
         }
     }
@@ -21,8 +21,13 @@ import org.libsodium.jni.SodiumException;
 
 import jssi.mls.InvalidKeyException;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_BYTES;
+
 public class Curve {
 
     public static ECKeyPair generateKeyPair() throws SodiumException {
@@ -52,13 +57,59 @@ public class Curve {
         return Crypto_scalarmult.curve25519(privateKey.convert(), publicKey.convert());
     }
 
+    /**
+     * Verifies a signature of {@link #calculateSignature}, the signed message followed by the message.
+     * @return false when the signature is invalid or signs another message
+     */
     public static boolean verifySignature(ECPublicKey signingKey, byte[] message, byte[] signature)
             throws InvalidKeyException, SodiumException {
         if (signingKey == null || message == null || signature == null) {
             throw new InvalidKeyException("Values must not be null");
         }
 
-        return Crypto_sign_ed25519.verify(message, signature, signingKey.getBytes());
+        return verifySignatures(Collections.singletonList(signingKey),
+                Collections.singletonList(message),
+                Collections.singletonList(signature))[0];
+    }
+
+    /**
+     * Verifies signature i of message i by signing key i for every entry in a single call.
+     * @return result of every entry, false for invalid signatures and null entries
+     */
+    public static boolean[] verifySignatures(List<ECPublicKey> signingKeys, List<byte[]> messages, List<byte[]> signatures)
+            throws InvalidKeyException, SodiumException {
+        if (signingKeys == null || messages == null || signatures == null) {
+            throw new InvalidKeyException("Values must not be null");
+        }
+
+        if (signingKeys.size() != messages.size() || signingKeys.size() != signatures.size()) {
+            throw new InvalidKeyException("Values must have the same size");
+        }
+
+        int size = signingKeys.size();
+        byte[][] data = new byte[size][];
+        byte[][] sign = new byte[size][];
+        byte[][] pk = new byte[size][];
+
+        for (int i = 0; i < size; i++) {
+            ECPublicKey signingKey = signingKeys.get(i);
+            byte[] message = messages.get(i);
+            byte[] signature = signatures.get(i);
+
+            // entries left null are reported invalid
+            if (signingKey != null && message != null && signed(message, signature)) {
+                data[i] = message;
+                sign[i] = Arrays.copyOf(signature, CRYPTO_SIGN_ED25519_BYTES);
+                pk[i] = signingKey.getBytes();
+            }
+        }
+        return Crypto_sign_ed25519.verify_detached(data, sign, pk);
+    }
+
+    private static boolean signed(byte[] message, byte[] signature) {
+        return signature != null &&
+                signature.length == CRYPTO_SIGN_ED25519_BYTES + message.length &&
+                Arrays.equals(message, Arrays.copyOfRange(signature, CRYPTO_SIGN_ED25519_BYTES, signature.length));
     }
 
     public static byte[] calculateSignature(ECPrivateKey signingKey, byte[] message)
@@ -22,14 +22,14 @@ import jssi.mls.groups.state.SenderKeyRecord;
 import jssi.mls.groups.state.SenderKeyState;
 import jssi.mls.groups.state.SenderKeyStore;
 import jssi.mls.protocol.SenderKeyMessage;
+import jssi.mls.util.Ciphers;
+import jssi.mls.util.StripedLock;
 
 import java.security.InvalidAlgorithmParameterException;
-import java.security.NoSuchAlgorithmException;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -45,7 +45,8 @@ import javax.crypto.spec.SecretKeySpec;
  */
 public class GroupCipher {
 
-    static final Object LOCK = new Object();
+    // sender keys of different groups and senders encrypt and decrypt in parallel
+    private static final StripedLock LOCKS = new StripedLock(1024);
 
     private final SenderKeyStore senderKeyStore;
     private final SenderKeyName senderKeyId;
@@ -63,7 +64,7 @@ public class GroupCipher {
      * @throws NoSessionException
      */
     public byte[] encrypt(byte[] paddedPlaintext) throws NoSessionException {
-        synchronized (LOCK) {
+        synchronized (getLock(senderKeyId)) {
             try {
                 SenderKeyRecord record = senderKeyStore.loadSenderKey(senderKeyId);
                 SenderKeyState senderKeyState = record.getSenderKeyState();
@@ -119,7 +120,7 @@ public class GroupCipher {
     public byte[] decrypt(byte[] senderKeyMessageBytes, DecryptionCallback callback)
             throws LegacyMessageException, InvalidMessageException, DuplicateMessageException,
             NoSessionException {
-        synchronized (LOCK) {
+        synchronized (getLock(senderKeyId)) {
             try {
                 SenderKeyRecord record = senderKeyStore.loadSenderKey(senderKeyId);
 
@@ -142,6 +143,13 @@ public class GroupCipher {
         }
     }
 
+    /**
+     * @return monitor serializing the work on the sender key
+     */
+    static Object getLock(SenderKeyName senderKeyId) {
+        return LOCKS.get(senderKeyId);
+    }
+
     private SenderMessageKey getSenderKey(SenderKeyState senderKeyState, int iteration)
             throws DuplicateMessageException, InvalidMessageException {
         SenderChainKey senderChainKey = senderKeyState.getSenderChainKey();
@@ -170,28 +178,22 @@ public class GroupCipher {
 
     private byte[] getPlainText(byte[] iv, byte[] key, byte[] ciphertext) throws InvalidMessageException {
         try {
-            IvParameterSpec ivParameterSpec = new IvParameterSpec(iv);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-
-            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), ivParameterSpec);
+            Cipher cipher = Ciphers.getAesCbc(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
 
             return cipher.doFinal(ciphertext);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | java.security.InvalidKeyException | InvalidAlgorithmParameterException e) {
+        } catch (java.security.InvalidKeyException | InvalidAlgorithmParameterException e) {
             throw new AssertionError(e);
         } catch (IllegalBlockSizeException | BadPaddingException e) {
             throw new InvalidMessageException(e);
         }
     }
 
-    private byte[] getCipherText(byte[] iv, byte[] key, byte[] plaintext) {
+    static byte[] getCipherText(byte[] iv, byte[] key, byte[] plaintext) {
         try {
-            IvParameterSpec ivParameterSpec = new IvParameterSpec(iv);
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), ivParameterSpec);
+            Cipher cipher = Ciphers.getAesCbc(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
 
             return cipher.doFinal(plaintext);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidAlgorithmParameterException |
+        } catch (InvalidAlgorithmParameterException |
                 IllegalBlockSizeException | BadPaddingException | java.security.InvalidKeyException e) {
             throw new AssertionError(e);
         }
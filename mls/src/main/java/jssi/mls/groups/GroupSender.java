@@ -0,0 +1,231 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.groups;
+
+import jssi.mls.InvalidKeyIdException;
+import jssi.mls.NoSessionException;
+import jssi.mls.ecc.ECPrivateKey;
+import jssi.mls.groups.ratchet.SenderChainKey;
+import jssi.mls.groups.ratchet.SenderMessageKey;
+import jssi.mls.groups.state.DeferredSenderKeyStore;
+import jssi.mls.groups.state.SenderKeyRecord;
+import jssi.mls.groups.state.SenderKeyState;
+import jssi.mls.groups.state.SenderKeyStore;
+import jssi.mls.protocol.SenderKeyMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Encrypts a stream of messages to a group under our own sender key. Message keys are derived in blocks
+ * of <code>prefetch</code> keys and the chain position after the block is stored before any key of the
+ * block is used, so the sender key record is loaded and stored once per block rather than once per message.
+ * A {@link GroupCipher} on the same sender key, or a restart, continues after the block: no message key is
+ * used twice, a crash only skips the unused keys of the block. A {@link DeferredSenderKeyStore} is flushed
+ * before the block is used, other stores must write durably in {@link SenderKeyStore#storeSenderKey}.
+ *
+ * @author ITON Solutions
+ */
+public class GroupSender {
+
+    public static final int DEFAULT_PREFETCH = 64;
+
+    // receivers reject messages more than 2000 iterations ahead of their chain
+    public static final int MAX_PREFETCH = 2000;
+
+    private final SenderKeyStore senderKeyStore;
+    private final SenderKeyName senderKeyId;
+    private final int prefetch;
+    private final ExecutorService executor;
+
+    // guarded by this
+    private final Deque<SenderKey> senderKeys = new ArrayDeque<>();
+
+    public GroupSender(SenderKeyStore senderKeyStore, SenderKeyName senderKeyId) {
+        this(senderKeyStore, senderKeyId, DEFAULT_PREFETCH, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param prefetch message keys derived and reserved per store of the sender key record
+     * @param executor encrypts and signs the messages of a batch, tasks never wait on each other
+     */
+    public GroupSender(SenderKeyStore senderKeyStore, SenderKeyName senderKeyId, int prefetch, ExecutorService executor) {
+        if (prefetch < 1 || prefetch > MAX_PREFETCH) {
+            throw new IllegalArgumentException(String.format("Prefetch out of range: %d", prefetch));
+        }
+
+        this.senderKeyStore = senderKeyStore;
+        this.senderKeyId = senderKeyId;
+        this.prefetch = prefetch;
+        this.executor = executor;
+    }
+
+    /**
+     * Encrypt a message.
+     *
+     * @param paddedPlaintext The plaintext message bytes, optionally padded.
+     * @return Ciphertext, as {@link GroupCipher#encrypt(byte[])} returns it.
+     * @throws NoSessionException when there is no sender key.
+     */
+    public byte[] encrypt(byte[] paddedPlaintext) throws NoSessionException {
+        return encrypt(take(1).get(0), paddedPlaintext);
+    }
+
+    /**
+     * Encrypt several messages, they take consecutive iterations and are encrypted and signed in parallel.
+     *
+     * @param paddedPlaintexts The plaintext messages, optionally padded.
+     * @return The ciphertexts in the order of the plaintexts.
+     * @throws NoSessionException when there is no sender key.
+     */
+    public List<byte[]> encrypt(List<byte[]> paddedPlaintexts) throws NoSessionException {
+        List<SenderKey> keys = take(paddedPlaintexts.size());
+        List<byte[]> ciphertexts = new ArrayList<>(keys.size());
+
+        if (keys.size() == 1) {
+            ciphertexts.add(encrypt(keys.get(0), paddedPlaintexts.get(0)));
+        } else if (keys.size() > 1) {
+            List<Callable<byte[]>> tasks = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                tasks.add(new EncryptTask(keys.get(i), paddedPlaintexts.get(i)));
+            }
+
+            for (Future<byte[]> result : invokeAll(tasks)) {
+                ciphertexts.add(get(result));
+            }
+        }
+
+        return ciphertexts;
+    }
+
+    /**
+     * Drops the message keys derived ahead, the next message starts a block on the stored sender key.
+     * Call after the sender key was replaced, e.g. by {@link GroupSessionBuilder#create(SenderKeyName)}.
+     */
+    public synchronized void reset() {
+        senderKeys.clear();
+    }
+
+    private synchronized List<SenderKey> take(int count) throws NoSessionException {
+        List<SenderKey> keys = new ArrayList<>(count);
+
+        while (keys.size() < count) {
+            if (senderKeys.isEmpty()) {
+                reserve();
+            }
+            keys.add(senderKeys.poll());
+        }
+
+        return keys;
+    }
+
+    private void reserve() throws NoSessionException {
+        synchronized (GroupCipher.getLock(senderKeyId)) {
+            try {
+                SenderKeyRecord record = senderKeyStore.loadSenderKey(senderKeyId);
+                SenderKeyState senderKeyState = record.getSenderKeyState();
+                ECPrivateKey signingKey = senderKeyState.getSigningKeyPrivate();
+                SenderChainKey chainKey = senderKeyState.getSenderChainKey();
+
+                List<SenderKey> block = new ArrayList<>(prefetch);
+                for (int i = 0; i < prefetch; i++) {
+                    block.add(new SenderKey(senderKeyState.getKeyId(), chainKey.getSenderMessageKey(), signingKey));
+                    chainKey = chainKey.getNext();
+                }
+
+                // the keys are used only once the position after them is stored
+                senderKeyState.setSenderChainKey(chainKey);
+                senderKeyStore.storeSenderKey(senderKeyId, record);
+                if (senderKeyStore instanceof DeferredSenderKeyStore) {
+                    ((DeferredSenderKeyStore) senderKeyStore).flushSenderKeys();
+                }
+
+                senderKeys.addAll(block);
+            } catch (InvalidKeyIdException e) {
+                throw new NoSessionException(e);
+            }
+        }
+    }
+
+    private static byte[] encrypt(SenderKey senderKey, byte[] paddedPlaintext) {
+        SenderMessageKey messageKey = senderKey.messageKey;
+        byte[] ciphertext = GroupCipher.getCipherText(messageKey.getIv(), messageKey.getCipherKey(), paddedPlaintext);
+
+        return new SenderKeyMessage(senderKey.keyId, messageKey.getIteration(), ciphertext, senderKey.signingKey).serialize();
+    }
+
+    private List<Future<byte[]>> invokeAll(List<Callable<byte[]>> tasks) {
+        try {
+            return executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] get(Future<byte[]> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new AssertionError(e.getCause());
+        }
+    }
+
+    private static class SenderKey {
+
+        private final int keyId;
+        private final SenderMessageKey messageKey;
+        private final ECPrivateKey signingKey;
+
+        SenderKey(int keyId, SenderMessageKey messageKey, ECPrivateKey signingKey) {
+            this.keyId = keyId;
+            this.messageKey = messageKey;
+            this.signingKey = signingKey;
+        }
+    }
+
+    private static class EncryptTask implements Callable<byte[]> {
+
+        private final SenderKey senderKey;
+        private final byte[] paddedPlaintext;
+
+        EncryptTask(SenderKey senderKey, byte[] paddedPlaintext) {
+            this.senderKey = senderKey;
+            this.paddedPlaintext = paddedPlaintext;
+        }
+
+        @Override
+        public byte[] call() {
+            return encrypt(senderKey, paddedPlaintext);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.groups.state;
+
+/**
+ * A {@link SenderKeyStore} deferring its writes, e.g. to batch them. {@link jssi.mls.groups.GroupSender}
+ * flushes it before using the message keys it reserved, a restart then never reuses a message key.
+ *
+ * @author ITON Solutions
+ */
+public interface DeferredSenderKeyStore extends SenderKeyStore {
+
+  /**
+   * Commit to durable storage every {@link SenderKeyRecord} stored before.
+   */
+  public void flushSenderKeys();
+
+}
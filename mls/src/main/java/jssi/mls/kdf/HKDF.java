@@ -19,8 +19,6 @@ package jssi.mls.kdf;
 import org.libsodium.api.Crypto_auth;
 import org.libsodium.jni.SodiumException;
 
-import java.io.ByteArrayOutputStream;
-
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AUTH_HMACSHA256_KEYBYTES;
 
 public class HKDF {
@@ -48,29 +46,27 @@ public class HKDF {
 
     private byte[] expand(byte[] prk, byte[] info, int outputSize) {
         try {
-            int iterations = (int) Math.ceil((double) outputSize / (double) CRYPTO_AUTH_HMACSHA256_KEYBYTES);
-            byte[] mixin = new byte[0];
-            ByteArrayOutputStream results = new ByteArrayOutputStream();
-            int remainingBytes = outputSize;
+            byte[] results = new byte[outputSize];
+            byte[] counter = new byte[1];
+            byte[] mixin = null;
 
-            for (int i = 1; i < iterations + 1; i++) {
+            for (int offset = 0; offset < outputSize; offset += CRYPTO_AUTH_HMACSHA256_KEYBYTES) {
                 byte[] state = Crypto_auth.hmacsha256_init(prk);
 
-                Crypto_auth.hmacsha256_update(state, mixin);
+                if (mixin != null) {
+                    Crypto_auth.hmacsha256_update(state, mixin);
+                }
                 if (info != null) {
                     Crypto_auth.hmacsha256_update(state, info);
                 }
-                Crypto_auth.hmacsha256_update(state, new byte[]{(byte) i});
-                byte[] stepResult = Crypto_auth.hmacsha256_final(state);
-
-                int stepSize = Math.min(remainingBytes, stepResult.length);
-                results.write(stepResult, 0, stepSize);
+                counter[0]++;
+                Crypto_auth.hmacsha256_update(state, counter);
+                mixin = Crypto_auth.hmacsha256_final(state);
 
-                mixin = stepResult;
-                remainingBytes -= stepSize;
+                System.arraycopy(mixin, 0, results, offset, Math.min(outputSize - offset, mixin.length));
             }
 
-            return results.toByteArray();
+            return results;
         } catch (SodiumException e) {
             throw new AssertionError(e);
         }
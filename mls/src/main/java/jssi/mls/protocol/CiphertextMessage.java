@@ -19,6 +19,9 @@ public interface CiphertextMessage {
 
     public static final int CURRENT_VERSION = 3;
 
+    // messages sealed with ChaCha20-Poly1305 instead of AES-CBC and HMAC, sent once the peer advertised it
+    public static final int AEAD_VERSION = 4;
+
     public static final int WHISPER_TYPE = 2;
     public static final int PREKEY_TYPE = 3;
     public static final int SENDERKEY_TYPE = 4;
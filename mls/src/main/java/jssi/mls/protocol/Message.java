@@ -36,6 +36,7 @@ public class Message implements CiphertextMessage {
     private static final int MAC_LENGTH = 8;
 
     private final int messageVersion;
+    private final int supportedVersion;
     private final ECPublicKey senderRatchetKey;
     private final int counter;
     private final int previousCounter;
@@ -44,19 +45,24 @@ public class Message implements CiphertextMessage {
 
     public Message(byte[] serialized) throws InvalidMessageException, LegacyMessageException {
         try {
-            byte[][] messageParts = ByteUtil.split(serialized, 1, serialized.length - 1 - MAC_LENGTH, MAC_LENGTH);
-            byte version = messageParts[0][0];
-            byte[] message = messageParts[1];
-            byte[] mac = messageParts[2];
+            if (serialized == null || serialized.length == 0) {
+                throw new InvalidMessageException("Empty message");
+            }
+
+            byte version = serialized[0];
 
             if (ByteUtil.highBitsToInt(version) < CURRENT_VERSION) {
                 throw new LegacyMessageException("Legacy message: " + ByteUtil.highBitsToInt(version));
             }
 
-            if (ByteUtil.highBitsToInt(version) > CURRENT_VERSION) {
+            if (ByteUtil.highBitsToInt(version) > AEAD_VERSION) {
                 throw new InvalidMessageException("Unknown version: " + ByteUtil.highBitsToInt(version));
             }
 
+            // sealed messages carry their tag in the ciphertext
+            int macLength = ByteUtil.highBitsToInt(version) >= AEAD_VERSION ? 0 : MAC_LENGTH;
+            byte[] message = ByteUtil.split(serialized, 1, serialized.length - 1 - macLength, macLength)[1];
+
             MLSProtos.Message whisperMessage = MLSProtos.Message.parseFrom(message);
 
             if (!whisperMessage.hasCiphertext() ||
@@ -68,6 +74,7 @@ public class Message implements CiphertextMessage {
             this.serialized = serialized;
             this.senderRatchetKey = Curve.getECPublicKey(whisperMessage.getRatchetKey().toByteArray());
             this.messageVersion = ByteUtil.highBitsToInt(version);
+            this.supportedVersion = ByteUtil.lowBitsToInt(version);
             this.counter = whisperMessage.getCounter();
             this.previousCounter = whisperMessage.getPreviousCounter();
             this.ciphertext = whisperMessage.getCiphertext().toByteArray();
@@ -76,11 +83,15 @@ public class Message implements CiphertextMessage {
         }
     }
 
+    /**
+     * @param ciphertext for {@link #AEAD_VERSION} messages sealed over {@link #getAssociatedData}, the mac key
+     *                   is not used then
+     */
     public Message(int messageVersion, SecretKeySpec macKey, ECPublicKey senderRatchetKey,
                    int counter, int previousCounter, byte[] ciphertext,
                    IdentityKey senderIdentityKey,
                    IdentityKey receiverIdentityKey) {
-        byte[] version = {ByteUtil.intsToByteHighAndLow(messageVersion, CURRENT_VERSION)};
+        byte[] version = {ByteUtil.intsToByteHighAndLow(messageVersion, AEAD_VERSION)};
         byte[] message = MLSProtos.Message.newBuilder()
                 .setRatchetKey(ByteString.copyFrom(senderRatchetKey.getBytes()))
                 .setCounter(counter)
@@ -88,14 +99,18 @@ public class Message implements CiphertextMessage {
                 .setCiphertext(ByteString.copyFrom(ciphertext))
                 .build().toByteArray();
 
-        byte[] mac = getMac(senderIdentityKey, receiverIdentityKey, macKey, ByteUtil.concatenate(version, message));
-
-        this.serialized = ByteUtil.concatenate(version, message, mac);
+        if (messageVersion >= AEAD_VERSION) {
+            this.serialized = ByteUtil.concatenate(version, message);
+        } else {
+            byte[] mac = getMac(senderIdentityKey, receiverIdentityKey, macKey, ByteUtil.concatenate(version, message));
+            this.serialized = ByteUtil.concatenate(version, message, mac);
+        }
         this.senderRatchetKey = senderRatchetKey;
         this.counter = counter;
         this.previousCounter = previousCounter;
         this.ciphertext = ciphertext;
         this.messageVersion = messageVersion;
+        this.supportedVersion = AEAD_VERSION;
     }
 
     public ECPublicKey getSenderRatchetKey() {
@@ -106,6 +121,13 @@ public class Message implements CiphertextMessage {
         return messageVersion;
     }
 
+    /**
+     * @return the highest message version the sender accepts
+     */
+    public int getSupportedVersion() {
+        return supportedVersion;
+    }
+
     public int getCounter() {
         return counter;
     }
@@ -116,6 +138,10 @@ public class Message implements CiphertextMessage {
 
     public void verifyMac(IdentityKey senderIdentityKey, IdentityKey receiverIdentityKey, SecretKeySpec macKey)
             throws InvalidMessageException {
+        if (messageVersion >= AEAD_VERSION) {
+            throw new InvalidMessageException("Sealed message has no mac");
+        }
+
         byte[][] parts = ByteUtil.split(serialized, serialized.length - MAC_LENGTH, MAC_LENGTH);
         byte[] ourMac = getMac(senderIdentityKey, receiverIdentityKey, macKey, parts[0]);
         byte[] theirMac = parts[1];
@@ -125,6 +151,33 @@ public class Message implements CiphertextMessage {
         }
     }
 
+    /**
+     * @return the data a sealed message authenticates along with its ciphertext
+     */
+    public byte[] getAssociatedData(IdentityKey senderIdentityKey, IdentityKey receiverIdentityKey) {
+        return getAssociatedData(serialized[0], senderRatchetKey, counter, previousCounter, senderIdentityKey, receiverIdentityKey);
+    }
+
+    public static byte[] getAssociatedData(int messageVersion, ECPublicKey senderRatchetKey,
+                                           int counter, int previousCounter,
+                                           IdentityKey senderIdentityKey,
+                                           IdentityKey receiverIdentityKey) {
+        return getAssociatedData(ByteUtil.intsToByteHighAndLow(messageVersion, AEAD_VERSION), senderRatchetKey,
+                counter, previousCounter, senderIdentityKey, receiverIdentityKey);
+    }
+
+    private static byte[] getAssociatedData(byte version, ECPublicKey senderRatchetKey,
+                                            int counter, int previousCounter,
+                                            IdentityKey senderIdentityKey,
+                                            IdentityKey receiverIdentityKey) {
+        return ByteUtil.concatenate(senderIdentityKey.getPublicKey().getBytes(),
+                receiverIdentityKey.getPublicKey().getBytes(),
+                new byte[]{version},
+                senderRatchetKey.getBytes(),
+                ByteUtil.intToByteArray(counter),
+                ByteUtil.intToByteArray(previousCounter));
+    }
+
     private byte[] getMac(IdentityKey senderIdentityKey,
                           IdentityKey receiverIdentityKey,
                           SecretKeySpec macKey, byte[] serialized) {
@@ -153,7 +206,8 @@ public class Message implements CiphertextMessage {
 
     public static boolean isLegacy(byte[] message) {
         return message != null && message.length >= 1 &&
-                ByteUtil.highBitsToInt(message[0]) != CiphertextMessage.CURRENT_VERSION;
+                (ByteUtil.highBitsToInt(message[0]) < CiphertextMessage.CURRENT_VERSION ||
+                        ByteUtil.highBitsToInt(message[0]) > CiphertextMessage.AEAD_VERSION);
     }
 
 }
@@ -113,7 +113,8 @@ public class SenderKeyMessage implements CiphertextMessage {
                     (serialized.length - 2 - SIGNATURE_LENGTH) / 2,
                     (serialized.length + SIGNATURE_LENGTH) / 2);
 
-            if (!Curve.verifySignature(signatureKey, parts[1], parts[2])) {
+            // the signature covers the version byte and the message
+            if (!Curve.verifySignature(signatureKey, ByteUtil.concatenate(parts[0], parts[1]), parts[2])) {
                 throw new InvalidMessageException("Invalid signature!");
             }
 
@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state;
+
+import jssi.mls.ProtocolAddress;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link SessionStore} loading and storing the sessions of several remote clients at once, as when one
+ * message is sent to every device of a recipient.
+ *
+ * @author ITON Solutions
+ */
+public interface BatchSessionStore extends SessionStore {
+
+  /**
+   * Returns copies of the {@link SessionRecord}s of the addresses, as {@link #loadSession(ProtocolAddress)}
+   * does for each of them.
+   *
+   * @param addresses the addresses of the remote clients.
+   * @return the records by address, in the order of the addresses.
+   */
+  public Map<ProtocolAddress, SessionRecord> loadSessions(List<ProtocolAddress> addresses);
+
+  /**
+   * Commit to storage the {@link SessionRecord}s of several remote clients in one batch.
+   *
+   * @param records the current SessionRecords by address.
+   */
+  public void storeSessions(Map<ProtocolAddress, SessionRecord> records);
+
+}
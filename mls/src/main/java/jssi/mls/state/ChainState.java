@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state;
+
+import com.google.protobuf.ByteString;
+import jssi.mls.ecc.Curve;
+import jssi.mls.ecc.ECPublicKey;
+import jssi.mls.kdf.HKDF;
+import jssi.mls.ratchet.ChainKey;
+import jssi.mls.ratchet.MessageKeys;
+import jssi.mls.state.StorageProtos.SessionStructure.Chain;
+
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.List;
+
+/**
+ * Mutable sending or receiving chain of a {@link SessionState}. Skipped message keys are kept in
+ * {@link SkippedMessageKeys}, which copies share. Key material is never modified in place, arrays are
+ * shared between copies.
+ *
+ * @author ITON Solutions
+ */
+final class ChainState {
+
+    private final byte[] ratchetKey;
+    private final byte[] ratchetKeyPrivate;
+    private ECPublicKey publicKey;
+
+    private byte[] chainKey;
+    private int index;
+
+    private final SkippedMessageKeys messageKeys;
+
+    ChainState(byte[] ratchetKey, byte[] ratchetKeyPrivate, ChainKey chainKey) {
+        this.ratchetKey = ratchetKey;
+        this.ratchetKeyPrivate = ratchetKeyPrivate;
+        this.chainKey = chainKey.getKey();
+        this.index = chainKey.getIndex();
+        this.messageKeys = new SkippedMessageKeys();
+    }
+
+    ChainState(Chain chain) {
+        this.ratchetKey = chain.getSenderRatchetKey().toByteArray();
+        this.ratchetKeyPrivate = chain.hasSenderRatchetKeyPrivate() ? chain.getSenderRatchetKeyPrivate().toByteArray() : null;
+        this.chainKey = chain.getChainKey().getKey().toByteArray();
+        this.index = chain.getChainKey().getIndex();
+        this.messageKeys = new SkippedMessageKeys();
+
+        for (Chain.MessageKey messageKey : chain.getMessageKeysList()) {
+            messageKeys.add(new MessageKeys(new SecretKeySpec(messageKey.getCipherKey().toByteArray(), "AES"),
+                    new SecretKeySpec(messageKey.getMacKey().toByteArray(), "HmacSHA256"),
+                    new IvParameterSpec(messageKey.getIv().toByteArray()),
+                    messageKey.getIndex()), Integer.MAX_VALUE);
+        }
+    }
+
+    private ChainState(ChainState copy) {
+        this.ratchetKey = copy.ratchetKey;
+        this.ratchetKeyPrivate = copy.ratchetKeyPrivate;
+        this.publicKey = copy.publicKey;
+        this.chainKey = copy.chainKey;
+        this.index = copy.index;
+        this.messageKeys = new SkippedMessageKeys(copy.messageKeys);
+    }
+
+    ChainState copy() {
+        return new ChainState(this);
+    }
+
+    ECPublicKey getRatchetKey() {
+        if (publicKey == null) {
+            publicKey = Curve.getECPublicKey(ratchetKey);
+        }
+        return publicKey;
+    }
+
+    byte[] getRatchetKeyPrivate() {
+        return ratchetKeyPrivate;
+    }
+
+    ChainKey getChainKey() {
+        return new ChainKey(new HKDF(), chainKey, index);
+    }
+
+    void setChainKey(ChainKey chainKey) {
+        this.chainKey = chainKey.getKey();
+        this.index = chainKey.getIndex();
+    }
+
+    boolean hasMessageKeys(int counter) {
+        return messageKeys.contains(counter);
+    }
+
+    MessageKeys removeMessageKeys(int counter) {
+        return messageKeys.remove(counter);
+    }
+
+    /**
+     * Adds the keys of a skipped message, the lowest counters are dropped beyond <code>max</code>.
+     */
+    void addMessageKeys(MessageKeys keys, int max) {
+        messageKeys.add(keys, max);
+    }
+
+    /**
+     * Adds the keys of skipped messages in counter order, the lowest counters are dropped beyond <code>max</code>.
+     */
+    void addMessageKeys(List<MessageKeys> keys, int max) {
+        messageKeys.addAll(keys, max);
+    }
+
+    Chain toStructure() {
+        Chain.Builder chain = Chain.newBuilder()
+                .setSenderRatchetKey(ByteString.copyFrom(ratchetKey))
+                .setChainKey(Chain.ChainKey.newBuilder()
+                        .setKey(ByteString.copyFrom(chainKey))
+                        .setIndex(index));
+
+        if (ratchetKeyPrivate != null) {
+            chain.setSenderRatchetKeyPrivate(ByteString.copyFrom(ratchetKeyPrivate));
+        }
+
+        for (MessageKeys keys : messageKeys.values()) {
+            chain.addMessageKeys(Chain.MessageKey.newBuilder()
+                    .setCipherKey(ByteString.copyFrom(keys.getCipherKey().getEncoded()))
+                    .setMacKey(ByteString.copyFrom(keys.getMacKey().getEncoded()))
+                    .setIndex(keys.getCounter())
+                    .setIv(ByteString.copyFrom(keys.getIv().getIV())));
+        }
+
+        return chain.build();
+    }
+}
@@ -36,6 +36,10 @@ public class SessionRecord {
     private LinkedList<SessionState> previousStates = new LinkedList<>();
     private boolean fresh = false;
 
+    // states shared with a copy of the record, copied on first access
+    private boolean sharedState;
+    private boolean sharedPrevious;
+
     public SessionRecord() {
         this.fresh = true;
     }
@@ -45,6 +49,21 @@ public class SessionRecord {
         this.fresh = false;
     }
 
+    /**
+     * Copies the record without a protobuf round-trip, changes to either record are not visible
+     * in the other. The states are shared until either record hands them out, a record which is
+     * only stored or serialized is never copied.
+     */
+    public SessionRecord(SessionRecord copy) {
+        this.sessionState = copy.sessionState;
+        this.previousStates = copy.previousStates;
+        this.fresh = copy.fresh;
+        this.sharedState = true;
+        this.sharedPrevious = true;
+        copy.sharedState = true;
+        copy.sharedPrevious = true;
+    }
+
     public SessionRecord(byte[] serialized) throws IOException {
         RecordStructure record = RecordStructure.parseFrom(serialized);
         this.sessionState = new SessionState(record.getCurrentSession());
@@ -72,6 +91,10 @@ public class SessionRecord {
     }
 
     public SessionState getSessionState() {
+        if (sharedState) {
+            sessionState = new SessionState(sessionState);
+            sharedState = false;
+        }
         return sessionState;
     }
 
@@ -79,11 +102,24 @@ public class SessionRecord {
      * @return the list of all currently maintained "previous" session states.
      */
     public List<SessionState> getPreviousSessionStates() {
+        return previous();
+    }
+
+    private LinkedList<SessionState> previous() {
+        if (sharedPrevious) {
+            LinkedList<SessionState> states = new LinkedList<>();
+            for (SessionState previousState : previousStates) {
+                states.add(new SessionState(previousState));
+            }
+            previousStates = states;
+            sharedPrevious = false;
+        }
         return previousStates;
     }
 
     public void removePreviousSessionStates() {
-        previousStates.clear();
+        previousStates = new LinkedList<>();
+        sharedPrevious = false;
     }
 
     public boolean isFresh() {
@@ -100,16 +136,19 @@ public class SessionRecord {
     }
 
     public void promoteState(SessionState promotedState) {
-        this.previousStates.addFirst(sessionState);
-        this.sessionState = promotedState;
+        LinkedList<SessionState> states = previous();
+
+        states.addFirst(getSessionState());
+        setState(promotedState);
 
-        if (previousStates.size() > ARCHIVED_STATES_MAX_LENGTH) {
-            previousStates.removeLast();
+        if (states.size() > ARCHIVED_STATES_MAX_LENGTH) {
+            states.removeLast();
         }
     }
 
     public void setState(SessionState sessionState) {
         this.sessionState = sessionState;
+        this.sharedState = false;
     }
 
     /**
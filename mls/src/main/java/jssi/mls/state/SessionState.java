@@ -32,85 +32,179 @@ import jssi.mls.ratchet.RootKey;
 import jssi.mls.state.StorageProtos.SessionStructure.Chain;
 import jssi.mls.state.StorageProtos.SessionStructure.PendingKeyExchange;
 import jssi.mls.state.StorageProtos.SessionStructure.PendingPreKey;
-import jssi.mls.util.Pair;
 import jssi.mls.util.guava.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static jssi.mls.state.StorageProtos.SessionStructure;
 
+/**
+ * Mutable state of a session. Chains and skipped message keys are kept as objects and only converted to
+ * a {@link SessionStructure} when the state is persisted, the structure is cached until the next change.
+ * Receiver chains are indexed by their ratchet key and kept in the order they were added.
+ */
 public class SessionState {
 
     private static final Logger LOG = LoggerFactory.getLogger(SessionState.class);
 
     private static final int MAX_MESSAGE_KEYS = 2000;
-
+    private static final int MAX_RECEIVER_CHAINS = 5;
+    private static final byte[] EMPTY = new byte[0];
+
+    private int sessionVersion;
+    private int messageVersion;
+    private byte[] localIdentityPublic;
+    private byte[] remoteIdentityPublic;
+    private byte[] rootKey;
+    private int previousCounter;
+    private ChainState senderChain;
+    private final Map<ECPublicKey, ChainState> receiverChains;
+    private PendingKeyExchange pendingKeyExchange;
+    private PendingPreKey pendingPreKey;
+    private int remoteRegistrationId;
+    private int localRegistrationId;
+    private boolean needsRefresh;
+    private byte[] aliceBaseKey;
+
+    // last converted structure, null once the state changed
     private SessionStructure sessionStructure;
 
     public SessionState() {
-        this.sessionStructure = SessionStructure.newBuilder().build();
+        this.receiverChains = new LinkedHashMap<>();
     }
 
     public SessionState(SessionStructure sessionStructure) {
+        this.receiverChains = new LinkedHashMap<>();
+        this.sessionVersion = sessionStructure.getSessionVersion();
+        this.messageVersion = sessionStructure.getMessageVersion();
+        this.localIdentityPublic = sessionStructure.hasLocalIdentityPublic() ? sessionStructure.getLocalIdentityPublic().toByteArray() : null;
+        this.remoteIdentityPublic = sessionStructure.hasRemoteIdentityPublic() ? sessionStructure.getRemoteIdentityPublic().toByteArray() : null;
+        this.rootKey = sessionStructure.hasRootKey() ? sessionStructure.getRootKey().toByteArray() : null;
+        this.previousCounter = sessionStructure.getPreviousCounter();
+        this.senderChain = sessionStructure.hasSenderChain() ? new ChainState(sessionStructure.getSenderChain()) : null;
+        this.pendingKeyExchange = sessionStructure.hasPendingKeyExchange() ? sessionStructure.getPendingKeyExchange() : null;
+        this.pendingPreKey = sessionStructure.hasPendingPreKey() ? sessionStructure.getPendingPreKey() : null;
+        this.remoteRegistrationId = sessionStructure.getRemoteRegistrationId();
+        this.localRegistrationId = sessionStructure.getLocalRegistrationId();
+        this.needsRefresh = sessionStructure.getNeedsRefresh();
+        this.aliceBaseKey = sessionStructure.hasAliceBaseKey() ? sessionStructure.getAliceBaseKey().toByteArray() : null;
+
+        for (Chain chain : sessionStructure.getReceiverChainsList()) {
+            ChainState receiverChain = new ChainState(chain);
+            receiverChains.put(receiverChain.getRatchetKey(), receiverChain);
+        }
+
         this.sessionStructure = sessionStructure;
     }
 
+    /**
+     * Copies the state, the skipped message keys are shared until either state changes them.
+     */
     public SessionState(SessionState copy) {
-        this.sessionStructure = copy.sessionStructure.toBuilder().build();
+        this.receiverChains = new LinkedHashMap<>();
+        this.sessionVersion = copy.sessionVersion;
+        this.messageVersion = copy.messageVersion;
+        this.localIdentityPublic = copy.localIdentityPublic;
+        this.remoteIdentityPublic = copy.remoteIdentityPublic;
+        this.rootKey = copy.rootKey;
+        this.previousCounter = copy.previousCounter;
+        this.senderChain = copy.senderChain == null ? null : copy.senderChain.copy();
+        this.pendingKeyExchange = copy.pendingKeyExchange;
+        this.pendingPreKey = copy.pendingPreKey;
+        this.remoteRegistrationId = copy.remoteRegistrationId;
+        this.localRegistrationId = copy.localRegistrationId;
+        this.needsRefresh = copy.needsRefresh;
+        this.aliceBaseKey = copy.aliceBaseKey;
+
+        for (Map.Entry<ECPublicKey, ChainState> chain : copy.receiverChains.entrySet()) {
+            receiverChains.put(chain.getKey(), chain.getValue().copy());
+        }
+
+        this.sessionStructure = copy.sessionStructure;
     }
 
     public SessionStructure getStructure() {
+        if (sessionStructure == null) {
+            SessionStructure.Builder structure = SessionStructure.newBuilder();
+
+            if (sessionVersion != 0) structure.setSessionVersion(sessionVersion);
+            if (messageVersion != 0) structure.setMessageVersion(messageVersion);
+            if (previousCounter != 0) structure.setPreviousCounter(previousCounter);
+            if (remoteRegistrationId != 0) structure.setRemoteRegistrationId(remoteRegistrationId);
+            if (localRegistrationId != 0) structure.setLocalRegistrationId(localRegistrationId);
+            if (needsRefresh) structure.setNeedsRefresh(true);
+            if (localIdentityPublic != null) structure.setLocalIdentityPublic(ByteString.copyFrom(localIdentityPublic));
+            if (remoteIdentityPublic != null) structure.setRemoteIdentityPublic(ByteString.copyFrom(remoteIdentityPublic));
+            if (rootKey != null) structure.setRootKey(ByteString.copyFrom(rootKey));
+            if (senderChain != null) structure.setSenderChain(senderChain.toStructure());
+            if (pendingKeyExchange != null) structure.setPendingKeyExchange(pendingKeyExchange);
+            if (pendingPreKey != null) structure.setPendingPreKey(pendingPreKey);
+            if (aliceBaseKey != null) structure.setAliceBaseKey(ByteString.copyFrom(aliceBaseKey));
+
+            for (ChainState chain : receiverChains.values()) {
+                structure.addReceiverChains(chain.toStructure());
+            }
+
+            sessionStructure = structure.build();
+        }
         return sessionStructure;
     }
 
     public byte[] getAliceBaseKey() {
-        return this.sessionStructure.getAliceBaseKey().toByteArray();
+        return aliceBaseKey == null ? EMPTY.clone() : aliceBaseKey.clone();
     }
 
     public void setAliceBaseKey(byte[] aliceBaseKey) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setAliceBaseKey(ByteString.copyFrom(aliceBaseKey))
-                .build();
+        this.aliceBaseKey = aliceBaseKey.clone();
+        changed();
     }
 
     public void setSessionVersion(int version) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setSessionVersion(version)
-                .build();
+        this.sessionVersion = version;
+        changed();
     }
 
     public int getSessionVersion() {
-        int sessionVersion = this.sessionStructure.getSessionVersion();
-
         if (sessionVersion == 0) return 2;
         else return sessionVersion;
     }
 
+    /**
+     * Sets the version of the messages sent in this session, raised once the peer advertised a later
+     * message version than the session version.
+     */
+    public void setMessageVersion(int version) {
+        this.messageVersion = version;
+        changed();
+    }
+
+    public int getMessageVersion() {
+        if (messageVersion == 0) return getSessionVersion();
+        else return messageVersion;
+    }
+
     public void setRemoteIdentityKey(IdentityKey identityKey) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setRemoteIdentityPublic(ByteString.copyFrom(identityKey.getBytes()))
-                .build();
+        this.remoteIdentityPublic = identityKey.getBytes().clone();
+        changed();
     }
 
     public void setLocalIdentityKey(IdentityKey identityKey) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setLocalIdentityPublic(ByteString.copyFrom(identityKey.getBytes()))
-                .build();
+        this.localIdentityPublic = identityKey.getBytes().clone();
+        changed();
     }
 
     public IdentityKey getRemoteIdentityKey() {
         try {
-            if (!this.sessionStructure.hasRemoteIdentityPublic()) {
+            if (remoteIdentityPublic == null) {
                 return null;
             }
 
-            return new IdentityKey(this.sessionStructure.getRemoteIdentityPublic().toByteArray());
+            return new IdentityKey(remoteIdentityPublic);
         } catch (InvalidKeyException e) {
             LOG.error("SessionRecordV2", e);
             return null;
@@ -119,42 +213,37 @@ public class SessionState {
 
     public IdentityKey getLocalIdentityKey() {
         try {
-            return new IdentityKey(this.sessionStructure.getLocalIdentityPublic().toByteArray());
+            return new IdentityKey(localIdentityPublic == null ? EMPTY : localIdentityPublic);
         } catch (InvalidKeyException e) {
             throw new AssertionError(e);
         }
     }
 
     public int getPreviousCounter() {
-        return sessionStructure.getPreviousCounter();
+        return previousCounter;
     }
 
     public void setPreviousCounter(int previousCounter) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setPreviousCounter(previousCounter)
-                .build();
+        this.previousCounter = previousCounter;
+        changed();
     }
 
     public RootKey getRootKey() {
-        return new RootKey(new HKDF(),
-                this.sessionStructure.getRootKey().toByteArray());
+        return new RootKey(new HKDF(), rootKey == null ? EMPTY : rootKey);
     }
 
     public void setRootKey(RootKey rootKey) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setRootKey(ByteString.copyFrom(rootKey.getKeyBytes()))
-                .build();
+        this.rootKey = rootKey.getKeyBytes();
+        changed();
     }
 
     public ECPublicKey getSenderRatchetKey() {
-        return Curve.getECPublicKey(sessionStructure.getSenderChain().getSenderRatchetKey().toByteArray());
+        return senderChain.getRatchetKey();
     }
 
     public ECKeyPair getSenderRatchetKeyPair() {
         ECPublicKey publicKey = getSenderRatchetKey();
-        ECPrivateKey privateKey = Curve.getECPrivateKey(sessionStructure.getSenderChain()
-                .getSenderRatchetKeyPrivate()
-                .toByteArray());
+        ECPrivateKey privateKey = Curve.getECPrivateKey(senderChain.getRatchetKeyPrivate());
 
         return new ECKeyPair(publicKey, privateKey);
     }
@@ -164,185 +253,85 @@ public class SessionState {
     }
 
     public boolean hasSenderChain() {
-        return sessionStructure.hasSenderChain();
+        return senderChain != null;
     }
 
-    private Pair<Chain, Integer> getReceiverChain(ECPublicKey senderEphemeral) {
-        List<Chain> receiverChains = sessionStructure.getReceiverChainsList();
-        int index = 0;
-
-        for (Chain receiverChain : receiverChains) {
-            ECPublicKey chainSenderRatchetKey = Curve.getECPublicKey(receiverChain.getSenderRatchetKey().toByteArray());
-
-            if (chainSenderRatchetKey.equals(senderEphemeral)) {
-                return new Pair<>(receiverChain, index);
-            }
-
-            index++;
-        }
-
-        return null;
+    private ChainState getReceiverChain(ECPublicKey senderEphemeral) {
+        return receiverChains.get(senderEphemeral);
     }
 
     public ChainKey getReceiverChainKey(ECPublicKey senderEphemeral) {
-        Pair<Chain, Integer> receiverChainAndIndex = getReceiverChain(senderEphemeral);
-        Chain receiverChain = receiverChainAndIndex.first();
+        ChainState receiverChain = getReceiverChain(senderEphemeral);
 
         if (receiverChain == null) {
             return null;
         } else {
-            return new ChainKey(new HKDF(),
-                    receiverChain.getChainKey().getKey().toByteArray(),
-                    receiverChain.getChainKey().getIndex());
+            return receiverChain.getChainKey();
         }
     }
 
     public void addReceiverChain(ECPublicKey senderRatchetKey, ChainKey chainKey) {
-        Chain.ChainKey chainKeyStructure = Chain.ChainKey.newBuilder()
-                .setKey(ByteString.copyFrom(chainKey.getKey()))
-                .setIndex(chainKey.getIndex())
-                .build();
-
-        Chain chain = Chain.newBuilder()
-                .setChainKey(chainKeyStructure)
-                .setSenderRatchetKey(ByteString.copyFrom(senderRatchetKey.getBytes()))
-                .build();
-
-        this.sessionStructure = this.sessionStructure.toBuilder().addReceiverChains(chain).build();
-
-        if (this.sessionStructure.getReceiverChainsList().size() > 5) {
-            this.sessionStructure = this.sessionStructure.toBuilder()
-                    .removeReceiverChains(0)
-                    .build();
+        receiverChains.put(senderRatchetKey, new ChainState(senderRatchetKey.getBytes(), null, chainKey));
+
+        if (receiverChains.size() > MAX_RECEIVER_CHAINS) {
+            Iterator<ChainState> eldest = receiverChains.values().iterator();
+            eldest.next();
+            eldest.remove();
         }
+        changed();
     }
 
     public void setSenderChain(ECKeyPair senderRatchetKeyPair, ChainKey chainKey) {
-        Chain.ChainKey chainKeyStructure = Chain.ChainKey.newBuilder()
-                .setKey(ByteString.copyFrom(chainKey.getKey()))
-                .setIndex(chainKey.getIndex())
-                .build();
-
-        Chain senderChain = Chain.newBuilder()
-                .setSenderRatchetKey(ByteString.copyFrom(senderRatchetKeyPair.getPublicKey().getBytes()))
-                .setSenderRatchetKeyPrivate(ByteString.copyFrom(senderRatchetKeyPair.getPrivateKey().getBytes()))
-                .setChainKey(chainKeyStructure)
-                .build();
-
-        this.sessionStructure = this.sessionStructure.toBuilder().setSenderChain(senderChain).build();
+        this.senderChain = new ChainState(senderRatchetKeyPair.getPublicKey().getBytes(),
+                senderRatchetKeyPair.getPrivateKey().getBytes(), chainKey);
+        changed();
     }
 
     public ChainKey getSenderChainKey() {
-        Chain.ChainKey chainKeyStructure = sessionStructure.getSenderChain().getChainKey();
-        return new ChainKey(new HKDF(),
-                chainKeyStructure.getKey().toByteArray(), chainKeyStructure.getIndex());
+        return senderChain.getChainKey();
     }
 
 
     public void setSenderChainKey(ChainKey nextChainKey) {
-        Chain.ChainKey chainKey = Chain.ChainKey.newBuilder()
-                .setKey(ByteString.copyFrom(nextChainKey.getKey()))
-                .setIndex(nextChainKey.getIndex())
-                .build();
-
-        Chain chain = sessionStructure.getSenderChain().toBuilder()
-                .setChainKey(chainKey).build();
-
-        this.sessionStructure = this.sessionStructure.toBuilder().setSenderChain(chain).build();
+        senderChain.setChainKey(nextChainKey);
+        changed();
     }
 
     public boolean hasMessageKeys(ECPublicKey senderEphemeral, int counter) {
-        Pair<Chain, Integer> chainAndIndex = getReceiverChain(senderEphemeral);
-        Chain chain = chainAndIndex.first();
-
-        if (chain == null) {
-            return false;
-        }
-
-        List<Chain.MessageKey> messageKeyList = chain.getMessageKeysList();
-
-        for (Chain.MessageKey messageKey : messageKeyList) {
-            if (messageKey.getIndex() == counter) {
-                return true;
-            }
-        }
-
-        return false;
+        ChainState chain = getReceiverChain(senderEphemeral);
+        return chain != null && chain.hasMessageKeys(counter);
     }
 
     public MessageKeys removeMessageKeys(ECPublicKey senderEphemeral, int counter) {
-        Pair<Chain, Integer> chainAndIndex = getReceiverChain(senderEphemeral);
-        Chain chain = chainAndIndex.first();
+        ChainState chain = getReceiverChain(senderEphemeral);
 
         if (chain == null) {
             return null;
         }
 
-        List<Chain.MessageKey> messageKeyList = new LinkedList<>(chain.getMessageKeysList());
-        Iterator<Chain.MessageKey> messageKeyIterator = messageKeyList.iterator();
-        MessageKeys result = null;
-
-        while (messageKeyIterator.hasNext()) {
-            Chain.MessageKey messageKey = messageKeyIterator.next();
-
-            if (messageKey.getIndex() == counter) {
-                result = new MessageKeys(new SecretKeySpec(messageKey.getCipherKey().toByteArray(), "AES"),
-                        new SecretKeySpec(messageKey.getMacKey().toByteArray(), "HmacSHA256"),
-                        new IvParameterSpec(messageKey.getIv().toByteArray()),
-                        messageKey.getIndex());
-
-                messageKeyIterator.remove();
-                break;
-            }
+        MessageKeys result = chain.removeMessageKeys(counter);
+        if (result != null) {
+            changed();
         }
-
-        Chain updatedChain = chain.toBuilder().clearMessageKeys()
-                .addAllMessageKeys(messageKeyList)
-                .build();
-
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setReceiverChains(chainAndIndex.second(), updatedChain)
-                .build();
-
         return result;
     }
 
     public void setMessageKeys(ECPublicKey senderEphemeral, MessageKeys messageKeys) {
-        Pair<Chain, Integer> chainAndIndex = getReceiverChain(senderEphemeral);
-        Chain chain = chainAndIndex.first();
-        Chain.MessageKey messageKeyStructure = Chain.MessageKey.newBuilder()
-                .setCipherKey(ByteString.copyFrom(messageKeys.getCipherKey().getEncoded()))
-                .setMacKey(ByteString.copyFrom(messageKeys.getMacKey().getEncoded()))
-                .setIndex(messageKeys.getCounter())
-                .setIv(ByteString.copyFrom(messageKeys.getIv().getIV()))
-                .build();
-
-        Chain.Builder updatedChain = chain.toBuilder().addMessageKeys(messageKeyStructure);
-
-        if (updatedChain.getMessageKeysCount() > MAX_MESSAGE_KEYS) {
-            updatedChain.removeMessageKeys(0);
-        }
+        getReceiverChain(senderEphemeral).addMessageKeys(messageKeys, MAX_MESSAGE_KEYS);
+        changed();
+    }
 
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setReceiverChains(chainAndIndex.second(),
-                        updatedChain.build())
-                .build();
+    /**
+     * Adds the keys of skipped messages at once, in counter order.
+     */
+    public void setMessageKeys(ECPublicKey senderEphemeral, List<MessageKeys> messageKeys) {
+        getReceiverChain(senderEphemeral).addMessageKeys(messageKeys, MAX_MESSAGE_KEYS);
+        changed();
     }
 
     public void setReceiverChainKey(ECPublicKey senderEphemeral, ChainKey chainKey) {
-        Pair<Chain, Integer> chainAndIndex = getReceiverChain(senderEphemeral);
-        Chain chain = chainAndIndex.first();
-
-        Chain.ChainKey chainKeyStructure = Chain.ChainKey.newBuilder()
-                .setKey(ByteString.copyFrom(chainKey.getKey()))
-                .setIndex(chainKey.getIndex())
-                .build();
-
-        Chain updatedChain = chain.toBuilder().setChainKey(chainKeyStructure).build();
-
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setReceiverChains(chainAndIndex.second(), updatedChain)
-                .build();
+        getReceiverChain(senderEphemeral).setChainKey(chainKey);
+        changed();
     }
 
     public void setPendingKeyExchange(int sequence,
@@ -360,20 +349,19 @@ public class SessionState {
                         .setLocalIdentityKeyPrivate(ByteString.copyFrom(ourIdentityKey.getPrivateKey().getBytes()))
                         .build();
 
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setPendingKeyExchange(structure)
-                .build();
+        this.pendingKeyExchange = structure;
+        changed();
     }
 
     public int getPendingKeyExchangeSequence() {
-        return sessionStructure.getPendingKeyExchange().getSequence();
+        return pendingKeyExchange == null ? 0 : pendingKeyExchange.getSequence();
     }
 
     public ECKeyPair getPendingKeyExchangeBaseKey() throws InvalidKeyException {
-        ECPublicKey publicKey = Curve.getECPublicKey(sessionStructure.getPendingKeyExchange()
+        ECPublicKey publicKey = Curve.getECPublicKey(pendingKeyExchange
                 .getLocalBaseKey().toByteArray());
 
-        ECPrivateKey privateKey = Curve.getECPrivateKey(sessionStructure.getPendingKeyExchange()
+        ECPrivateKey privateKey = Curve.getECPrivateKey(pendingKeyExchange
                 .getLocalBaseKeyPrivate()
                 .toByteArray());
 
@@ -381,10 +369,10 @@ public class SessionState {
     }
 
     public ECKeyPair getPendingKeyExchangeRatchetKey() throws InvalidKeyException {
-        ECPublicKey publicKey = Curve.getECPublicKey(sessionStructure.getPendingKeyExchange()
+        ECPublicKey publicKey = Curve.getECPublicKey(pendingKeyExchange
                 .getLocalRatchetKey().toByteArray());
 
-        ECPrivateKey privateKey = Curve.getECPrivateKey(sessionStructure.getPendingKeyExchange()
+        ECPrivateKey privateKey = Curve.getECPrivateKey(pendingKeyExchange
                 .getLocalRatchetKeyPrivate()
                 .toByteArray());
 
@@ -392,10 +380,10 @@ public class SessionState {
     }
 
     public IdentityKeyPair getPendingKeyExchangeIdentityKey() throws InvalidKeyException {
-        IdentityKey publicKey = new IdentityKey(sessionStructure.getPendingKeyExchange()
+        IdentityKey publicKey = new IdentityKey(pendingKeyExchange
                 .getLocalIdentityKey().toByteArray());
 
-        ECPrivateKey privateKey = Curve.getECPrivateKey(sessionStructure.getPendingKeyExchange()
+        ECPrivateKey privateKey = Curve.getECPrivateKey(pendingKeyExchange
                 .getLocalIdentityKeyPrivate()
                 .toByteArray());
 
@@ -403,7 +391,7 @@ public class SessionState {
     }
 
     public boolean hasPendingKeyExchange() {
-        return sessionStructure.hasPendingKeyExchange();
+        return pendingKeyExchange != null;
     }
 
     public void setUnacknowledgedPreKeyMessage(Optional<Integer> preKeyId, int signedPreKeyId, ECPublicKey baseKey) {
@@ -415,59 +403,59 @@ public class SessionState {
             pending.setPreKeyId(preKeyId.get());
         }
 
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setPendingPreKey(pending.build())
-                .build();
+        this.pendingPreKey = pending.build();
+        changed();
     }
 
     public boolean hasUnacknowledgedPreKeyMessage() {
-        return this.sessionStructure.hasPendingPreKey();
+        return pendingPreKey != null;
     }
 
     public UnacknowledgedPreKeyMessageItems getUnacknowledgedPreKeyMessageItems() {
         Optional<Integer> preKeyId;
 
-        if (sessionStructure.getPendingPreKey().hasPreKeyId()) {
-            preKeyId = Optional.of(sessionStructure.getPendingPreKey().getPreKeyId());
+        if (pendingPreKey.hasPreKeyId()) {
+            preKeyId = Optional.of(pendingPreKey.getPreKeyId());
         } else {
             preKeyId = Optional.absent();
         }
 
         return new UnacknowledgedPreKeyMessageItems(preKeyId,
-                        sessionStructure.getPendingPreKey().getSignedPreKeyId(),
-                        Curve.getECPublicKey(sessionStructure.getPendingPreKey()
+                        pendingPreKey.getSignedPreKeyId(),
+                        Curve.getECPublicKey(pendingPreKey
                                 .getBaseKey()
                                 .toByteArray()));
     }
 
     public void clearUnacknowledgedPreKeyMessage() {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .clearPendingPreKey()
-                .build();
+        this.pendingPreKey = null;
+        changed();
     }
 
     public void setRemoteRegistrationId(int registrationId) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setRemoteRegistrationId(registrationId)
-                .build();
+        this.remoteRegistrationId = registrationId;
+        changed();
     }
 
     public int getRemoteRegistrationId() {
-        return this.sessionStructure.getRemoteRegistrationId();
+        return remoteRegistrationId;
     }
 
     public void setLocalRegistrationId(int registrationId) {
-        this.sessionStructure = this.sessionStructure.toBuilder()
-                .setLocalRegistrationId(registrationId)
-                .build();
+        this.localRegistrationId = registrationId;
+        changed();
     }
 
     public int getLocalRegistrationId() {
-        return this.sessionStructure.getLocalRegistrationId();
+        return localRegistrationId;
     }
 
     public byte[] serialize() {
-        return sessionStructure.toByteArray();
+        return getStructure().toByteArray();
+    }
+
+    private void changed() {
+        sessionStructure = null;
     }
 
     public static class UnacknowledgedPreKeyMessageItems {
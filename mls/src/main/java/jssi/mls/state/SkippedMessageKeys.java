@@ -0,0 +1,269 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state;
+
+import jssi.mls.ratchet.MessageKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keys of skipped messages of one chain, ordered by counter and addressed by binary search. Counters are
+ * stored in chunks which copies share, a change copies the chunk it touches and the chunk table, never
+ * every key. Keys are removed once used, beyond the maximum the lowest counters are dropped.
+ *
+ * @author ITON Solutions
+ */
+final class SkippedMessageKeys {
+
+    private static final int CHUNK_SIZE = 32;
+
+    // tables of a chain without skipped keys, most chains, replaced on the first key
+    private static final int[][] NO_COUNTERS = new int[0][];
+    private static final MessageKeys[][] NO_KEYS = new MessageKeys[0][];
+    private static final boolean[] NOT_OWNED = new boolean[0];
+
+    // slot s lives in chunk s / CHUNK_SIZE, used slots are [head, tail), a used key is null
+    private int[][] counters;
+    private MessageKeys[][] keys;
+    private boolean[] owned;
+    private boolean shared;
+    private int chunks;
+    private int head;
+    private int tail;
+    private int size;
+
+    SkippedMessageKeys() {
+        clear();
+    }
+
+    SkippedMessageKeys(SkippedMessageKeys copy) {
+        this.counters = copy.counters;
+        this.keys = copy.keys;
+        this.owned = copy.owned.length == 0 ? NOT_OWNED : new boolean[copy.owned.length];
+        this.chunks = copy.chunks;
+        this.head = copy.head;
+        this.tail = copy.tail;
+        this.size = copy.size;
+        this.shared = true;
+        copy.shared = true;
+        Arrays.fill(copy.owned, false);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int counter) {
+        int slot = find(counter);
+        return slot >= 0 && keys[slot / CHUNK_SIZE][slot % CHUNK_SIZE] != null;
+    }
+
+    MessageKeys remove(int counter) {
+        int slot = find(counter);
+        if (slot < 0) {
+            return null;
+        }
+
+        MessageKeys result = keys[slot / CHUNK_SIZE][slot % CHUNK_SIZE];
+        if (result != null) {
+            writable(slot / CHUNK_SIZE)[slot % CHUNK_SIZE] = null;
+            size--;
+            trim();
+        }
+        return result;
+    }
+
+    /**
+     * Adds the keys, the lowest counters are dropped beyond <code>max</code> keys.
+     */
+    void add(MessageKeys messageKeys, int max) {
+        put(messageKeys);
+        evict(max);
+    }
+
+    /**
+     * Adds the keys in counter order, keys that would be dropped right away are skipped.
+     */
+    void addAll(List<MessageKeys> values, int max) {
+        for (int i = Math.max(0, values.size() - max); i < values.size(); i++) {
+            put(values.get(i));
+        }
+        evict(max);
+    }
+
+    /**
+     * @return the keys in counter order
+     */
+    List<MessageKeys> values() {
+        List<MessageKeys> values = new ArrayList<>(size);
+
+        for (int slot = head; slot < tail; slot++) {
+            MessageKeys value = keys[slot / CHUNK_SIZE][slot % CHUNK_SIZE];
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private int find(int counter) {
+        int low = head;
+        int high = tail - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = counters[mid / CHUNK_SIZE][mid % CHUNK_SIZE];
+
+            if (value < counter) {
+                low = mid + 1;
+            } else if (value > counter) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private void put(MessageKeys messageKeys) {
+        if (tail == head || counters[(tail - 1) / CHUNK_SIZE][(tail - 1) % CHUNK_SIZE] < messageKeys.getCounter()) {
+            append(messageKeys);
+        } else {
+            insert(messageKeys);
+        }
+    }
+
+    private void evict(int max) {
+        while (size > max) {
+            writable(head / CHUNK_SIZE)[head % CHUNK_SIZE] = null;
+            size--;
+            trim();
+        }
+    }
+
+    private void append(MessageKeys messageKeys) {
+        int chunk = tail / CHUNK_SIZE;
+
+        if (chunk == chunks) {
+            if (chunk == counters.length) {
+                counters = Arrays.copyOf(counters, Math.max(2, chunk * 2));
+                keys = Arrays.copyOf(keys, Math.max(2, chunk * 2));
+                owned = Arrays.copyOf(owned, Math.max(2, chunk * 2));
+                shared = false;
+            } else {
+                table();
+            }
+            counters[chunk] = new int[CHUNK_SIZE];
+            keys[chunk] = new MessageKeys[CHUNK_SIZE];
+            owned[chunk] = true;
+            chunks++;
+        } else {
+            writable(chunk);
+        }
+
+        counters[chunk][tail % CHUNK_SIZE] = messageKeys.getCounter();
+        keys[chunk][tail % CHUNK_SIZE] = messageKeys;
+        tail++;
+        size++;
+    }
+
+    // keys below the highest counter, only possible through SessionState#setMessageKeys
+    private void insert(MessageKeys messageKeys) {
+        int slot = find(messageKeys.getCounter());
+
+        if (slot >= 0) {
+            MessageKeys[] chunk = writable(slot / CHUNK_SIZE);
+            if (chunk[slot % CHUNK_SIZE] == null) {
+                size++;
+            }
+            chunk[slot % CHUNK_SIZE] = messageKeys;
+            return;
+        }
+
+        List<MessageKeys> values = values();
+        values.add(messageKeys);
+        Collections.sort(values, new Comparator<MessageKeys>() {
+            @Override
+            public int compare(MessageKeys first, MessageKeys second) {
+                return Integer.compare(first.getCounter(), second.getCounter());
+            }
+        });
+
+        clear();
+        for (MessageKeys value : values) {
+            append(value);
+        }
+    }
+
+    // drops used slots in front, and the chunks they leave empty
+    private void trim() {
+        if (size == 0) {
+            clear();
+            return;
+        }
+
+        while (keys[head / CHUNK_SIZE][head % CHUNK_SIZE] == null) {
+            head++;
+        }
+
+        if (head >= CHUNK_SIZE) {
+            int drop = head / CHUNK_SIZE;
+            table();
+            System.arraycopy(counters, drop, counters, 0, chunks - drop);
+            System.arraycopy(keys, drop, keys, 0, chunks - drop);
+            System.arraycopy(owned, drop, owned, 0, chunks - drop);
+            Arrays.fill(counters, chunks - drop, chunks, null);
+            Arrays.fill(keys, chunks - drop, chunks, null);
+            Arrays.fill(owned, chunks - drop, chunks, false);
+            chunks -= drop;
+            head -= drop * CHUNK_SIZE;
+            tail -= drop * CHUNK_SIZE;
+        }
+    }
+
+    private MessageKeys[] writable(int chunk) {
+        if (!owned[chunk]) {
+            table();
+            counters[chunk] = counters[chunk].clone();
+            keys[chunk] = keys[chunk].clone();
+            owned[chunk] = true;
+        }
+        return keys[chunk];
+    }
+
+    private void table() {
+        if (shared) {
+            counters = counters.clone();
+            keys = keys.clone();
+            shared = false;
+        }
+    }
+
+    private void clear() {
+        counters = NO_COUNTERS;
+        keys = NO_KEYS;
+        owned = NOT_OWNED;
+        shared = false;
+        chunks = 0;
+        head = 0;
+        tail = 0;
+        size = 0;
+    }
+}
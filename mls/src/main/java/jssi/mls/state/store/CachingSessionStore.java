@@ -0,0 +1,451 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import jssi.mls.ProtocolAddress;
+import jssi.mls.state.BatchSessionStore;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.SessionStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SessionStore} decorator keeping deserialized {@link SessionRecord}s in a bounded LRU cache.
+ * Stored records are marked dirty and written to the delegate store in batches, either when
+ * <code>maxDirty</code> records are pending, when a dirty record is evicted or on {@link #flush()}.
+ * Records not yet flushed are lost if the process dies, callers needing durability flush after
+ * each batch of messages.
+ * <p>
+ * The cache is split in stripes by address, each with its own monitor and its own share of the capacity,
+ * so work on different addresses runs in parallel. The delegate is never called holding a stripe: dirty
+ * records are taken out of their stripe and written afterwards, one write at a time, and loads see the
+ * records taken out until the delegate has them.
+ * <p>
+ * Records are handed out and taken in as copies sharing their states until the caller accesses them,
+ * a caller changing a loaded record and then failing (e.g. on an invalid message) leaves the cached
+ * state untouched, as with a store which deserializes on every load.
+ * <p>
+ * Records missing from the cache are loaded, and dirty records flushed, in one batch when the delegate is a
+ * {@link BatchSessionStore}.
+ *
+ * @author ITON Solutions
+ */
+public class CachingSessionStore implements BatchSessionStore {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_DIRTY = 64;
+
+    // a stripe holds at least this many records, small caches keep a single LRU order
+    private static final int MIN_STRIPE_CAPACITY = 16;
+    private static final int MAX_STRIPES = 16;
+
+    private final SessionStore delegate;
+    private final int maxDirty;
+    private final Stripe[] stripes;
+    private final int shift;
+    private final AtomicInteger dirty = new AtomicInteger();
+
+    // serializes the writes to the delegate, taken before a stripe and never while holding one
+    private final Object writes = new Object();
+
+    public CachingSessionStore(SessionStore delegate) {
+        this(delegate, DEFAULT_CAPACITY, DEFAULT_MAX_DIRTY);
+    }
+
+    /**
+     * @param delegate store the records are persisted to
+     * @param capacity maximum number of cached records
+     * @param maxDirty number of pending records triggering a flush, 1 writes through
+     */
+    public CachingSessionStore(SessionStore delegate, int capacity, int maxDirty) {
+        if (capacity < 1 || maxDirty < 1) {
+            throw new IllegalArgumentException(String.format("Invalid cache size: %d/%d", capacity, maxDirty));
+        }
+        this.delegate = delegate;
+        this.maxDirty = maxDirty;
+
+        int count = 1;
+        while (count < MAX_STRIPES && count * 2 * MIN_STRIPE_CAPACITY <= capacity) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity / count);
+        }
+        this.shift = Integer.numberOfLeadingZeros(count) + 1;
+    }
+
+    @Override
+    public SessionRecord loadSession(ProtocolAddress address) {
+        Stripe stripe = stripe(address);
+
+        while (true) {
+            long version;
+            synchronized (stripe) {
+                SessionRecord record = stripe.get(address);
+                if (record != null) {
+                    return new SessionRecord(record);
+                }
+                version = stripe.version;
+            }
+
+            SessionRecord record = delegate.loadSession(address);
+            SessionRecord copy = cache(stripe, version, address, record);
+            if (copy != null) {
+                return copy;
+            }
+        }
+    }
+
+    @Override
+    public Map<ProtocolAddress, SessionRecord> loadSessions(List<ProtocolAddress> addresses) {
+        Map<ProtocolAddress, SessionRecord> found = new HashMap<>();
+        Map<Stripe, Long> versions = new HashMap<>();
+        List<ProtocolAddress> missing = new ArrayList<>();
+
+        for (ProtocolAddress address : addresses) {
+            Stripe stripe = stripe(address);
+            synchronized (stripe) {
+                SessionRecord record = stripe.get(address);
+                if (record != null) {
+                    found.put(address, new SessionRecord(record));
+                } else {
+                    missing.add(address);
+                    if (!versions.containsKey(stripe)) {
+                        versions.put(stripe, stripe.version);
+                    }
+                }
+            }
+        }
+
+        Map<ProtocolAddress, SessionRecord> loaded;
+        if (delegate instanceof BatchSessionStore) {
+            loaded = ((BatchSessionStore) delegate).loadSessions(missing);
+        } else {
+            loaded = new LinkedHashMap<>();
+            for (ProtocolAddress address : missing) {
+                loaded.put(address, delegate.loadSession(address));
+            }
+        }
+
+        for (ProtocolAddress address : missing) {
+            Stripe stripe = stripe(address);
+            SessionRecord copy = cache(stripe, versions.get(stripe), address, loaded.get(address));
+            // the stripe changed while the delegate was read
+            found.put(address, copy != null ? copy : loadSession(address));
+        }
+
+        Map<ProtocolAddress, SessionRecord> records = new LinkedHashMap<>();
+        for (ProtocolAddress address : addresses) {
+            records.put(address, found.get(address));
+        }
+
+        return records;
+    }
+
+    @Override
+    public List<Integer> getSubDeviceSessions(String name) {
+        // pending records first, once written the delegate has them
+        Set<Integer> pending = new LinkedHashSet<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                devices(name, stripe.dirty, pending);
+                devices(name, stripe.writing.keySet(), pending);
+            }
+        }
+
+        List<Integer> deviceIds = new LinkedList<>(delegate.getSubDeviceSessions(name));
+        for (Integer deviceId : pending) {
+            if (!deviceIds.contains(deviceId)) {
+                deviceIds.add(deviceId);
+            }
+        }
+
+        return deviceIds;
+    }
+
+    @Override
+    public void storeSession(ProtocolAddress address, SessionRecord record) {
+        Map<ProtocolAddress, SessionRecord> evicted = new LinkedHashMap<>();
+        store(address, record, evicted);
+
+        if (!evicted.isEmpty()) {
+            write(evicted);
+        }
+        if (dirty.get() >= maxDirty) {
+            flush();
+        }
+    }
+
+    @Override
+    public void storeSessions(Map<ProtocolAddress, SessionRecord> records) {
+        Map<ProtocolAddress, SessionRecord> evicted = new LinkedHashMap<>();
+        for (Map.Entry<ProtocolAddress, SessionRecord> record : records.entrySet()) {
+            store(record.getKey(), record.getValue(), evicted);
+        }
+
+        if (!evicted.isEmpty()) {
+            write(evicted);
+        }
+        if (dirty.get() >= maxDirty) {
+            flush();
+        }
+    }
+
+    @Override
+    public boolean containsSession(ProtocolAddress address) {
+        Stripe stripe = stripe(address);
+        synchronized (stripe) {
+            if (stripe.get(address) != null) {
+                return true;
+            }
+        }
+        return delegate.containsSession(address);
+    }
+
+    @Override
+    public void deleteSession(ProtocolAddress address) {
+        // no write is running, pending writes of the address are dropped
+        synchronized (writes) {
+            Stripe stripe = stripe(address);
+            synchronized (stripe) {
+                stripe.version++;
+                if (stripe.dirty.remove(address)) {
+                    dirty.decrementAndGet();
+                }
+                stripe.cache.remove(address);
+                stripe.writing.remove(address);
+            }
+            delegate.deleteSession(address);
+        }
+    }
+
+    @Override
+    public void deleteAllSessions(String name) {
+        synchronized (writes) {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.version++;
+                    Iterator<ProtocolAddress> addresses = stripe.cache.keySet().iterator();
+                    while (addresses.hasNext()) {
+                        ProtocolAddress address = addresses.next();
+                        if (address.getDid().equals(name)) {
+                            if (stripe.dirty.remove(address)) {
+                                dirty.decrementAndGet();
+                            }
+                            addresses.remove();
+                        }
+                    }
+
+                    addresses = stripe.writing.keySet().iterator();
+                    while (addresses.hasNext()) {
+                        if (addresses.next().getDid().equals(name)) {
+                            addresses.remove();
+                        }
+                    }
+                }
+            }
+            delegate.deleteAllSessions(name);
+        }
+    }
+
+    /**
+     * Writes every dirty record to the delegate store.
+     */
+    public void flush() {
+        synchronized (writes) {
+            Map<ProtocolAddress, SessionRecord> records = new LinkedHashMap<>();
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    for (ProtocolAddress address : stripe.dirty) {
+                        SessionRecord record = stripe.cache.get(address);
+                        stripe.writing.put(address, record);
+                        records.put(address, record);
+                    }
+                    dirty.addAndGet(-stripe.dirty.size());
+                    stripe.dirty.clear();
+                }
+            }
+            write(records);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.cache.size();
+            }
+        }
+        return size;
+    }
+
+    public int dirtySize() {
+        return dirty.get();
+    }
+
+    private Stripe stripe(ProtocolAddress address) {
+        // Fibonacci hashing as in StripedLock, a single stripe takes every address
+        return stripes.length == 1 ? stripes[0] : stripes[(address.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    private void store(ProtocolAddress address, SessionRecord record, Map<ProtocolAddress, SessionRecord> evicted) {
+        Stripe stripe = stripe(address);
+        synchronized (stripe) {
+            stripe.version++;
+            if (stripe.dirty.add(address)) {
+                dirty.incrementAndGet();
+            }
+            dirty.addAndGet(-stripe.put(address, new SessionRecord(record), evicted));
+        }
+    }
+
+    /**
+     * Caches a record read from the delegate, unless the stripe changed since <code>version</code>.
+     *
+     * @return a copy of the record, null when the stripe changed
+     */
+    private SessionRecord cache(Stripe stripe, long version, ProtocolAddress address, SessionRecord record) {
+        Map<ProtocolAddress, SessionRecord> evicted = new LinkedHashMap<>();
+
+        synchronized (stripe) {
+            if (stripe.version != version) {
+                return null;
+            }
+            // unknown addresses are not cached, probing must not evict live sessions
+            if (record.isFresh()) {
+                return record;
+            }
+            dirty.addAndGet(-stripe.put(address, record, evicted));
+        }
+
+        if (!evicted.isEmpty()) {
+            write(evicted);
+        }
+        return new SessionRecord(record);
+    }
+
+    /**
+     * Writes records taken out of their stripes, records replaced or deleted meanwhile are skipped. Records
+     * the delegate fails to write are dirty again.
+     */
+    private void write(Map<ProtocolAddress, SessionRecord> records) {
+        synchronized (writes) {
+            Map<ProtocolAddress, SessionRecord> current = new LinkedHashMap<>();
+            for (Map.Entry<ProtocolAddress, SessionRecord> record : records.entrySet()) {
+                Stripe stripe = stripe(record.getKey());
+                synchronized (stripe) {
+                    if (stripe.writing.get(record.getKey()) == record.getValue()) {
+                        current.put(record.getKey(), record.getValue());
+                    }
+                }
+            }
+
+            boolean written = false;
+            try {
+                if (delegate instanceof BatchSessionStore) {
+                    ((BatchSessionStore) delegate).storeSessions(current);
+                } else {
+                    for (Map.Entry<ProtocolAddress, SessionRecord> record : current.entrySet()) {
+                        delegate.storeSession(record.getKey(), record.getValue());
+                    }
+                }
+                written = true;
+            } finally {
+                for (Map.Entry<ProtocolAddress, SessionRecord> record : current.entrySet()) {
+                    Stripe stripe = stripe(record.getKey());
+                    synchronized (stripe) {
+                        if (stripe.writing.remove(record.getKey(), record.getValue()) && !written) {
+                            restore(stripe, record.getKey(), record.getValue());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // guarded by the stripe, a newer record stored meanwhile is dirty already
+    private void restore(Stripe stripe, ProtocolAddress address, SessionRecord record) {
+        if (!stripe.cache.containsKey(address)) {
+            stripe.cache.put(address, record);
+        }
+        if (stripe.cache.get(address) == record && stripe.dirty.add(address)) {
+            dirty.incrementAndGet();
+        }
+    }
+
+    private static void devices(String name, Collection<ProtocolAddress> addresses, Set<Integer> deviceIds) {
+        for (ProtocolAddress address : addresses) {
+            if (address.getDid().equals(name) && address.getDeviceId() != 1) {
+                deviceIds.add(address.getDeviceId());
+            }
+        }
+    }
+
+    private static class Stripe {
+
+        private final int capacity;
+        private final LinkedHashMap<ProtocolAddress, SessionRecord> cache = new LinkedHashMap<>(16, 0.75f, true);
+        private final Set<ProtocolAddress> dirty = new LinkedHashSet<>();
+
+        // records taken out for a write the delegate has not completed
+        private final Map<ProtocolAddress, SessionRecord> writing = new HashMap<>();
+
+        // changed by every store and delete, a record read from the delegate meanwhile is not cached
+        private long version;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        SessionRecord get(ProtocolAddress address) {
+            SessionRecord record = cache.get(address);
+            return record != null ? record : writing.get(address);
+        }
+
+        /**
+         * Caches the record, dirty records evicted beyond the capacity are taken out into <code>evicted</code>.
+         *
+         * @return number of dirty records evicted
+         */
+        int put(ProtocolAddress address, SessionRecord record, Map<ProtocolAddress, SessionRecord> evicted) {
+            cache.put(address, record);
+
+            int count = 0;
+            Iterator<Map.Entry<ProtocolAddress, SessionRecord>> eldest = cache.entrySet().iterator();
+            while (cache.size() > capacity) {
+                Map.Entry<ProtocolAddress, SessionRecord> entry = eldest.next();
+                eldest.remove();
+                if (dirty.remove(entry.getKey())) {
+                    writing.put(entry.getKey(), entry.getValue());
+                    evicted.put(entry.getKey(), entry.getValue());
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -25,12 +25,12 @@ import org.bitcoinj.core.Base58;
 import uniresolver.ResolutionException;
 import uniresolver.result.ResolveResult;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryIdentityKeyStore implements IdentityKeyStore {
 
-    private final Map<ProtocolAddress, IdentityKey> trustedKeys = new HashMap<>();
+    private final Map<ProtocolAddress, IdentityKey> trustedKeys = new ConcurrentHashMap<>();
     private final IdentityKeyPair identityKeyPair;
     private final int localRegistrationId;
 
@@ -51,20 +51,14 @@ public class InMemoryIdentityKeyStore implements IdentityKeyStore {
 
     @Override
     public boolean saveIdentity(ProtocolAddress address, IdentityKey identityKey) {
-        IdentityKey existing = trustedKeys.get(address);
-
-        if (!identityKey.equals(existing)) {
-            trustedKeys.put(address, identityKey);
-            return true;
-        } else {
-            return false;
-        }
+        IdentityKey existing = trustedKeys.put(address, identityKey);
+        return !identityKey.equals(existing);
     }
 
     @Override
     public boolean isTrustedIdentity(ProtocolAddress address, IdentityKey identityKey, Direction direction) {
 
-        IdentityKey trusted = trustedKeys.get(address);
+        IdentityKey trusted = getIdentity(address);
         if (trusted == null) {
             return resolve(address, identityKey);
         } else {
@@ -77,7 +71,7 @@ public class InMemoryIdentityKeyStore implements IdentityKeyStore {
         return trustedKeys.get(address);
     }
 
-    private boolean resolve(ProtocolAddress address, IdentityKey identityKey){
+    static boolean resolve(ProtocolAddress address, IdentityKey identityKey){
         ClientResolver client = new ClientResolver();
         try {
             ResolveResult result = client.resolve("did:sov:" + address.getDid()).blockingSingle();
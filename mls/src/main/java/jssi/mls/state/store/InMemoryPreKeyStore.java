@@ -20,21 +20,22 @@ import jssi.mls.state.PreKeyRecord;
 import jssi.mls.state.PreKeyStore;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryPreKeyStore implements PreKeyStore {
 
-    private final Map<Integer, byte[]> store = new HashMap<>();
+    private final Map<Integer, byte[]> store = new ConcurrentHashMap<>();
 
     @Override
     public PreKeyRecord loadPreKey(int preKeyId) throws InvalidKeyIdException {
         try {
-            if (!store.containsKey(preKeyId)) {
+            byte[] serialized = store.get(preKeyId);
+            if (serialized == null) {
                 throw new InvalidKeyIdException("No such prekeyrecord!");
             }
 
-            return new PreKeyRecord(store.get(preKeyId));
+            return new PreKeyRecord(serialized);
         } catch (IOException e) {
             throw new AssertionError(e);
         }
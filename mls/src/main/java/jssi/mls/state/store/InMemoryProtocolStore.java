@@ -16,6 +16,7 @@
 package jssi.mls.state.store;
 
 import jssi.mls.ProtocolAddress;
+import jssi.mls.state.BatchSessionStore;
 import jssi.mls.state.ProtocolStore;
 import jssi.mls.IdentityKey;
 import jssi.mls.IdentityKeyPair;
@@ -25,11 +26,12 @@ import jssi.mls.state.SessionRecord;
 import jssi.mls.state.SignedPreKeyRecord;
 
 import java.util.List;
+import java.util.Map;
 
-public class InMemoryProtocolStore implements ProtocolStore {
+public class InMemoryProtocolStore implements ProtocolStore, BatchSessionStore {
 
     private final InMemoryPreKeyStore preKeyStore = new InMemoryPreKeyStore();
-    private final InMemorySessionStore sessionStore = new InMemorySessionStore();
+    private final CachingSessionStore sessionStore = new CachingSessionStore(new InMemorySessionStore());
     private final InMemorySignedPreKeyStore signedPreKeyStore = new InMemorySignedPreKeyStore();
 
     private final InMemoryIdentityKeyStore identityKeyStore;
@@ -88,6 +90,11 @@ public class InMemoryProtocolStore implements ProtocolStore {
         return sessionStore.loadSession(address);
     }
 
+    @Override
+    public Map<ProtocolAddress, SessionRecord> loadSessions(List<ProtocolAddress> addresses) {
+        return sessionStore.loadSessions(addresses);
+    }
+
     @Override
     public List<Integer> getSubDeviceSessions(String name) {
         return sessionStore.getSubDeviceSessions(name);
@@ -98,6 +105,11 @@ public class InMemoryProtocolStore implements ProtocolStore {
         sessionStore.storeSession(address, record);
     }
 
+    @Override
+    public void storeSessions(Map<ProtocolAddress, SessionRecord> records) {
+        sessionStore.storeSessions(records);
+    }
+
     @Override
     public boolean containsSession(ProtocolAddress address) {
         return sessionStore.containsSession(address);
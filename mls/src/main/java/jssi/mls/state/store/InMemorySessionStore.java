@@ -20,23 +20,31 @@ import jssi.mls.state.SessionRecord;
 import jssi.mls.state.SessionStore;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
 
+/**
+ * Sessions indexed by address and by DID. Reads are lock free, changes of a DID are applied while its
+ * index entry is computed so both maps stay consistent.
+ */
 public class InMemorySessionStore implements SessionStore {
 
-    private Map<ProtocolAddress, byte[]> sessions = new HashMap<>();
+    private final ConcurrentMap<ProtocolAddress, byte[]> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Integer>> devices = new ConcurrentHashMap<>();
 
     public InMemorySessionStore() {
     }
 
     @Override
-    public synchronized SessionRecord loadSession(ProtocolAddress remoteAddress) {
+    public SessionRecord loadSession(ProtocolAddress remoteAddress) {
         try {
-            if (containsSession(remoteAddress)) {
-                return new SessionRecord(sessions.get(remoteAddress));
+            byte[] serialized = sessions.get(remoteAddress);
+            if (serialized != null) {
+                return new SessionRecord(serialized);
             } else {
                 return new SessionRecord();
             }
@@ -46,13 +54,15 @@ public class InMemorySessionStore implements SessionStore {
     }
 
     @Override
-    public synchronized List<Integer> getSubDeviceSessions(String name) {
+    public List<Integer> getSubDeviceSessions(String name) {
         List<Integer> deviceIds = new LinkedList<>();
+        Set<Integer> ids = devices.get(name);
 
-        for (ProtocolAddress key : sessions.keySet()) {
-            if (key.getDid().equals(name) &&
-                    key.getDeviceId() != 1) {
-                deviceIds.add(key.getDeviceId());
+        if (ids != null) {
+            for (Integer deviceId : ids) {
+                if (deviceId != 1) {
+                    deviceIds.add(deviceId);
+                }
             }
         }
 
@@ -60,26 +70,49 @@ public class InMemorySessionStore implements SessionStore {
     }
 
     @Override
-    public synchronized void storeSession(ProtocolAddress address, SessionRecord record) {
-        sessions.put(address, record.serialize());
+    public void storeSession(final ProtocolAddress address, SessionRecord record) {
+        final byte[] serialized = record.serialize();
+
+        devices.compute(address.getDid(), new BiFunction<String, Set<Integer>, Set<Integer>>() {
+            @Override
+            public Set<Integer> apply(String did, Set<Integer> ids) {
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                }
+                sessions.put(address, serialized);
+                ids.add(address.getDeviceId());
+                return ids;
+            }
+        });
     }
 
     @Override
-    public synchronized boolean containsSession(ProtocolAddress address) {
+    public boolean containsSession(ProtocolAddress address) {
         return sessions.containsKey(address);
     }
 
     @Override
-    public synchronized void deleteSession(ProtocolAddress address) {
-        sessions.remove(address);
+    public void deleteSession(final ProtocolAddress address) {
+        devices.computeIfPresent(address.getDid(), new BiFunction<String, Set<Integer>, Set<Integer>>() {
+            @Override
+            public Set<Integer> apply(String did, Set<Integer> ids) {
+                sessions.remove(address);
+                ids.remove(address.getDeviceId());
+                return ids.isEmpty() ? null : ids;
+            }
+        });
     }
 
     @Override
-    public synchronized void deleteAllSessions(String name) {
-        for (ProtocolAddress key : sessions.keySet()) {
-            if (key.getDid().equals(name)) {
-                sessions.remove(key);
+    public void deleteAllSessions(String name) {
+        devices.computeIfPresent(name, new BiFunction<String, Set<Integer>, Set<Integer>>() {
+            @Override
+            public Set<Integer> apply(String did, Set<Integer> ids) {
+                for (Integer deviceId : ids) {
+                    sessions.remove(new ProtocolAddress(did, deviceId));
+                }
+                return null;
             }
-        }
+        });
     }
 }
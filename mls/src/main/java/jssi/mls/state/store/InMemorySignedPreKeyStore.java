@@ -20,23 +20,24 @@ import jssi.mls.state.SignedPreKeyRecord;
 import jssi.mls.state.SignedPreKeyStore;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemorySignedPreKeyStore implements SignedPreKeyStore {
 
-    private final Map<Integer, byte[]> store = new HashMap<>();
+    private final Map<Integer, byte[]> store = new ConcurrentHashMap<>();
 
     @Override
     public SignedPreKeyRecord loadSignedPreKey(int signedPreKeyId) throws InvalidKeyIdException {
         try {
-            if (!store.containsKey(signedPreKeyId)) {
+            byte[] serialized = store.get(signedPreKeyId);
+            if (serialized == null) {
                 throw new InvalidKeyIdException("No such signed prekey record! " + signedPreKeyId);
             }
 
-            return new SignedPreKeyRecord(store.get(signedPreKeyId));
+            return new SignedPreKeyRecord(serialized);
         } catch (IOException e) {
             throw new AssertionError(e);
         }
@@ -0,0 +1,459 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.InvalidKeyException;
+import jssi.mls.InvalidKeyIdException;
+import jssi.mls.ecc.Curve;
+import jssi.mls.state.PreKeyRecord;
+import jssi.mls.state.PreKeyStore;
+import jssi.mls.state.SignedPreKeyRecord;
+import jssi.mls.state.SignedPreKeyStore;
+import jssi.mls.util.KeyHelper;
+import jssi.mls.util.Medium;
+import org.libsodium.jni.SodiumException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link PreKeyStore} decorator keeping a pool of one-time pre-keys. It counts the pre-keys it generated and
+ * the session setups consumed, and once no more than <code>lowWater</code> are left it generates a batch of
+ * new pre-keys on the executor, so a burst of session setups does not wait for key generation. The signed
+ * pre-key is rotated every rotation period, the previous one is kept for bundles fetched before the rotation.
+ * <p>
+ * Pre-key ids are handed out in wrap-around order following the highest id of the pool, ids still held by
+ * the store are skipped, so a published pre-key is never overwritten.
+ * <p>
+ * New pre-keys and signed pre-keys are stored first and then handed to the {@link Listener}, which publishes
+ * them. The counters (depth, consumed, generated, misses, replenishments, rotations) are the pool metrics.
+ *
+ * @author ITON Solutions
+ */
+public class PreKeyPool implements PreKeyStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PreKeyPool.class);
+
+    public static final int DEFAULT_LOW_WATER = 20;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_ROTATION_PERIOD = TimeUnit.DAYS.toMillis(7);
+
+    // current and previous signed pre-key
+    private static final int SIGNED_PRE_KEYS_KEPT = 2;
+
+    private final PreKeyStore preKeyStore;
+    private final SignedPreKeyStore signedPreKeyStore;
+    private final IdentityKeyPair identityKeyPair;
+    private final ScheduledExecutorService executor;
+    private final Listener listener;
+    private final int lowWater;
+    private final int batchSize;
+    private final long rotationPeriod;
+
+    private final Set<Integer> preKeyIds = ConcurrentHashMap.newKeySet();
+    // a batch is scheduled on the executor
+    private final AtomicBoolean replenishing = new AtomicBoolean();
+    private final Lock generating = new ReentrantLock();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong replenishments = new AtomicLong();
+    private final AtomicLong rotations = new AtomicLong();
+
+    // guarded by generating
+    private int nextPreKeyId;
+
+    private volatile SignedPreKeyRecord signedPreKey;
+    private ScheduledFuture<?> rotation;
+
+    private PreKeyPool(PreKeyStore preKeyStore, SignedPreKeyStore signedPreKeyStore, IdentityKeyPair identityKeyPair,
+                       ScheduledExecutorService executor, Listener listener, int lowWater, int batchSize,
+                       long rotationPeriod, Collection<Integer> preKeyIds) {
+        if (preKeyStore == null || signedPreKeyStore == null || identityKeyPair == null || executor == null) {
+            throw new IllegalArgumentException("Null values!");
+        }
+        if (lowWater < 0 || batchSize < 1 || batchSize >= Medium.MAX_VALUE / 2 || rotationPeriod < 1) {
+            throw new IllegalArgumentException(String.format("Invalid pool size: %d/%d/%d", lowWater, batchSize, rotationPeriod));
+        }
+
+        this.preKeyStore = preKeyStore;
+        this.signedPreKeyStore = signedPreKeyStore;
+        this.identityKeyPair = identityKeyPair;
+        this.executor = executor;
+        this.listener = listener != null ? listener : new NullListener();
+        this.lowWater = lowWater;
+        this.batchSize = batchSize;
+        this.rotationPeriod = rotationPeriod;
+
+        for (int preKeyId : preKeyIds) {
+            if (preKeyStore.containsPreKey(preKeyId)) {
+                this.preKeyIds.add(preKeyId);
+            }
+        }
+        this.nextPreKeyId = this.preKeyIds.isEmpty()
+                ? KeyHelper.getRandomSequence(Medium.MAX_VALUE - 1) + 1
+                : next(getHighest(this.preKeyIds));
+        this.signedPreKey = getNewest(signedPreKeyStore.loadSignedPreKeys());
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Fills the pool and creates a signed pre-key if there is none, then schedules the signed pre-key rotation.
+     */
+    public synchronized void start() throws SodiumException, InvalidKeyException {
+        if (rotation != null) {
+            return;
+        }
+
+        if (signedPreKey == null) {
+            rotateSignedPreKey();
+        }
+        if (preKeyIds.size() <= lowWater) {
+            replenish();
+        }
+
+        long delay = Math.max(0, signedPreKey.getTimestamp() + rotationPeriod - System.currentTimeMillis());
+        rotation = executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    rotateSignedPreKey();
+                } catch (SodiumException | InvalidKeyException | RuntimeException e) {
+                    LOG.error(String.format("Error: %s", e.getMessage()));
+                }
+            }
+        }, delay, rotationPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the signed pre-key rotation, the executor is owned by the caller.
+     */
+    public synchronized void stop() {
+        if (rotation != null) {
+            rotation.cancel(false);
+            rotation = null;
+        }
+    }
+
+    @Override
+    public PreKeyRecord loadPreKey(int preKeyId) throws InvalidKeyIdException {
+        try {
+            return preKeyStore.loadPreKey(preKeyId);
+        } catch (InvalidKeyIdException e) {
+            misses.incrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public void storePreKey(int preKeyId, PreKeyRecord record) {
+        preKeyStore.storePreKey(preKeyId, record);
+        preKeyIds.add(preKeyId);
+    }
+
+    @Override
+    public boolean containsPreKey(int preKeyId) {
+        return preKeyStore.containsPreKey(preKeyId);
+    }
+
+    @Override
+    public void removePreKey(int preKeyId) {
+        preKeyStore.removePreKey(preKeyId);
+
+        if (preKeyIds.remove(preKeyId)) {
+            consumed.incrementAndGet();
+        }
+        if (preKeyIds.size() <= lowWater) {
+            scheduleReplenish();
+        }
+    }
+
+    /**
+     * @return the current signed pre-key, null before {@link #start()} on an empty store
+     */
+    public SignedPreKeyRecord getSignedPreKey() {
+        return signedPreKey;
+    }
+
+    /**
+     * @return the ids of the one-time pre-keys left in the pool
+     */
+    public List<Integer> getPreKeyIds() {
+        return new ArrayList<>(preKeyIds);
+    }
+
+    /**
+     * @return number of one-time pre-keys left in the pool
+     */
+    public int getDepth() {
+        return preKeyIds.size();
+    }
+
+    /**
+     * @return number of one-time pre-keys consumed by session setups
+     */
+    public long getConsumed() {
+        return consumed.get();
+    }
+
+    /**
+     * @return number of one-time pre-keys generated by the pool
+     */
+    public long getGenerated() {
+        return generated.get();
+    }
+
+    /**
+     * @return number of session setups naming a pre-key the store does not have
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of batches generated
+     */
+    public long getReplenishments() {
+        return replenishments.get();
+    }
+
+    /**
+     * @return number of signed pre-keys generated
+     */
+    public long getRotations() {
+        return rotations.get();
+    }
+
+    private void scheduleReplenish() {
+        if (!replenishing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        replenish();
+                    } catch (SodiumException | RuntimeException e) {
+                        LOG.error(String.format("Error: %s", e.getMessage()));
+                    } finally {
+                        replenishing.set(false);
+                    }
+
+                    // keys consumed while the batch was generated
+                    if (preKeyIds.size() <= lowWater) {
+                        scheduleReplenish();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            replenishing.set(false);
+            LOG.error(String.format("Error: %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Generates a batch, waiting for a batch running on the executor to complete first.
+     */
+    private void replenish() throws SodiumException {
+        generating.lock();
+        try {
+            generatePreKeys();
+        } finally {
+            generating.unlock();
+        }
+    }
+
+    private void generatePreKeys() throws SodiumException {
+        List<PreKeyRecord> records = new ArrayList<>(batchSize);
+        int preKeyId = nextPreKeyId;
+
+        for (int i = 0; i < Medium.MAX_VALUE - 1 && records.size() < batchSize; i++, preKeyId = next(preKeyId)) {
+            if (!preKeyIds.contains(preKeyId) && !preKeyStore.containsPreKey(preKeyId)) {
+                records.add(new PreKeyRecord(preKeyId, Curve.generateKeyPair()));
+            }
+        }
+
+        for (PreKeyRecord record : records) {
+            storePreKey(record.getId(), record);
+        }
+        nextPreKeyId = preKeyId;
+
+        generated.addAndGet(records.size());
+        replenishments.incrementAndGet();
+        listener.onPreKeys(records);
+    }
+
+    private synchronized void rotateSignedPreKey() throws SodiumException, InvalidKeyException {
+        int signedPreKeyId = signedPreKey == null
+                ? KeyHelper.getRandomSequence(Medium.MAX_VALUE - 1) + 1
+                : next(signedPreKey.getId());
+
+        SignedPreKeyRecord record = KeyHelper.generateSignedPreKey(identityKeyPair, signedPreKeyId);
+        signedPreKeyStore.storeSignedPreKey(signedPreKeyId, record);
+        signedPreKey = record;
+        rotations.incrementAndGet();
+
+        List<SignedPreKeyRecord> records = new ArrayList<>(signedPreKeyStore.loadSignedPreKeys());
+        Collections.sort(records, new TimestampComparator());
+        for (SignedPreKeyRecord old : records.subList(0, Math.max(0, records.size() - SIGNED_PRE_KEYS_KEPT))) {
+            if (old.getId() != signedPreKeyId) {
+                signedPreKeyStore.removeSignedPreKey(old.getId());
+            }
+        }
+
+        listener.onSignedPreKey(record);
+    }
+
+    private static int next(int preKeyId) {
+        return preKeyId % (Medium.MAX_VALUE - 1) + 1;
+    }
+
+    /**
+     * @return the last id handed out, ids wrap around so it is the one before the largest gap between the ids
+     */
+    static int getHighest(Collection<Integer> preKeyIds) {
+        List<Integer> ids = new ArrayList<>(preKeyIds);
+        Collections.sort(ids);
+
+        int highest = ids.get(ids.size() - 1);
+        int gap = ids.get(0) + Medium.MAX_VALUE - 1 - highest;
+
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i) - ids.get(i - 1) > gap) {
+                gap = ids.get(i) - ids.get(i - 1);
+                highest = ids.get(i - 1);
+            }
+        }
+        return highest;
+    }
+
+    private static SignedPreKeyRecord getNewest(List<SignedPreKeyRecord> records) {
+        return records.isEmpty() ? null : Collections.max(records, new TimestampComparator());
+    }
+
+    /**
+     * Publishes the keys generated by the pool.
+     */
+    public interface Listener {
+
+        public void onPreKeys(List<PreKeyRecord> records);
+
+        public void onSignedPreKey(SignedPreKeyRecord record);
+    }
+
+    private static class NullListener implements Listener {
+        @Override
+        public void onPreKeys(List<PreKeyRecord> records) {
+        }
+
+        @Override
+        public void onSignedPreKey(SignedPreKeyRecord record) {
+        }
+    }
+
+    private static class TimestampComparator implements Comparator<SignedPreKeyRecord> {
+        @Override
+        public int compare(SignedPreKeyRecord a, SignedPreKeyRecord b) {
+            return Long.compare(a.getTimestamp(), b.getTimestamp());
+        }
+    }
+
+    public static class Builder {
+        private PreKeyStore preKeyStore;
+        private SignedPreKeyStore signedPreKeyStore;
+        private IdentityKeyPair identityKeyPair;
+        private ScheduledExecutorService executor;
+        private Listener listener;
+        private int lowWater = DEFAULT_LOW_WATER;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private long rotationPeriod = DEFAULT_ROTATION_PERIOD;
+        private Collection<Integer> preKeyIds = Collections.emptyList();
+
+        public Builder setPreKeyStore(PreKeyStore preKeyStore) {
+            this.preKeyStore = preKeyStore;
+            return this;
+        }
+
+        public Builder setSignedPreKeyStore(SignedPreKeyStore signedPreKeyStore) {
+            this.signedPreKeyStore = signedPreKeyStore;
+            return this;
+        }
+
+        public Builder setIdentityKeyPair(IdentityKeyPair identityKeyPair) {
+            this.identityKeyPair = identityKeyPair;
+            return this;
+        }
+
+        public Builder setExecutor(ScheduledExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder setListener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public Builder setLowWater(int lowWater) {
+            this.lowWater = lowWater;
+            return this;
+        }
+
+        public Builder setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder setRotationPeriod(long period, TimeUnit unit) {
+            this.rotationPeriod = unit.toMillis(period);
+            return this;
+        }
+
+        /**
+         * @param preKeyIds ids of one-time pre-keys stored and published before, e.g. in an earlier run
+         */
+        public Builder setPreKeyIds(Collection<Integer> preKeyIds) {
+            this.preKeyIds = preKeyIds;
+            return this;
+        }
+
+        public PreKeyPool create() {
+            return new PreKeyPool(preKeyStore, signedPreKeyStore, identityKeyPair, executor, listener,
+                    lowWater, batchSize, rotationPeriod, preKeyIds);
+        }
+    }
+}
@@ -19,6 +19,8 @@ package jssi.mls.state.store;
 import io.reactivex.Observable;
 import io.reactivex.Observer;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Function;
+import jssi.mls.IdentityKeyPair;
 import jssi.mls.ecc.ECKeyPair;
 import jssi.mls.ecc.EDPrivateKey;
 import jssi.mls.ecc.EDPublicKey;
@@ -38,14 +40,22 @@ public class WalletController {
     private static final String KEY_TYPE = "Indy::Key";
 
     private ECKeyPair keyPair;
-    private final String id;
-    private final String key;
+    private final WalletService service;
     private WalletListener listener;
 
 
     public WalletController(String id, String key){
-        this.id = id;
-        this.key = key;
+        JSONObject credentials = new JSONObject();
+        credentials.put("id", id);
+        credentials.put("key", key);
+        this.service = new WalletService(credentials);
+    }
+
+    /**
+     * @param credentials wallet credentials as taken by {@link WalletService}
+     */
+    public WalletController(JSONObject credentials){
+        this.service = new WalletService(credentials);
     }
 
     public void setWalletListener(WalletListener listener){
@@ -53,11 +63,6 @@ public class WalletController {
     }
 
     public Observable<ECKeyPair> findKeyPair(String did){
-        JSONObject credentials = new JSONObject();
-        credentials.put("id", id);
-        credentials.put("key", key);
-        WalletService service = new WalletService(credentials);
-
         service.open().subscribe(new Observer<Wallet>() {
             @Override
             public void onSubscribe(Disposable disposable) {
@@ -91,6 +96,7 @@ public class WalletController {
             @Override
             public void onComplete() {
                 LOG.debug("Received COMPLETED event");
+                // the wallet stays open until close(), the next lookup skips the key derivation
                 if(listener != null) {
                     listener.onWalletListener(keyPair);
                 }
@@ -98,4 +104,23 @@ public class WalletController {
         });
         return Observable.just(keyPair);
     }
+
+    /**
+     * Protocol store persisted in the wallet, it must be flushed before the controller is closed.
+     */
+    public Observable<WalletProtocolStore> getProtocolStore(final IdentityKeyPair identityKeyPair, final int registrationId){
+        return service.open().map(new Function<Wallet, WalletProtocolStore>() {
+            @Override
+            public WalletProtocolStore apply(Wallet wallet) {
+                return new WalletProtocolStore(wallet, identityKeyPair, registrationId);
+            }
+        });
+    }
+
+    /**
+     * Releases the wallet, its keys stay in the wallet registry until the idle timeout.
+     */
+    public void close(){
+        service.close();
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import jssi.mls.IdentityKey;
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.InvalidKeyException;
+import jssi.mls.InvalidKeyIdException;
+import jssi.mls.ProtocolAddress;
+import jssi.mls.groups.SenderKeyName;
+import jssi.mls.groups.state.DeferredSenderKeyStore;
+import jssi.mls.groups.state.SenderKeyRecord;
+import jssi.mls.groups.state.SenderKeyStore;
+import jssi.mls.state.BatchSessionStore;
+import jssi.mls.state.PreKeyRecord;
+import jssi.mls.state.ProtocolStore;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.SignedPreKeyRecord;
+import jssi.wallet.Wallet;
+import jssi.wallet.record.WalletRecord;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ProtocolStore} and {@link SenderKeyStore} persisted in an encrypted wallet, the state survives
+ * restarts of the process. Sessions are cached as live records in a {@link CachingSessionStore}, identity
+ * keys as parsed keys, the other records are read through the wallet record cache. Writes are deferred and
+ * stored in one wallet transaction per batch, up to two batches of changes are lost if the process dies
+ * before {@link #flush()}.
+ * While the wallet fails to write, changes are held in memory up to a bound and {@link #flush()} throws.
+ * {@link jssi.mls.groups.GroupSender} flushes the pending records through {@link #flushSenderKeys()} before
+ * it uses the message keys it reserved.
+ * <p>
+ * The local identity key pair and registration id are not stored, they are provided by the owner of the
+ * wallet, e.g. from the keys of its DID.
+ *
+ * @author ITON Solutions
+ */
+public class WalletProtocolStore implements ProtocolStore, BatchSessionStore, DeferredSenderKeyStore {
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final String PRE_KEY_TYPE = "Mls::PreKey";
+    private static final String SIGNED_PRE_KEY_TYPE = "Mls::SignedPreKey";
+    private static final String IDENTITY_TYPE = "Mls::Identity";
+    private static final String SENDER_KEY_TYPE = "Mls::SenderKey";
+
+    private final WalletRecordBuffer records;
+    private final CachingSessionStore sessionStore;
+    private final Map<ProtocolAddress, IdentityKey> identities = new ConcurrentHashMap<>();
+    private final IdentityKeyPair identityKeyPair;
+    private final int localRegistrationId;
+
+    public WalletProtocolStore(Wallet wallet, IdentityKeyPair identityKeyPair, int localRegistrationId) {
+        this(wallet, identityKeyPair, localRegistrationId, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize number of changed records written per wallet transaction, 1 writes through
+     */
+    public WalletProtocolStore(Wallet wallet, IdentityKeyPair identityKeyPair, int localRegistrationId, int batchSize) {
+        this.records = new WalletRecordBuffer(wallet, batchSize);
+        this.sessionStore = new CachingSessionStore(new WalletSessionStore(records), CachingSessionStore.DEFAULT_CAPACITY, batchSize);
+        this.identityKeyPair = identityKeyPair;
+        this.localRegistrationId = localRegistrationId;
+    }
+
+    /**
+     * Writes every pending change to the wallet.
+     */
+    public void flush() {
+        sessionStore.flush();
+        records.flush();
+    }
+
+    @Override
+    public IdentityKeyPair getIdentityKeyPair() {
+        return identityKeyPair;
+    }
+
+    @Override
+    public int getLocalRegistrationId() {
+        return localRegistrationId;
+    }
+
+    @Override
+    public synchronized boolean saveIdentity(ProtocolAddress address, IdentityKey identityKey) {
+        IdentityKey existing = getIdentity(address);
+
+        if (!identityKey.equals(existing)) {
+            records.put(IDENTITY_TYPE, address.toString(), identityKey.getBytes(), null);
+            identities.put(address, identityKey);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isTrustedIdentity(ProtocolAddress address, IdentityKey identityKey, Direction direction) {
+        IdentityKey trusted = getIdentity(address);
+        if (trusted == null) {
+            return InMemoryIdentityKeyStore.resolve(address, identityKey);
+        } else {
+            return trusted.equals(identityKey);
+        }
+    }
+
+    @Override
+    public IdentityKey getIdentity(ProtocolAddress address) {
+        IdentityKey identityKey = identities.get(address);
+        if (identityKey != null) {
+            return identityKey;
+        }
+
+        try {
+            byte[] serialized = records.get(IDENTITY_TYPE, address.toString());
+            if (serialized == null) {
+                return null;
+            }
+
+            identityKey = new IdentityKey(serialized);
+            identities.put(address, identityKey);
+            return identityKey;
+        } catch (InvalidKeyException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public PreKeyRecord loadPreKey(int preKeyId) throws InvalidKeyIdException {
+        try {
+            byte[] serialized = records.get(PRE_KEY_TYPE, String.valueOf(preKeyId));
+            if (serialized == null) {
+                throw new InvalidKeyIdException("No such prekeyrecord!");
+            }
+            return new PreKeyRecord(serialized);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public void storePreKey(int preKeyId, PreKeyRecord record) {
+        records.put(PRE_KEY_TYPE, String.valueOf(preKeyId), record.serialize(), null);
+    }
+
+    @Override
+    public boolean containsPreKey(int preKeyId) {
+        return records.contains(PRE_KEY_TYPE, String.valueOf(preKeyId));
+    }
+
+    @Override
+    public void removePreKey(int preKeyId) {
+        records.delete(PRE_KEY_TYPE, String.valueOf(preKeyId));
+    }
+
+    @Override
+    public SignedPreKeyRecord loadSignedPreKey(int signedPreKeyId) throws InvalidKeyIdException {
+        try {
+            byte[] serialized = records.get(SIGNED_PRE_KEY_TYPE, String.valueOf(signedPreKeyId));
+            if (serialized == null) {
+                throw new InvalidKeyIdException("No such signed prekey record! " + signedPreKeyId);
+            }
+            return new SignedPreKeyRecord(serialized);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public List<SignedPreKeyRecord> loadSignedPreKeys() {
+        try {
+            List<SignedPreKeyRecord> results = new LinkedList<>();
+
+            for (WalletRecord record : records.search(SIGNED_PRE_KEY_TYPE, "{}")) {
+                results.add(new SignedPreKeyRecord(WalletRecordBuffer.value(record)));
+            }
+
+            return results;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public void storeSignedPreKey(int signedPreKeyId, SignedPreKeyRecord record) {
+        records.put(SIGNED_PRE_KEY_TYPE, String.valueOf(signedPreKeyId), record.serialize(), null);
+    }
+
+    @Override
+    public boolean containsSignedPreKey(int signedPreKeyId) {
+        return records.contains(SIGNED_PRE_KEY_TYPE, String.valueOf(signedPreKeyId));
+    }
+
+    @Override
+    public void removeSignedPreKey(int signedPreKeyId) {
+        records.delete(SIGNED_PRE_KEY_TYPE, String.valueOf(signedPreKeyId));
+    }
+
+    @Override
+    public SessionRecord loadSession(ProtocolAddress address) {
+        return sessionStore.loadSession(address);
+    }
+
+    @Override
+    public Map<ProtocolAddress, SessionRecord> loadSessions(List<ProtocolAddress> addresses) {
+        return sessionStore.loadSessions(addresses);
+    }
+
+    @Override
+    public List<Integer> getSubDeviceSessions(String name) {
+        return sessionStore.getSubDeviceSessions(name);
+    }
+
+    @Override
+    public void storeSession(ProtocolAddress address, SessionRecord record) {
+        sessionStore.storeSession(address, record);
+    }
+
+    @Override
+    public void storeSessions(Map<ProtocolAddress, SessionRecord> records) {
+        sessionStore.storeSessions(records);
+    }
+
+    @Override
+    public boolean containsSession(ProtocolAddress address) {
+        return sessionStore.containsSession(address);
+    }
+
+    @Override
+    public void deleteSession(ProtocolAddress address) {
+        sessionStore.deleteSession(address);
+    }
+
+    @Override
+    public void deleteAllSessions(String name) {
+        sessionStore.deleteAllSessions(name);
+    }
+
+    @Override
+    public void storeSenderKey(SenderKeyName senderKeyName, SenderKeyRecord record) {
+        records.put(SENDER_KEY_TYPE, senderKeyName.serialize(), record.serialize(), null);
+    }
+
+    @Override
+    public void flushSenderKeys() {
+        records.flush();
+    }
+
+    @Override
+    public SenderKeyRecord loadSenderKey(SenderKeyName senderKeyName) {
+        try {
+            byte[] serialized = records.get(SENDER_KEY_TYPE, senderKeyName.serialize());
+            return serialized == null ? new SenderKeyRecord() : new SenderKeyRecord(serialized);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
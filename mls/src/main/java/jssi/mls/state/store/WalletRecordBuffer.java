@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import jssi.wallet.Wallet;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.PreexistingEntityException;
+import org.libsodium.jni.SodiumException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Binary values of a wallet with deferred writes. Puts and deletes are kept in memory and written
+ * in one wallet transaction once <code>batchSize</code> of them are pending or on {@link #flush()},
+ * reads see the pending values first.
+ * <p>
+ * A failed write keeps the records pending and does not fail the put or delete that triggered it,
+ * the write is retried after <code>batchSize</code> more changes and by every {@link #flush()}, which
+ * throws while the wallet keeps failing. At most {@value #MAX_BATCHES} batches are held, further
+ * changes are refused with an {@link IllegalStateException} until a write succeeds.
+ *
+ * @author ITON Solutions
+ */
+final class WalletRecordBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WalletRecordBuffer.class);
+
+    static final int MAX_BATCHES = 16;
+
+    private final Wallet wallet;
+    private final int batchSize;
+
+    // a record without value is a pending delete
+    private final Map<List<String>, WalletRecord> pending = new LinkedHashMap<>();
+    // number of pending records at which the next write is attempted
+    private int threshold;
+
+    WalletRecordBuffer(Wallet wallet, int batchSize) {
+        this.wallet = wallet;
+        this.batchSize = batchSize;
+        this.threshold = batchSize;
+    }
+
+    synchronized byte[] get(String type, String name) {
+        WalletRecord record = pending.get(Arrays.asList(type, name));
+
+        if (record == null) {
+            try {
+                record = wallet.findRecord(type, name);
+            } catch (SodiumException e) {
+                LOG.error(String.format("Error: %s", e.getMessage()));
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return record == null || record.getValue() == null ? null : value(record);
+    }
+
+    synchronized boolean contains(String type, String name) {
+        return get(type, name) != null;
+    }
+
+    synchronized void put(String type, String name, byte[] value, Map<String, String> tags) {
+        buffer(new WalletRecord(type, name, Base64.getEncoder().encodeToString(value), tags));
+    }
+
+    synchronized void delete(String type, String name) {
+        buffer(new WalletRecord(type, name, null));
+    }
+
+    /**
+     * Records matching the wallet query, pending writes are flushed first.
+     */
+    synchronized List<WalletRecord> search(String type, String query) {
+        flush();
+
+        try {
+            return wallet.searchRecords(type, query);
+        } catch (SodiumException | SQLException | IOException e) {
+            LOG.error(String.format("Error: %s", e.getMessage()));
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the pending records in a single transaction, on failure they stay pending.
+     *
+     * @throws IllegalStateException if the write failed
+     */
+    synchronized void flush() {
+        if (!write()) {
+            throw new IllegalStateException(String.format("Unable to write %d pending records", pending.size()));
+        }
+    }
+
+    /**
+     * Same as {@link #flush()} without throwing, a failed write is retried after <code>batchSize</code>
+     * more changes.
+     *
+     * @return false if the write failed
+     */
+    synchronized boolean write() {
+        if (pending.isEmpty()) {
+            return true;
+        }
+
+        try {
+            wallet.callInTransaction(new Callable<Void>() {
+                @Override
+                public Void call() throws SodiumException, PreexistingEntityException {
+                    for (WalletRecord record : pending.values()) {
+                        if (record.getValue() == null) {
+                            wallet.deleteRecord(record);
+                        } else if (!wallet.updateRecordValue(record, record.getValue())) {
+                            wallet.addRecord(record);
+                        }
+                    }
+                    return null;
+                }
+            });
+            pending.clear();
+            threshold = batchSize;
+            return true;
+        } catch (SQLException e) {
+            LOG.error(String.format("Error: %s", e.getMessage()));
+            threshold = pending.size() + batchSize;
+            return false;
+        }
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    static byte[] value(WalletRecord record) {
+        return Base64.getDecoder().decode(record.getValue());
+    }
+
+    private void buffer(WalletRecord record) {
+        List<String> key = Arrays.asList(record.getType(), record.getName());
+
+        if (pending.size() >= batchSize * MAX_BATCHES && !pending.containsKey(key) && !write()) {
+            throw new IllegalStateException(String.format("Unable to write %d pending records", pending.size()));
+        }
+
+        pending.put(key, record);
+
+        if (pending.size() >= threshold) {
+            write();
+        }
+    }
+}
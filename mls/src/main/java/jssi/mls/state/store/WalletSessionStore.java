@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import jssi.mls.ProtocolAddress;
+import jssi.mls.state.BatchSessionStore;
+import jssi.mls.state.SessionRecord;
+import jssi.wallet.record.WalletRecord;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serialized sessions in a wallet, tagged with the DID and device of the remote address.
+ *
+ * @author ITON Solutions
+ */
+class WalletSessionStore implements BatchSessionStore {
+
+    static final String SESSION_TYPE = "Mls::Session";
+
+    private static final String DID_TAG = "did";
+    private static final String DEVICE_TAG = "device";
+
+    private final WalletRecordBuffer records;
+
+    WalletSessionStore(WalletRecordBuffer records) {
+        this.records = records;
+    }
+
+    @Override
+    public SessionRecord loadSession(ProtocolAddress address) {
+        try {
+            byte[] serialized = records.get(SESSION_TYPE, address.toString());
+            return serialized == null ? new SessionRecord() : new SessionRecord(serialized);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Reads the sessions with one query per DID, every device of a recipient comes in one read.
+     */
+    @Override
+    public Map<ProtocolAddress, SessionRecord> loadSessions(List<ProtocolAddress> addresses) {
+        Set<String> dids = new LinkedHashSet<>();
+        for (ProtocolAddress address : addresses) {
+            dids.add(address.getDid());
+        }
+
+        Map<String, WalletRecord> found = new HashMap<>();
+        for (String did : dids) {
+            for (WalletRecord record : records.search(SESSION_TYPE, query(did))) {
+                found.put(record.getName(), record);
+            }
+        }
+
+        try {
+            Map<ProtocolAddress, SessionRecord> sessions = new LinkedHashMap<>();
+            for (ProtocolAddress address : addresses) {
+                WalletRecord record = found.get(address.toString());
+                sessions.put(address, record == null ? new SessionRecord() : new SessionRecord(WalletRecordBuffer.value(record)));
+            }
+            return sessions;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public List<Integer> getSubDeviceSessions(String name) {
+        List<Integer> deviceIds = new LinkedList<>();
+
+        for (WalletRecord record : records.search(SESSION_TYPE, query(name))) {
+            int deviceId = Integer.parseInt(record.getTags().get(DEVICE_TAG));
+            if (deviceId != 1) {
+                deviceIds.add(deviceId);
+            }
+        }
+
+        return deviceIds;
+    }
+
+    @Override
+    public void storeSession(ProtocolAddress address, SessionRecord record) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(DID_TAG, address.getDid());
+        tags.put(DEVICE_TAG, String.valueOf(address.getDeviceId()));
+        records.put(SESSION_TYPE, address.toString(), record.serialize(), tags);
+    }
+
+    /**
+     * Writes the sessions in one wallet transaction, together with the other pending records. Sessions
+     * the wallet fails to write stay pending in the record buffer.
+     */
+    @Override
+    public void storeSessions(Map<ProtocolAddress, SessionRecord> sessions) {
+        for (Map.Entry<ProtocolAddress, SessionRecord> session : sessions.entrySet()) {
+            storeSession(session.getKey(), session.getValue());
+        }
+        records.write();
+    }
+
+    @Override
+    public boolean containsSession(ProtocolAddress address) {
+        return records.contains(SESSION_TYPE, address.toString());
+    }
+
+    @Override
+    public void deleteSession(ProtocolAddress address) {
+        records.delete(SESSION_TYPE, address.toString());
+    }
+
+    @Override
+    public void deleteAllSessions(String name) {
+        for (WalletRecord record : records.search(SESSION_TYPE, query(name))) {
+            records.delete(SESSION_TYPE, record.getName());
+        }
+    }
+
+    private static String query(String did) {
+        return new JSONObject().put(DID_TAG, did).toString();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * AES-CBC ciphers kept per thread, the provider lookup of {@link Cipher#getInstance(String)} costs more
+ * than encrypting a short message. A cipher is initialized on every call and must not be used after the
+ * next call on the same thread.
+ */
+public final class Ciphers {
+
+    private static final ThreadLocal<Cipher> AES_CBC = new ThreadLocal<Cipher>() {
+        @Override
+        protected Cipher initialValue() {
+            try {
+                return Cipher.getInstance("AES/CBC/PKCS5Padding");
+            } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+                throw new AssertionError(e);
+            }
+        }
+    };
+
+    private Ciphers() {
+    }
+
+    public static Cipher getAesCbc(int mode, SecretKeySpec key, IvParameterSpec iv)
+            throws InvalidKeyException, InvalidAlgorithmParameterException {
+        Cipher cipher = AES_CBC.get();
+        cipher.init(mode, key, iv);
+        return cipher;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.util;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+
+/**
+ * Fixed set of monitors picked by the hash of a key. Work on equal keys is serialized, work on
+ * different keys runs in parallel unless the keys share a stripe. Code holding a stripe must not
+ * wait for another stripe, except through {@link #call(Collection, Callable)}.
+ */
+public final class StripedLock {
+
+    private final Object[] locks;
+    private final int shift;
+
+    /**
+     * @param stripes number of monitors, rounded up to a power of two
+     */
+    public StripedLock(int stripes) {
+        int size = 2;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        locks = new Object[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new Object();
+        }
+        shift = Integer.numberOfLeadingZeros(size) + 1;
+    }
+
+    public Object get(Object key) {
+        return locks[stripe(key)];
+    }
+
+    /**
+     * Calls the callable holding the monitors of every key. The monitors are taken in stripe order, so
+     * callers holding several stripes this way never wait on each other.
+     */
+    public <T> T call(Collection<?> keys, Callable<T> callable) throws Exception {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Object key : keys) {
+            stripes.add(stripe(key));
+        }
+
+        int[] ordered = new int[stripes.size()];
+        int i = 0;
+        for (int stripe : stripes) {
+            ordered[i++] = stripe;
+        }
+
+        return call(ordered, 0, callable);
+    }
+
+    private <T> T call(int[] stripes, int next, Callable<T> callable) throws Exception {
+        if (next == stripes.length) {
+            return callable.call();
+        }
+
+        synchronized (locks[stripes[next]]) {
+            return call(stripes, next + 1, callable);
+        }
+    }
+
+    private int stripe(Object key) {
+        // Fibonacci hashing, the high bits of the product depend on every bit of the hash
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
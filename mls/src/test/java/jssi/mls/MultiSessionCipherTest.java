@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls;
+
+import jssi.mls.protocol.CiphertextMessage;
+import jssi.mls.protocol.Message;
+import jssi.mls.state.ProtocolStore;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.store.InMemoryProtocolStore;
+import jssi.mls.util.KeyHelper;
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static jssi.mls.ratchet.SessionFixtures.initializeSessions;
+
+public class MultiSessionCipherTest {
+
+    private static final ProtocolAddress ALICE_ADDRESS = new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1);
+    private static final String BOB = "KHegADqTR3HZFJUS2nHDzD";
+    private static final int DEVICES = 4;
+
+    public MultiSessionCipherTest() {
+        NaCl.sodium();
+    }
+
+    @Test
+    public void fanOut_test() throws Exception {
+        ProtocolStore aliceStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), 1);
+        List<ProtocolAddress> addresses = new ArrayList<>();
+        List<SessionCipher> bobCiphers = new ArrayList<>();
+
+        for (int device = 1; device <= DEVICES; device++) {
+            ProtocolAddress address = new ProtocolAddress(BOB, device);
+            addresses.add(address);
+            bobCiphers.add(new SessionCipher(session(aliceStore, address), ALICE_ADDRESS));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MultiSessionCipher cipher = new MultiSessionCipher(aliceStore, aliceStore, executor);
+
+            for (int i = 0; i < 3; i++) {
+                byte[] plaintext = ("message " + i).getBytes();
+                Map<ProtocolAddress, CiphertextMessage> messages = cipher.encrypt(addresses, plaintext);
+
+                assertEquals(addresses, new ArrayList<>(messages.keySet()));
+                for (int device = 0; device < DEVICES; device++) {
+                    assertArrayEquals(plaintext, bobCiphers.get(device).decrypt(new Message(messages.get(addresses.get(device)).serialize())));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // single messages continue the same chains
+        byte[] plaintext = "single".getBytes();
+        CiphertextMessage message = new SessionCipher(aliceStore, addresses.get(2)).encrypt(plaintext);
+        assertArrayEquals(plaintext, bobCiphers.get(2).decrypt(new Message(message.serialize())));
+    }
+
+    @Test
+    public void noSession_test() throws Exception {
+        ProtocolStore aliceStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), 1);
+        ProtocolAddress address = new ProtocolAddress(BOB, 1);
+        SessionCipher bobCipher = new SessionCipher(session(aliceStore, address), ALICE_ADDRESS);
+
+        MultiSessionCipher cipher = new MultiSessionCipher(aliceStore);
+        assertThrows(NoSessionException.class, () -> cipher.encrypt(Arrays.asList(address, new ProtocolAddress(BOB, 2)), "lost".getBytes()));
+
+        // the session with the first device did not advance
+        assertEquals(0, aliceStore.loadSession(address).getSessionState().getSenderChainKey().getIndex());
+
+        byte[] plaintext = "message".getBytes();
+        Map<ProtocolAddress, CiphertextMessage> messages = cipher.encrypt(Arrays.asList(address, address), plaintext);
+        assertEquals(1, messages.size());
+        assertArrayEquals(plaintext, bobCipher.decrypt(new Message(messages.get(address).serialize())));
+    }
+
+    private static ProtocolStore session(ProtocolStore aliceStore, ProtocolAddress bobAddress) throws Exception {
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        aliceStore.storeSession(bobAddress, aliceSessionRecord);
+        aliceStore.saveIdentity(bobAddress, aliceSessionRecord.getSessionState().getRemoteIdentityKey());
+
+        ProtocolStore bobStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), bobAddress.getDeviceId());
+        bobStore.storeSession(ALICE_ADDRESS, bobSessionRecord);
+        bobStore.saveIdentity(ALICE_ADDRESS, bobSessionRecord.getSessionState().getRemoteIdentityKey());
+        return bobStore;
+    }
+}
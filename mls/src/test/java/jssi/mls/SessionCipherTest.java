@@ -26,6 +26,8 @@ import jssi.mls.ratchet.RatchetingSession;
 import jssi.mls.state.ProtocolStore;
 import jssi.mls.state.SessionRecord;
 import jssi.mls.state.SessionState;
+import jssi.mls.state.store.InMemoryProtocolStore;
+import jssi.mls.util.KeyHelper;
 import jssi.mls.util.guava.Optional;
 import org.junit.jupiter.api.Test;
 import org.libsodium.jni.NaCl;
@@ -33,6 +35,9 @@ import org.libsodium.jni.SodiumException;
 
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -92,6 +97,46 @@ public class SessionCipherTest {
         }
     }
 
+    @Test
+    public void aead_test() throws Exception {
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+
+        initializeSessions(aliceSessionRecord.getSessionState(), bobSessionRecord.getSessionState());
+
+        ProtocolAddress aliceAddress = new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1);
+        ProtocolAddress bobAddress = new ProtocolAddress("KHegADqTR3HZFJUS2nHDzD", 1);
+        ProtocolStore aliceStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), 1);
+        ProtocolStore bobStore = new InMemoryProtocolStore(KeyHelper.generateIdentityKeyPair(), 2);
+
+        aliceStore.storeSession(bobAddress, aliceSessionRecord);
+        aliceStore.saveIdentity(bobAddress, aliceSessionRecord.getSessionState().getRemoteIdentityKey());
+        bobStore.storeSession(aliceAddress, bobSessionRecord);
+        bobStore.saveIdentity(aliceAddress, bobSessionRecord.getSessionState().getRemoteIdentityKey());
+
+        SessionCipher aliceCipher = new SessionCipher(aliceStore, bobAddress);
+        SessionCipher bobCipher = new SessionCipher(bobStore, aliceAddress);
+
+        // the first message is sent in the session version and advertises the sealed version
+        Message message = new Message(aliceCipher.encrypt("first".getBytes()).serialize());
+        assertEquals(CiphertextMessage.CURRENT_VERSION, message.getMessageVersion());
+        assertEquals(CiphertextMessage.AEAD_VERSION, message.getSupportedVersion());
+        assertArrayEquals("first".getBytes(), bobCipher.decrypt(message));
+
+        Message reply = new Message(bobCipher.encrypt("reply".getBytes()).serialize());
+        assertEquals(CiphertextMessage.AEAD_VERSION, reply.getMessageVersion());
+        assertArrayEquals("reply".getBytes(), aliceCipher.decrypt(reply));
+
+        byte[] sealed = aliceCipher.encrypt("sealed".getBytes()).serialize();
+        assertEquals(CiphertextMessage.AEAD_VERSION, new Message(sealed).getMessageVersion());
+
+        byte[] tampered = sealed.clone();
+        tampered[tampered.length - 1] ^= 1;
+        assertThrows(InvalidMessageException.class, () -> bobCipher.decrypt(new Message(tampered)));
+        assertArrayEquals("sealed".getBytes(), bobCipher.decrypt(new Message(sealed)));
+        assertEquals(CiphertextMessage.CURRENT_VERSION, bobCipher.getSessionVersion());
+    }
+
     private void runInteraction(SessionRecord aliceSessionRecord, SessionRecord bobSessionRecord)
             throws DuplicateMessageException,
             LegacyMessageException,
@@ -21,8 +21,12 @@ import org.junit.jupiter.api.Test;
 import org.libsodium.jni.NaCl;
 import org.libsodium.jni.SodiumException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -66,4 +70,28 @@ public class CurveTest {
         }
 
     }
+
+    @Test
+    public void signatures_test() throws SodiumException, InvalidKeyException {
+
+        List<ECPublicKey> keys = new ArrayList<>();
+        List<byte[]> messages = new ArrayList<>();
+        List<byte[]> signatures = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            ECKeyPair pair = Curve.generateKeyPair();
+            byte[] message = ("message " + i).getBytes();
+            keys.add(pair.getPublicKey());
+            messages.add(message);
+            signatures.add(Curve.calculateSignature(pair.getPrivateKey(), message));
+        }
+        messages.set(3, "another message".getBytes());
+        keys.set(9, keys.get(10));
+
+        boolean[] results = Curve.verifySignatures(keys, messages, signatures);
+        for (int i = 0; i < results.length; i++) {
+            assertEquals(i != 3 && i != 9, results[i]);
+        }
+        assertFalse(Curve.verifySignature(keys.get(3), messages.get(3), signatures.get(3)));
+    }
 }
@@ -33,6 +33,10 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -93,6 +97,42 @@ public class GroupCipherTest {
         assertTrue(new String(plaintextFromAlice).equals("hola caracola"));
     }
 
+    @Test
+    public void parallelGroups_test() throws Exception {
+        final InMemorySenderKeyStore aliceStore = new InMemorySenderKeyStore();
+        final InMemorySenderKeyStore bobStore = new InMemorySenderKeyStore();
+        final GroupSessionBuilder aliceSessionBuilder = new GroupSessionBuilder(aliceStore);
+        final GroupSessionBuilder bobSessionBuilder = new GroupSessionBuilder(bobStore);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final SenderKeyName group = new SenderKeyName("group " + i, SENDER_ADDRESS);
+            bobSessionBuilder.process(group, new SenderKeyDistributionMessage(aliceSessionBuilder.create(group).serialize()));
+
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    GroupCipher aliceGroupCipher = new GroupCipher(aliceStore, group);
+                    GroupCipher bobGroupCipher = new GroupCipher(bobStore, group);
+                    for (int j = 0; j < 50; j++) {
+                        String message = group.getGroupId() + " " + j;
+                        assertEquals(message, new String(bobGroupCipher.decrypt(aliceGroupCipher.encrypt(message.getBytes()))));
+                    }
+                    return null;
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void largeMessages_test() throws InvalidMessageException, LegacyMessageException, NoSessionException, DuplicateMessageException {
         InMemorySenderKeyStore aliceStore = new InMemorySenderKeyStore();
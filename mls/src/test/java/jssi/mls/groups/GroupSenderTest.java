@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.groups;
+
+import org.junit.jupiter.api.Test;
+
+import jssi.mls.DuplicateMessageException;
+import jssi.mls.NoSessionException;
+import jssi.mls.ProtocolAddress;
+import jssi.mls.groups.state.SenderKeyRecord;
+import jssi.mls.protocol.SenderKeyDistributionMessage;
+import jssi.mls.protocol.SenderKeyMessage;
+import org.libsodium.jni.NaCl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GroupSenderTest {
+
+    private static final ProtocolAddress SENDER_ADDRESS = new ProtocolAddress("+14150001111", 1);
+    private static final SenderKeyName GROUP_SENDER = new SenderKeyName("nihilist history reading group", SENDER_ADDRESS);
+
+    public GroupSenderTest() {
+        NaCl.sodium();
+    }
+
+    @Test
+    public void stream_test() throws Exception {
+        CountingSenderKeyStore aliceStore = new CountingSenderKeyStore();
+        InMemorySenderKeyStore bobStore = new InMemorySenderKeyStore();
+        new GroupSessionBuilder(bobStore).process(GROUP_SENDER,
+                new SenderKeyDistributionMessage(new GroupSessionBuilder(aliceStore).create(GROUP_SENDER).serialize()));
+        aliceStore.stores = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            GroupSender aliceSender = new GroupSender(aliceStore, GROUP_SENDER, 16, executor);
+            GroupCipher bobGroupCipher = new GroupCipher(bobStore, GROUP_SENDER);
+
+            List<byte[]> plaintexts = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                plaintexts.add(("message " + i).getBytes());
+            }
+
+            List<byte[]> ciphertexts = new ArrayList<>(aliceSender.encrypt(plaintexts));
+            ciphertexts.add(aliceSender.encrypt("last".getBytes()));
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, new SenderKeyMessage(ciphertexts.get(i)).getIteration());
+                assertEquals("message " + i, new String(bobGroupCipher.decrypt(ciphertexts.get(i))));
+            }
+            assertEquals("last", new String(bobGroupCipher.decrypt(ciphertexts.get(100))));
+
+            // one store per block of 16 keys
+            assertEquals(7, aliceStore.stores);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void reserved_test() throws Exception {
+        InMemorySenderKeyStore aliceStore = new InMemorySenderKeyStore();
+        InMemorySenderKeyStore bobStore = new InMemorySenderKeyStore();
+        new GroupSessionBuilder(bobStore).process(GROUP_SENDER,
+                new SenderKeyDistributionMessage(new GroupSessionBuilder(aliceStore).create(GROUP_SENDER).serialize()));
+
+        GroupSender aliceSender = new GroupSender(aliceStore, GROUP_SENDER, 10, Executors.newSingleThreadExecutor());
+        GroupCipher aliceGroupCipher = new GroupCipher(aliceStore, GROUP_SENDER);
+        GroupCipher bobGroupCipher = new GroupCipher(bobStore, GROUP_SENDER);
+
+        byte[] first = aliceSender.encrypt("first".getBytes());
+        // the group cipher continues after the reserved block
+        byte[] second = aliceGroupCipher.encrypt("second".getBytes());
+        byte[] third = aliceSender.encrypt("third".getBytes());
+        // as does a sender after a restart
+        byte[] fourth = new GroupSender(aliceStore, GROUP_SENDER).encrypt("fourth".getBytes());
+
+        assertEquals(0, new SenderKeyMessage(first).getIteration());
+        assertEquals(10, new SenderKeyMessage(second).getIteration());
+        assertEquals(1, new SenderKeyMessage(third).getIteration());
+        assertEquals(11, new SenderKeyMessage(fourth).getIteration());
+
+        assertEquals("fourth", new String(bobGroupCipher.decrypt(fourth)));
+        assertEquals("first", new String(bobGroupCipher.decrypt(first)));
+        assertEquals("third", new String(bobGroupCipher.decrypt(third)));
+        assertEquals("second", new String(bobGroupCipher.decrypt(second)));
+        assertThrows(DuplicateMessageException.class, () -> bobGroupCipher.decrypt(third));
+    }
+
+    @Test
+    public void noSession_test() {
+        GroupSender aliceSender = new GroupSender(new InMemorySenderKeyStore(), GROUP_SENDER);
+
+        assertThrows(NoSessionException.class, () -> aliceSender.encrypt("hola caracola".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> new GroupSender(new InMemorySenderKeyStore(), GROUP_SENDER, 0, null));
+    }
+
+    private static class CountingSenderKeyStore extends InMemorySenderKeyStore {
+
+        private int stores;
+
+        @Override
+        public synchronized void storeSenderKey(SenderKeyName senderKeyName, SenderKeyRecord record) {
+            stores++;
+            super.storeSenderKey(senderKeyName, record);
+        }
+    }
+}
@@ -28,12 +28,12 @@ public class InMemorySenderKeyStore implements SenderKeyStore {
     private final Map<SenderKeyName, SenderKeyRecord> store = new HashMap<>();
 
     @Override
-    public void storeSenderKey(SenderKeyName senderKeyName, SenderKeyRecord record) {
+    public synchronized void storeSenderKey(SenderKeyName senderKeyName, SenderKeyRecord record) {
         store.put(senderKeyName, record);
     }
 
     @Override
-    public SenderKeyRecord loadSenderKey(SenderKeyName senderKeyName) {
+    public synchronized SenderKeyRecord loadSenderKey(SenderKeyName senderKeyName) {
         try {
             SenderKeyRecord record = store.get(senderKeyName);
 
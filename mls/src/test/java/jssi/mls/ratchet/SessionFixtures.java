@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.ratchet;
+
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.InvalidKeyException;
+import jssi.mls.ecc.Curve;
+import jssi.mls.ecc.ECKeyPair;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.util.KeyHelper;
+import jssi.mls.util.guava.Optional;
+import org.libsodium.jni.SodiumException;
+
+/**
+ * Alice and Bob sessions set up directly, without pre-key messages, shared by the tests and the
+ * benchmarks of src/jmh/java.
+ *
+ * @author ITON Solutions
+ */
+public final class SessionFixtures {
+
+    private SessionFixtures() {
+    }
+
+    /**
+     * Initializes the current state of both records as the two ends of one fresh session.
+     */
+    public static void initializeSessions(SessionRecord aliceSessionRecord, SessionRecord bobSessionRecord)
+            throws InvalidKeyException, SodiumException {
+        IdentityKeyPair aliceIdentityKey = KeyHelper.generateIdentityKeyPair();
+        ECKeyPair aliceBaseKey = Curve.generateKeyPair();
+
+        IdentityKeyPair bobIdentityKey = KeyHelper.generateIdentityKeyPair();
+        ECKeyPair bobBaseKey = Curve.generateKeyPair();
+
+        AliceProtocolParameters aliceParameters = AliceProtocolParameters.newBuilder()
+                .setOurBaseKey(aliceBaseKey)
+                .setOurIdentityKey(aliceIdentityKey)
+                .setTheirOneTimePreKey(Optional.absent())
+                .setTheirRatchetKey(bobBaseKey.getPublicKey())
+                .setTheirSignedPreKey(bobBaseKey.getPublicKey())
+                .setTheirIdentityKey(bobIdentityKey.getPublicKey())
+                .create();
+
+        BobProtocolParameters bobParameters = BobProtocolParameters.newBuilder()
+                .setOurRatchetKey(bobBaseKey)
+                .setOurSignedPreKey(bobBaseKey)
+                .setOurOneTimePreKey(Optional.absent())
+                .setOurIdentityKey(bobIdentityKey)
+                .setTheirIdentityKey(aliceIdentityKey.getPublicKey())
+                .setTheirBaseKey(aliceBaseKey.getPublicKey())
+                .create();
+
+        RatchetingSession.initializeSession(aliceSessionRecord.getSessionState(), aliceParameters);
+        RatchetingSession.initializeSession(bobSessionRecord.getSessionState(), bobParameters);
+    }
+}
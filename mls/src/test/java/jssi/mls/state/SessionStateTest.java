@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state;
+
+import org.junit.jupiter.api.Test;
+
+import jssi.mls.IdentityKey;
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.ProtocolAddress;
+import jssi.mls.SessionCipher;
+import jssi.mls.ecc.Curve;
+import jssi.mls.ecc.ECKeyPair;
+import jssi.mls.ecc.ECPublicKey;
+import jssi.mls.kdf.HKDF;
+import jssi.mls.protocol.CiphertextMessage;
+import jssi.mls.protocol.Message;
+import jssi.mls.ratchet.ChainKey;
+import jssi.mls.ratchet.MessageKeys;
+import jssi.mls.state.store.InMemoryProtocolStore;
+import org.libsodium.jni.NaCl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static jssi.mls.ratchet.SessionFixtures.initializeSessions;
+
+public class SessionStateTest {
+
+    private static final ProtocolAddress ALICE_ADDRESS = new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1);
+    private static final ProtocolAddress BOB_ADDRESS = new ProtocolAddress("KHegADqTR3HZFJUS2nHDzD", 1);
+
+    public SessionStateTest() {
+        NaCl.sodium();
+    }
+
+    @Test
+    public void outOfOrder_test() throws Exception {
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        InMemoryProtocolStore aliceStore = store(BOB_ADDRESS, aliceSessionRecord);
+        InMemoryProtocolStore bobStore = store(ALICE_ADDRESS, bobSessionRecord);
+        SessionCipher aliceCipher = new SessionCipher(aliceStore, BOB_ADDRESS);
+
+        List<Integer> order = new ArrayList<>();
+        List<CiphertextMessage> inflight = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            order.add(i);
+            inflight.add(aliceCipher.encrypt(("message " + i).getBytes()));
+        }
+        Collections.shuffle(order, new Random(7));
+
+        SessionCipher bobCipher = new SessionCipher(bobStore, ALICE_ADDRESS);
+        for (int i : order.subList(0, 50)) {
+            assertArrayEquals(("message " + i).getBytes(), bobCipher.decrypt(new Message(inflight.get(i).serialize())));
+        }
+
+        // the skipped keys survive a protobuf round-trip
+        SessionRecord restored = new SessionRecord(bobStore.loadSession(ALICE_ADDRESS).serialize());
+        bobCipher = new SessionCipher(store(ALICE_ADDRESS, restored), ALICE_ADDRESS);
+        for (int i : order.subList(50, 100)) {
+            assertArrayEquals(("message " + i).getBytes(), bobCipher.decrypt(new Message(inflight.get(i).serialize())));
+        }
+    }
+
+    @Test
+    public void copy_test() throws Exception {
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        SessionState state = bobSessionRecord.getSessionState();
+        ECPublicKey ratchetKey = Curve.generateKeyPair().getPublicKey();
+        ChainKey chainKey = new ChainKey(new HKDF(), new byte[32], 0);
+        state.addReceiverChain(ratchetKey, chainKey);
+        for (int i = 0; i < 100; i++) {
+            state.setMessageKeys(ratchetKey, chainKey.getMessageKeys());
+            chainKey = chainKey.getNextChainKey();
+        }
+        state.setReceiverChainKey(ratchetKey, chainKey);
+
+        SessionState copy = new SessionState(state);
+        for (int i = 0; i < 70; i++) {
+            assertNotNull(copy.removeMessageKeys(ratchetKey, i));
+        }
+        copy.setMessageKeys(ratchetKey, chainKey.getMessageKeys());
+        assertFalse(copy.hasMessageKeys(ratchetKey, 3));
+        assertTrue(copy.hasMessageKeys(ratchetKey, 70));
+        assertTrue(copy.hasMessageKeys(ratchetKey, 100));
+        assertFalse(state.hasMessageKeys(ratchetKey, 100));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(state.hasMessageKeys(ratchetKey, i));
+        }
+
+        SessionState parsed = new SessionState(state.getStructure());
+        assertEquals(state.getStructure(), parsed.getStructure());
+        assertEquals(100, parsed.getReceiverChainKey(ratchetKey).getIndex());
+        assertEquals(31, new SessionState(copy.getStructure()).getStructure().getReceiverChains(0).getMessageKeysCount());
+        assertArrayEquals(state.serialize(), new SessionState(state).serialize());
+    }
+
+    @Test
+    public void catchUp_test() throws Exception {
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        SessionState state = bobSessionRecord.getSessionState();
+        ECPublicKey ratchetKey = Curve.generateKeyPair().getPublicKey();
+        ChainKey chainKey = new ChainKey(new HKDF(), new byte[32], 0);
+        state.addReceiverChain(ratchetKey, chainKey);
+
+        List<MessageKeys> skipped = new ArrayList<>();
+        for (int i = 0; i < 2100; i++) {
+            skipped.add(chainKey.getMessageKeys());
+            chainKey = chainKey.getNextChainKey();
+        }
+        state.setMessageKeys(ratchetKey, skipped.subList(0, 1000));
+        state.setMessageKeys(ratchetKey, skipped.subList(1000, 2100));
+        state.setReceiverChainKey(ratchetKey, chainKey);
+
+        // the lowest counters are dropped beyond 2000 keys
+        assertFalse(state.hasMessageKeys(ratchetKey, 99));
+        assertTrue(state.hasMessageKeys(ratchetKey, 100));
+        assertTrue(state.hasMessageKeys(ratchetKey, 2099));
+        assertEquals(2000, state.getStructure().getReceiverChains(0).getMessageKeysCount());
+
+        SessionState parsed = new SessionState(state.getStructure());
+        assertArrayEquals(skipped.get(1500).getCipherKey().getEncoded(), parsed.removeMessageKeys(ratchetKey, 1500).getCipherKey().getEncoded());
+        assertFalse(parsed.hasMessageKeys(ratchetKey, 1500));
+    }
+
+    private static InMemoryProtocolStore store(ProtocolAddress remote, SessionRecord record) throws Exception {
+        ECKeyPair keyPair = Curve.generateKeyPair();
+        InMemoryProtocolStore store = new InMemoryProtocolStore(new IdentityKeyPair(new IdentityKey(keyPair.getPublicKey()), keyPair.getPrivateKey()), 1);
+        store.storeSession(remote, record);
+        store.saveIdentity(remote, record.getSessionState().getRemoteIdentityKey());
+        return store;
+    }
+}
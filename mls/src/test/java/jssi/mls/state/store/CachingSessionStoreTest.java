@@ -0,0 +1,187 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import org.junit.jupiter.api.Test;
+
+import jssi.mls.ProtocolAddress;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.SessionState;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingSessionStoreTest {
+
+    private static final String DID = "did:sov:caching";
+
+    @Test
+    public void deferred_test() {
+        CountingSessionStore backend = new CountingSessionStore();
+        CachingSessionStore store = new CachingSessionStore(backend, 16, 4);
+
+        for (int i = 0; i < 3; i++) {
+            store.storeSession(new ProtocolAddress(DID, i + 1), record(i));
+        }
+
+        assertEquals(0, backend.stores);
+        assertEquals(3, store.dirtySize());
+        assertFalse(backend.containsSession(new ProtocolAddress(DID, 1)));
+        assertTrue(store.containsSession(new ProtocolAddress(DID, 1)));
+
+        List<Integer> devices = store.getSubDeviceSessions(DID);
+        assertEquals(2, devices.size());
+
+        store.storeSession(new ProtocolAddress(DID, 4), record(3));
+        assertEquals(4, backend.stores);
+        assertEquals(0, store.dirtySize());
+
+        store.storeSession(new ProtocolAddress(DID, 1), record(7));
+        store.flush();
+        assertEquals(5, backend.stores);
+        assertEquals(7, backend.loadSession(new ProtocolAddress(DID, 1)).getSessionState().getPreviousCounter());
+    }
+
+    @Test
+    public void copy_test() {
+        CachingSessionStore store = new CachingSessionStore(new CountingSessionStore());
+        ProtocolAddress address = new ProtocolAddress(DID, 1);
+        store.storeSession(address, record(1));
+
+        SessionRecord loaded = store.loadSession(address);
+        byte[] serialized = loaded.serialize();
+        loaded.getSessionState().setPreviousCounter(2);
+        loaded.archiveCurrentState();
+
+        assertArrayEquals(serialized, store.loadSession(address).serialize());
+        assertEquals(1, store.loadSession(address).getSessionState().getPreviousCounter());
+
+        // the stored record shares its states with the cache until it is changed
+        store.storeSession(address, loaded);
+        loaded.getSessionState().setPreviousCounter(3);
+        loaded.getPreviousSessionStates().get(0).setPreviousCounter(4);
+        loaded.removePreviousSessionStates();
+
+        SessionRecord stored = store.loadSession(address);
+        assertEquals(0, stored.getSessionState().getPreviousCounter());
+        assertEquals(1, stored.getPreviousSessionStates().size());
+        assertEquals(2, stored.getPreviousSessionStates().get(0).getPreviousCounter());
+    }
+
+    @Test
+    public void eviction_test() {
+        CountingSessionStore backend = new CountingSessionStore();
+        CachingSessionStore store = new CachingSessionStore(backend, 2, 100);
+
+        for (int i = 0; i < 5; i++) {
+            store.storeSession(new ProtocolAddress(DID, i + 1), record(i));
+        }
+
+        assertEquals(2, store.size());
+        assertEquals(3, backend.stores);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, store.loadSession(new ProtocolAddress(DID, i + 1)).getSessionState().getPreviousCounter());
+        }
+
+        assertTrue(store.loadSession(new ProtocolAddress(DID, 9)).isFresh());
+        assertEquals(2, store.size());
+
+        store.deleteAllSessions(DID);
+        assertEquals(0, store.size());
+        assertFalse(store.containsSession(new ProtocolAddress(DID, 1)));
+    }
+
+    @Test
+    public void unlocked_write_test() throws Exception {
+        BlockingSessionStore backend = new BlockingSessionStore();
+        CachingSessionStore store = new CachingSessionStore(backend, 1024, 100);
+        ProtocolAddress flushed = new ProtocolAddress(DID, 1);
+        store.storeSession(flushed, record(1));
+
+        Throwable[] failure = new Throwable[1];
+        Thread flusher = new Thread(() -> {
+            try {
+                store.flush();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        });
+        flusher.start();
+        assertTrue(backend.writing.await(10, TimeUnit.SECONDS));
+
+        // the delegate is blocked writing, the cache keeps serving every address
+        for (int i = 2; i < 50; i++) {
+            ProtocolAddress address = new ProtocolAddress(DID, i);
+            store.storeSession(address, record(i));
+            assertEquals(i, store.loadSession(address).getSessionState().getPreviousCounter());
+        }
+        assertEquals(1, store.loadSession(flushed).getSessionState().getPreviousCounter());
+        assertTrue(store.containsSession(flushed));
+        assertTrue(store.getSubDeviceSessions(DID).size() >= 48);
+
+        backend.release.countDown();
+        flusher.join(10000);
+        assertNull(failure[0]);
+        assertEquals(1, backend.loadSession(flushed).getSessionState().getPreviousCounter());
+        assertEquals(48, store.dirtySize());
+
+        store.flush();
+        assertEquals(0, store.dirtySize());
+        assertEquals(49, backend.stores);
+    }
+
+    private static SessionRecord record(int counter) {
+        SessionState state = new SessionState();
+        state.setPreviousCounter(counter);
+        return new SessionRecord(state);
+    }
+
+    private static class CountingSessionStore extends InMemorySessionStore {
+
+        int stores;
+
+        @Override
+        public synchronized void storeSession(ProtocolAddress address, SessionRecord record) {
+            stores++;
+            super.storeSession(address, record);
+        }
+    }
+
+    private static class BlockingSessionStore extends CountingSessionStore {
+
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void storeSession(ProtocolAddress address, SessionRecord record) {
+            writing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.storeSession(address, record);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import org.junit.jupiter.api.Test;
+
+import jssi.mls.ProtocolAddress;
+import jssi.mls.state.SessionRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemorySessionStoreTest {
+
+    private static final String DID = "did:sov:devices";
+
+    @Test
+    public void devices_test() {
+        InMemorySessionStore store = new InMemorySessionStore();
+
+        for (int deviceId = 1; deviceId <= 4; deviceId++) {
+            store.storeSession(new ProtocolAddress(DID, deviceId), new SessionRecord());
+        }
+        store.storeSession(new ProtocolAddress("did:sov:other", 2), new SessionRecord());
+
+        assertEquals(new HashSet<>(Arrays.asList(2, 3, 4)), new HashSet<>(store.getSubDeviceSessions(DID)));
+
+        store.deleteSession(new ProtocolAddress(DID, 3));
+        assertFalse(store.containsSession(new ProtocolAddress(DID, 3)));
+        assertEquals(new HashSet<>(Arrays.asList(2, 4)), new HashSet<>(store.getSubDeviceSessions(DID)));
+
+        store.deleteAllSessions(DID);
+        assertTrue(store.getSubDeviceSessions(DID).isEmpty());
+        assertFalse(store.containsSession(new ProtocolAddress(DID, 1)));
+        assertTrue(store.containsSession(new ProtocolAddress("did:sov:other", 2)));
+    }
+
+    @Test
+    public void concurrent_test() throws Exception {
+        final InMemorySessionStore store = new InMemorySessionStore();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int thread = 0; thread < 8; thread++) {
+            final int first = thread * 100;
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int deviceId = first + 2; deviceId < first + 102; deviceId++) {
+                        ProtocolAddress address = new ProtocolAddress(DID, deviceId);
+                        store.storeSession(address, new SessionRecord());
+                        if (deviceId % 2 == 0) {
+                            store.deleteSession(address);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<Integer> devices = store.getSubDeviceSessions(DID);
+        assertEquals(400, devices.size());
+        for (int deviceId : devices) {
+            assertTrue(deviceId % 2 == 1 && store.containsSession(new ProtocolAddress(DID, deviceId)));
+        }
+    }
+}
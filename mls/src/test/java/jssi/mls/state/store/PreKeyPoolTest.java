@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import org.junit.jupiter.api.Test;
+
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.InvalidKeyIdException;
+import jssi.mls.state.PreKeyRecord;
+import jssi.mls.state.SignedPreKeyRecord;
+import jssi.mls.util.KeyHelper;
+import jssi.mls.util.Medium;
+import org.libsodium.jni.NaCl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PreKeyPoolTest {
+
+    public PreKeyPoolTest() {
+        NaCl.sodium();
+    }
+
+    @Test
+    public void replenish_test() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            InMemoryPreKeyStore preKeyStore = new InMemoryPreKeyStore();
+            final List<PreKeyRecord> published = new ArrayList<>();
+            PreKeyPool pool = PreKeyPool.newBuilder()
+                    .setPreKeyStore(preKeyStore)
+                    .setSignedPreKeyStore(new InMemorySignedPreKeyStore())
+                    .setIdentityKeyPair(KeyHelper.generateIdentityKeyPair())
+                    .setExecutor(executor)
+                    .setListener(new PreKeyPool.Listener() {
+                        @Override
+                        public synchronized void onPreKeys(List<PreKeyRecord> records) {
+                            published.addAll(records);
+                        }
+
+                        @Override
+                        public void onSignedPreKey(SignedPreKeyRecord record) {
+                        }
+                    })
+                    .setLowWater(5)
+                    .setBatchSize(10)
+                    .create();
+
+            pool.start();
+            assertEquals(10, pool.getDepth());
+            assertTrue(pool.getSignedPreKey() != null);
+
+            // session setups consume the pre-keys the server handed out
+            for (int i = 0; i < 5; i++) {
+                int preKeyId = published.get(i).getId();
+                pool.loadPreKey(preKeyId);
+                pool.removePreKey(preKeyId);
+            }
+            executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    return null;
+                }
+            }).get();
+
+            assertEquals(15, pool.getDepth());
+            assertEquals(5, pool.getConsumed());
+            assertEquals(20, pool.getGenerated());
+            assertEquals(2, pool.getReplenishments());
+            assertEquals(20, published.size());
+            for (PreKeyRecord record : published.subList(5, 20)) {
+                assertTrue(preKeyStore.containsPreKey(record.getId()));
+            }
+
+            assertThrows(InvalidKeyIdException.class, () -> pool.loadPreKey(published.get(0).getId()));
+            assertEquals(1, pool.getMisses());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rotation_test() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            InMemorySignedPreKeyStore signedPreKeyStore = new InMemorySignedPreKeyStore();
+            PreKeyPool pool = PreKeyPool.newBuilder()
+                    .setPreKeyStore(new InMemoryPreKeyStore())
+                    .setSignedPreKeyStore(signedPreKeyStore)
+                    .setIdentityKeyPair(KeyHelper.generateIdentityKeyPair())
+                    .setExecutor(executor)
+                    .setRotationPeriod(20, TimeUnit.MILLISECONDS)
+                    .create();
+
+            pool.start();
+            SignedPreKeyRecord first = pool.getSignedPreKey();
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (pool.getRotations() < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            pool.stop();
+
+            assertTrue(pool.getRotations() >= 4);
+            assertNotEquals(first.getId(), pool.getSignedPreKey().getId());
+            assertTrue(signedPreKeyStore.containsSignedPreKey(pool.getSignedPreKey().getId()));
+            assertEquals(2, signedPreKeyStore.loadSignedPreKeys().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void stored_test() throws Exception {
+        InMemoryPreKeyStore preKeyStore = new InMemoryPreKeyStore();
+        for (PreKeyRecord record : KeyHelper.generatePreKeys(100, 30)) {
+            preKeyStore.storePreKey(record.getId(), record);
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            PreKeyPool pool = PreKeyPool.newBuilder()
+                    .setPreKeyStore(preKeyStore)
+                    .setSignedPreKeyStore(new InMemorySignedPreKeyStore())
+                    .setIdentityKeyPair(KeyHelper.generateIdentityKeyPair())
+                    .setExecutor(executor)
+                    .setLowWater(2)
+                    .setPreKeyIds(Arrays.asList(100, 101, 129, 500))
+                    .create();
+
+            // the pool is above the low water mark, it tracks the stored keys only
+            pool.start();
+            assertEquals(3, pool.getDepth());
+            assertEquals(0, pool.getGenerated());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void wrap_test() throws Exception {
+        // ids M-5 .. M-1 wrap around to 1 .. 5, 6 was published in an earlier run and is still stored
+        InMemoryPreKeyStore preKeyStore = new InMemoryPreKeyStore();
+        List<Integer> preKeyIds = new ArrayList<>();
+        for (PreKeyRecord record : KeyHelper.generatePreKeys(Medium.MAX_VALUE - 5, 11)) {
+            preKeyStore.storePreKey(record.getId(), record);
+            preKeyIds.add(record.getId());
+        }
+        byte[] published = preKeyStore.loadPreKey(6).serialize();
+        preKeyIds.remove(Integer.valueOf(6));
+
+        assertEquals(5, PreKeyPool.getHighest(preKeyIds));
+        assertEquals(9, PreKeyPool.getHighest(Arrays.asList(9, 5)));
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            PreKeyPool pool = PreKeyPool.newBuilder()
+                    .setPreKeyStore(preKeyStore)
+                    .setSignedPreKeyStore(new InMemorySignedPreKeyStore())
+                    .setIdentityKeyPair(KeyHelper.generateIdentityKeyPair())
+                    .setExecutor(executor)
+                    .setLowWater(10)
+                    .setBatchSize(5)
+                    .setPreKeyIds(preKeyIds)
+                    .create();
+
+            pool.start();
+            assertEquals(15, pool.getDepth());
+            for (int preKeyId = 7; preKeyId < 12; preKeyId++) {
+                assertTrue(pool.getPreKeyIds().contains(preKeyId));
+            }
+            assertArrayEquals(published, preKeyStore.loadPreKey(6).serialize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jssi.mls.IdentityKey;
+import jssi.mls.IdentityKeyPair;
+import jssi.mls.InvalidKeyIdException;
+import jssi.mls.ProtocolAddress;
+import jssi.mls.SessionCipher;
+import jssi.mls.ecc.Curve;
+import jssi.mls.ecc.ECKeyPair;
+import jssi.mls.groups.GroupCipher;
+import jssi.mls.groups.GroupSender;
+import jssi.mls.groups.GroupSessionBuilder;
+import jssi.mls.groups.SenderKeyName;
+import jssi.mls.protocol.CiphertextMessage;
+import jssi.mls.protocol.Message;
+import jssi.mls.protocol.SenderKeyDistributionMessage;
+import jssi.mls.protocol.SenderKeyMessage;
+import jssi.mls.state.PreKeyRecord;
+import jssi.mls.state.SessionRecord;
+import jssi.mls.state.SignedPreKeyRecord;
+import jssi.wallet.Wallet;
+import jssi.wallet.WalletService;
+import jssi.wallet.store.StoreHelper;
+import org.json.JSONObject;
+import org.libsodium.jni.NaCl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static jssi.mls.ratchet.SessionFixtures.initializeSessions;
+
+public class WalletProtocolStoreTest {
+
+    private static final ProtocolAddress ALICE_ADDRESS = new ProtocolAddress("8EbSkWapRpCAoGepayMY7y", 1);
+    private static final ProtocolAddress BOB_ADDRESS = new ProtocolAddress("KHegADqTR3HZFJUS2nHDzD", 1);
+
+    private String path;
+    private WalletService service;
+    private Wallet wallet;
+    private IdentityKeyPair identityKeyPair;
+
+    public WalletProtocolStoreTest() {
+        NaCl.sodium();
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        path = File.createTempFile("mls", ".db").getAbsolutePath();
+        JSONObject credentials = new JSONObject();
+        credentials.put("id", "mls_wallet");
+        credentials.put("key", "mls_wallet_key");
+        credentials.put("path", path);
+        credentials.put("key_derivation_method", "ARGON2I_INT");
+        service = new WalletService(credentials);
+        service.create().blockingFirst();
+        wallet = service.open().blockingFirst();
+
+        ECKeyPair keyPair = Curve.generateKeyPair();
+        identityKeyPair = new IdentityKeyPair(new IdentityKey(keyPair.getPublicKey()), keyPair.getPrivateKey());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.close();
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    @Test
+    public void records_test() throws Exception {
+        WalletProtocolStore store = new WalletProtocolStore(wallet, identityKeyPair, 1, 4);
+
+        PreKeyRecord preKey = new PreKeyRecord(7, Curve.generateKeyPair());
+        SignedPreKeyRecord signedPreKey = new SignedPreKeyRecord(3, 1000L, Curve.generateKeyPair(), new byte[64]);
+        IdentityKey identity = new IdentityKey(Curve.generateKeyPair().getPublicKey());
+
+        store.storePreKey(7, preKey);
+        store.storeSignedPreKey(3, signedPreKey);
+        assertTrue(store.saveIdentity(BOB_ADDRESS, identity));
+        assertFalse(store.saveIdentity(BOB_ADDRESS, identity));
+        store.storeSession(new ProtocolAddress(BOB_ADDRESS.getDid(), 2), new SessionRecord());
+        assertEquals(0, wallet.count());
+
+        store.flush();
+        assertEquals(4, wallet.count());
+
+        WalletProtocolStore restarted = new WalletProtocolStore(wallet, identityKeyPair, 1, 4);
+        assertArrayEquals(preKey.serialize(), restarted.loadPreKey(7).serialize());
+        assertArrayEquals(signedPreKey.serialize(), restarted.loadSignedPreKey(3).serialize());
+        assertEquals(1, restarted.loadSignedPreKeys().size());
+        assertEquals(identity, restarted.getIdentity(BOB_ADDRESS));
+        assertTrue(restarted.isTrustedIdentity(BOB_ADDRESS, identity, null));
+        assertEquals(Arrays.asList(2), restarted.getSubDeviceSessions(BOB_ADDRESS.getDid()));
+
+        restarted.removePreKey(7);
+        assertFalse(restarted.containsPreKey(7));
+        assertThrows(InvalidKeyIdException.class, () -> restarted.loadPreKey(7));
+        restarted.deleteAllSessions(BOB_ADDRESS.getDid());
+        restarted.flush();
+        assertEquals(2, wallet.count());
+    }
+
+    @Test
+    public void session_test() throws Exception {
+        SessionRecord aliceSessionRecord = new SessionRecord();
+        SessionRecord bobSessionRecord = new SessionRecord();
+        initializeSessions(aliceSessionRecord, bobSessionRecord);
+
+        WalletProtocolStore aliceStore = new WalletProtocolStore(wallet, identityKeyPair, 1, 8);
+        InMemoryProtocolStore bobStore = new InMemoryProtocolStore(identityKeyPair, 2);
+        aliceStore.storeSession(BOB_ADDRESS, aliceSessionRecord);
+        aliceStore.saveIdentity(BOB_ADDRESS, aliceSessionRecord.getSessionState().getRemoteIdentityKey());
+        bobStore.storeSession(ALICE_ADDRESS, bobSessionRecord);
+        bobStore.saveIdentity(ALICE_ADDRESS, bobSessionRecord.getSessionState().getRemoteIdentityKey());
+
+        SessionCipher bobCipher = new SessionCipher(bobStore, ALICE_ADDRESS);
+        exchange(new SessionCipher(aliceStore, BOB_ADDRESS), bobCipher, 20);
+        aliceStore.flush();
+
+        WalletProtocolStore restarted = new WalletProtocolStore(wallet, identityKeyPair, 1, 8);
+        exchange(new SessionCipher(restarted, BOB_ADDRESS), bobCipher, 20);
+    }
+
+    @Test
+    public void batch_test() throws Exception {
+        WalletProtocolStore store = new WalletProtocolStore(wallet, identityKeyPair, 1, 8);
+        Map<ProtocolAddress, SessionRecord> records = new LinkedHashMap<>();
+
+        for (int device = 1; device <= 3; device++) {
+            SessionRecord record = new SessionRecord();
+            initializeSessions(record, new SessionRecord());
+            records.put(new ProtocolAddress(BOB_ADDRESS.getDid(), device), record);
+        }
+        store.storeSessions(records);
+        store.flush();
+
+        // one query per DID reads the stored devices, unknown devices come back fresh
+        List<ProtocolAddress> addresses = new ArrayList<>(records.keySet());
+        addresses.add(new ProtocolAddress(BOB_ADDRESS.getDid(), 4));
+        addresses.add(ALICE_ADDRESS);
+
+        Map<ProtocolAddress, SessionRecord> loaded = new WalletProtocolStore(wallet, identityKeyPair, 1, 8).loadSessions(addresses);
+        assertEquals(addresses, new ArrayList<>(loaded.keySet()));
+        for (Map.Entry<ProtocolAddress, SessionRecord> record : records.entrySet()) {
+            assertArrayEquals(record.getValue().serialize(), loaded.get(record.getKey()).serialize());
+        }
+        assertTrue(loaded.get(ALICE_ADDRESS).isFresh());
+        assertTrue(loaded.get(new ProtocolAddress(BOB_ADDRESS.getDid(), 4)).isFresh());
+    }
+
+    @Test
+    public void group_test() throws Exception {
+        SenderKeyName sender = new SenderKeyName("wallet group", ALICE_ADDRESS);
+        WalletProtocolStore aliceStore = new WalletProtocolStore(wallet, identityKeyPair, 1, 8);
+        WalletProtocolStore bobStore = new WalletProtocolStore(wallet, identityKeyPair, 1, 8);
+
+        SenderKeyDistributionMessage distribution = new GroupSessionBuilder(aliceStore).create(sender);
+        aliceStore.flush();
+        new GroupSessionBuilder(bobStore).process(new SenderKeyName("bob view", ALICE_ADDRESS), distribution);
+
+        GroupCipher aliceCipher = new GroupCipher(new WalletProtocolStore(wallet, identityKeyPair, 1, 8), sender);
+        GroupCipher bobCipher = new GroupCipher(bobStore, new SenderKeyName("bob view", ALICE_ADDRESS));
+
+        for (int i = 0; i < 20; i++) {
+            byte[] plaintext = ("group message " + i).getBytes();
+            assertArrayEquals(plaintext, bobCipher.decrypt(aliceCipher.encrypt(plaintext)));
+        }
+    }
+
+    @Test
+    public void groupSenderRestart_test() throws Exception {
+        SenderKeyName sender = new SenderKeyName("wallet group", ALICE_ADDRESS);
+        SenderKeyName bobView = new SenderKeyName("bob view", ALICE_ADDRESS);
+        WalletProtocolStore aliceStore = new WalletProtocolStore(wallet, identityKeyPair, 1, 64);
+        WalletProtocolStore bobStore = new WalletProtocolStore(wallet, identityKeyPair, 1, 64);
+        new GroupSessionBuilder(bobStore).process(bobView, new GroupSessionBuilder(aliceStore).create(sender));
+        aliceStore.flush();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<byte[]> sent = new GroupSender(aliceStore, sender, 4, executor).encrypt(
+                    Arrays.asList("first".getBytes(), "second".getBytes()));
+
+            // the process dies without a flush, the reserved block is stored nonetheless
+            WalletProtocolStore restarted = new WalletProtocolStore(wallet, identityKeyPair, 1, 64);
+            byte[] third = new GroupSender(restarted, sender, 4, executor).encrypt("third".getBytes());
+
+            assertEquals(0, new SenderKeyMessage(sent.get(0)).getIteration());
+            assertEquals(1, new SenderKeyMessage(sent.get(1)).getIteration());
+            assertEquals(4, new SenderKeyMessage(third).getIteration());
+
+            GroupCipher bobCipher = new GroupCipher(bobStore, bobView);
+            assertArrayEquals("first".getBytes(), bobCipher.decrypt(sent.get(0)));
+            assertArrayEquals("second".getBytes(), bobCipher.decrypt(sent.get(1)));
+            assertArrayEquals("third".getBytes(), bobCipher.decrypt(third));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void exchange(SessionCipher aliceCipher, SessionCipher bobCipher, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            byte[] plaintext = ("message " + i).getBytes();
+            CiphertextMessage message = aliceCipher.encrypt(plaintext);
+            assertArrayEquals(plaintext, bobCipher.decrypt(new Message(message.serialize())));
+
+            CiphertextMessage reply = bobCipher.encrypt(plaintext);
+            assertArrayEquals(plaintext, aliceCipher.decrypt(new Message(reply.serialize())));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.mls.state.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jssi.wallet.Wallet;
+import jssi.wallet.WalletService;
+import jssi.wallet.store.StoreHelper;
+import org.json.JSONObject;
+import org.libsodium.jni.NaCl;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WalletRecordBufferTest {
+
+    private static final String TYPE = "Mls::Test";
+    private static final byte[] VALUE = {1, 2, 3};
+
+    private String path;
+    private WalletService service;
+    private Wallet wallet;
+
+    public WalletRecordBufferTest() {
+        NaCl.sodium();
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        path = File.createTempFile("buffer", ".db").getAbsolutePath();
+        JSONObject credentials = new JSONObject();
+        credentials.put("id", "mls_buffer");
+        credentials.put("key", "mls_buffer_key");
+        credentials.put("path", path);
+        credentials.put("key_derivation_method", "ARGON2I_INT");
+        service = new WalletService(credentials);
+        service.create().blockingFirst();
+        wallet = service.open().blockingFirst();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.close();
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    /**
+     * Puts keep succeeding while the wallet fails, the records stay readable and are written once it recovers.
+     */
+    @Test
+    public void failed_write_test() throws Exception {
+        WalletRecordBuffer buffer = new WalletRecordBuffer(wallet, 2);
+
+        execute("ALTER TABLE items RENAME TO items_broken");
+        buffer.put(TYPE, "a", VALUE, new HashMap<>());
+        buffer.put(TYPE, "b", VALUE, new HashMap<>());
+        assertEquals(2, buffer.size());
+        assertArrayEquals(VALUE, buffer.get(TYPE, "a"));
+
+        // retried after two more changes, not on every put
+        buffer.put(TYPE, "c", VALUE, new HashMap<>());
+        buffer.put(TYPE, "d", VALUE, new HashMap<>());
+        assertEquals(4, buffer.size());
+        assertThrows(IllegalStateException.class, buffer::flush);
+
+        execute("ALTER TABLE items_broken RENAME TO items");
+        buffer.flush();
+        assertEquals(0, buffer.size());
+        assertEquals(4, wallet.count());
+        assertArrayEquals(VALUE, new WalletRecordBuffer(wallet, 2).get(TYPE, "d"));
+    }
+
+    /**
+     * Changes beyond the bound are refused while the wallet fails, pending records can still be replaced.
+     */
+    @Test
+    public void bounded_test() throws Exception {
+        WalletRecordBuffer buffer = new WalletRecordBuffer(wallet, 2);
+        int capacity = 2 * WalletRecordBuffer.MAX_BATCHES;
+
+        execute("ALTER TABLE items RENAME TO items_broken");
+        for (int i = 0; i < capacity; i++) {
+            buffer.put(TYPE, String.valueOf(i), VALUE, new HashMap<>());
+        }
+        assertThrows(IllegalStateException.class, () -> buffer.put(TYPE, "full", VALUE, new HashMap<>()));
+        buffer.put(TYPE, "0", new byte[]{4}, new HashMap<>());
+        assertEquals(capacity, buffer.size());
+
+        execute("ALTER TABLE items_broken RENAME TO items");
+        buffer.put(TYPE, "full", VALUE, new HashMap<>());
+        assertEquals(1, buffer.size());
+        assertEquals(capacity, wallet.count());
+        assertArrayEquals(new byte[]{4}, buffer.get(TYPE, "0"));
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + path);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
+
+/**
+ * Average time of every primitive on the native and the pure Java provider.
+ *
+ * @author ITON Solutions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProviderBenchmark {
+
+    @Param({Providers.NATIVE, Providers.JAVA})
+    private String provider;
+
+    @Param({"32", "1024", "65536"})
+    private int size;
+
+    private CryptoProvider crypto;
+    private byte[] data;
+    private byte[] cipher;
+    private byte[] key;
+    private byte[] nonce;
+    private byte[] xnonce;
+    private byte[] pk;
+    private byte[] sk;
+    private byte[] sign;
+    private byte[] point;
+    private byte[] out;
+
+    @Setup
+    public void setup() {
+        crypto = Providers.provider(provider);
+        Random random = new Random(42);
+        data = new byte[size];
+        random.nextBytes(data);
+        key = new byte[32];
+        random.nextBytes(key);
+        nonce = new byte[12];
+        xnonce = new byte[24];
+        random.nextBytes(xnonce);
+        cipher = new byte[size + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        crypto.crypto_aead_chacha20poly1305_ietf_encrypt(cipher, 0, data, 0, size, null, nonce, key);
+
+        byte[] seed = new byte[32];
+        random.nextBytes(seed);
+        pk = new byte[32];
+        sk = new byte[64];
+        crypto.crypto_sign_ed25519_seed_keypair(pk, sk, seed);
+        sign = new byte[64];
+        crypto.crypto_sign_ed25519_detached(sign, data, size, sk);
+        point = new byte[32];
+        crypto.crypto_scalarmult_curve25519_base(point, seed);
+        out = new byte[cipher.length];
+    }
+
+    @Benchmark
+    public byte[] aead_chacha20poly1305_ietf_encrypt() {
+        crypto.crypto_aead_chacha20poly1305_ietf_encrypt(out, 0, data, 0, size, null, nonce, key);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] aead_chacha20poly1305_ietf_decrypt() {
+        crypto.crypto_aead_chacha20poly1305_ietf_decrypt(out, 0, cipher, 0, cipher.length, null, nonce, key);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] aead_xchacha20poly1305_ietf_encrypt() {
+        crypto.crypto_aead_xchacha20poly1305_ietf_encrypt(out, 0, data, 0, size, null, xnonce, key);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] sign_ed25519_detached() {
+        crypto.crypto_sign_ed25519_detached(out, data, size, sk);
+        return out;
+    }
+
+    @Benchmark
+    public int sign_ed25519_verify_detached() {
+        return crypto.crypto_sign_ed25519_verify_detached(sign, data, size, pk);
+    }
+
+    @Benchmark
+    public byte[] scalarmult_curve25519() {
+        crypto.crypto_scalarmult_curve25519(out, key, point);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] auth_hmacsha256() {
+        crypto.crypto_auth_hmacsha256(out, data, size, key);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] generichash() {
+        crypto.crypto_generichash(out, 32, data, size, null);
+        return out;
+    }
+}
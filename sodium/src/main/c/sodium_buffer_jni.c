@@ -0,0 +1,525 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/*
+ * Natives of org.libsodium.jni.SodiumBufferJNI, linked into the same library as the SWIG wrapper.
+ *
+ * Message buffers are either Java arrays, accessed without copying through GetPrimitiveArrayCritical,
+ * or direct ByteBuffers accessed through GetDirectBufferAddress. Nonces and keys are small and copied
+ * to the stack. Offsets and lengths are checked on the Java side.
+ */
+
+#include <jni.h>
+#include <string.h>
+#include <sodium.h>
+
+#define BUFFER_VERSION 4
+
+#define MAX_NONCE 32
+#define MAX_KEY   32
+
+typedef int (*aead_fn)(unsigned char *, unsigned long long *, const unsigned char *, unsigned long long,
+                       const unsigned char *, unsigned long long, const unsigned char *,
+                       const unsigned char *, const unsigned char *);
+
+typedef int (*aead_open_fn)(unsigned char *, unsigned long long *, unsigned char *, const unsigned char *,
+                            unsigned long long, const unsigned char *, unsigned long long,
+                            const unsigned char *, const unsigned char *);
+
+typedef int (*box_fn)(unsigned char *, const unsigned char *, unsigned long long, const unsigned char *,
+                      const unsigned char *, const unsigned char *);
+
+static int copy_small(JNIEnv *env, jbyteArray array, unsigned char *dst, jsize size) {
+    if (array == NULL || (*env)->GetArrayLength(env, array) != size) {
+        return -1;
+    }
+    (*env)->GetByteArrayRegion(env, array, 0, size, (jbyte *) dst);
+    return 0;
+}
+
+/* Arrays: c may be the same array as m, encryption in place is supported by libsodium. */
+
+static jint aead_array(JNIEnv *env, aead_fn fn, jsize nonce_size,
+                       jbyteArray c, jint c_off, jbyteArray m, jint m_off, jint mlen,
+                       jbyteArray ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    unsigned char nonce[MAX_NONCE];
+    unsigned char key[MAX_KEY];
+    unsigned long long clen = 0;
+    jint result;
+
+    if (copy_small(env, npub, nonce, nonce_size) != 0 || copy_small(env, k, key, MAX_KEY) != 0) {
+        return -1;
+    }
+
+    jbyte *cp = (*env)->GetPrimitiveArrayCritical(env, c, NULL);
+    jbyte *mp = (*env)->GetPrimitiveArrayCritical(env, m, NULL);
+    jbyte *adp = ad == NULL ? NULL : (*env)->GetPrimitiveArrayCritical(env, ad, NULL);
+
+    if (cp == NULL || mp == NULL || (ad != NULL && adp == NULL)) {
+        result = -1;
+    } else {
+        result = fn((unsigned char *) cp + c_off, &clen, (unsigned char *) mp + m_off, (unsigned long long) mlen,
+                    adp == NULL ? NULL : (unsigned char *) adp + ad_off, (unsigned long long) adlen,
+                    NULL, nonce, key);
+    }
+
+    if (adp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, ad, adp, JNI_ABORT);
+    if (mp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, m, mp, JNI_ABORT);
+    if (cp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, c, cp, 0);
+
+    sodium_memzero(key, sizeof key);
+    return result;
+}
+
+static jint aead_open_array(JNIEnv *env, aead_open_fn fn, jsize nonce_size,
+                            jbyteArray m, jint m_off, jbyteArray c, jint c_off, jint clen,
+                            jbyteArray ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    unsigned char nonce[MAX_NONCE];
+    unsigned char key[MAX_KEY];
+    unsigned long long mlen = 0;
+    jint result;
+
+    if (copy_small(env, npub, nonce, nonce_size) != 0 || copy_small(env, k, key, MAX_KEY) != 0) {
+        return -1;
+    }
+
+    jbyte *mp = (*env)->GetPrimitiveArrayCritical(env, m, NULL);
+    jbyte *cp = (*env)->GetPrimitiveArrayCritical(env, c, NULL);
+    jbyte *adp = ad == NULL ? NULL : (*env)->GetPrimitiveArrayCritical(env, ad, NULL);
+
+    if (cp == NULL || mp == NULL || (ad != NULL && adp == NULL)) {
+        result = -1;
+    } else {
+        result = fn((unsigned char *) mp + m_off, &mlen, NULL, (unsigned char *) cp + c_off, (unsigned long long) clen,
+                    adp == NULL ? NULL : (unsigned char *) adp + ad_off, (unsigned long long) adlen,
+                    nonce, key);
+    }
+
+    if (adp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, ad, adp, JNI_ABORT);
+    if (cp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, c, cp, JNI_ABORT);
+    if (mp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, m, mp, 0);
+
+    sodium_memzero(key, sizeof key);
+    return result;
+}
+
+static jint aead_buffer(JNIEnv *env, aead_fn fn, jsize nonce_size,
+                        jobject c, jint c_off, jobject m, jint m_off, jint mlen,
+                        jobject ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    unsigned char nonce[MAX_NONCE];
+    unsigned char key[MAX_KEY];
+    unsigned long long clen = 0;
+    jint result;
+
+    unsigned char *cp = (*env)->GetDirectBufferAddress(env, c);
+    unsigned char *mp = (*env)->GetDirectBufferAddress(env, m);
+    unsigned char *adp = ad == NULL ? NULL : (*env)->GetDirectBufferAddress(env, ad);
+
+    if (cp == NULL || mp == NULL || (ad != NULL && adp == NULL)) {
+        return -1;
+    }
+    if (copy_small(env, npub, nonce, nonce_size) != 0 || copy_small(env, k, key, MAX_KEY) != 0) {
+        return -1;
+    }
+
+    result = fn(cp + c_off, &clen, mp + m_off, (unsigned long long) mlen,
+                adp == NULL ? NULL : adp + ad_off, (unsigned long long) adlen, NULL, nonce, key);
+
+    sodium_memzero(key, sizeof key);
+    return result;
+}
+
+static jint aead_open_buffer(JNIEnv *env, aead_open_fn fn, jsize nonce_size,
+                             jobject m, jint m_off, jobject c, jint c_off, jint clen,
+                             jobject ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    unsigned char nonce[MAX_NONCE];
+    unsigned char key[MAX_KEY];
+    unsigned long long mlen = 0;
+    jint result;
+
+    unsigned char *mp = (*env)->GetDirectBufferAddress(env, m);
+    unsigned char *cp = (*env)->GetDirectBufferAddress(env, c);
+    unsigned char *adp = ad == NULL ? NULL : (*env)->GetDirectBufferAddress(env, ad);
+
+    if (cp == NULL || mp == NULL || (ad != NULL && adp == NULL)) {
+        return -1;
+    }
+    if (copy_small(env, npub, nonce, nonce_size) != 0 || copy_small(env, k, key, MAX_KEY) != 0) {
+        return -1;
+    }
+
+    result = fn(mp + m_off, &mlen, NULL, cp + c_off, (unsigned long long) clen,
+                adp == NULL ? NULL : adp + ad_off, (unsigned long long) adlen, nonce, key);
+
+    sodium_memzero(key, sizeof key);
+    return result;
+}
+
+static jint box_array(JNIEnv *env, box_fn fn, jbyteArray out, jint out_off, jbyteArray in, jint in_off, jint len,
+                      jbyteArray n, jbyteArray pk, jbyteArray sk) {
+    unsigned char nonce[crypto_box_NONCEBYTES];
+    unsigned char public_key[crypto_box_PUBLICKEYBYTES];
+    unsigned char secret_key[crypto_box_SECRETKEYBYTES];
+    jint result;
+
+    if (copy_small(env, n, nonce, sizeof nonce) != 0
+            || copy_small(env, pk, public_key, sizeof public_key) != 0
+            || copy_small(env, sk, secret_key, sizeof secret_key) != 0) {
+        return -1;
+    }
+
+    jbyte *outp = (*env)->GetPrimitiveArrayCritical(env, out, NULL);
+    jbyte *inp = (*env)->GetPrimitiveArrayCritical(env, in, NULL);
+
+    if (outp == NULL || inp == NULL) {
+        result = -1;
+    } else {
+        result = fn((unsigned char *) outp + out_off, (unsigned char *) inp + in_off, (unsigned long long) len,
+                    nonce, public_key, secret_key);
+    }
+
+    if (inp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, in, inp, JNI_ABORT);
+    if (outp != NULL) (*env)->ReleasePrimitiveArrayCritical(env, out, outp, 0);
+
+    sodium_memzero(secret_key, sizeof secret_key);
+    return result;
+}
+
+static jint box_buffer(JNIEnv *env, box_fn fn, jobject out, jint out_off, jobject in, jint in_off, jint len,
+                       jbyteArray n, jbyteArray pk, jbyteArray sk) {
+    unsigned char nonce[crypto_box_NONCEBYTES];
+    unsigned char public_key[crypto_box_PUBLICKEYBYTES];
+    unsigned char secret_key[crypto_box_SECRETKEYBYTES];
+    jint result;
+
+    unsigned char *outp = (*env)->GetDirectBufferAddress(env, out);
+    unsigned char *inp = (*env)->GetDirectBufferAddress(env, in);
+
+    if (outp == NULL || inp == NULL) {
+        return -1;
+    }
+    if (copy_small(env, n, nonce, sizeof nonce) != 0
+            || copy_small(env, pk, public_key, sizeof public_key) != 0
+            || copy_small(env, sk, secret_key, sizeof secret_key) != 0) {
+        return -1;
+    }
+
+    result = fn(outp + out_off, inp + in_off, (unsigned long long) len, nonce, public_key, secret_key);
+
+    sodium_memzero(secret_key, sizeof secret_key);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_buffer_1version(JNIEnv *env, jclass cls) {
+    return BUFFER_VERSION;
+}
+
+/* crypto_aead_chacha20poly1305_ietf */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1chacha20poly1305_1ietf_1encrypt___3BI_3BII_3BII_3B_3B(
+        JNIEnv *env, jclass cls, jbyteArray c, jint c_off, jbyteArray m, jint m_off, jint mlen,
+        jbyteArray ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_array(env, crypto_aead_chacha20poly1305_ietf_encrypt, crypto_aead_chacha20poly1305_ietf_NPUBBYTES,
+                      c, c_off, m, m_off, mlen, ad, ad_off, adlen, npub, k);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1chacha20poly1305_1ietf_1encrypt__Ljava_nio_ByteBuffer_2ILjava_nio_ByteBuffer_2IILjava_nio_ByteBuffer_2II_3B_3B(
+        JNIEnv *env, jclass cls, jobject c, jint c_off, jobject m, jint m_off, jint mlen,
+        jobject ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_buffer(env, crypto_aead_chacha20poly1305_ietf_encrypt, crypto_aead_chacha20poly1305_ietf_NPUBBYTES,
+                       c, c_off, m, m_off, mlen, ad, ad_off, adlen, npub, k);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1chacha20poly1305_1ietf_1decrypt___3BI_3BII_3BII_3B_3B(
+        JNIEnv *env, jclass cls, jbyteArray m, jint m_off, jbyteArray c, jint c_off, jint clen,
+        jbyteArray ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_open_array(env, crypto_aead_chacha20poly1305_ietf_decrypt, crypto_aead_chacha20poly1305_ietf_NPUBBYTES,
+                           m, m_off, c, c_off, clen, ad, ad_off, adlen, npub, k);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1chacha20poly1305_1ietf_1decrypt__Ljava_nio_ByteBuffer_2ILjava_nio_ByteBuffer_2IILjava_nio_ByteBuffer_2II_3B_3B(
+        JNIEnv *env, jclass cls, jobject m, jint m_off, jobject c, jint c_off, jint clen,
+        jobject ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_open_buffer(env, crypto_aead_chacha20poly1305_ietf_decrypt, crypto_aead_chacha20poly1305_ietf_NPUBBYTES,
+                            m, m_off, c, c_off, clen, ad, ad_off, adlen, npub, k);
+}
+
+/* crypto_aead_xchacha20poly1305_ietf */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1xchacha20poly1305_1ietf_1encrypt___3BI_3BII_3BII_3B_3B(
+        JNIEnv *env, jclass cls, jbyteArray c, jint c_off, jbyteArray m, jint m_off, jint mlen,
+        jbyteArray ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_array(env, crypto_aead_xchacha20poly1305_ietf_encrypt, crypto_aead_xchacha20poly1305_ietf_NPUBBYTES,
+                      c, c_off, m, m_off, mlen, ad, ad_off, adlen, npub, k);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1xchacha20poly1305_1ietf_1encrypt__Ljava_nio_ByteBuffer_2ILjava_nio_ByteBuffer_2IILjava_nio_ByteBuffer_2II_3B_3B(
+        JNIEnv *env, jclass cls, jobject c, jint c_off, jobject m, jint m_off, jint mlen,
+        jobject ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_buffer(env, crypto_aead_xchacha20poly1305_ietf_encrypt, crypto_aead_xchacha20poly1305_ietf_NPUBBYTES,
+                       c, c_off, m, m_off, mlen, ad, ad_off, adlen, npub, k);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1xchacha20poly1305_1ietf_1decrypt___3BI_3BII_3BII_3B_3B(
+        JNIEnv *env, jclass cls, jbyteArray m, jint m_off, jbyteArray c, jint c_off, jint clen,
+        jbyteArray ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_open_array(env, crypto_aead_xchacha20poly1305_ietf_decrypt, crypto_aead_xchacha20poly1305_ietf_NPUBBYTES,
+                           m, m_off, c, c_off, clen, ad, ad_off, adlen, npub, k);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1aead_1xchacha20poly1305_1ietf_1decrypt__Ljava_nio_ByteBuffer_2ILjava_nio_ByteBuffer_2IILjava_nio_ByteBuffer_2II_3B_3B(
+        JNIEnv *env, jclass cls, jobject m, jint m_off, jobject c, jint c_off, jint clen,
+        jobject ad, jint ad_off, jint adlen, jbyteArray npub, jbyteArray k) {
+    return aead_open_buffer(env, crypto_aead_xchacha20poly1305_ietf_decrypt, crypto_aead_xchacha20poly1305_ietf_NPUBBYTES,
+                            m, m_off, c, c_off, clen, ad, ad_off, adlen, npub, k);
+}
+
+/* crypto_box easy */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1box_1easy___3BI_3BII_3B_3B_3B(
+        JNIEnv *env, jclass cls, jbyteArray c, jint c_off, jbyteArray m, jint m_off, jint mlen,
+        jbyteArray n, jbyteArray pk, jbyteArray sk) {
+    return box_array(env, crypto_box_easy, c, c_off, m, m_off, mlen, n, pk, sk);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1box_1easy__Ljava_nio_ByteBuffer_2ILjava_nio_ByteBuffer_2II_3B_3B_3B(
+        JNIEnv *env, jclass cls, jobject c, jint c_off, jobject m, jint m_off, jint mlen,
+        jbyteArray n, jbyteArray pk, jbyteArray sk) {
+    return box_buffer(env, crypto_box_easy, c, c_off, m, m_off, mlen, n, pk, sk);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1box_1open_1easy___3BI_3BII_3B_3B_3B(
+        JNIEnv *env, jclass cls, jbyteArray m, jint m_off, jbyteArray c, jint c_off, jint clen,
+        jbyteArray n, jbyteArray pk, jbyteArray sk) {
+    return box_array(env, crypto_box_open_easy, m, m_off, c, c_off, clen, n, pk, sk);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1box_1open_1easy__Ljava_nio_ByteBuffer_2ILjava_nio_ByteBuffer_2II_3B_3B_3B(
+        JNIEnv *env, jclass cls, jobject m, jint m_off, jobject c, jint c_off, jint clen,
+        jbyteArray n, jbyteArray pk, jbyteArray sk) {
+    return box_buffer(env, crypto_box_open_easy, m, m_off, c, c_off, clen, n, pk, sk);
+}
+
+/* Ed25519 batch verification of count entries from offset in one call, results are indexed as the entries. */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1sign_1ed25519_1verify_1detached_1batch(
+        JNIEnv *env, jclass cls, jobjectArray sigs, jobjectArray ms, jobjectArray pks, jint offset, jint count,
+        jbooleanArray results) {
+    unsigned char sig[crypto_sign_ed25519_BYTES];
+    unsigned char pk[crypto_sign_ed25519_PUBLICKEYBYTES];
+    jint failed = 0;
+
+    for (jint i = 0; i < count; i++) {
+        jbyteArray s = (*env)->GetObjectArrayElement(env, sigs, offset + i);
+        jbyteArray m = (*env)->GetObjectArrayElement(env, ms, offset + i);
+        jbyteArray p = (*env)->GetObjectArrayElement(env, pks, offset + i);
+        jboolean valid = JNI_FALSE;
+
+        if (m != NULL && copy_small(env, s, sig, sizeof sig) == 0 && copy_small(env, p, pk, sizeof pk) == 0) {
+            jsize mlen = (*env)->GetArrayLength(env, m);
+            jbyte *mp = (*env)->GetPrimitiveArrayCritical(env, m, NULL);
+            if (mp != NULL) {
+                valid = crypto_sign_ed25519_verify_detached(sig, (unsigned char *) mp, (unsigned long long) mlen, pk) == 0;
+                (*env)->ReleasePrimitiveArrayCritical(env, m, mp, JNI_ABORT);
+            }
+        }
+        if (!valid) {
+            failed++;
+        }
+        (*env)->SetBooleanArrayRegion(env, results, offset + i, 1, &valid);
+
+        if (s != NULL) (*env)->DeleteLocalRef(env, s);
+        if (m != NULL) (*env)->DeleteLocalRef(env, m);
+        if (p != NULL) (*env)->DeleteLocalRef(env, p);
+    }
+    return failed;
+}
+
+/*
+ * Multi-part states live in Java arrays and are copied to aligned stack storage around every call,
+ * libsodium states must not be used unaligned. The array has to hold at least statebytes.
+ */
+
+#define STATE_MAX 512
+
+typedef int (*update_fn)(void *, const unsigned char *, unsigned long long);
+
+static int get_state(JNIEnv *env, jbyteArray state, unsigned char *dst, size_t size) {
+    if (state == NULL || size > STATE_MAX || (size_t) (*env)->GetArrayLength(env, state) < size) {
+        return -1;
+    }
+    (*env)->GetByteArrayRegion(env, state, 0, (jsize) size, (jbyte *) dst);
+    return 0;
+}
+
+static void put_state(JNIEnv *env, jbyteArray state, unsigned char *src, size_t size) {
+    (*env)->SetByteArrayRegion(env, state, 0, (jsize) size, (jbyte *) src);
+    sodium_memzero(src, size);
+}
+
+static jint update_array(JNIEnv *env, update_fn fn, size_t size, jbyteArray state, jbyteArray m, jint m_off, jint mlen) {
+    CRYPTO_ALIGN(64) unsigned char st[STATE_MAX];
+    jint result;
+
+    if (get_state(env, state, st, size) != 0) {
+        return -1;
+    }
+    jbyte *mp = (*env)->GetPrimitiveArrayCritical(env, m, NULL);
+    if (mp == NULL) {
+        sodium_memzero(st, size);
+        return -1;
+    }
+    result = fn(st, (unsigned char *) mp + m_off, (unsigned long long) mlen);
+    (*env)->ReleasePrimitiveArrayCritical(env, m, mp, JNI_ABORT);
+
+    put_state(env, state, st, size);
+    return result;
+}
+
+static int sign_update(void *state, const unsigned char *m, unsigned long long mlen) {
+    return crypto_sign_update((crypto_sign_state *) state, m, mlen);
+}
+
+static int generichash_update(void *state, const unsigned char *m, unsigned long long mlen) {
+    return crypto_generichash_update((crypto_generichash_state *) state, m, mlen);
+}
+
+static int hash_sha256_update(void *state, const unsigned char *m, unsigned long long mlen) {
+    return crypto_hash_sha256_update((crypto_hash_sha256_state *) state, m, mlen);
+}
+
+/* crypto_sign multi-part, Ed25519ph */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1sign_1statebytes(JNIEnv *env, jclass cls) {
+    return (jint) crypto_sign_statebytes();
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1sign_1init(JNIEnv *env, jclass cls, jbyteArray state) {
+    CRYPTO_ALIGN(64) unsigned char st[STATE_MAX];
+    size_t size = crypto_sign_statebytes();
+
+    if (get_state(env, state, st, size) != 0) {
+        return -1;
+    }
+    jint result = crypto_sign_init((crypto_sign_state *) (void *) st);
+    put_state(env, state, st, size);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1sign_1update(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray m, jint m_off, jint mlen) {
+    return update_array(env, sign_update, crypto_sign_statebytes(), state, m, m_off, mlen);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1sign_1final_1create(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray sig, jbyteArray sk) {
+    CRYPTO_ALIGN(64) unsigned char st[STATE_MAX];
+    unsigned char signature[crypto_sign_BYTES];
+    unsigned char secret_key[crypto_sign_SECRETKEYBYTES];
+    size_t size = crypto_sign_statebytes();
+    jint result;
+
+    if (sig == NULL || (*env)->GetArrayLength(env, sig) < (jsize) sizeof signature ||
+        copy_small(env, sk, secret_key, sizeof secret_key) != 0) {
+        return -1;
+    }
+    if (get_state(env, state, st, size) != 0) {
+        sodium_memzero(secret_key, sizeof secret_key);
+        return -1;
+    }
+    result = crypto_sign_final_create((crypto_sign_state *) (void *) st, signature, NULL, secret_key);
+    if (result == 0) {
+        (*env)->SetByteArrayRegion(env, sig, 0, sizeof signature, (jbyte *) signature);
+    }
+
+    sodium_memzero(secret_key, sizeof secret_key);
+    put_state(env, state, st, size);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1sign_1final_1verify(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray sig, jbyteArray pk) {
+    CRYPTO_ALIGN(64) unsigned char st[STATE_MAX];
+    unsigned char signature[crypto_sign_BYTES];
+    unsigned char public_key[crypto_sign_PUBLICKEYBYTES];
+    size_t size = crypto_sign_statebytes();
+    jint result;
+
+    if (copy_small(env, sig, signature, sizeof signature) != 0 || copy_small(env, pk, public_key, sizeof public_key) != 0 ||
+        get_state(env, state, st, size) != 0) {
+        return -1;
+    }
+    result = crypto_sign_final_verify((crypto_sign_state *) (void *) st, signature, public_key);
+    put_state(env, state, st, size);
+    return result;
+}
+
+/* crypto_generichash multi-part, BLAKE2b states are 64 byte aligned */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1generichash_1init(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray k, jint outlen) {
+    CRYPTO_ALIGN(64) unsigned char st[STATE_MAX];
+    unsigned char key[crypto_generichash_KEYBYTES_MAX];
+    size_t size = crypto_generichash_statebytes();
+    jsize keylen = k == NULL ? 0 : (*env)->GetArrayLength(env, k);
+    jint result;
+
+    if (keylen > (jsize) sizeof key || get_state(env, state, st, size) != 0) {
+        return -1;
+    }
+    if (keylen > 0) {
+        (*env)->GetByteArrayRegion(env, k, 0, keylen, (jbyte *) key);
+    }
+    result = crypto_generichash_init((crypto_generichash_state *) (void *) st, keylen > 0 ? key : NULL,
+            (size_t) keylen, (size_t) outlen);
+
+    sodium_memzero(key, sizeof key);
+    put_state(env, state, st, size);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1generichash_1final(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray out, jint outlen) {
+    CRYPTO_ALIGN(64) unsigned char st[STATE_MAX];
+    unsigned char hash[crypto_generichash_BYTES_MAX];
+    size_t size = crypto_generichash_statebytes();
+    jint result;
+
+    if (outlen <= 0 || outlen > (jint) sizeof hash || out == NULL || (*env)->GetArrayLength(env, out) < outlen ||
+        get_state(env, state, st, size) != 0) {
+        return -1;
+    }
+    result = crypto_generichash_final((crypto_generichash_state *) (void *) st, hash, (size_t) outlen);
+    if (result == 0) {
+        (*env)->SetByteArrayRegion(env, out, 0, outlen, (jbyte *) hash);
+    }
+
+    sodium_memzero(hash, sizeof hash);
+    put_state(env, state, st, size);
+    return result;
+}
+
+/* Multi-part updates at an offset */
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1generichash_1update(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray m, jint m_off, jint mlen) {
+    return update_array(env, generichash_update, crypto_generichash_statebytes(), state, m, m_off, mlen);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumBufferJNI_crypto_1hash_1sha256_1update(
+        JNIEnv *env, jclass cls, jbyteArray state, jbyteArray m, jint m_off, jint mlen) {
+    return update_array(env, hash_sha256_update, crypto_hash_sha256_statebytes(), state, m, m_off, mlen);
+}
@@ -0,0 +1,2783 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/*
+ * Natives of org.libsodium.jni.SodiumJNI, one wrapper per method in the same order.
+ *
+ * Follows the conventions of the SWIG wrapper the Windows library was built from: byte arrays are
+ * passed as pointers and copied back after the call, ints are converted to the parameter type of
+ * the libsodium prototype, int arrays receive the unsigned long long length outputs and const char
+ * results are returned as byte arrays, except sodium_version_string. Keep in sync with SodiumJNI.java.
+ */
+
+#include <jni.h>
+#include <string.h>
+#include <sodium.h>
+
+static jbyteArray to_bytes(JNIEnv *env, const char *value) {
+    jsize size = (jsize) strlen(value);
+    jbyteArray result = (*env)->NewByteArray(env, size);
+    if (result != NULL) {
+        (*env)->SetByteArrayRegion(env, result, 0, size, (const jbyte *) value);
+    }
+    return result;
+}
+
+static void set_length(JNIEnv *env, jintArray array, unsigned long long length) {
+    if (array != NULL && (*env)->GetArrayLength(env, array) > 0) {
+        jint value = (jint) length;
+        (*env)->SetIntArrayRegion(env, array, 0, 1, &value);
+    }
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_sodium_1init(JNIEnv *env, jclass cls) {
+    jint result = (jint) sodium_init();
+    return result;
+}
+
+JNIEXPORT jstring JNICALL Java_org_libsodium_jni_SodiumJNI_sodium_1version_1string(JNIEnv *env, jclass cls) {
+    return (*env)->NewStringUTF(env, sodium_version_string());
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_randombytes(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    randombytes((void *) arg1, jarg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_randombytes_1random(JNIEnv *env, jclass cls) {
+    jint result = (jint) randombytes_random();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_randombytes_1uniform(JNIEnv *env, jclass cls, jint jarg1) {
+    jint result = (jint) randombytes_uniform(jarg1);
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_randombytes_1buf(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    randombytes_buf((void *) arg1, jarg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_randombytes_1close(JNIEnv *env, jclass cls) {
+    jint result = (jint) randombytes_close();
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_randombytes_1stir(JNIEnv *env, jclass cls) {
+    randombytes_stir();
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_sodium_1increment(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    sodium_increment((void *) arg1, jarg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1macbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_macbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1zerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_zerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1boxzerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_boxzerobytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_secretbox_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1easy(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_secretbox_easy((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1open_1easy(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_secretbox_open_easy((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_secretbox_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1open_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_secretbox_open_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_scalarmult_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1scalarbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_scalarmult_scalarbytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_scalarmult_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1base(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_scalarmult_base((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_scalarmult((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1seedbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_seedbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1publickeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_publickeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1secretkeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_secretkeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1macbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_macbytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_box_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_box_keypair((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1seed_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_box_seed_keypair((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1easy(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_easy((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1open_1easy(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_open_easy((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jbyteArray jarg7) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jint result = (jint) crypto_box_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, (void *) arg7);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1open_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jbyteArray jarg7) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jint result = (jint) crypto_box_open_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, (void *) arg7);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1beforenmbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_beforenmbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1beforenm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_box_beforenm((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1easy_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_easy_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1open_1easy_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_open_easy_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1detached_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_detached_afternm((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1open_1detached_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_open_detached_afternm((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1sealbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_sealbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1seal(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_box_seal((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1seal_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_seal_open((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1zerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_zerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1boxzerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_boxzerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_open((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1open_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_open_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1seedbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_seedbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1publickeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_publickeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1secretkeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_secretkeybytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_sign_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_sign_keypair((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1seed_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_sign_seed_keypair((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_sign((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_sign_open((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_sign_detached((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1verify_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_sign_verify_detached((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1sk_1to_1seed(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_sign_ed25519_sk_to_seed((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1sk_1to_1pk(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_sign_ed25519_sk_to_pk((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1bytes_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_bytes_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1bytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_bytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1keybytes_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_keybytes_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1keybytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_keybytes_max();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_generichash_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_generichash((void *) arg1, jarg2, (void *) arg3, jarg4, (void *) arg5, jarg6);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jint jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_generichash_init((void *) arg1, (void *) arg2, jarg3, jarg4);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_generichash_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_generichash_final((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_shorthash_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_shorthash_keybytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_shorthash_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_shorthash((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_keybytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_auth_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_auth((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_auth_verify((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_onetimeauth_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_onetimeauth_keybytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_onetimeauth_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_onetimeauth((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_onetimeauth_verify((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_onetimeauth_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_onetimeauth_init((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_onetimeauth_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_onetimeauth_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kx_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_kx_keypair((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kx_1seed_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_kx_seed_keypair((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kx_1client_1session_1keys(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_kx_client_session_keys((void *) arg1, (void *) arg2, (void *) arg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kx_1server_1session_1keys(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_kx_server_session_keys((void *) arg1, (void *) arg2, (void *) arg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1bytes_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_kdf_bytes_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1bytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_kdf_bytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_kdf_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1contextbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_kdf_contextbytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_kdf_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1derive_1from_1key(JNIEnv *env, jclass cls, jbyteArray subkey, jint length, jint id, jbyteArray context, jbyteArray master) {
+    jbyte *arg1 = subkey == NULL ? NULL : (*env)->GetByteArrayElements(env, subkey, NULL);
+    jbyte *arg4 = context == NULL ? NULL : (*env)->GetByteArrayElements(env, context, NULL);
+    jbyte *arg5 = master == NULL ? NULL : (*env)->GetByteArrayElements(env, master, NULL);
+    jint result = (jint) crypto_kdf_derive_from_key((void *) arg1, length, id, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, master, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, context, arg4, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, subkey, arg1, 0);
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1kdf_1keygen(JNIEnv *env, jclass cls, jbyteArray master) {
+    jbyte *arg1 = master == NULL ? NULL : (*env)->GetByteArrayElements(env, master, NULL);
+    crypto_kdf_keygen((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, master, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1nsecbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_nsecbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1npubbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_npubbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1abytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_abytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1messagebytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_messagebytes_max();
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1keygen(JNIEnv *env, jclass cls, jbyteArray jarg1) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    crypto_aead_chacha20poly1305_keygen((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1encrypt(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6, jbyteArray jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_encrypt((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5, jarg6, (void *) arg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1encrypt_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jintArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9, jbyteArray jarg10) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    unsigned long long arg3 = 0;
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jbyte *arg10 = jarg10 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg10, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_encrypt_detached((void *) arg1, (void *) arg2, (void *) &arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9, (void *) arg10);
+    if (arg10 != NULL) (*env)->ReleaseByteArrayElements(env, jarg10, arg10, 0);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    set_length(env, jarg3, arg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1decrypt(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_decrypt((void *) arg1, (void *) &arg2, (void *) arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1decrypt_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_decrypt_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1nsecbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_nsecbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1abytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_abytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1messagebytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_messagebytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1npubbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_npubbytes();
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1keygen(JNIEnv *env, jclass cls, jbyteArray jarg1) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    crypto_aead_chacha20poly1305_ietf_keygen((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1encrypt(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6, jbyteArray jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_encrypt((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5, jarg6, (void *) arg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1encrypt_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jintArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9, jbyteArray jarg10) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    unsigned long long arg3 = 0;
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jbyte *arg10 = jarg10 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg10, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_encrypt_detached((void *) arg1, (void *) arg2, (void *) &arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9, (void *) arg10);
+    if (arg10 != NULL) (*env)->ReleaseByteArrayElements(env, jarg10, arg10, 0);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    set_length(env, jarg3, arg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1decrypt(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_decrypt((void *) arg1, (void *) &arg2, (void *) arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1chacha20poly1305_1ietf_1decrypt_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_chacha20poly1305_ietf_decrypt_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1npubbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_npubbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1nsecbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_nsecbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1abytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_abytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1messagebytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_messagebytes_max();
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1keygen(JNIEnv *env, jclass cls, jbyteArray jarg1) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    crypto_aead_xchacha20poly1305_ietf_keygen((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1encrypt_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jintArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9, jbyteArray jarg10) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    unsigned long long arg3 = 0;
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jbyte *arg10 = jarg10 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg10, NULL);
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_encrypt_detached((void *) arg1, (void *) arg2, (void *) &arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9, (void *) arg10);
+    if (arg10 != NULL) (*env)->ReleaseByteArrayElements(env, jarg10, arg10, 0);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    set_length(env, jarg3, arg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1encrypt(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6, jbyteArray jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_encrypt((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5, jarg6, (void *) arg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1decrypt_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_decrypt_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1aead_1xchacha20poly1305_1ietf_1decrypt(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jbyteArray jarg8, jbyteArray jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jbyte *arg9 = jarg9 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg9, NULL);
+    jint result = (jint) crypto_aead_xchacha20poly1305_ietf_decrypt((void *) arg1, (void *) &arg2, (void *) arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, (void *) arg8, (void *) arg9);
+    if (arg9 != NULL) (*env)->ReleaseByteArrayElements(env, jarg9, arg9, 0);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha256_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha256_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256(JNIEnv *env, jclass cls, jbyteArray mac, jbyteArray data, jint length, jbyteArray key) {
+    jbyte *arg1 = mac == NULL ? NULL : (*env)->GetByteArrayElements(env, mac, NULL);
+    jbyte *arg2 = data == NULL ? NULL : (*env)->GetByteArrayElements(env, data, NULL);
+    jbyte *arg4 = key == NULL ? NULL : (*env)->GetByteArrayElements(env, key, NULL);
+    jint result = (jint) crypto_auth_hmacsha256((void *) arg1, (void *) arg2, length, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, key, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, data, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, mac, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1verify(JNIEnv *env, jclass cls, jbyteArray mac, jbyteArray data, jint length, jbyteArray key) {
+    jbyte *arg1 = mac == NULL ? NULL : (*env)->GetByteArrayElements(env, mac, NULL);
+    jbyte *arg2 = data == NULL ? NULL : (*env)->GetByteArrayElements(env, data, NULL);
+    jbyte *arg4 = key == NULL ? NULL : (*env)->GetByteArrayElements(env, key, NULL);
+    jint result = (jint) crypto_auth_hmacsha256_verify((void *) arg1, (void *) arg2, length, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, key, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, data, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, mac, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha256_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha256_init((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha256_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha256_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha256_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha512_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha512_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_auth_hmacsha512((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_auth_hmacsha512_verify((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha512_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha512_init((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha512_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha512_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha512256_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha512256_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_auth_hmacsha512256((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_auth_hmacsha512256_verify((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_auth_hmacsha512256_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha512256_init((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha512256_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1auth_1hmacsha512256_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_auth_hmacsha512256_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1seedbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_seedbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1publickeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_publickeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1secretkeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_secretkeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1beforenmbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_beforenmbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1zerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_zerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1boxzerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_boxzerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1macbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_macbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_open((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1seed_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_seed_keypair((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_keypair((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1beforenm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_beforenm((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xsalsa20poly1305_1open_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_curve25519xsalsa20poly1305_open_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1hsalsa20_1outputbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_hsalsa20_outputbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1hsalsa20_1inputbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_hsalsa20_inputbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1hsalsa20_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_hsalsa20_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1hsalsa20_1constbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_hsalsa20_constbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1hsalsa20(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_core_hsalsa20((void *) arg1, (void *) arg2, (void *) arg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1salsa20_1outputbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_salsa20_outputbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1salsa20_1inputbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_salsa20_inputbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1salsa20_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_salsa20_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1salsa20_1constbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_core_salsa20_constbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1core_1salsa20(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_core_salsa20((void *) arg1, (void *) arg2, (void *) arg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1bytes_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_bytes_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1bytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_bytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1keybytes_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_keybytes_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1keybytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_keybytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1saltbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_saltbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1personalbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_generichash_blake2b_personalbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_generichash_blake2b((void *) arg1, jarg2, (void *) arg3, jarg4, (void *) arg5, jarg6);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1salt_1personal(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6, jbyteArray jarg7, jbyteArray jarg8) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jint result = (jint) crypto_generichash_blake2b_salt_personal((void *) arg1, jarg2, (void *) arg3, jarg4, (void *) arg5, jarg6, (void *) arg7, (void *) arg8);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jint jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_generichash_blake2b_init((void *) arg1, (void *) arg2, jarg3, jarg4);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1init_1salt_1personal(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_generichash_blake2b_init_salt_personal((void *) arg1, (void *) arg2, jarg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_generichash_blake2b_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1generichash_1blake2b_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_generichash_blake2b_final((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha256_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_hash_sha256_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha256(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_hash_sha256((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha256_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_hash_sha256_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha256_1init(JNIEnv *env, jclass cls, jbyteArray state) {
+    jbyte *arg1 = state == NULL ? NULL : (*env)->GetByteArrayElements(env, state, NULL);
+    jint result = (jint) crypto_hash_sha256_init((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, state, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha256_1update(JNIEnv *env, jclass cls, jbyteArray state, jbyteArray data, jint length) {
+    jbyte *arg1 = state == NULL ? NULL : (*env)->GetByteArrayElements(env, state, NULL);
+    jbyte *arg2 = data == NULL ? NULL : (*env)->GetByteArrayElements(env, data, NULL);
+    jint result = (jint) crypto_hash_sha256_update((void *) arg1, (void *) arg2, length);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, data, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, state, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha256_1final(JNIEnv *env, jclass cls, jbyteArray state, jbyteArray hash) {
+    jbyte *arg1 = state == NULL ? NULL : (*env)->GetByteArrayElements(env, state, NULL);
+    jbyte *arg2 = hash == NULL ? NULL : (*env)->GetByteArrayElements(env, hash, NULL);
+    jint result = (jint) crypto_hash_sha256_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, hash, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, state, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha512_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_hash_sha512_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha512(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_hash_sha512((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha512_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_hash_sha512_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha512_1init(JNIEnv *env, jclass cls, jbyteArray jarg1) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jint result = (jint) crypto_hash_sha512_init((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha512_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_hash_sha512_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1hash_1sha512_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_hash_sha512_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_onetimeauth_poly1305_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_onetimeauth_poly1305_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_onetimeauth_poly1305((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_onetimeauth_poly1305_verify((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305_1init(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_onetimeauth_poly1305_init((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305_1update(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_onetimeauth_poly1305_update((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1onetimeauth_1poly1305_1final(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_onetimeauth_poly1305_final((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1alg_1argon2i13(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_alg_argon2i13();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1alg_1default(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_alg_default();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1bytes_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_bytes_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1bytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_bytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1passwd_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_passwd_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1passwd_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_passwd_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1saltbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_saltbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1strbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_strbytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1strprefix(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_pwhash_strprefix());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1opslimit_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_opslimit_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1opslimit_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_opslimit_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1memlimit_1min(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_memlimit_min();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1memlimit_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_memlimit_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1opslimit_1interactive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_opslimit_interactive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1memlimit_1interactive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_memlimit_interactive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1opslimit_1moderate(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_opslimit_moderate();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1memlimit_1moderate(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_memlimit_moderate();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1opslimit_1sensitive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_opslimit_sensitive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1memlimit_1sensitive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_memlimit_sensitive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6, jint jarg7, jint jarg8) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_pwhash((void *) arg1, jarg2, (void *) arg3, jarg4, (void *) arg5, jarg6, jarg7, jarg8);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1str(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jint jarg4, jint jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_pwhash_str((void *) arg1, (void *) arg2, jarg3, jarg4, jarg5);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1str_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_pwhash_str_verify((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1primitive(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_pwhash_primitive());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1saltbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_saltbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1strbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_strbytes();
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1strprefix(JNIEnv *env, jclass cls) {
+    return to_bytes(env, crypto_pwhash_scryptsalsa208sha256_strprefix());
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1opslimit_1interactive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_opslimit_interactive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1memlimit_1interactive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_memlimit_interactive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1opslimit_1sensitive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_opslimit_sensitive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1memlimit_1sensitive(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_memlimit_sensitive();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jint jarg6, jint jarg7) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256((void *) arg1, jarg2, (void *) arg3, jarg4, (void *) arg5, jarg6, jarg7);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1str(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jint jarg4, jint jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_str((void *) arg1, (void *) arg2, jarg3, jarg4, jarg5);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1str_1verify(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_str_verify((void *) arg1, (void *) arg2, jarg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1pwhash_1scryptsalsa208sha256_1ll(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jint jarg4, jint jarg5, jint jarg6, jint jarg7, jbyteArray jarg8, jint jarg9) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg8 = jarg8 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg8, NULL);
+    jint result = (jint) crypto_pwhash_scryptsalsa208sha256_ll((void *) arg1, jarg2, (void *) arg3, jarg4, jarg5, jarg6, jarg7, (void *) arg8, jarg9);
+    if (arg8 != NULL) (*env)->ReleaseByteArrayElements(env, jarg8, arg8, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1curve25519_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_scalarmult_curve25519_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1curve25519_1scalarbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_scalarmult_curve25519_scalarbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1curve25519(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_scalarmult_curve25519((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1scalarmult_1curve25519_1base(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_scalarmult_curve25519_base((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305_1zerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305_zerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305_1boxzerobytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305_boxzerobytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305_1macbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305_macbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretbox_1xsalsa20poly1305_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_secretbox_xsalsa20poly1305_open((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash_1siphash24_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_shorthash_siphash24_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash_1siphash24_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_shorthash_siphash24_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1shorthash_1siphash24(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_shorthash_siphash24((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1bytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_ed25519_bytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1seedbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_ed25519_seedbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1publickeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_ed25519_publickeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1secretkeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_sign_ed25519_secretkeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_sign_ed25519((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_sign_ed25519_open((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1xsalsa20(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_stream_xsalsa20((void *) arg1, jarg2, (void *) arg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jintArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    unsigned long long arg2 = 0;
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_sign_ed25519_detached((void *) arg1, (void *) &arg2, (void *) arg3, jarg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    set_length(env, jarg2, arg2);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1verify_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_sign_ed25519_verify_detached((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_sign_ed25519_keypair((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1seed_1keypair(JNIEnv *env, jclass cls, jbyteArray pk, jbyteArray sk, jbyteArray seed) {
+    jbyte *arg1 = pk == NULL ? NULL : (*env)->GetByteArrayElements(env, pk, NULL);
+    jbyte *arg2 = sk == NULL ? NULL : (*env)->GetByteArrayElements(env, sk, NULL);
+    jbyte *arg3 = seed == NULL ? NULL : (*env)->GetByteArrayElements(env, seed, NULL);
+    jint result = (jint) crypto_sign_ed25519_seed_keypair((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, seed, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, sk, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, pk, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1pk_1to_1curve25519(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_sign_ed25519_pk_to_curve25519((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1sign_1ed25519_1sk_1to_1curve25519(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_sign_ed25519_sk_to_curve25519((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_chacha20_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_chacha20_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_stream_chacha20((void *) arg1, jarg2, (void *) arg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1xor(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_stream_chacha20_xor((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1xor_1ic(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_stream_chacha20_xor_ic((void *) arg1, (void *) arg2, jarg3, (void *) arg4, jarg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1ietf_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_chacha20_ietf_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1ietf(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_stream_chacha20_ietf((void *) arg1, jarg2, (void *) arg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1ietf_1xor(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_stream_chacha20_ietf_xor((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1chacha20_1ietf_1xor_1ic(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_stream_chacha20_ietf_xor_ic((void *) arg1, (void *) arg2, jarg3, (void *) arg4, jarg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1salsa20_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_salsa20_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1salsa20_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_salsa20_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1salsa20(JNIEnv *env, jclass cls, jbyteArray jarg1, jint jarg2, jbyteArray jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_stream_salsa20((void *) arg1, jarg2, (void *) arg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1salsa20_1xor(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_stream_salsa20_xor((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1salsa20_1xor_1ic(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_stream_salsa20_xor_ic((void *) arg1, (void *) arg2, jarg3, (void *) arg4, jarg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1xsalsa20_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_xsalsa20_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1xsalsa20_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_stream_xsalsa20_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1xsalsa20_1xor(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_stream_xsalsa20_xor((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1stream_1xsalsa20_1xor_1ic(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_stream_xsalsa20_xor_ic((void *) arg1, (void *) arg2, jarg3, (void *) arg4, jarg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1keybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_keybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1headerbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_headerbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1abytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_abytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1statebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_statebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1tag_1message(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_tag_message();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1tag_1push(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_tag_push();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1tag_1rekey(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_tag_rekey();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1tag_1final(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_tag_final();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1messagebytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_messagebytes_max();
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1keygen(JNIEnv *env, jclass cls, jbyteArray jarg1) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    crypto_secretstream_xchacha20poly1305_keygen((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1init_1push(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_init_push((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1push(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jintArray jarg3, jbyteArray jarg4, jint jarg5, jbyteArray jarg6, jint jarg7, jshort jarg8) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    unsigned long long arg3 = 0;
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_push((void *) arg1, (void *) arg2, (void *) &arg3, (void *) arg4, jarg5, (void *) arg6, jarg7, jarg8);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    set_length(env, jarg3, arg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1init_1pull(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_init_pull((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1pull(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jintArray jarg3, jbyteArray jarg4, jbyteArray jarg5, jint jarg6, jbyteArray jarg7, jint jarg8) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    unsigned long long arg3 = 0;
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jint result = (jint) crypto_secretstream_xchacha20poly1305_pull((void *) arg1, (void *) arg2, (void *) &arg3, (void *) arg4, (void *) arg5, jarg6, (void *) arg7, jarg8);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    set_length(env, jarg3, arg3);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT void JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1secretstream_1xchacha20poly1305_1rekey(JNIEnv *env, jclass cls, jbyteArray jarg1) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    crypto_secretstream_xchacha20poly1305_rekey((void *) arg1);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1seedbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_seedbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1publickeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_publickeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1secretkeybytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_secretkeybytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1beforenmbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_beforenmbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1noncebytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_noncebytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1macbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_macbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1messagebytes_1max(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_messagebytes_max();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1sealbytes(JNIEnv *env, jclass cls) {
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_sealbytes();
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1seed_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_seed_keypair((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1keypair(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_keypair((void *) arg1, (void *) arg2);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1beforenm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_beforenm((void *) arg1, (void *) arg2, (void *) arg3);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1detached_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_detached_afternm((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jbyteArray jarg7) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, (void *) arg7);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1easy_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_easy_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1easy(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_easy((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1open_1detached_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_open_detached_afternm((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1open_1detached(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jbyteArray jarg3, jint jarg4, jbyteArray jarg5, jbyteArray jarg6, jbyteArray jarg7) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg3 = jarg3 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg3, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jbyte *arg7 = jarg7 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg7, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_open_detached((void *) arg1, (void *) arg2, (void *) arg3, jarg4, (void *) arg5, (void *) arg6, (void *) arg7);
+    if (arg7 != NULL) (*env)->ReleaseByteArrayElements(env, jarg7, arg7, 0);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg3 != NULL) (*env)->ReleaseByteArrayElements(env, jarg3, arg3, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1open_1easy_1afternm(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_open_easy_afternm((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1open_1easy(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5, jbyteArray jarg6) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jbyte *arg6 = jarg6 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg6, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_open_easy((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5, (void *) arg6);
+    if (arg6 != NULL) (*env)->ReleaseByteArrayElements(env, jarg6, arg6, 0);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1seal(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_seal((void *) arg1, (void *) arg2, jarg3, (void *) arg4);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_org_libsodium_jni_SodiumJNI_crypto_1box_1curve25519xchacha20poly1305_1seal_1open(JNIEnv *env, jclass cls, jbyteArray jarg1, jbyteArray jarg2, jint jarg3, jbyteArray jarg4, jbyteArray jarg5) {
+    jbyte *arg1 = jarg1 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg1, NULL);
+    jbyte *arg2 = jarg2 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg2, NULL);
+    jbyte *arg4 = jarg4 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg4, NULL);
+    jbyte *arg5 = jarg5 == NULL ? NULL : (*env)->GetByteArrayElements(env, jarg5, NULL);
+    jint result = (jint) crypto_box_curve25519xchacha20poly1305_seal_open((void *) arg1, (void *) arg2, jarg3, (void *) arg4, (void *) arg5);
+    if (arg5 != NULL) (*env)->ReleaseByteArrayElements(env, jarg5, arg5, 0);
+    if (arg4 != NULL) (*env)->ReleaseByteArrayElements(env, jarg4, arg4, 0);
+    if (arg2 != NULL) (*env)->ReleaseByteArrayElements(env, jarg2, arg2, 0);
+    if (arg1 != NULL) (*env)->ReleaseByteArrayElements(env, jarg1, arg1, 0);
+    return result;
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.api;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Range checks and copy fallbacks shared by the array and byte buffer overloads.
+ *
+ * @author ITON Solutions
+ */
+final class Buffers {
+
+    static final byte[] EMPTY = new byte[0];
+    static final int[] NO_LENGTH = new int[0];
+
+    private Buffers() {
+    }
+
+    static void check(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", offset, offset + length, array.length));
+        }
+    }
+
+    static void check(ByteBuffer buffer, int length) {
+        if (buffer.remaining() < length) {
+            throw new IndexOutOfBoundsException(String.format("Need %d bytes, %d remaining", length, buffer.remaining()));
+        }
+    }
+
+    /**
+     * @return true when every non null buffer is direct
+     */
+    static boolean direct(ByteBuffer... buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer != null && !buffer.isDirect()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the remaining bytes, the position is left unchanged.
+     */
+    static byte[] get(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        byte[] data = new byte[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return data;
+    }
+
+    /**
+     * Copies data at the buffer position, the position is left unchanged.
+     */
+    static void put(ByteBuffer buffer, byte[] data) {
+        buffer.duplicate().put(data);
+    }
+
+    static byte[] copy(byte[] array, int offset, int length) {
+        byte[] data = new byte[length];
+        System.arraycopy(array, offset, data, 0, length);
+        return data;
+    }
+
+    static int length(byte[] array) {
+        return array == null ? 0 : array.length;
+    }
+
+    static int position(ByteBuffer buffer) {
+        return buffer == null ? 0 : buffer.position();
+    }
+
+    static int remaining(ByteBuffer buffer) {
+        return buffer == null ? 0 : buffer.remaining();
+    }
+}
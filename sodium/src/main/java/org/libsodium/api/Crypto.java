@@ -16,6 +16,7 @@
 
 package org.libsodium.api;
 
+import org.libsodium.jni.SodiumBufferJNI;
 import org.libsodium.jni.SodiumException;
 
 /**
@@ -24,9 +25,21 @@ import org.libsodium.jni.SodiumException;
  */
 public abstract class Crypto {
 
+    // read size of the InputStream overloads
+    protected static final int CHUNK_SIZE = 64 * 1024;
+
     protected static void exception(int result, String message) throws SodiumException {
         if (result != 0) {
             throw new SodiumException(message);
         }
     }
+
+    /**
+     * Multi-part natives taking an offset need a native library built from src/main/c of this version.
+     */
+    protected static void multipart(String message) throws SodiumException {
+        if (!SodiumBufferJNI.isMultipartAvailable()) {
+            throw new SodiumException(String.format("%s: not available in the loaded native library", message));
+        }
+    }
 }
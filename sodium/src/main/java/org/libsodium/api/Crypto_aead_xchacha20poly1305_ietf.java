@@ -16,10 +16,14 @@
 
 package org.libsodium.api;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import static org.libsodium.api.Crypto.exception;
 import org.libsodium.jni.Sodium;
+import org.libsodium.provider.Primitive;
+import org.libsodium.provider.Providers;
+import org.libsodium.jni.SodiumBufferJNI;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_XCHACHA20POLY1305_IETF_KEYBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_XCHACHA20POLY1305_IETF_TAGBYTES;
@@ -35,10 +39,10 @@ public class Crypto_aead_xchacha20poly1305_ietf {
         byte[] cipher = new byte[data.length + CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES];
 
         if (add == null) {
-            add = new byte[0];
+            add = Buffers.EMPTY;
         }
 
-        exception(Sodium.crypto_aead_xchacha20poly1305_ietf_encrypt(cipher, new int[0], data, data.length, add, add.length, new byte[0], nonce, key), "crypto_aead_xchacha20poly1305_ietf_encrypt");
+        exception(Providers.get(Primitive.AEAD_XCHACHA20POLY1305_IETF).crypto_aead_xchacha20poly1305_ietf_encrypt(cipher, 0, data, 0, data.length, add, nonce, key), "crypto_aead_xchacha20poly1305_ietf_encrypt");
         return cipher;
     }
 
@@ -46,21 +50,95 @@ public class Crypto_aead_xchacha20poly1305_ietf {
 
         byte[] data = new byte[cipher.length - CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES];
         if (add == null) {
-            add = new byte[0];
+            add = Buffers.EMPTY;
         }
 
-        exception(Sodium.crypto_aead_xchacha20poly1305_ietf_decrypt(data, new int[0], new byte[0], cipher, cipher.length, add, add.length, nonce, key), "crypto_aead_xchacha20poly1305_ietf_decrypt");
+        exception(Providers.get(Primitive.AEAD_XCHACHA20POLY1305_IETF).crypto_aead_xchacha20poly1305_ietf_decrypt(data, 0, cipher, 0, cipher.length, add, nonce, key), "crypto_aead_xchacha20poly1305_ietf_decrypt");
         return data;
     }
 
+    /**
+     * Encrypts length bytes of data at offset into cipher at cipherOffset, which needs room for
+     * length + ABYTES bytes. cipher and data may be the same array.
+     * @return number of bytes written to cipher
+     */
+    public static int encrypt(byte[] cipher, int cipherOffset, byte[] data, int offset, int length, byte[] add, byte[] nonce, byte[] key) throws SodiumException {
+        int size = length + CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES;
+        Buffers.check(cipher, cipherOffset, size);
+        Buffers.check(data, offset, length);
+
+        exception(Providers.get(Primitive.AEAD_XCHACHA20POLY1305_IETF).crypto_aead_xchacha20poly1305_ietf_encrypt(cipher, cipherOffset, data, offset, length, add, nonce, key), "crypto_aead_xchacha20poly1305_ietf_encrypt");
+        return size;
+    }
+
+    /**
+     * Encrypts the remaining bytes of data into cipher, both positions are advanced.
+     * Direct buffers are passed to the native library without copying when it serves this primitive.
+     * @return number of bytes written to cipher
+     */
+    public static int encrypt(ByteBuffer cipher, ByteBuffer data, ByteBuffer add, byte[] nonce, byte[] key) throws SodiumException {
+        int length = data.remaining();
+        int size = length + CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES;
+        Buffers.check(cipher, size);
+
+        if (Providers.isNative(Primitive.AEAD_XCHACHA20POLY1305_IETF) && SodiumBufferJNI.isAvailable() && Buffers.direct(cipher, data, add)) {
+            exception(SodiumBufferJNI.crypto_aead_xchacha20poly1305_ietf_encrypt(cipher, cipher.position(), data, data.position(), length, add, Buffers.position(add), Buffers.remaining(add), nonce, key), "crypto_aead_xchacha20poly1305_ietf_encrypt");
+        } else {
+            Buffers.put(cipher, encrypt(Buffers.get(data), Buffers.get(add), nonce, key));
+        }
+        data.position(data.limit());
+        cipher.position(cipher.position() + size);
+        return size;
+    }
+
+    /**
+     * Decrypts length bytes of cipher at offset into data at dataOffset, which needs room for
+     * length - ABYTES bytes. data and cipher may be the same array.
+     * @return number of bytes written to data
+     */
+    public static int decrypt(byte[] data, int dataOffset, byte[] cipher, int offset, int length, byte[] add, byte[] nonce, byte[] key) throws SodiumException {
+        int size = length - CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES;
+        if (size < 0) {
+            throw new SodiumException("crypto_aead_xchacha20poly1305_ietf_decrypt");
+        }
+        Buffers.check(data, dataOffset, size);
+        Buffers.check(cipher, offset, length);
+
+        exception(Providers.get(Primitive.AEAD_XCHACHA20POLY1305_IETF).crypto_aead_xchacha20poly1305_ietf_decrypt(data, dataOffset, cipher, offset, length, add, nonce, key), "crypto_aead_xchacha20poly1305_ietf_decrypt");
+        return size;
+    }
+
+    /**
+     * Decrypts the remaining bytes of cipher into data, both positions are advanced.
+     * Direct buffers are passed to the native library without copying when it serves this primitive.
+     * @return number of bytes written to data
+     */
+    public static int decrypt(ByteBuffer data, ByteBuffer cipher, ByteBuffer add, byte[] nonce, byte[] key) throws SodiumException {
+        int length = cipher.remaining();
+        int size = length - CRYPTO_AEAD_XCHACHA20POLY1305_IETF_ABYTES;
+        if (size < 0) {
+            throw new SodiumException("crypto_aead_xchacha20poly1305_ietf_decrypt");
+        }
+        Buffers.check(data, size);
+
+        if (Providers.isNative(Primitive.AEAD_XCHACHA20POLY1305_IETF) && SodiumBufferJNI.isAvailable() && Buffers.direct(data, cipher, add)) {
+            exception(SodiumBufferJNI.crypto_aead_xchacha20poly1305_ietf_decrypt(data, data.position(), cipher, cipher.position(), length, add, Buffers.position(add), Buffers.remaining(add), nonce, key), "crypto_aead_xchacha20poly1305_ietf_decrypt");
+        } else {
+            Buffers.put(data, decrypt(Buffers.get(cipher), Buffers.get(add), nonce, key));
+        }
+        cipher.position(cipher.limit());
+        data.position(data.position() + size);
+        return size;
+    }
+
     public static Map<String, byte[]> encrypt_detached(byte[] data, byte[] add, byte[] nonce, byte[] key) throws SodiumException {
         byte[] cipher = new byte[data.length];
         byte[] tag = new byte[CRYPTO_AEAD_XCHACHA20POLY1305_IETF_TAGBYTES];
         if (add == null) {
-            add = new byte[0];
+            add = Buffers.EMPTY;
         }
 
-        exception(Sodium.crypto_aead_xchacha20poly1305_ietf_encrypt_detached(cipher, tag, new int[0], data, data.length, add, add.length, new byte[0], nonce, key), "crypto_aead_xchacha20poly1305_ietf_encrypt_detached");
+        exception(Sodium.crypto_aead_xchacha20poly1305_ietf_encrypt_detached(cipher, tag, Buffers.NO_LENGTH, data, data.length, add, add.length, Buffers.EMPTY, nonce, key), "crypto_aead_xchacha20poly1305_ietf_encrypt_detached");
         Map<String, byte[]> result = new HashMap<>();
         result.put("cipher", cipher);
         result.put("tag", tag);
@@ -70,10 +148,10 @@ public class Crypto_aead_xchacha20poly1305_ietf {
     public static byte[] decrypt_detached(byte[] cipher, byte[] tag, byte[] add, byte[] nonce, byte[] key) throws SodiumException {
          byte[] data = new byte[cipher.length];
         if (add == null) {
-            add = new byte[0];
+            add = Buffers.EMPTY;
         }
 
-        exception(Sodium.crypto_aead_xchacha20poly1305_ietf_decrypt_detached(data, new byte[0], cipher, cipher.length, tag, add, add.length, nonce, key), "crypto_aead_xchacha20poly1305_ietf_decrypt_detached");
+        exception(Sodium.crypto_aead_xchacha20poly1305_ietf_decrypt_detached(data, Buffers.EMPTY, cipher, cipher.length, tag, add, add.length, nonce, key), "crypto_aead_xchacha20poly1305_ietf_decrypt_detached");
         return data;
     }
 
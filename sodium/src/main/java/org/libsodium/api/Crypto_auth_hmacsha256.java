@@ -17,6 +17,8 @@
 package org.libsodium.api;
 
 import org.libsodium.jni.Sodium;
+import org.libsodium.provider.Primitive;
+import org.libsodium.provider.Providers;
 import org.libsodium.jni.SodiumException;
 
 import java.util.Arrays;
@@ -39,12 +41,12 @@ public class Crypto_auth_hmacsha256 extends Crypto{
     
     public static byte[] hmacsha256(byte[] data, byte[] key) throws SodiumException {
         byte[] mac = new byte[CRYPTO_AUTH_HMACSHA256_BYTES];
-        exception(Sodium.crypto_auth_hmacsha256(mac, data, data.length, key), "crypto_auth_hmacsha256");
+        exception(Providers.get(Primitive.AUTH_HMACSHA256).crypto_auth_hmacsha256(mac, data, data.length, key), "crypto_auth_hmacsha256");
         return mac;
     }
     
      public static boolean verify(byte[] hash, byte[] data, byte[] key) throws SodiumException {
-        exception(Sodium.crypto_auth_hmacsha256_verify(hash, data, data.length, key), "crypto_auth_hmacsha256_verify");
+        exception(Providers.get(Primitive.AUTH_HMACSHA256).crypto_auth_hmacsha256_verify(hash, data, data.length, key), "crypto_auth_hmacsha256_verify");
         return true;
     }
 
@@ -16,9 +16,11 @@
 
 package org.libsodium.api;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.libsodium.jni.Sodium;
+import org.libsodium.jni.SodiumBufferJNI;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_BOX_BEFORENMBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_BOX_PUBLICKEYBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_BOX_SEALBYTES;
@@ -74,6 +76,88 @@ public class Crypto_box extends Crypto{
         return data;
     }
     
+    /**
+     * Encrypts length bytes of data at offset into cipher at cipherOffset, which needs room for
+     * length + TAGBYTES bytes.
+     * @return number of bytes written to cipher
+     */
+    public static int easy(byte[] cipher, int cipherOffset, byte[] data, int offset, int length, byte[] nonce, byte[] pk, byte[] sk) throws SodiumException {
+        int size = length + CRYPTO_BOX_TAGBYTES;
+        Buffers.check(cipher, cipherOffset, size);
+        Buffers.check(data, offset, length);
+
+        if (SodiumBufferJNI.isAvailable()) {
+            exception(SodiumBufferJNI.crypto_box_easy(cipher, cipherOffset, data, offset, length, nonce, pk, sk), "crypto_box_easy");
+        } else {
+            System.arraycopy(easy(Buffers.copy(data, offset, length), nonce, pk, sk), 0, cipher, cipherOffset, size);
+        }
+        return size;
+    }
+
+    /**
+     * Encrypts the remaining bytes of data into cipher, both positions are advanced.
+     * Direct buffers are passed to the native library without copying.
+     * @return number of bytes written to cipher
+     */
+    public static int easy(ByteBuffer cipher, ByteBuffer data, byte[] nonce, byte[] pk, byte[] sk) throws SodiumException {
+        int length = data.remaining();
+        int size = length + CRYPTO_BOX_TAGBYTES;
+        Buffers.check(cipher, size);
+
+        if (SodiumBufferJNI.isAvailable() && Buffers.direct(cipher, data)) {
+            exception(SodiumBufferJNI.crypto_box_easy(cipher, cipher.position(), data, data.position(), length, nonce, pk, sk), "crypto_box_easy");
+        } else {
+            Buffers.put(cipher, easy(Buffers.get(data), nonce, pk, sk));
+        }
+        data.position(data.limit());
+        cipher.position(cipher.position() + size);
+        return size;
+    }
+
+    /**
+     * Decrypts length bytes of cipher at offset into data at dataOffset, which needs room for
+     * length - TAGBYTES bytes.
+     * @return number of bytes written to data
+     */
+    public static int open_easy(byte[] data, int dataOffset, byte[] cipher, int offset, int length, byte[] nonce, byte[] pk, byte[] sk) throws SodiumException {
+        int size = length - CRYPTO_BOX_TAGBYTES;
+        if (size < 0) {
+            throw new SodiumException("crypto_box_open_easy");
+        }
+        Buffers.check(data, dataOffset, size);
+        Buffers.check(cipher, offset, length);
+
+        if (SodiumBufferJNI.isAvailable()) {
+            exception(SodiumBufferJNI.crypto_box_open_easy(data, dataOffset, cipher, offset, length, nonce, pk, sk), "crypto_box_open_easy");
+        } else {
+            System.arraycopy(open_easy(Buffers.copy(cipher, offset, length), nonce, pk, sk), 0, data, dataOffset, size);
+        }
+        return size;
+    }
+
+    /**
+     * Decrypts the remaining bytes of cipher into data, both positions are advanced.
+     * Direct buffers are passed to the native library without copying.
+     * @return number of bytes written to data
+     */
+    public static int open_easy(ByteBuffer data, ByteBuffer cipher, byte[] nonce, byte[] pk, byte[] sk) throws SodiumException {
+        int length = cipher.remaining();
+        int size = length - CRYPTO_BOX_TAGBYTES;
+        if (size < 0) {
+            throw new SodiumException("crypto_box_open_easy");
+        }
+        Buffers.check(data, size);
+
+        if (SodiumBufferJNI.isAvailable() && Buffers.direct(data, cipher)) {
+            exception(SodiumBufferJNI.crypto_box_open_easy(data, data.position(), cipher, cipher.position(), length, nonce, pk, sk), "crypto_box_open_easy");
+        } else {
+            Buffers.put(data, open_easy(Buffers.get(cipher), nonce, pk, sk));
+        }
+        cipher.position(cipher.limit());
+        data.position(data.position() + size);
+        return size;
+    }
+
     public static Map<String, byte[]> detached(byte[] data, byte[] nonce, byte[] pk, byte[] sk) throws SodiumException {
 
         byte[] cipher = new byte[data.length];
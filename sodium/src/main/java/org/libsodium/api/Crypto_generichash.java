@@ -16,10 +16,101 @@
 
 package org.libsodium.api;
 
+import java.io.IOException;
+import java.io.InputStream;
+import org.libsodium.jni.Sodium;
+import org.libsodium.jni.SodiumBufferJNI;
+import org.libsodium.jni.SodiumException;
+import org.libsodium.provider.Primitive;
+import org.libsodium.provider.Providers;
+
+import static org.libsodium.jni.SodiumConstants.CRYPTO_GENERICHASH_BYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_GENERICHASH_BYTES_MAX;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_GENERICHASH_STATEBYTES;
+
 /**
+ * BLAKE2b, as crypto_generichash of libsodium. The multi-part functions always use the native library,
+ * through {@link SodiumBufferJNI} when it is available since BLAKE2b states have to be 64 byte aligned
+ * and Java arrays are not.
  *
  * @author ITON Solutions
  */
-public class Crypto_generichash {
+public class Crypto_generichash extends Crypto {
+
+    public static byte[] generichash(byte[] data) throws SodiumException {
+        return generichash(data, null, CRYPTO_GENERICHASH_BYTES);
+    }
+
+    /**
+     * @param key null for an unkeyed hash, at most 64 bytes
+     * @param length hash length between 1 and 64 bytes
+     */
+    public static byte[] generichash(byte[] data, byte[] key, int length) throws SodiumException {
+        if (length <= 0) {
+            throw new SodiumException("crypto_generichash");
+        }
+        byte[] hash = new byte[length];
+        exception(Providers.get(Primitive.GENERICHASH).crypto_generichash(hash, length, data, data.length, key), "crypto_generichash");
+        return hash;
+    }
+
+    /**
+     * Starts a multi-part hash, finalize has to be called with the same length.
+     * @param key null for an unkeyed hash, at most 64 bytes
+     * @param length hash length between 1 and 64 bytes
+     * @return state for update and finalize
+     */
+    public static byte[] init(byte[] key, int length) throws SodiumException {
+        byte[] state = new byte[CRYPTO_GENERICHASH_STATEBYTES];
+        if (key == null) {
+            key = Buffers.EMPTY;
+        }
+        if (SodiumBufferJNI.isGenerichashAvailable()) {
+            exception(SodiumBufferJNI.crypto_generichash_init(state, key, length), "crypto_generichash_init");
+        } else {
+            exception(Sodium.crypto_generichash_init(state, key, key.length, length), "crypto_generichash_init");
+        }
+        return state;
+    }
+
+    public static byte[] update(byte[] state, byte[] data) throws SodiumException {
+        return update(state, data, 0, data.length);
+    }
+
+    public static byte[] update(byte[] state, byte[] data, int offset, int length) throws SodiumException {
+        Buffers.check(data, offset, length);
+        // a state is used through one interface from init to finalize, the aligned one comes with init
+        if (SodiumBufferJNI.isGenerichashAvailable()) {
+            exception(SodiumBufferJNI.crypto_generichash_update(state, data, offset, length), "crypto_generichash_update");
+        } else {
+            byte[] copy = Buffers.copy(data, offset, length);
+            exception(Sodium.crypto_generichash_update(state, copy, copy.length), "crypto_generichash_update");
+        }
+        return state;
+    }
+
+    public static byte[] finalize(byte[] state, int length) throws SodiumException {
+        if (length <= 0 || length > CRYPTO_GENERICHASH_BYTES_MAX) {
+            throw new SodiumException("crypto_generichash_final");
+        }
+        byte[] hash = new byte[length];
+        if (SodiumBufferJNI.isGenerichashAvailable()) {
+            exception(SodiumBufferJNI.crypto_generichash_final(state, hash, length), "crypto_generichash_final");
+        } else {
+            exception(Sodium.crypto_generichash_final(state, hash, length), "crypto_generichash_final");
+        }
+        return hash;
+    }
 
+    /**
+     * Hash of the remaining bytes of the stream, which is not closed.
+     */
+    public static byte[] generichash(InputStream in, byte[] key, int length) throws SodiumException, IOException {
+        byte[] state = init(key, length);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (int read = in.read(chunk); read != -1; read = in.read(chunk)) {
+            update(state, chunk, 0, read);
+        }
+        return finalize(state, length);
+    }
 }
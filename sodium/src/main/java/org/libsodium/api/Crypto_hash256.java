@@ -17,8 +17,11 @@
 package org.libsodium.api;
 
 import org.libsodium.jni.Sodium;
+import org.libsodium.jni.SodiumBufferJNI;
 import org.libsodium.jni.SodiumException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 
 import static org.libsodium.jni.SodiumConstants.CRYPTO_HASH_SHA256_BYTES;
@@ -42,6 +45,15 @@ public class Crypto_hash256 extends Crypto {
         return state;
     }
 
+    public static byte[] update(byte[] state, byte[] data, int offset, int length) throws SodiumException {
+        Buffers.check(data, offset, length);
+        if (SodiumBufferJNI.isMultipartAvailable()) {
+            exception(SodiumBufferJNI.crypto_hash_sha256_update(state, data, offset, length), "crypto_hash_sha256_update");
+            return state;
+        }
+        return update(state, Buffers.copy(data, offset, length));
+    }
+
     public static byte[] finalize(byte[] state) throws SodiumException {
         byte[] hash = new byte[CRYPTO_HASH_SHA256_BYTES];
         exception(Sodium.crypto_hash_sha256_final(state, hash), "crypto_hash_sha256_final");
@@ -54,4 +66,16 @@ public class Crypto_hash256 extends Crypto {
         return hash;
     }
 
+    /**
+     * SHA-256 of the remaining bytes of the stream, which is not closed.
+     */
+    public static byte[] digest(InputStream in) throws SodiumException, IOException {
+        byte[] state = init();
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (int read = in.read(chunk); read != -1; read = in.read(chunk)) {
+            update(state, chunk, 0, read);
+        }
+        return finalize(state);
+    }
+
 }
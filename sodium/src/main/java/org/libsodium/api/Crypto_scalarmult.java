@@ -16,8 +16,9 @@
 
 package org.libsodium.api;
 
-import org.libsodium.jni.Sodium;
 import org.libsodium.jni.SodiumException;
+import org.libsodium.provider.Primitive;
+import org.libsodium.provider.Providers;
 
 import static org.libsodium.api.Crypto.exception;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SCALARMULT_ED25519_SCALARBYTES;
@@ -30,13 +31,13 @@ public class Crypto_scalarmult {
 
     public static byte[] curve25519(byte[] sk, byte[] pk) throws SodiumException {
         byte[] agreement = new byte[CRYPTO_SCALARMULT_ED25519_SCALARBYTES];
-        exception(Sodium.crypto_scalarmult_curve25519(agreement, sk, pk), "crypto_scalarmult_curve25519");
+        exception(Providers.get(Primitive.SCALARMULT_CURVE25519).crypto_scalarmult_curve25519(agreement, sk, pk), "crypto_scalarmult_curve25519");
         return agreement;
     }
 
     public static byte[] curve25519_base(byte[] sk) throws SodiumException {
         byte[] base = new byte[CRYPTO_SCALARMULT_ED25519_SCALARBYTES];
-        exception(Sodium.crypto_scalarmult_curve25519_base(base, sk), "crypto_scalarmult_curve25519_base");
+        exception(Providers.get(Primitive.SCALARMULT_CURVE25519).crypto_scalarmult_curve25519_base(base, sk), "crypto_scalarmult_curve25519_base");
         return base;
     }
 
@@ -16,12 +16,16 @@
 
 package org.libsodium.api;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import org.libsodium.jni.Sodium;
+import org.libsodium.jni.SodiumBufferJNI;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_BYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_PUBLICKEYBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_SECRETKEYBYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_STATEBYTES;
 import org.libsodium.jni.SodiumException;
 
 /**
@@ -82,24 +86,70 @@ public class Crypto_sign extends Crypto{
         exception(Sodium.crypto_sign_verify_detached(sign, data, data.length, pk), "crypto_sign_verify_detached");
         return true;
     }
-    
-    public static Map<String, byte[]> init() throws SodiumException {
-        // FIXME: crypto_sign_init not implemented in libsodium-jni
-        throw new SodiumException("Not implemented in libsodium-jni");
+
+    /**
+     * Verifies every (sign[i], data[i], pk[i]) in a single call, see {@link Crypto_sign_ed25519#verify_detached(byte[][], byte[][], byte[][])}.
+     * @return result of every entry
+     */
+    public static boolean[] verify_detached(byte[][] sign, byte[][] data, byte[][] pk) throws SodiumException {
+        return Crypto_sign_ed25519.verify_detached(data, sign, pk);
     }
     
-    public static Map<String, byte[]> update() throws SodiumException {
-        // FIXME: crypto_sign_update not implemented in libsodium-jni
-        throw new SodiumException("Not implemented in libsodium-jni");
+    /**
+     * Starts a multi-part Ed25519ph signature, the message is hashed with SHA-512 as it is fed to
+     * {@link #update}. Ed25519ph signatures differ from {@link #detached} signatures of the same message.
+     * @return state for update, final_create and final_verify
+     */
+    public static byte[] init() throws SodiumException {
+        multipart("crypto_sign_init");
+        byte[] state = new byte[CRYPTO_SIGN_STATEBYTES];
+        exception(SodiumBufferJNI.crypto_sign_init(state), "crypto_sign_init");
+        return state;
     }
-    
-    public static Map<String, byte[]> final_create() throws SodiumException {
-        // FIXME: crypto_sign_final_create not implemented in libsodium-jni
-        throw new SodiumException("Not implemented in libsodium-jni");
+
+    public static byte[] update(byte[] state, byte[] data) throws SodiumException {
+        return update(state, data, 0, data.length);
     }
-    
-    public static Map<String, byte[]> final_verify() throws SodiumException {
-        // FIXME: crypto_sign_final_verify not implemented in libsodium-jni
-        throw new SodiumException("Not implemented in libsodium-jni");
+
+    public static byte[] update(byte[] state, byte[] data, int offset, int length) throws SodiumException {
+        multipart("crypto_sign_update");
+        Buffers.check(data, offset, length);
+        exception(SodiumBufferJNI.crypto_sign_update(state, data, offset, length), "crypto_sign_update");
+        return state;
+    }
+
+    public static byte[] final_create(byte[] state, byte[] sk) throws SodiumException {
+        multipart("crypto_sign_final_create");
+        byte[] sign = new byte[CRYPTO_SIGN_BYTES];
+        exception(SodiumBufferJNI.crypto_sign_final_create(state, sign, sk), "crypto_sign_final_create");
+        return sign;
+    }
+
+    public static boolean final_verify(byte[] state, byte[] sign, byte[] pk) throws SodiumException {
+        multipart("crypto_sign_final_verify");
+        exception(SodiumBufferJNI.crypto_sign_final_verify(state, sign, pk), "crypto_sign_final_verify");
+        return true;
+    }
+
+    /**
+     * Ed25519ph signature of the remaining bytes of the stream, which is not closed.
+     */
+    public static byte[] detached(InputStream in, byte[] sk) throws SodiumException, IOException {
+        return final_create(update(init(), in), sk);
+    }
+
+    /**
+     * Verifies an Ed25519ph signature of the remaining bytes of the stream, which is not closed.
+     */
+    public static boolean verify_detached(byte[] sign, InputStream in, byte[] pk) throws SodiumException, IOException {
+        return final_verify(update(init(), in), sign, pk);
+    }
+
+    private static byte[] update(byte[] state, InputStream in) throws SodiumException, IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (int read = in.read(chunk); read != -1; read = in.read(chunk)) {
+            update(state, chunk, 0, read);
+        }
+        return state;
     }
 }
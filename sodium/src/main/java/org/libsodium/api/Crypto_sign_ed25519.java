@@ -16,9 +16,18 @@
 
 package org.libsodium.api;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import org.libsodium.jni.Sodium;
+import org.libsodium.provider.CryptoProvider;
+import org.libsodium.provider.Primitive;
+import org.libsodium.provider.Providers;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_PUBLICKEYBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_SECRETKEYBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_SIGNATURE_BYTES;
@@ -30,13 +39,16 @@ import org.libsodium.jni.SodiumException;
  * @author ITON Solutions
  */
 public class Crypto_sign_ed25519 extends Crypto{
+
+    // smallest slice of a batch handed to a pool thread
+    private static final int BATCH_SIZE = 64;
     
     public static Map<String, byte[]> keypair() throws SodiumException {
         
         byte[] pk = new byte[CRYPTO_SIGN_ED25519_PUBLICKEYBYTES];
         byte[] sk = new byte[CRYPTO_SIGN_ED25519_SECRETKEYBYTES];
 
-        exception(Sodium.crypto_sign_ed25519_keypair(pk, sk), "crypto_sign_ed25519_keypair");
+        exception(Providers.get(Primitive.SIGN_ED25519).crypto_sign_ed25519_keypair(pk, sk), "crypto_sign_ed25519_keypair");
         
         Map<String, byte[]> result = new HashMap<>();
         result.put("pk", pk);
@@ -50,7 +62,7 @@ public class Crypto_sign_ed25519 extends Crypto{
         byte[] pk = new byte[CRYPTO_SIGN_ED25519_PUBLICKEYBYTES];
         byte[] sk = new byte[CRYPTO_SIGN_ED25519_SECRETKEYBYTES];
 
-        exception(Sodium.crypto_sign_ed25519_seed_keypair(pk, sk, seed), "crypto_sign_ed25519_seed_keypair");
+        exception(Providers.get(Primitive.SIGN_ED25519).crypto_sign_ed25519_seed_keypair(pk, sk, seed), "crypto_sign_ed25519_seed_keypair");
         
         Map<String, byte[]> result = new HashMap<>();
         result.put("pk", pk);
@@ -80,15 +92,62 @@ public class Crypto_sign_ed25519 extends Crypto{
     public static byte[] detached(byte[] data, byte[] sk) throws SodiumException {
         byte[] sign = new byte[CRYPTO_SIGN_ED25519_SIGNATURE_BYTES];
 
-        exception(Sodium.crypto_sign_ed25519_detached(sign, new int[0], data, data.length, sk), "crypto_sign_ed25519_detached");
+        exception(Providers.get(Primitive.SIGN_ED25519).crypto_sign_ed25519_detached(sign, data, data.length, sk), "crypto_sign_ed25519_detached");
         return sign;
     }
     
     public static boolean verify_detached(byte[] data, byte[] sign, byte[] pk) throws SodiumException {
         
-        exception(Sodium.crypto_sign_ed25519_verify_detached(sign, data, data.length, pk), "crypto_sign_ed25519_verify_detached");
+        exception(Providers.get(Primitive.SIGN_ED25519).crypto_sign_ed25519_verify_detached(sign, data, data.length, pk), "crypto_sign_ed25519_verify_detached");
         return true;
     }
+
+    /**
+     * Verifies data[i] signed as sign[i] by pk[i] for every entry in a single call.
+     * @return result of every entry, false for invalid signatures and malformed entries
+     */
+    public static boolean[] verify_detached(byte[][] data, byte[][] sign, byte[][] pk) throws SodiumException {
+        check(data, sign, pk);
+        boolean[] results = new boolean[data.length];
+        Providers.get(Primitive.SIGN_ED25519).crypto_sign_ed25519_verify_detached_batch(sign, data, pk, 0, data.length, results);
+        return results;
+    }
+
+    /**
+     * As {@link #verify_detached(byte[][], byte[][], byte[][])}, large batches are split across the pool.
+     */
+    public static boolean[] verify_detached(final byte[][] data, final byte[][] sign, final byte[][] pk, ForkJoinPool pool) throws SodiumException {
+        check(data, sign, pk);
+        final boolean[] results = new boolean[data.length];
+        final CryptoProvider provider = Providers.get(Primitive.SIGN_ED25519);
+        int size = Math.max(BATCH_SIZE, (data.length + pool.getParallelism() - 1) / pool.getParallelism());
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int offset = 0; offset < data.length; offset += size) {
+            final int from = offset;
+            final int count = Math.min(size, data.length - offset);
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return provider.crypto_sign_ed25519_verify_detached_batch(sign, data, pk, from, count, results);
+                }
+            });
+        }
+        for (Future<Integer> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new SodiumException(String.format("crypto_sign_ed25519_verify_detached_batch: %s", e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private static void check(byte[][] data, byte[][] sign, byte[][] pk) throws SodiumException {
+        if (data.length != sign.length || data.length != pk.length) {
+            throw new SodiumException("crypto_sign_ed25519_verify_detached_batch");
+        }
+    }
     
     public static byte[] sign(byte[] data, byte[] sk) throws SodiumException {
         
@@ -23,7 +23,7 @@ package org.libsodium.jni;
 public class NaCl {
 
     static {
-        System.loadLibrary("sodiumjni");
+        NativeLoader.load("sodiumjni");
     }
 
     public static Sodium sodium() {
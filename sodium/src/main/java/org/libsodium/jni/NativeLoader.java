@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.jni;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Loads the sodium JNI library. The library is looked up, in order, at the path given by the
+ * {@value #PATH_PROPERTY} system property, as a resource bundled in the jar under
+ * native/&lt;os&gt;-&lt;arch&gt;/, and finally on java.library.path.
+ *
+ * @author ITON Solutions
+ */
+public class NativeLoader {
+
+    public static final String PATH_PROPERTY = "sodium.library.path";
+
+    private NativeLoader() {
+    }
+
+    public static void load(String name) {
+        String path = System.getProperty(PATH_PROPERTY);
+        if (path != null) {
+            System.load(new File(path).getAbsolutePath());
+            return;
+        }
+
+        String resource = String.format("/native/%s/%s", platform(), System.mapLibraryName(name));
+        try (InputStream in = NativeLoader.class.getResourceAsStream(resource)) {
+            if (in != null) {
+                System.load(extract(in, System.mapLibraryName(name)).getAbsolutePath());
+                return;
+            }
+        } catch (IOException e) {
+            throw new UnsatisfiedLinkError(String.format("Unable to extract %s: %s", resource, e.getMessage()));
+        }
+
+        System.loadLibrary(name);
+    }
+
+    /**
+     * @return os and arch of the running JVM as used for the bundled libraries, e.g. linux-x86_64
+     */
+    public static String platform() {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        String arch = System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+
+        if (os.startsWith("windows")) {
+            os = "windows";
+        } else if (os.startsWith("mac") || os.startsWith("darwin")) {
+            os = "osx";
+        } else if (os.startsWith("linux")) {
+            os = "linux";
+        }
+
+        if (arch.equals("amd64") || arch.equals("x86_64")) {
+            arch = "x86_64";
+        } else if (arch.equals("aarch64") || arch.equals("arm64")) {
+            arch = "aarch64";
+        }
+        return os + "-" + arch;
+    }
+
+    private static File extract(InputStream in, String fileName) throws IOException {
+        Path dir = Files.createTempDirectory("sodiumjni");
+        Path file = dir.resolve(fileName);
+        // files registered last are deleted first, the directory must be empty by then
+        dir.toFile().deleteOnExit();
+        file.toFile().deleteOnExit();
+        Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        return file.toFile();
+    }
+}
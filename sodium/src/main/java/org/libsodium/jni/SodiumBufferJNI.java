@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.jni;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Natives that work on caller supplied arrays with offsets and on direct byte buffers,
+ * implemented by src/main/c/sodium_buffer_jni.c next to the SWIG wrapper. Offsets and
+ * lengths are not checked by the natives, use the org.libsodium.api facades instead.
+ *
+ * @author ITON Solutions
+ */
+public class SodiumBufferJNI {
+
+    private static final int VERSION = probe();
+
+    private SodiumBufferJNI() {
+    }
+
+    /**
+     * @return false when the loaded native library predates these natives, callers then copy through {@link Sodium}
+     */
+    public static boolean isAvailable() {
+        return VERSION > 0;
+    }
+
+    /**
+     * @return false when the loaded native library predates {@link #crypto_sign_ed25519_verify_detached_batch}
+     */
+    public static boolean isBatchAvailable() {
+        return VERSION > 1;
+    }
+
+    /**
+     * @return false when the loaded native library predates the crypto_sign multi-part natives and the updates at an offset
+     */
+    public static boolean isMultipartAvailable() {
+        return VERSION > 2;
+    }
+
+    /**
+     * @return false when the loaded native library predates the crypto_generichash init and final natives
+     */
+    public static boolean isGenerichashAvailable() {
+        return VERSION > 3;
+    }
+
+    private static int probe() {
+        try {
+            NaCl.sodium();
+            return buffer_version();
+        } catch (UnsatisfiedLinkError e) {
+            return 0;
+        }
+    }
+
+    public final static native int buffer_version();
+
+    public final static native int crypto_aead_chacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, int ad_off, int adlen, byte[] npub, byte[] k);
+    public final static native int crypto_aead_chacha20poly1305_ietf_encrypt(ByteBuffer c, int c_off, ByteBuffer m, int m_off, int mlen, ByteBuffer ad, int ad_off, int adlen, byte[] npub, byte[] k);
+    public final static native int crypto_aead_chacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, int ad_off, int adlen, byte[] npub, byte[] k);
+    public final static native int crypto_aead_chacha20poly1305_ietf_decrypt(ByteBuffer m, int m_off, ByteBuffer c, int c_off, int clen, ByteBuffer ad, int ad_off, int adlen, byte[] npub, byte[] k);
+
+    public final static native int crypto_aead_xchacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, int ad_off, int adlen, byte[] npub, byte[] k);
+    public final static native int crypto_aead_xchacha20poly1305_ietf_encrypt(ByteBuffer c, int c_off, ByteBuffer m, int m_off, int mlen, ByteBuffer ad, int ad_off, int adlen, byte[] npub, byte[] k);
+    public final static native int crypto_aead_xchacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, int ad_off, int adlen, byte[] npub, byte[] k);
+    public final static native int crypto_aead_xchacha20poly1305_ietf_decrypt(ByteBuffer m, int m_off, ByteBuffer c, int c_off, int clen, ByteBuffer ad, int ad_off, int adlen, byte[] npub, byte[] k);
+
+    public final static native int crypto_box_easy(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] n, byte[] pk, byte[] sk);
+    public final static native int crypto_box_easy(ByteBuffer c, int c_off, ByteBuffer m, int m_off, int mlen, byte[] n, byte[] pk, byte[] sk);
+    public final static native int crypto_box_open_easy(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] n, byte[] pk, byte[] sk);
+    public final static native int crypto_box_open_easy(ByteBuffer m, int m_off, ByteBuffer c, int c_off, int clen, byte[] n, byte[] pk, byte[] sk);
+
+    /**
+     * Verifies count Ed25519 signatures from offset in a single call, results is indexed as the entries.
+     * @return number of invalid signatures
+     */
+    public final static native int crypto_sign_ed25519_verify_detached_batch(byte[][] sig, byte[][] m, byte[][] pk, int offset, int count, boolean[] results);
+
+    /*
+     * Multi-part states are caller allocated arrays of at least statebytes, copied to aligned storage by every call.
+     */
+    public final static native int crypto_sign_statebytes();
+    public final static native int crypto_sign_init(byte[] state);
+    public final static native int crypto_sign_update(byte[] state, byte[] m, int m_off, int mlen);
+    public final static native int crypto_sign_final_create(byte[] state, byte[] sig, byte[] sk);
+    public final static native int crypto_sign_final_verify(byte[] state, byte[] sig, byte[] pk);
+
+    public final static native int crypto_generichash_init(byte[] state, byte[] k, int outlen);
+    public final static native int crypto_generichash_update(byte[] state, byte[] m, int m_off, int mlen);
+    public final static native int crypto_generichash_final(byte[] state, byte[] out, int outlen);
+    public final static native int crypto_hash_sha256_update(byte[] state, byte[] m, int m_off, int mlen);
+}
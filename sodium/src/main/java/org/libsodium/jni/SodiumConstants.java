@@ -63,6 +63,7 @@ public abstract class SodiumConstants {
     public final static int CRYPTO_SIGN_SEEDBYTES = 32;
     public final static int CRYPTO_SIGN_PUBLICKEYBYTES = 32;
     public final static int CRYPTO_SIGN_SECRETKEYBYTES = 64;
+    public final static int CRYPTO_SIGN_STATEBYTES = 208;
 
     public final static int CRYPTO_SIGN_ED25519_SEEDBYTES = 32;
     public final static int CRYPTO_SIGN_ED25519_PUBLICKEYBYTES = 32;
@@ -93,6 +94,9 @@ public abstract class SodiumConstants {
     public final static int CRYPTO_SHORTHASH_KEYBYTES = 16;
     public final static int CRYPTO_GENERICHASH_BYTES = 32;
     public final static int CRYPTO_GENERICHASH_KEYBYTES = 32;
+    public final static int CRYPTO_GENERICHASH_BYTES_MAX = 64;
+    public final static int CRYPTO_GENERICHASH_KEYBYTES_MAX = 64;
+    public final static int CRYPTO_GENERICHASH_STATEBYTES = 384;
     public final static int CRYPTO_HASH_SHA256_BYTES = 32;
     public final static int CRYPTO_HASH_SHA256_STATE = 104;
 }
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+/**
+ * Implementation of the primitives behind the org.libsodium.api facades, selected per
+ * {@link Primitive} by {@link Providers}. Methods follow the libsodium calling convention:
+ * caller allocated outputs, 0 on success and -1 on failure. Arguments are checked by the facades.
+ *
+ * @author ITON Solutions
+ */
+public interface CryptoProvider {
+
+    /**
+     * @return provider name as used by the sodium.provider system properties
+     */
+    String name();
+
+    int crypto_aead_chacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k);
+
+    int crypto_aead_chacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k);
+
+    int crypto_aead_xchacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k);
+
+    int crypto_aead_xchacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k);
+
+    int crypto_sign_ed25519_keypair(byte[] pk, byte[] sk);
+
+    int crypto_sign_ed25519_seed_keypair(byte[] pk, byte[] sk, byte[] seed);
+
+    int crypto_sign_ed25519_detached(byte[] sig, byte[] m, int mlen, byte[] sk);
+
+    int crypto_sign_ed25519_verify_detached(byte[] sig, byte[] m, int mlen, byte[] pk);
+
+    /**
+     * Verifies count entries from offset, results is indexed as the entries and is false for
+     * invalid signatures and malformed entries.
+     * @return number of invalid entries
+     */
+    int crypto_sign_ed25519_verify_detached_batch(byte[][] sig, byte[][] m, byte[][] pk, int offset, int count, boolean[] results);
+
+    int crypto_scalarmult_curve25519(byte[] q, byte[] n, byte[] p);
+
+    int crypto_scalarmult_curve25519_base(byte[] q, byte[] n);
+
+    int crypto_auth_hmacsha256(byte[] out, byte[] in, int inlen, byte[] k);
+
+    int crypto_auth_hmacsha256_verify(byte[] h, byte[] in, int inlen, byte[] k);
+
+    /**
+     * BLAKE2b of inlen bytes of in, outlen between 1 and 64, k null or empty for an unkeyed hash.
+     */
+    int crypto_generichash(byte[] out, int outlen, byte[] in, int inlen, byte[] k);
+}
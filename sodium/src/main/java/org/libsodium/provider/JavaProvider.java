@@ -0,0 +1,378 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.engines.ChaCha7539Engine;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.macs.Poly1305;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.bouncycastle.math.ec.rfc7748.X25519;
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AUTH_HMACSHA256_BYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AUTH_HMACSHA256_KEYBYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_BYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_PUBLICKEYBYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_SEEDBYTES;
+
+/**
+ * Pure Java provider on the BouncyCastle lightweight API, byte compatible with libsodium.
+ * ChaCha20-Poly1305 is composed as in RFC 8439 so that the tag is verified before anything
+ * is decrypted, XChaCha20 derives its subkey with HChaCha20. Ed25519 verification rejects
+ * non canonical and small order keys, small order R and S out of range before RFC 8032 verification,
+ * as libsodium does.
+ *
+ * @author ITON Solutions
+ */
+final class JavaProvider implements CryptoProvider {
+
+    private static final int TAG = CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
+    private static final int BLAKE2B_BYTES_MAX = 64;
+    private static final int BLAKE2B_KEYBYTES_MAX = 64;
+    private static final int[] SIGMA = {0x61707865, 0x3320646e, 0x79622d32, 0x6b206574};
+
+    // encodings of the points of order 1, 2, 4 and 8, including the non canonical ones, sign bit cleared
+    private static final byte[][] SMALL_ORDER = {
+            point("0000000000000000000000000000000000000000000000000000000000000000"),
+            point("0100000000000000000000000000000000000000000000000000000000000000"),
+            point("26e8958fc2b227b045c3f489f2ef98f0d5dfac05d3c63339b13802886d53fc05"),
+            point("c7176a703d4dd84fba3c0b760d10670f2a2053fa2c39ccc64ec7fd7792ac037a"),
+            point("ecffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f"),
+            point("edffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f"),
+            point("eeffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f")
+    };
+
+    // order of the base point, little endian
+    private static final byte[] L = point("edd3f55c1a631258d69cf7a2def9de1400000000000000000000000000000010");
+
+    private final SecureRandom random = new SecureRandom();
+
+    JavaProvider() {
+    }
+
+    @Override
+    public String name() {
+        return Providers.JAVA;
+    }
+
+    @Override
+    public int crypto_aead_chacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k) {
+        return seal(c, c_off, m, m_off, mlen, ad, npub, k);
+    }
+
+    @Override
+    public int crypto_aead_chacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k) {
+        return open(m, m_off, c, c_off, clen, ad, npub, k);
+    }
+
+    @Override
+    public int crypto_aead_xchacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k) {
+        byte[] subkey = hchacha20(k, npub);
+        try {
+            return seal(c, c_off, m, m_off, mlen, ad, xnonce(npub), subkey);
+        } finally {
+            Arrays.fill(subkey, (byte) 0);
+        }
+    }
+
+    @Override
+    public int crypto_aead_xchacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k) {
+        byte[] subkey = hchacha20(k, npub);
+        try {
+            return open(m, m_off, c, c_off, clen, ad, xnonce(npub), subkey);
+        } finally {
+            Arrays.fill(subkey, (byte) 0);
+        }
+    }
+
+    @Override
+    public int crypto_sign_ed25519_keypair(byte[] pk, byte[] sk) {
+        byte[] seed = new byte[CRYPTO_SIGN_ED25519_SEEDBYTES];
+        random.nextBytes(seed);
+        try {
+            return crypto_sign_ed25519_seed_keypair(pk, sk, seed);
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+        }
+    }
+
+    @Override
+    public int crypto_sign_ed25519_seed_keypair(byte[] pk, byte[] sk, byte[] seed) {
+        Ed25519.generatePublicKey(seed, 0, pk, 0);
+        System.arraycopy(seed, 0, sk, 0, CRYPTO_SIGN_ED25519_SEEDBYTES);
+        System.arraycopy(pk, 0, sk, CRYPTO_SIGN_ED25519_SEEDBYTES, CRYPTO_SIGN_ED25519_PUBLICKEYBYTES);
+        return 0;
+    }
+
+    @Override
+    public int crypto_sign_ed25519_detached(byte[] sig, byte[] m, int mlen, byte[] sk) {
+        // libsodium secret keys are seed || public key
+        Ed25519.sign(sk, 0, sk, CRYPTO_SIGN_ED25519_SEEDBYTES, m, 0, mlen, sig, 0);
+        return 0;
+    }
+
+    @Override
+    public int crypto_sign_ed25519_verify_detached(byte[] sig, byte[] m, int mlen, byte[] pk) {
+        return canonical(sig, pk) && Ed25519.verify(sig, 0, pk, 0, m, 0, mlen) ? 0 : -1;
+    }
+
+    @Override
+    public int crypto_sign_ed25519_verify_detached_batch(byte[][] sig, byte[][] m, byte[][] pk, int offset, int count, boolean[] results) {
+        int failed = 0;
+        for (int i = offset; i < offset + count; i++) {
+            results[i] = valid(sig[i], m[i], pk[i]) && canonical(sig[i], pk[i]) && Ed25519.verify(sig[i], 0, pk[i], 0, m[i], 0, m[i].length);
+            failed += results[i] ? 0 : 1;
+        }
+        return failed;
+    }
+
+    @Override
+    public int crypto_scalarmult_curve25519(byte[] q, byte[] n, byte[] p) {
+        // false when the shared secret is all zero, p being a low order point
+        return X25519.calculateAgreement(n, 0, p, 0, q, 0) ? 0 : -1;
+    }
+
+    @Override
+    public int crypto_scalarmult_curve25519_base(byte[] q, byte[] n) {
+        X25519.scalarMultBase(n, 0, q, 0);
+        return 0;
+    }
+
+    @Override
+    public int crypto_auth_hmacsha256(byte[] out, byte[] in, int inlen, byte[] k) {
+        HMac mac = new HMac(new SHA256Digest());
+        mac.init(new KeyParameter(k, 0, CRYPTO_AUTH_HMACSHA256_KEYBYTES));
+        mac.update(in, 0, inlen);
+        mac.doFinal(out, 0);
+        return 0;
+    }
+
+    @Override
+    public int crypto_auth_hmacsha256_verify(byte[] h, byte[] in, int inlen, byte[] k) {
+        byte[] mac = new byte[CRYPTO_AUTH_HMACSHA256_BYTES];
+        crypto_auth_hmacsha256(mac, in, inlen, k);
+        return MessageDigest.isEqual(mac, Arrays.copyOf(h, CRYPTO_AUTH_HMACSHA256_BYTES)) ? 0 : -1;
+    }
+
+    @Override
+    public int crypto_generichash(byte[] out, int outlen, byte[] in, int inlen, byte[] k) {
+        if (outlen <= 0 || outlen > BLAKE2B_BYTES_MAX || (k != null && k.length > BLAKE2B_KEYBYTES_MAX)) {
+            return -1;
+        }
+        Blake2bDigest digest = new Blake2bDigest(k == null || k.length == 0 ? null : k, outlen, null, null);
+        digest.update(in, 0, inlen);
+        digest.doFinal(out, 0);
+        return 0;
+    }
+
+    private static boolean valid(byte[] sig, byte[] m, byte[] pk) {
+        return sig != null && sig.length == CRYPTO_SIGN_ED25519_BYTES && m != null && pk != null && pk.length == CRYPTO_SIGN_ED25519_PUBLICKEYBYTES;
+    }
+
+    /**
+     * Checks of crypto_sign_verify_detached in libsodium which RFC 8032 leaves out.
+     */
+    private static boolean canonical(byte[] sig, byte[] pk) {
+        return !smallOrder(sig, 0) && lessThanL(sig, 32) && !smallOrder(pk, 0) && canonicalPoint(pk, 0);
+    }
+
+    private static boolean smallOrder(byte[] s, int offset) {
+        for (byte[] point : SMALL_ORDER) {
+            int c = (s[offset + 31] & 0x7f) ^ point[31];
+            for (int i = 0; i < 31; i++) {
+                c |= s[offset + i] ^ point[i];
+            }
+            if (c == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // y below p = 2^255 - 19, the sign bit aside
+    private static boolean canonicalPoint(byte[] s, int offset) {
+        if ((s[offset + 31] & 0x7f) != 0x7f) {
+            return true;
+        }
+        for (int i = 30; i > 0; i--) {
+            if (s[offset + i] != (byte) 0xff) {
+                return true;
+            }
+        }
+        return (s[offset] & 0xff) < 0xed;
+    }
+
+    private static boolean lessThanL(byte[] s, int offset) {
+        for (int i = 31; i >= 0; i--) {
+            int a = s[offset + i] & 0xff;
+            int b = L[i] & 0xff;
+            if (a != b) {
+                return a < b;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] point(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static int seal(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k) {
+        if (c == m && c_off != m_off) {
+            m = Arrays.copyOfRange(m, m_off, m_off + mlen);
+            m_off = 0;
+        }
+        ChaCha7539Engine engine = new ChaCha7539Engine();
+        Poly1305 mac = init(engine, npub, k);
+        engine.processBytes(m, m_off, mlen, c, c_off);
+        authenticate(mac, ad, c, c_off, mlen);
+        mac.doFinal(c, c_off + mlen);
+        return 0;
+    }
+
+    private static int open(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k) {
+        int mlen = clen - TAG;
+        if (mlen < 0) {
+            return -1;
+        }
+        ChaCha7539Engine engine = new ChaCha7539Engine();
+        Poly1305 mac = init(engine, npub, k);
+        authenticate(mac, ad, c, c_off, mlen);
+        byte[] tag = new byte[TAG];
+        mac.doFinal(tag, 0);
+        if (!MessageDigest.isEqual(tag, Arrays.copyOfRange(c, c_off + mlen, c_off + clen))) {
+            return -1;
+        }
+        if (c == m && c_off != m_off) {
+            c = Arrays.copyOfRange(c, c_off, c_off + mlen);
+            c_off = 0;
+        }
+        engine.processBytes(c, c_off, mlen, m, m_off);
+        return 0;
+    }
+
+    /**
+     * Keys the engine and derives the one time Poly1305 key from block 0, the engine is left at block 1.
+     */
+    private static Poly1305 init(ChaCha7539Engine engine, byte[] npub, byte[] k) {
+        engine.init(true, new ParametersWithIV(new KeyParameter(k), npub));
+        byte[] block = new byte[64];
+        engine.processBytes(block, 0, block.length, block, 0);
+        Poly1305 mac = new Poly1305();
+        mac.init(new KeyParameter(block, 0, 32));
+        Arrays.fill(block, (byte) 0);
+        return mac;
+    }
+
+    private static void authenticate(Poly1305 mac, byte[] ad, byte[] c, int c_off, int clen) {
+        int adlen = ad == null ? 0 : ad.length;
+        if (adlen > 0) {
+            mac.update(ad, 0, adlen);
+        }
+        pad16(mac, adlen);
+        mac.update(c, c_off, clen);
+        pad16(mac, clen);
+        byte[] lengths = new byte[16];
+        le64(adlen, lengths, 0);
+        le64(clen, lengths, 8);
+        mac.update(lengths, 0, lengths.length);
+    }
+
+    private static void pad16(Poly1305 mac, int length) {
+        if ((length & 15) != 0) {
+            mac.update(new byte[16], 0, 16 - (length & 15));
+        }
+    }
+
+    private static void le64(long value, byte[] out, int offset) {
+        for (int i = 0; i < 8; i++) {
+            out[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * IETF nonce of XChaCha20, four zero bytes followed by the last 8 bytes of the 24 byte nonce.
+     */
+    private static byte[] xnonce(byte[] npub) {
+        byte[] nonce = new byte[12];
+        System.arraycopy(npub, 16, nonce, 4, 8);
+        return nonce;
+    }
+
+    /**
+     * HChaCha20 of the key and the first 16 bytes of the nonce, 20 rounds without the final addition.
+     */
+    static byte[] hchacha20(byte[] k, byte[] npub) {
+        int[] x = new int[16];
+        System.arraycopy(SIGMA, 0, x, 0, 4);
+        for (int i = 0; i < 8; i++) {
+            x[4 + i] = le32(k, i * 4);
+        }
+        for (int i = 0; i < 4; i++) {
+            x[12 + i] = le32(npub, i * 4);
+        }
+        for (int i = 0; i < 10; i++) {
+            quarter(x, 0, 4, 8, 12);
+            quarter(x, 1, 5, 9, 13);
+            quarter(x, 2, 6, 10, 14);
+            quarter(x, 3, 7, 11, 15);
+            quarter(x, 0, 5, 10, 15);
+            quarter(x, 1, 6, 11, 12);
+            quarter(x, 2, 7, 8, 13);
+            quarter(x, 3, 4, 9, 14);
+        }
+        byte[] out = new byte[32];
+        for (int i = 0; i < 4; i++) {
+            put32(x[i], out, i * 4);
+            put32(x[12 + i], out, 16 + i * 4);
+        }
+        Arrays.fill(x, 0);
+        return out;
+    }
+
+    private static void quarter(int[] x, int a, int b, int c, int d) {
+        x[a] += x[b];
+        x[d] = Integer.rotateLeft(x[d] ^ x[a], 16);
+        x[c] += x[d];
+        x[b] = Integer.rotateLeft(x[b] ^ x[c], 12);
+        x[a] += x[b];
+        x[d] = Integer.rotateLeft(x[d] ^ x[a], 8);
+        x[c] += x[d];
+        x[b] = Integer.rotateLeft(x[b] ^ x[c], 7);
+    }
+
+    private static int le32(byte[] in, int offset) {
+        return (in[offset] & 0xff) | (in[offset + 1] & 0xff) << 8 | (in[offset + 2] & 0xff) << 16 | (in[offset + 3] & 0xff) << 24;
+    }
+
+    private static void put32(int value, byte[] out, int offset) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >>> 8);
+        out[offset + 2] = (byte) (value >>> 16);
+        out[offset + 3] = (byte) (value >>> 24);
+    }
+}
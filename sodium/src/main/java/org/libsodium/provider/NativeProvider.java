@@ -0,0 +1,163 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+import java.util.Arrays;
+import org.libsodium.jni.Sodium;
+import org.libsodium.jni.SodiumBufferJNI;
+
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_BYTES;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_SIGN_ED25519_PUBLICKEYBYTES;
+
+/**
+ * Provider backed by the libsodium JNI library, offsets are handled by {@link SodiumBufferJNI}
+ * when the loaded library has it and by copying otherwise.
+ *
+ * @author ITON Solutions
+ */
+final class NativeProvider implements CryptoProvider {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int[] NO_LENGTH = new int[0];
+
+    NativeProvider() {
+    }
+
+    @Override
+    public String name() {
+        return Providers.NATIVE;
+    }
+
+    @Override
+    public int crypto_aead_chacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k) {
+        ad = ad == null ? EMPTY : ad;
+        if (SodiumBufferJNI.isAvailable()) {
+            return SodiumBufferJNI.crypto_aead_chacha20poly1305_ietf_encrypt(c, c_off, m, m_off, mlen, ad, 0, ad.length, npub, k);
+        }
+        byte[] cipher = new byte[mlen + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        int result = Sodium.crypto_aead_chacha20poly1305_ietf_encrypt(cipher, NO_LENGTH, copy(m, m_off, mlen), mlen, ad, ad.length, EMPTY, npub, k);
+        System.arraycopy(cipher, 0, c, c_off, cipher.length);
+        return result;
+    }
+
+    @Override
+    public int crypto_aead_chacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k) {
+        ad = ad == null ? EMPTY : ad;
+        if (SodiumBufferJNI.isAvailable()) {
+            return SodiumBufferJNI.crypto_aead_chacha20poly1305_ietf_decrypt(m, m_off, c, c_off, clen, ad, 0, ad.length, npub, k);
+        }
+        byte[] data = new byte[clen - CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        int result = Sodium.crypto_aead_chacha20poly1305_ietf_decrypt(data, NO_LENGTH, EMPTY, copy(c, c_off, clen), clen, ad, ad.length, npub, k);
+        if (result == 0) {
+            System.arraycopy(data, 0, m, m_off, data.length);
+        }
+        return result;
+    }
+
+    @Override
+    public int crypto_aead_xchacha20poly1305_ietf_encrypt(byte[] c, int c_off, byte[] m, int m_off, int mlen, byte[] ad, byte[] npub, byte[] k) {
+        ad = ad == null ? EMPTY : ad;
+        if (SodiumBufferJNI.isAvailable()) {
+            return SodiumBufferJNI.crypto_aead_xchacha20poly1305_ietf_encrypt(c, c_off, m, m_off, mlen, ad, 0, ad.length, npub, k);
+        }
+        byte[] cipher = new byte[mlen + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        int result = Sodium.crypto_aead_xchacha20poly1305_ietf_encrypt(cipher, NO_LENGTH, copy(m, m_off, mlen), mlen, ad, ad.length, EMPTY, npub, k);
+        System.arraycopy(cipher, 0, c, c_off, cipher.length);
+        return result;
+    }
+
+    @Override
+    public int crypto_aead_xchacha20poly1305_ietf_decrypt(byte[] m, int m_off, byte[] c, int c_off, int clen, byte[] ad, byte[] npub, byte[] k) {
+        ad = ad == null ? EMPTY : ad;
+        if (SodiumBufferJNI.isAvailable()) {
+            return SodiumBufferJNI.crypto_aead_xchacha20poly1305_ietf_decrypt(m, m_off, c, c_off, clen, ad, 0, ad.length, npub, k);
+        }
+        byte[] data = new byte[clen - CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        int result = Sodium.crypto_aead_xchacha20poly1305_ietf_decrypt(data, NO_LENGTH, EMPTY, copy(c, c_off, clen), clen, ad, ad.length, npub, k);
+        if (result == 0) {
+            System.arraycopy(data, 0, m, m_off, data.length);
+        }
+        return result;
+    }
+
+    @Override
+    public int crypto_sign_ed25519_keypair(byte[] pk, byte[] sk) {
+        return Sodium.crypto_sign_ed25519_keypair(pk, sk);
+    }
+
+    @Override
+    public int crypto_sign_ed25519_seed_keypair(byte[] pk, byte[] sk, byte[] seed) {
+        return Sodium.crypto_sign_ed25519_seed_keypair(pk, sk, seed);
+    }
+
+    @Override
+    public int crypto_sign_ed25519_detached(byte[] sig, byte[] m, int mlen, byte[] sk) {
+        return Sodium.crypto_sign_ed25519_detached(sig, NO_LENGTH, m, mlen, sk);
+    }
+
+    @Override
+    public int crypto_sign_ed25519_verify_detached(byte[] sig, byte[] m, int mlen, byte[] pk) {
+        return Sodium.crypto_sign_ed25519_verify_detached(sig, m, mlen, pk);
+    }
+
+    @Override
+    public int crypto_sign_ed25519_verify_detached_batch(byte[][] sig, byte[][] m, byte[][] pk, int offset, int count, boolean[] results) {
+        if (SodiumBufferJNI.isBatchAvailable()) {
+            return SodiumBufferJNI.crypto_sign_ed25519_verify_detached_batch(sig, m, pk, offset, count, results);
+        }
+        int failed = 0;
+        for (int i = offset; i < offset + count; i++) {
+            results[i] = valid(sig[i], m[i], pk[i]) && Sodium.crypto_sign_ed25519_verify_detached(sig[i], m[i], m[i].length, pk[i]) == 0;
+            failed += results[i] ? 0 : 1;
+        }
+        return failed;
+    }
+
+    @Override
+    public int crypto_scalarmult_curve25519(byte[] q, byte[] n, byte[] p) {
+        return Sodium.crypto_scalarmult_curve25519(q, n, p);
+    }
+
+    @Override
+    public int crypto_scalarmult_curve25519_base(byte[] q, byte[] n) {
+        return Sodium.crypto_scalarmult_curve25519_base(q, n);
+    }
+
+    @Override
+    public int crypto_auth_hmacsha256(byte[] out, byte[] in, int inlen, byte[] k) {
+        return Sodium.crypto_auth_hmacsha256(out, in, inlen, k);
+    }
+
+    @Override
+    public int crypto_auth_hmacsha256_verify(byte[] h, byte[] in, int inlen, byte[] k) {
+        return Sodium.crypto_auth_hmacsha256_verify(h, in, inlen, k);
+    }
+
+    @Override
+    public int crypto_generichash(byte[] out, int outlen, byte[] in, int inlen, byte[] k) {
+        k = k == null ? EMPTY : k;
+        return Sodium.crypto_generichash_blake2b(out, outlen, in, inlen, k, k.length);
+    }
+
+    private static boolean valid(byte[] sig, byte[] m, byte[] pk) {
+        return sig != null && sig.length == CRYPTO_SIGN_ED25519_BYTES && m != null && pk != null && pk.length == CRYPTO_SIGN_ED25519_PUBLICKEYBYTES;
+    }
+
+    private static byte[] copy(byte[] array, int offset, int length) {
+        return offset == 0 && length == array.length ? array : Arrays.copyOfRange(array, offset, offset + length);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+import java.util.Locale;
+
+/**
+ * Primitives that can be served by either {@link CryptoProvider}.
+ *
+ * @author ITON Solutions
+ */
+public enum Primitive {
+    AEAD_CHACHA20POLY1305_IETF,
+    AEAD_XCHACHA20POLY1305_IETF,
+    SIGN_ED25519,
+    SCALARMULT_CURVE25519,
+    AUTH_HMACSHA256,
+    GENERICHASH;
+
+    /**
+     * @return suffix of the sodium.provider.&lt;primitive&gt; system property, e.g. sign_ed25519
+     */
+    public String property() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.libsodium.jni.NaCl;
+
+/**
+ * Selects the {@link CryptoProvider} of every {@link Primitive}. Without explicit selection the
+ * system property sodium.provider.&lt;primitive&gt; is used, then sodium.provider ("native" or "java"),
+ * then the native library when it can be loaded and the pure Java provider otherwise.
+ * A native selection falls back to Java when the library is missing.
+ *
+ * @author ITON Solutions
+ */
+public final class Providers {
+
+    public static final String PROPERTY = "sodium.provider";
+    public static final String NATIVE = "native";
+    public static final String JAVA = "java";
+
+    private static final CryptoProvider JAVA_PROVIDER = new JavaProvider();
+    private static final AtomicReferenceArray<CryptoProvider> SELECTED = new AtomicReferenceArray<>(Primitive.values().length);
+
+    private Providers() {
+    }
+
+    public static CryptoProvider get(Primitive primitive) {
+        CryptoProvider provider = SELECTED.get(primitive.ordinal());
+        if (provider == null) {
+            SELECTED.compareAndSet(primitive.ordinal(), null, select(primitive));
+            provider = SELECTED.get(primitive.ordinal());
+        }
+        return provider;
+    }
+
+    public static void set(Primitive primitive, CryptoProvider provider) {
+        SELECTED.set(primitive.ordinal(), provider);
+    }
+
+    /**
+     * Selects provider by name for one primitive, see {@link #provider(String)}.
+     */
+    public static void set(Primitive primitive, String name) {
+        set(primitive, provider(name));
+    }
+
+    public static void setAll(CryptoProvider provider) {
+        for (Primitive primitive : Primitive.values()) {
+            set(primitive, provider);
+        }
+    }
+
+    /**
+     * Drops explicit selections, providers are selected from the system properties again on next use.
+     */
+    public static void reset() {
+        for (Primitive primitive : Primitive.values()) {
+            SELECTED.set(primitive.ordinal(), null);
+        }
+    }
+
+    public static boolean isNative(Primitive primitive) {
+        return get(primitive) == NativeHolder.PROVIDER;
+    }
+
+    public static boolean isNativeAvailable() {
+        return NativeHolder.PROVIDER != null;
+    }
+
+    /**
+     * @param name "native" or "java"
+     * @throws IllegalStateException native requested and the library cannot be loaded
+     */
+    public static CryptoProvider provider(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case NATIVE:
+                if (NativeHolder.PROVIDER == null) {
+                    throw new IllegalStateException("Native sodium library not available");
+                }
+                return NativeHolder.PROVIDER;
+            case JAVA:
+                return JAVA_PROVIDER;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown sodium provider: %s", name));
+        }
+    }
+
+    private static CryptoProvider select(Primitive primitive) {
+        String name = System.getProperty(PROPERTY + "." + primitive.property(), System.getProperty(PROPERTY));
+        if (name == null || (NATIVE.equalsIgnoreCase(name) && NativeHolder.PROVIDER == null)) {
+            return NativeHolder.PROVIDER != null ? NativeHolder.PROVIDER : JAVA_PROVIDER;
+        }
+        return provider(name);
+    }
+
+    private static final class NativeHolder {
+
+        private static final CryptoProvider PROVIDER = load();
+
+        private static CryptoProvider load() {
+            try {
+                NaCl.sodium();
+                return new NativeProvider();
+            } catch (LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.libsodium.api;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -22,6 +24,7 @@ import org.libsodium.jni.NaCl;
 import org.libsodium.jni.SodiumException;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES;
 
 /**
@@ -72,4 +75,50 @@ public class Crypto_aead_chacha20poly1305_ietf_test {
         byte[] decrypted = Crypto_aead_chacha20poly1305_ietf.decrypt(cipher, add, nonce, key);
         assertArrayEquals(data, decrypted);
     }
+
+    /**
+     * Test of encrypt and decrypt into caller supplied arrays at an offset.
+     */
+    @Test
+    public void testCrypto_aead_chacha20poly1305_ietf_encrypt_decrypt_offset() throws Exception {
+
+        byte[] nonce = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES];
+        Crypto_randombytes.buf(nonce);
+        byte[] key = Crypto_aead_chacha20poly1305_ietf.keygen();
+        byte[] data = "Hola caracola".getBytes();
+        byte[] add = "Random authenticated additional data".getBytes();
+
+        byte[] cipher = new byte[nonce.length + data.length + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        int size = Crypto_aead_chacha20poly1305_ietf.encrypt(cipher, nonce.length, data, 0, data.length, add, nonce, key);
+        assertArrayEquals(Crypto_aead_chacha20poly1305_ietf.encrypt(data, add, nonce, key), Arrays.copyOfRange(cipher, nonce.length, nonce.length + size));
+
+        byte[] decrypted = new byte[data.length];
+        Crypto_aead_chacha20poly1305_ietf.decrypt(decrypted, 0, cipher, nonce.length, size, add, nonce, key);
+        assertArrayEquals(data, decrypted);
+    }
+
+    /**
+     * Test of encrypt and decrypt between direct byte buffers.
+     */
+    @Test
+    public void testCrypto_aead_chacha20poly1305_ietf_encrypt_decrypt_buffer() throws Exception {
+
+        byte[] nonce = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES];
+        Crypto_randombytes.buf(nonce);
+        byte[] key = Crypto_aead_chacha20poly1305_ietf.keygen();
+        byte[] data = "Hola caracola".getBytes();
+
+        ByteBuffer plain = ByteBuffer.allocateDirect(data.length);
+        plain.put(data).flip();
+        ByteBuffer cipher = ByteBuffer.allocateDirect(data.length + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES);
+        Crypto_aead_chacha20poly1305_ietf.encrypt(cipher, plain, null, nonce, key);
+        cipher.flip();
+
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(data.length);
+        Crypto_aead_chacha20poly1305_ietf.decrypt(decrypted, cipher, null, nonce, key);
+        decrypted.flip();
+        byte[] result = new byte[decrypted.remaining()];
+        decrypted.get(result);
+        assertArrayEquals(data, result);
+    }
 }
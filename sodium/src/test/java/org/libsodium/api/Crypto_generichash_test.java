@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+import org.libsodium.jni.SodiumException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class Crypto_generichash_test {
+
+    public Crypto_generichash_test() {
+        NaCl.sodium();
+    }
+
+    /**
+     * Test of multi-part and stream hashing against the one shot hash.
+     */
+    @Test
+    public void testCrypto_generichash_multipart() throws SodiumException, IOException {
+
+        byte[] data = new byte[150000];
+        Random random = new Random(42);
+        random.nextBytes(data);
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+
+        for (int length : new int[]{16, 32, 64}) {
+            byte[] expected = Crypto_generichash.generichash(data, key, length);
+
+            byte[] state = Crypto_generichash.init(key, length);
+            Crypto_generichash.update(state, data, 0, 100);
+            Crypto_generichash.update(state, data, 100, data.length - 100);
+            assertArrayEquals(expected, Crypto_generichash.finalize(state, length));
+
+            assertArrayEquals(expected, Crypto_generichash.generichash(new ByteArrayInputStream(data), key, length));
+        }
+        assertArrayEquals(Crypto_generichash.generichash(data), Crypto_generichash.generichash(new ByteArrayInputStream(data), null, 32));
+    }
+
+    /**
+     * Test of multi-part init and finalize with no key, the longest key and an empty message.
+     */
+    @Test
+    public void testCrypto_generichash_multipart_keys() throws SodiumException {
+
+        byte[] data = new byte[1000];
+        new Random(7).nextBytes(data);
+        byte[] key = new byte[64];
+        new Random(8).nextBytes(key);
+
+        for (byte[] k : new byte[][]{null, key}) {
+            byte[] state = Crypto_generichash.init(k, 64);
+            assertArrayEquals(Crypto_generichash.generichash(data, k, 64),
+                    Crypto_generichash.finalize(Crypto_generichash.update(state, data), 64));
+            assertArrayEquals(Crypto_generichash.generichash(new byte[0], k, 64),
+                    Crypto_generichash.finalize(Crypto_generichash.init(k, 64), 64));
+        }
+
+        assertThrows(SodiumException.class, () -> Crypto_generichash.init(new byte[65], 32));
+        assertThrows(SodiumException.class, () -> Crypto_generichash.finalize(Crypto_generichash.init(null, 32), 65));
+    }
+}
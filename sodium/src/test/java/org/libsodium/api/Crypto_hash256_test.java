@@ -20,8 +20,11 @@ import org.junit.jupiter.api.Test;
 import org.libsodium.jni.NaCl;
 import org.libsodium.jni.SodiumException;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,4 +64,20 @@ class Crypto_hash256_test {
         byte[] result = Crypto_hash256.finalize(state);
         assertArrayEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void digestStream() throws NoSuchAlgorithmException, SodiumException, IOException {
+
+        byte[] data = new byte[200000];
+        new Random(42).nextBytes(data);
+
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+        byte[] result = Crypto_hash256.digest(new ByteArrayInputStream(data));
+        assertArrayEquals(expected, result);
+
+        byte[] state = Crypto_hash256.init();
+        state = Crypto_hash256.update(state, data, 0, 1000);
+        state = Crypto_hash256.update(state, data, 1000, data.length - 1000);
+        assertArrayEquals(expected, Crypto_hash256.finalize(state));
+    }
+}
@@ -16,6 +16,7 @@
 package org.libsodium.api;
 
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 import org.libsodium.jni.NaCl;
@@ -83,4 +84,34 @@ public class Crypto_sign_ed25519_test {
         result = Crypto_sign_ed25519.sk_to_pk(sk);
         assertArrayEquals(result, pk);
     }
+
+    /**
+     * Test of batch verification, invalid and malformed entries are reported per entry.
+     * @throws SodiumException
+     */
+    @Test
+    public void testCrypto_sign_ed25519_verify_detached_batch() throws SodiumException {
+
+        int size = 300;
+        byte[][] data = new byte[size][];
+        byte[][] sign = new byte[size][];
+        byte[][] pk = new byte[size][];
+        boolean[] expected = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            Map<String, byte[]> pair = Crypto_sign_ed25519.keypair();
+            data[i] = ("Hola caracola " + i).getBytes();
+            sign[i] = Crypto_sign_ed25519.detached(data[i], pair.get("sk"));
+            pk[i] = pair.get("pk");
+            expected[i] = true;
+        }
+        data[7] = "Adios caracola".getBytes();
+        sign[100][0] ^= 1;
+        pk[200] = null;
+        sign[299] = new byte[10];
+        expected[7] = expected[100] = expected[200] = expected[299] = false;
+
+        assertArrayEquals(expected, Crypto_sign_ed25519.verify_detached(data, sign, pk));
+        assertArrayEquals(expected, Crypto_sign_ed25519.verify_detached(data, sign, pk, ForkJoinPool.commonPool()));
+    }
 }
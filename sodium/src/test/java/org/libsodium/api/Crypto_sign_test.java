@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+import org.libsodium.jni.SodiumException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class Crypto_sign_test {
+
+    public Crypto_sign_test() {
+        NaCl.sodium();
+    }
+
+    /**
+     * Test of multi-part Ed25519ph, checked against RFC 8032 Ed25519ph with an empty context.
+     * @throws SodiumException
+     */
+    @Test
+    public void testCrypto_sign_multipart() throws SodiumException {
+
+        Map<String, byte[]> pair = Crypto_sign.keypair();
+        byte[] data = new byte[100000];
+        new Random(42).nextBytes(data);
+
+        byte[] state = Crypto_sign.init();
+        for (int offset = 0; offset < data.length; offset += 7000) {
+            Crypto_sign.update(state, data, offset, Math.min(7000, data.length - offset));
+        }
+        byte[] sign = Crypto_sign.final_create(state, pair.get("sk"));
+
+        byte[] expected = new byte[Ed25519.SIGNATURE_SIZE];
+        Ed25519.signPrehash(pair.get("sk"), 0, pair.get("pk"), 0, new byte[0], prehash(data), 0, expected, 0);
+        assertArrayEquals(expected, sign);
+
+        state = Crypto_sign.update(Crypto_sign.init(), data);
+        assertTrue(Crypto_sign.final_verify(state, sign, pair.get("pk")));
+
+        data[0] ^= 1;
+        final byte[] other = Crypto_sign.update(Crypto_sign.init(), data);
+        assertThrows(SodiumException.class, () -> Crypto_sign.final_verify(other, sign, pair.get("pk")));
+    }
+
+    /**
+     * Test of Ed25519ph over an input stream.
+     */
+    @Test
+    public void testCrypto_sign_detached_stream() throws SodiumException, IOException {
+
+        Map<String, byte[]> pair = Crypto_sign.keypair();
+        byte[] data = new byte[3 * 65536 + 17];
+        new Random(7).nextBytes(data);
+
+        byte[] sign = Crypto_sign.detached(new ByteArrayInputStream(data), pair.get("sk"));
+        assertTrue(Crypto_sign.verify_detached(sign, new ByteArrayInputStream(data), pair.get("pk")));
+        assertArrayEquals(sign, Crypto_sign.final_create(Crypto_sign.update(Crypto_sign.init(), data), pair.get("sk")));
+    }
+
+    private static byte[] prehash(byte[] data) {
+        Digest digest = Ed25519.createPrehash();
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.update(data, 0, data.length);
+        digest.doFinal(hash, 0);
+        return hash;
+    }
+}
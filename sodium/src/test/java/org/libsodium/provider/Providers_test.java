@@ -0,0 +1,264 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.libsodium.provider;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
+
+/**
+ * Checks the pure Java provider byte for byte against the native library.
+ *
+ * @author ITON Solutions
+ */
+public class Providers_test {
+
+    private final CryptoProvider nat;
+    private final CryptoProvider java;
+    private final Random random = new Random(42);
+
+    public Providers_test() {
+        NaCl.sodium();
+        nat = Providers.provider(Providers.NATIVE);
+        java = Providers.provider(Providers.JAVA);
+    }
+
+    @Test
+    public void testAead_chacha20poly1305_ietf() {
+        byte[] key = bytes(32);
+        byte[] nonce = bytes(12);
+        for (int length : new int[]{0, 1, 15, 16, 17, 64, 1000}) {
+            byte[] data = bytes(length);
+            byte[] add = bytes(length % 20);
+            byte[] expected = new byte[length + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+            byte[] cipher = new byte[expected.length];
+            assertEquals(0, nat.crypto_aead_chacha20poly1305_ietf_encrypt(expected, 0, data, 0, length, add, nonce, key));
+            assertEquals(0, java.crypto_aead_chacha20poly1305_ietf_encrypt(cipher, 0, data, 0, length, add, nonce, key));
+            assertArrayEquals(expected, cipher);
+
+            byte[] decrypted = new byte[length];
+            assertEquals(0, java.crypto_aead_chacha20poly1305_ietf_decrypt(decrypted, 0, cipher, 0, cipher.length, add, nonce, key));
+            assertArrayEquals(data, decrypted);
+
+            cipher[cipher.length - 1] ^= 1;
+            assertEquals(-1, java.crypto_aead_chacha20poly1305_ietf_decrypt(decrypted, 0, cipher, 0, cipher.length, add, nonce, key));
+        }
+    }
+
+    @Test
+    public void testAead_xchacha20poly1305_ietf() {
+        byte[] key = bytes(32);
+        byte[] nonce = bytes(24);
+        byte[] data = bytes(300);
+        byte[] add = bytes(7);
+        byte[] expected = new byte[data.length + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
+        assertEquals(0, nat.crypto_aead_xchacha20poly1305_ietf_encrypt(expected, 0, data, 0, data.length, add, nonce, key));
+
+        // in place, shifted by a prefix as the wallet does with its nonce
+        byte[] buffer = new byte[24 + expected.length];
+        System.arraycopy(data, 0, buffer, 24, data.length);
+        assertEquals(0, java.crypto_aead_xchacha20poly1305_ietf_encrypt(buffer, 24, buffer, 24, data.length, add, nonce, key));
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer, 24, buffer.length));
+
+        assertEquals(0, java.crypto_aead_xchacha20poly1305_ietf_decrypt(buffer, 0, buffer, 24, expected.length, add, nonce, key));
+        assertArrayEquals(data, Arrays.copyOf(buffer, data.length));
+    }
+
+    @Test
+    public void testSign_ed25519() {
+        byte[] seed = bytes(32);
+        byte[] pk = new byte[32];
+        byte[] sk = new byte[64];
+        byte[] javaPk = new byte[32];
+        byte[] javaSk = new byte[64];
+        assertEquals(0, nat.crypto_sign_ed25519_seed_keypair(pk, sk, seed));
+        assertEquals(0, java.crypto_sign_ed25519_seed_keypair(javaPk, javaSk, seed));
+        assertArrayEquals(pk, javaPk);
+        assertArrayEquals(sk, javaSk);
+
+        byte[] data = bytes(100);
+        byte[] expected = new byte[64];
+        byte[] sign = new byte[64];
+        assertEquals(0, nat.crypto_sign_ed25519_detached(expected, data, data.length, sk));
+        assertEquals(0, java.crypto_sign_ed25519_detached(sign, data, data.length, sk));
+        assertArrayEquals(expected, sign);
+        assertEquals(0, java.crypto_sign_ed25519_verify_detached(sign, data, data.length, pk));
+
+        data[0] ^= 1;
+        assertEquals(-1, java.crypto_sign_ed25519_verify_detached(sign, data, data.length, pk));
+    }
+
+    @Test
+    public void testSign_ed25519_verify_detached_batch() {
+        int size = 10;
+        byte[][] data = new byte[size][];
+        byte[][] sign = new byte[size][];
+        byte[][] pk = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            byte[] sk = new byte[64];
+            pk[i] = new byte[32];
+            nat.crypto_sign_ed25519_seed_keypair(pk[i], sk, bytes(32));
+            data[i] = bytes(i * 10);
+            sign[i] = new byte[64];
+            nat.crypto_sign_ed25519_detached(sign[i], data[i], data[i].length, sk);
+        }
+        data[3] = bytes(5);
+        sign[5] = null;
+
+        boolean[] expected = new boolean[size];
+        boolean[] results = new boolean[size];
+        assertEquals(2, nat.crypto_sign_ed25519_verify_detached_batch(sign, data, pk, 0, size, expected));
+        assertEquals(1, java.crypto_sign_ed25519_verify_detached_batch(sign, data, pk, 4, 6, results));
+        assertArrayEquals(Arrays.copyOfRange(expected, 4, size), Arrays.copyOfRange(results, 4, size));
+        assertEquals(false, expected[3]);
+    }
+
+    @Test
+    public void testSign_ed25519_small_order() {
+        // small order points of libsodium, with and without the sign bit
+        String[] points = {
+                "0000000000000000000000000000000000000000000000000000000000000000",
+                "0100000000000000000000000000000000000000000000000000000000000000",
+                "26e8958fc2b227b045c3f489f2ef98f0d5dfac05d3c63339b13802886d53fc05",
+                "c7176a703d4dd84fba3c0b760d10670f2a2053fa2c39ccc64ec7fd7792ac037a",
+                "ecffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f",
+                "edffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f",
+                "eeffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f",
+                "26e8958fc2b227b045c3f489f2ef98f0d5dfac05d3c63339b13802886d53fc85",
+                "0100000000000000000000000000000000000000000000000000000000000080"
+        };
+        byte[] data = bytes(50);
+        for (String point : points) {
+            byte[] pk = hex(point);
+            // R the identity and S zero satisfy the RFC 8032 equation for any message under a small order key
+            byte[] forged = new byte[64];
+            forged[0] = 1;
+            assertEquals(-1, nat.crypto_sign_ed25519_verify_detached(forged, data, data.length, pk));
+            assertEquals(-1, java.crypto_sign_ed25519_verify_detached(forged, data, data.length, pk));
+        }
+
+        byte[] pk = new byte[32];
+        byte[] sk = new byte[64];
+        nat.crypto_sign_ed25519_seed_keypair(pk, sk, bytes(32));
+        for (String point : points) {
+            byte[] sign = new byte[64];
+            System.arraycopy(hex(point), 0, sign, 0, 32);
+            assertEquals(-1, nat.crypto_sign_ed25519_verify_detached(sign, data, data.length, pk));
+            assertEquals(-1, java.crypto_sign_ed25519_verify_detached(sign, data, data.length, pk));
+        }
+
+        boolean[] results = new boolean[1];
+        byte[] forged = new byte[64];
+        forged[0] = 1;
+        assertEquals(1, java.crypto_sign_ed25519_verify_detached_batch(new byte[][]{forged}, new byte[][]{data}, new byte[][]{hex(points[1])}, 0, 1, results));
+    }
+
+    @Test
+    public void testSign_ed25519_non_canonical() {
+        byte[] pk = new byte[32];
+        byte[] sk = new byte[64];
+        nat.crypto_sign_ed25519_seed_keypair(pk, sk, bytes(32));
+        byte[] data = bytes(50);
+        byte[] sign = new byte[64];
+        nat.crypto_sign_ed25519_detached(sign, data, data.length, sk);
+
+        // S + L verifies under the RFC 8032 equation, libsodium rejects S not below L
+        byte[] malleable = sign.clone();
+        int carry = 0;
+        byte[] l = hex("edd3f55c1a631258d69cf7a2def9de1400000000000000000000000000000010");
+        for (int i = 0; i < 32; i++) {
+            carry += (malleable[32 + i] & 0xff) + (l[i] & 0xff);
+            malleable[32 + i] = (byte) carry;
+            carry >>= 8;
+        }
+        assertEquals(-1, nat.crypto_sign_ed25519_verify_detached(malleable, data, data.length, pk));
+        assertEquals(-1, java.crypto_sign_ed25519_verify_detached(malleable, data, data.length, pk));
+
+        // y = p + 2 encodes y = 2 as a non canonical key
+        byte[] nonCanonical = hex("efffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f");
+        assertEquals(-1, nat.crypto_sign_ed25519_verify_detached(sign, data, data.length, nonCanonical));
+        assertEquals(-1, java.crypto_sign_ed25519_verify_detached(sign, data, data.length, nonCanonical));
+        assertEquals(0, java.crypto_sign_ed25519_verify_detached(sign, data, data.length, pk));
+    }
+
+    @Test
+    public void testScalarmult_curve25519() {
+        byte[] sk = bytes(32);
+        byte[] other = bytes(32);
+        byte[] pk = new byte[32];
+        byte[] expected = new byte[32];
+        byte[] agreement = new byte[32];
+        assertEquals(0, nat.crypto_scalarmult_curve25519_base(expected, sk));
+        assertEquals(0, java.crypto_scalarmult_curve25519_base(pk, sk));
+        assertArrayEquals(expected, pk);
+
+        assertEquals(0, nat.crypto_scalarmult_curve25519(expected, other, pk));
+        assertEquals(0, java.crypto_scalarmult_curve25519(agreement, other, pk));
+        assertArrayEquals(expected, agreement);
+
+        // all zero shared secret of a low order point
+        assertEquals(-1, java.crypto_scalarmult_curve25519(agreement, other, new byte[32]));
+    }
+
+    @Test
+    public void testAuth_hmacsha256() {
+        byte[] key = bytes(32);
+        byte[] data = bytes(200);
+        byte[] expected = new byte[32];
+        byte[] mac = new byte[32];
+        assertEquals(0, nat.crypto_auth_hmacsha256(expected, data, data.length, key));
+        assertEquals(0, java.crypto_auth_hmacsha256(mac, data, data.length, key));
+        assertArrayEquals(expected, mac);
+        assertEquals(0, java.crypto_auth_hmacsha256_verify(mac, data, data.length, key));
+
+        mac[0] ^= 1;
+        assertEquals(-1, java.crypto_auth_hmacsha256_verify(mac, data, data.length, key));
+    }
+
+    @Test
+    public void testGenerichash() {
+        byte[] data = bytes(500);
+        for (byte[] key : new byte[][]{null, bytes(16), bytes(64)}) {
+            for (int length : new int[]{16, 32, 64}) {
+                byte[] expected = new byte[length];
+                byte[] hash = new byte[length];
+                assertEquals(0, nat.crypto_generichash(expected, length, data, data.length, key));
+                assertEquals(0, java.crypto_generichash(hash, length, data, data.length, key));
+                assertArrayEquals(expected, hash);
+            }
+        }
+    }
+
+    private static byte[] hex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
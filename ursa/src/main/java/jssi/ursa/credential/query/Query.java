@@ -28,6 +28,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Wallet Query Language (WQL) expression over record tags or credential attributes.
+ *
+ * Tag names starting with '~' address plaintext tags and accept every operator,
+ * the remaining names address encrypted tags and only accept $eq, $neq and $in.
+ */
 public class Query {
 
     private static final Logger LOG = LoggerFactory.getLogger(Query.class);
@@ -74,6 +80,10 @@ public class Query {
         return values;
     }
 
+    public boolean isPlaintext(){
+        return key != null && key.startsWith("~");
+    }
+
     @Override
     public String toString(){
         switch (op){
@@ -91,8 +101,10 @@ public class Query {
                 return String.format("{\"%s\":{\"$lte\":\"%s\"}}", key, value);
             case Like:
                 return String.format("{\"%s\":{\"$like\":\"%s\"}}", key, value);
-            case In:
-                return String.format("{\"%s\":{\"$in\":[%s]}}", key, String.join(",", values));
+            case In: {
+                List<String> quoted = values.stream().map(item -> String.format("\"%s\"", item)).collect(Collectors.toList());
+                return String.format("{\"%s\":{\"$in\":[%s]}}", key, String.join(",", quoted));
+            }
             case And:{
                 List<String> values = operators.stream().map(Query::toString).collect(Collectors.toList());
                 return String.format("{\"$and\":[%s]}", String.join(",", values));
@@ -176,6 +188,8 @@ public class Query {
         Map.Entry<String, JsonNode> field = fields.next();
 
         switch(field.getKey()) {
+            case "$eq":
+                return new Query(QueryOp.Eq, key, field.getValue().asText());
             case "$neq":
                 return new Query(QueryOp.Neq, key, field.getValue().asText());
             case "$gt":
@@ -191,7 +205,7 @@ public class Query {
             case "$in":{
                 List<String> values = new ArrayList<>();
                 for(JsonNode value : field.getValue()){
-                    values.add(String.format("\"%s\"", value.asText()));
+                    values.add(value.asText());
                 }
                 return new Query(QueryOp.In, key, values);
             }
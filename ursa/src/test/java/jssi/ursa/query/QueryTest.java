@@ -18,9 +18,14 @@ package jssi.ursa.query;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import jssi.ursa.credential.query.Query;
+import jssi.ursa.credential.query.QueryOp;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class QueryTest {
 
@@ -79,4 +84,30 @@ class QueryTest {
         String result = Query.build(query).toString();
         assertEquals("{\"$and\":[]}", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void Plaintext() throws JsonProcessingException {
+        assertFalse(Query.build(String.format("{\"%s\":\"%s\"}", "name", "value")).isPlaintext());
+        assertTrue(Query.build(String.format("{\"%s\":{\"$gt\":\"%s\"}}", "~name", "value")).isPlaintext());
+    }
+
+    @Test
+    void ExplicitEq() throws JsonProcessingException {
+        Query result = Query.build(String.format("{\"%s\":{\"$eq\":\"%s\"}}", "name", "value"));
+        assertEquals(QueryOp.Eq, result.getOp());
+        assertEquals(String.format("{\"%s\":\"%s\"}", "name", "value"), result.toString());
+    }
+
+    @Test
+    void InValues() throws JsonProcessingException {
+        Query result = Query.build(String.format("{\"%s\":{\"$in\":[\"%s\",\"%s\"]}}", "name", "value1", "value2"));
+        assertEquals(Arrays.asList("value1", "value2"), result.getValues());
+    }
+
+    @Test
+    void ImplicitAnd() throws JsonProcessingException {
+        Query result = Query.build(String.format("{\"%s\":\"%s\",\"%s\":\"%s\"}", "name1", "value1", "~name2", "value2"));
+        assertEquals(QueryOp.And, result.getOp());
+        assertEquals(2, result.getOperators().size());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.wallet.crypto.Keys;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.StoreHelper;
+import org.libsodium.jni.NaCl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Records per second stored one by one, in a single transaction and in a single transaction
+ * encrypted in parallel. Every invocation stores a fresh batch on a temporary database.
+ *
+ * @author ITON Solutions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WalletBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private String path;
+    private Wallet wallet;
+    private List<WalletRecord> records;
+    private int run;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        NaCl.sodium();
+        path = File.createTempFile("wallet", ".db").getAbsolutePath();
+        ConnectionSource source = StoreHelper.getSource(path);
+        StoreHelper.createTables(source);
+        wallet = new Wallet("wallet_benchmark", new Keys().init(), source);
+    }
+
+    @Setup(Level.Invocation)
+    public void batch() {
+        run++;
+        records = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            Map<String, String> tags = new HashMap<>();
+            tags.put("INDEX", String.valueOf(i));
+            tags.put("~INDEX", String.valueOf(i));
+            records.add(new WalletRecord("AIPE:benchmark", String.format("%d-%d", run, i), "Hello Alice", tags));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void addRecord() throws Exception {
+        for (WalletRecord record : records) {
+            wallet.addRecord(record);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int addRecords() throws Exception {
+        return wallet.addRecords(records).size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int addRecordsParallel() throws Exception {
+        return wallet.addRecords(records, ForkJoinPool.commonPool()).size();
+    }
+}
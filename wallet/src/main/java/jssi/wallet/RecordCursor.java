@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import jssi.wallet.crypto.Keys;
+import jssi.wallet.model.Item;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.ItemDao;
+import org.libsodium.jni.SodiumException;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Forward only cursor over the wallet records.
+ *
+ * Items are read in pages ordered by id and decrypted one at a time on {@link #next()},
+ * so at most one page of encrypted items is held in memory whatever the wallet size.
+ * A failed page read is thrown, it never ends the cursor early.
+ */
+public class RecordCursor {
+
+    public static final int PAGE_SIZE = 256;
+
+    private final ItemDao itemDao;
+    private final Keys keys;
+    private final int pageSize;
+
+    private Iterator<Item> page = Collections.emptyIterator();
+    private int lastId = 0;
+    private boolean exhausted = false;
+
+    RecordCursor(ItemDao itemDao, Keys keys, int pageSize) {
+        if(pageSize <= 0){
+            throw new IllegalArgumentException(String.format("Invalid page size %d", pageSize));
+        }
+        this.itemDao = itemDao;
+        this.keys = keys;
+        this.pageSize = pageSize;
+    }
+
+    public boolean hasNext() throws SQLException {
+        if(!page.hasNext() && !exhausted){
+            fetch();
+        }
+        return page.hasNext();
+    }
+
+    public WalletRecord next() throws SodiumException, SQLException {
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+        Item item = page.next();
+        lastId = item.getId();
+        return new WalletRecord().decrypt(item, keys);
+    }
+
+    private void fetch() throws SQLException {
+        List<Item> items = itemDao.queryForPage(lastId, pageSize);
+        exhausted = items.size() < pageSize;
+        page = items.iterator();
+    }
+}
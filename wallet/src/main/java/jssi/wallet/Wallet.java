@@ -15,9 +15,12 @@
  */
 package jssi.wallet;
 
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.ursa.credential.query.Query;
 import jssi.wallet.crypto.Crypto;
 import jssi.wallet.crypto.Keys;
 import jssi.wallet.model.Item;
+import jssi.wallet.query.QueryCompiler;
 import jssi.wallet.record.ItemTags;
 import jssi.wallet.record.ItemValue;
 import jssi.wallet.record.WalletRecord;
@@ -25,46 +28,104 @@ import jssi.wallet.store.EncryptedDao;
 import jssi.wallet.store.ItemDao;
 import jssi.wallet.store.PlaintextDao;
 import jssi.wallet.store.PreexistingEntityException;
+import jssi.wallet.store.StoreHelper;
+import jssi.wallet.util.LruCache;
 import org.libsodium.jni.SodiumException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class Wallet {
 
     private static final Logger LOG = LoggerFactory.getLogger(Wallet.class);
 
+    // cache budgets in bytes
+    private static final long RECORD_CACHE_SIZE = 8 * 1024 * 1024;
+    private static final long SEARCHABLE_CACHE_SIZE = 1024 * 1024;
+
     private final String id;
     private final Keys keys;
     private final ItemDao itemDao;
     private final EncryptedDao encryptedDao;
     private final PlaintextDao plaintextDao;
+    private final ConnectionSource source;
+    private final LruCache<List<String>, WalletRecord> recordCache;
+    private final LruCache<List<String>, byte[][]> searchableCache;
+    // records written by the transaction of the calling thread, invalidated again when it ends
+    private final ThreadLocal<Set<List<String>>> transaction = new ThreadLocal<>();
+    private volatile boolean closed = false;
     
     Wallet(String id, Keys keys) {
+        this(id, keys, StoreHelper.getSource());
+    }
+
+    Wallet(String id, Keys keys, ConnectionSource source) {
         this.id = id;
         this.keys = keys;
-        this.itemDao = new ItemDao();
-        this.encryptedDao = new EncryptedDao();
-        this.plaintextDao = new PlaintextDao();
+        this.source = source;
+        this.itemDao = new ItemDao(source);
+        this.encryptedDao = new EncryptedDao(source);
+        this.plaintextDao = new PlaintextDao(source);
+        this.recordCache = new LruCache<>(RECORD_CACHE_SIZE, new LruCache.Weigher<WalletRecord>() {
+            @Override
+            public int weigh(WalletRecord record) {
+                return record.weigh();
+            }
+        });
+        this.searchableCache = new LruCache<>(SEARCHABLE_CACHE_SIZE, new LruCache.Weigher<byte[][]>() {
+            @Override
+            public int weigh(byte[][] searchable) {
+                return searchable[0].length + searchable[1].length;
+            }
+        });
     }
     
+    /**
+     * Records are cached unless another thread invalidated the cache while the record was read.
+     * Reads inside {@link #callInTransaction(Callable)} see uncommitted changes and bypass the cache.
+     */
     public WalletRecord findRecord(String type, String name) throws SodiumException {
 
+        checkOpen();
+        List<String> key = Arrays.asList(type, name);
+        boolean cached = transaction.get() == null;
+        if(cached){
+            WalletRecord record = recordCache.get(key);
+            if(record != null){
+                return record.copy();
+            }
+        }
+
+        long stamp = recordCache.stamp();
         Item item = findItem(type, name);
         if(item == null){
             return null;
         }
-        WalletRecord record = new WalletRecord();
-        return record.decrypt(item, keys);
+        WalletRecord record = new WalletRecord().decrypt(item, keys);
+        checkOpen();
+        if(cached){
+            recordCache.put(key, record.copy(), stamp);
+        }
+        return record;
     }
     
     public List<WalletRecord> findAllRecords() throws SodiumException, SQLException {
-        
+
+        checkOpen();
         List<WalletRecord> records = new ArrayList<>();
         
         List<Item> items = itemDao.queryForAll();
@@ -74,9 +135,38 @@ public class Wallet {
         return records;
     }
 
+    public RecordCursor cursor() {
+        return cursor(RecordCursor.PAGE_SIZE);
+    }
+
+    public RecordCursor cursor(int pageSize) {
+        checkOpen();
+        return new RecordCursor(itemDao, keys, pageSize);
+    }
+
+    public List<WalletRecord> searchRecords(String type, String query) throws SodiumException, SQLException, IOException {
+        return searchRecords(type, Query.build(query));
+    }
+
+    public List<WalletRecord> searchRecords(String type, Query query) throws SodiumException, SQLException {
+
+        checkOpen();
+        List<WalletRecord> records = new ArrayList<>();
+
+        byte[] encryptedType = type == null ? null
+                : Crypto.encryptAsSearchable(type.getBytes(), keys.getTypeKey(), keys.getItemHmacKey());
+        QueryCompiler compiler = new QueryCompiler(keys).compile(query);
+
+        List<Item> items = itemDao.query(encryptedType, compiler.getClause(), compiler.getArguments());
+        for(Item item : items) {
+            records.add(new WalletRecord().decrypt(item, keys));
+        }
+        return records;
+    }
 
     public void addRecordTags(WalletRecord record, Map<String, String> tags) throws SodiumException {
 
+        checkOpen();
         Item item = findItem(record.getType(), record.getName());
 
         if(item == null){
@@ -85,12 +175,15 @@ public class Wallet {
 
         ItemTags itemTags = new ItemTags();
         itemTags.encrypt(item, tags, keys.getTagNameKey(), keys.getTagValueKey(), keys.getTagsHmacKey());
+        checkOpen();
         encryptedDao.create(itemTags.getEncrypted());
         plaintextDao.create(itemTags.getPlaintext());
+        invalidate(record.getType(), record.getName());
     }
 
     public void deleteRecordTags(WalletRecord record, Map<String, String> tags) throws SodiumException {
 
+        checkOpen();
         Item item = findItem(record.getType(), record.getName());
 
         if(item == null){
@@ -99,25 +192,108 @@ public class Wallet {
 
         ItemTags itemTags = new ItemTags();
         itemTags.encrypt(item, tags, keys.getTagNameKey(), keys.getTagValueKey(), keys.getTagsHmacKey());
+        checkOpen();
         encryptedDao.delete(itemTags.getEncrypted());
         plaintextDao.delete(itemTags.getPlaintext());
+        invalidate(record.getType(), record.getName());
     }
 
 
     public Item addRecord(WalletRecord record) throws SodiumException, PreexistingEntityException {
+        checkOpen();
         Item item = record.encrypt(keys);
-        int result = itemDao.create(item);
-
-        if(result == 0){
-            throw new PreexistingEntityException("Item already exists");
-        }
-
+        checkOpen();
+        insert(item);
         encryptedDao.create(item.getEncrypted());
         plaintextDao.create(item.getPlaintext());
+
+        invalidate(record.getType(), record.getName());
         return item;
     }
+
+    /**
+     * Adds all records in a single transaction, either every record is stored or none.
+     * Records are encrypted before the transaction is opened to keep it short.
+     */
+    public List<Item> addRecords(Collection<WalletRecord> records) throws SodiumException, PreexistingEntityException, SQLException {
+        return addRecords(records, null);
+    }
+
+    /**
+     * Same as {@link #addRecords(Collection)}, records are encrypted in parallel on the given pool,
+     * a null pool encrypts them in the calling thread.
+     */
+    public List<Item> addRecords(Collection<WalletRecord> records, ForkJoinPool pool) throws SodiumException, PreexistingEntityException, SQLException {
+
+        checkOpen();
+        List<Item> items = encrypt(records, pool);
+        checkOpen();
+
+        try {
+            StoreHelper.callInTransaction(source, new Callable<Void>() {
+                @Override
+                public Void call() throws PreexistingEntityException, SQLException {
+                    for(Item item : items){
+                        insert(item);
+                        if(encryptedDao.create(item.getEncrypted()) != item.getEncrypted().size()
+                                || plaintextDao.create(item.getPlaintext()) != item.getPlaintext().size()){
+                            throw new SQLException(String.format("Unable to store tags of %s", item));
+                        }
+                    }
+                    return null;
+                }
+            });
+        } catch (SQLException e){
+            if(e.getCause() instanceof PreexistingEntityException){
+                throw (PreexistingEntityException) e.getCause();
+            }
+            throw e;
+        } finally {
+            for(WalletRecord record : records){
+                invalidate(record.getType(), record.getName());
+            }
+        }
+        return items;
+    }
     
+    private List<Item> encrypt(Collection<WalletRecord> records, ForkJoinPool pool) throws SodiumException {
+
+        List<Item> items = new ArrayList<>(records.size());
+        if(pool == null || records.size() < 2){
+            for(WalletRecord record : records){
+                items.add(record.encrypt(keys));
+            }
+            return items;
+        }
+
+        List<Callable<Item>> tasks = new ArrayList<>(records.size());
+        for(final WalletRecord record : records){
+            tasks.add(new Callable<Item>() {
+                @Override
+                public Item call() throws SodiumException {
+                    return record.encrypt(keys);
+                }
+            });
+        }
+
+        try {
+            for(Future<Item> future : pool.invokeAll(tasks)){
+                items.add(future.get());
+            }
+        } catch (ExecutionException e){
+            if(e.getCause() instanceof SodiumException){
+                throw (SodiumException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new SodiumException(e.getMessage());
+        }
+        return items;
+    }
+
     public int count() {
+        checkOpen();
         return itemDao.getCount();
     }
 
@@ -127,6 +303,7 @@ public class Wallet {
     
     public void deleteRecord(String type, String name) {
 
+        checkOpen();
         Item item = findItem(type, name);
 
         if(item == null){
@@ -136,25 +313,34 @@ public class Wallet {
         encryptedDao.delete(item.getEncrypted());
         plaintextDao.delete(item.getPlaintext());
         itemDao.delete(item);
+        invalidate(type, name);
     }
 
-    public void updateRecordValue(WalletRecord record, String value) throws SodiumException {
+    /**
+     * @return false if the wallet has no such record
+     */
+    public boolean updateRecordValue(WalletRecord record, String value) throws SodiumException {
 
+        checkOpen();
         Item item = findItem(record.getType(), record.getName());
 
         if(item == null){
-            return;
+            return false;
         }
 
         ItemValue itemValue = new ItemValue(item);
         itemValue = itemValue.encrypt(value.getBytes(), keys.getValueKey());
+        checkOpen();
         item.setValue(itemValue.getValue());
         item.setKey(itemValue.getKey());
         itemDao.update(item);
+        invalidate(record.getType(), record.getName());
+        return true;
     }
 
     public void updateRecordTags(WalletRecord record, Map<String, String> tags) throws SodiumException {
 
+        checkOpen();
         Item item = findItem(record.getType(), record.getName());
         if(item == null){
             return;
@@ -169,23 +355,112 @@ public class Wallet {
 
         ItemTags itemTags = new ItemTags();
         itemTags.encrypt(item, aggregated, keys.getTagNameKey(), keys.getTagValueKey(), keys.getTagsHmacKey());
+        checkOpen();
         encryptedDao.update(itemTags.getEncrypted());
         plaintextDao.update(itemTags.getPlaintext());
+        invalidate(record.getType(), record.getName());
+    }
+
+    /**
+     * Runs the callable in a single transaction, wallet calls made by the callable on the calling thread
+     * join the transaction. A failing callable rolls every change back. Records written by the callable
+     * are invalidated once more when the transaction ends, dropping what other threads cached before
+     * the commit.
+     */
+    public <T> T callInTransaction(Callable<T> callable) throws SQLException {
+        checkOpen();
+        if(transaction.get() != null){
+            return StoreHelper.callInTransaction(source, callable);
+        }
+
+        Set<List<String>> written = new HashSet<>();
+        transaction.set(written);
+        try {
+            return StoreHelper.callInTransaction(source, callable);
+        } finally {
+            transaction.remove();
+            for(List<String> key : written){
+                recordCache.remove(key);
+            }
+        }
     }
 
     public String getId() {
         return id;
     }
 
+    /**
+     * @return true once the keys are zeroed, every record operation then throws {@link IllegalStateException}
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Drops the caches and zeroes the keys, called by {@link WalletRegistry} once no service uses the wallet.
+     * Operations check the state before and after using the keys, so nothing encrypted under zeroed keys is written.
+     */
+    void close() {
+        closed = true;
+        recordCache.clear();
+        searchableCache.clear();
+        keys.clear();
+    }
+
+    /**
+     * Decrypted records returned by {@link #findRecord(String, String)}, exposed for hit and miss metrics.
+     */
+    public LruCache<List<String>, WalletRecord> getRecordCache() {
+        return recordCache;
+    }
+
+    /**
+     * Searchable type and name ciphertexts used to look items up, exposed for hit and miss metrics.
+     */
+    public LruCache<List<String>, byte[][]> getSearchableCache() {
+        return searchableCache;
+    }
+
+    private void checkOpen() {
+        if(closed){
+            throw new IllegalStateException(String.format("Wallet %s is closed", id));
+        }
+    }
+
+    private void invalidate(String type, String name) {
+        List<String> key = Arrays.asList(type, name);
+        recordCache.remove(key);
+
+        Set<List<String>> written = transaction.get();
+        if(written != null){
+            written.add(key);
+        }
+    }
+
+    private void insert(Item item) throws PreexistingEntityException {
+        int result = itemDao.create(item);
+
+        if(result == 0){
+            throw new PreexistingEntityException("Item already exists");
+        }
+    }
+
     private Item findItem(String type, String name){
         Item item = null;
         try {
-            byte[] encryptedType = type == null ? new byte[0]
-                    : Crypto.encryptAsSearchable(type.getBytes(), keys.getTypeKey(), keys.getItemHmacKey());
-            byte[] encryptedName = name == null ? new byte[0]
-                    : Crypto.encryptAsSearchable(name.getBytes(), keys.getNameKey(), keys.getItemHmacKey());
+            List<String> key = Arrays.asList(type, name);
+            byte[][] searchable = searchableCache.get(key);
+
+            if(searchable == null) {
+                byte[] encryptedType = type == null ? new byte[0]
+                        : Crypto.encryptAsSearchable(type.getBytes(), keys.getTypeKey(), keys.getItemHmacKey());
+                byte[] encryptedName = name == null ? new byte[0]
+                        : Crypto.encryptAsSearchable(name.getBytes(), keys.getNameKey(), keys.getItemHmacKey());
+                searchable = new byte[][]{encryptedType, encryptedName};
+                searchableCache.put(key, searchable);
+            }
 
-            item = itemDao.queryForFirst(encryptedType, encryptedName);
+            item = itemDao.queryForFirst(searchable[0], searchable[1]);
         } catch (SodiumException e){
             LOG.error(String.format("Error: %s", e.getMessage()));
         }
@@ -0,0 +1,238 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.wallet.crypto.Crypto;
+import jssi.wallet.crypto.Method;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process wide registry of open wallets. Unlocked keys stay in memory so that opening the same wallet again
+ * skips the key derivation, the passphrase is checked against a salted digest instead. Wallets no service
+ * holds are closed, and their keys zeroed, once idle for longer than the idle timeout. A closed wallet throws
+ * {@link IllegalStateException} on every record operation, holders must not keep it past its release.
+ *
+ * @author ITON Solutions
+ */
+public final class WalletRegistry {
+
+    public static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    private static final long SWEEP_PERIOD = TimeUnit.SECONDS.toMillis(10);
+
+    private static final byte[] SALT = new byte[32];
+    private static final Map<List<Object>, Entry> WALLETS = new ConcurrentHashMap<>();
+    // evicted wallets still held by a service, closed on their last release
+    private static final Map<Wallet, Entry> EVICTED = new ConcurrentHashMap<>();
+    private static volatile long idleTimeout = IDLE_TIMEOUT;
+
+    static {
+        new SecureRandom().nextBytes(SALT);
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "wallet-registry");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        sweeper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sweep();
+            }
+        }, SWEEP_PERIOD, SWEEP_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    private WalletRegistry(){}
+
+    /**
+     * @return the open wallet when it is registered under the same passphrase, null otherwise
+     */
+    static Wallet acquire(ConnectionSource source, String id, String passphrase, Method method) {
+        Entry entry = WALLETS.get(Arrays.<Object>asList(source, id));
+        if(entry == null || !MessageDigest.isEqual(entry.digest, digest(passphrase, method))){
+            return null;
+        }
+        return entry.acquire() ? entry.wallet : null;
+    }
+
+    /**
+     * Registers a freshly unlocked wallet. When another thread registered the same wallet first that one is
+     * returned and the given wallet is closed.
+     */
+    static Wallet register(ConnectionSource source, String id, String passphrase, Method method, Wallet wallet) {
+        byte[] digest = digest(passphrase, method);
+        List<Object> key = Arrays.<Object>asList(source, id);
+        while(true){
+            Entry entry = WALLETS.putIfAbsent(key, new Entry(wallet, digest));
+            if(entry == null){
+                return wallet;
+            }
+            if(!MessageDigest.isEqual(entry.digest, digest)){
+                // unlocked with another passphrase, the caller keeps its own wallet
+                return wallet;
+            }
+            if(entry.acquire()){
+                wallet.close();
+                return entry.wallet;
+            }
+            WALLETS.remove(key, entry);
+        }
+    }
+
+    static void release(ConnectionSource source, String id, Wallet wallet) {
+        Entry entry = WALLETS.get(Arrays.<Object>asList(source, id));
+        if(entry != null && entry.wallet == wallet){
+            entry.release();
+            return;
+        }
+
+        entry = EVICTED.get(wallet);
+        if(entry != null && entry.release()){
+            EVICTED.remove(wallet, entry);
+        }
+    }
+
+    /**
+     * Removes the wallet from the registry, the next open derives the keys again. The wallet is closed right away
+     * when no service holds it, otherwise on the last release, its keys are never zeroed under a live holder.
+     */
+    public static void evict(ConnectionSource source, String id) {
+        Entry entry = WALLETS.remove(Arrays.<Object>asList(source, id));
+        if(entry != null){
+            // registered first, a release racing with the eviction finds the entry
+            EVICTED.put(entry.wallet, entry);
+            if(entry.evict()){
+                EVICTED.remove(entry.wallet, entry);
+            }
+        }
+    }
+
+    public static void clear() {
+        for(List<Object> key : WALLETS.keySet()){
+            evict((ConnectionSource) key.get(0), (String) key.get(1));
+        }
+    }
+
+    public static void setIdleTimeout(long millis) {
+        idleTimeout = millis;
+    }
+
+    public static int size() {
+        return WALLETS.size();
+    }
+
+    static void sweep() {
+        long now = System.currentTimeMillis();
+        for(Map.Entry<List<Object>, Entry> entry : WALLETS.entrySet()){
+            if(entry.getValue().expire(now - idleTimeout)){
+                WALLETS.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static byte[] digest(String passphrase, Method method) {
+        byte[] secret = (method.name() + ":" + passphrase).getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[SALT.length + secret.length];
+        System.arraycopy(SALT, 0, data, 0, SALT.length);
+        System.arraycopy(secret, 0, data, SALT.length, secret.length);
+        byte[] digest = Crypto.hash256(data);
+        Arrays.fill(data, (byte) 0);
+        Arrays.fill(secret, (byte) 0);
+        return digest;
+    }
+
+    private static class Entry {
+
+        private final Wallet wallet;
+        private final byte[] digest;
+        private int references = 1;
+        private long lastAccess = System.currentTimeMillis();
+        private boolean closed = false;
+        private boolean evicted = false;
+
+        Entry(Wallet wallet, byte[] digest) {
+            this.wallet = wallet;
+            this.digest = digest;
+        }
+
+        synchronized boolean acquire() {
+            if(closed || evicted){
+                return false;
+            }
+            references++;
+            lastAccess = System.currentTimeMillis();
+            return true;
+        }
+
+        /**
+         * @return true when the release closed the evicted entry
+         */
+        synchronized boolean release() {
+            if(references > 0){
+                references--;
+            }
+            lastAccess = System.currentTimeMillis();
+            if(evicted && references == 0){
+                close();
+            }
+            return closed;
+        }
+
+        /**
+         * Closes the entry when no service holds it, otherwise the last release does.
+         *
+         * @return true when the entry is closed
+         */
+        synchronized boolean evict() {
+            evicted = true;
+            if(references == 0){
+                close();
+            }
+            return closed;
+        }
+
+        /**
+         * Closes the entry when no service holds it and it was last used before the given time.
+         */
+        synchronized boolean expire(long before) {
+            if(closed || (references == 0 && lastAccess <= before)){
+                close();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void close() {
+            if(!closed){
+                closed = true;
+                wallet.close();
+            }
+        }
+    }
+}
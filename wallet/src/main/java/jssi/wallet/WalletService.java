@@ -16,13 +16,21 @@
 package jssi.wallet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.j256.ormlite.support.ConnectionSource;
+import io.reactivex.Emitter;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.functions.BiConsumer;
 import io.reactivex.functions.Function;
+import jssi.wallet.record.WalletRecord;
 import jssi.wallet.crypto.KeyDerivationData;
 import jssi.wallet.crypto.Keys;
 import jssi.wallet.crypto.KeysMetadata;
+import jssi.wallet.crypto.Method;
 import jssi.wallet.model.Metadata;
 import jssi.wallet.store.MetadataDao;
+import jssi.wallet.store.SchemaMigrator;
+import jssi.wallet.store.StoreHelper;
 import org.json.JSONObject;
 import org.libsodium.api.Crypto_randombytes;
 import org.libsodium.jni.SodiumException;
@@ -30,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.sql.SQLException;
 import java.util.concurrent.Callable;
 
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_KEYBYTES;
@@ -45,28 +54,58 @@ public class WalletService {
     private KeyDerivationData keyDerivationData;
     private Keys keys;
     private final JSONObject credentials;
+    private final ConnectionSource source;
     private final MetadataDao metadataDao;
-    private Wallet wallet;
+    private final Method method;
+    private volatile Wallet wallet;
 
+    /**
+     * @param credentials wallet "id" and "key", plus an optional "path" to the wallet database.
+     *                    Without a path the wallet is stored in the default database. The optional
+     *                    "key_derivation_method" is one of ARGON2I_MOD (default), ARGON2I_INT or RAW,
+     *                    a RAW key is the Base58 encoded master key and skips the key derivation.
+     */
     public WalletService(final JSONObject credentials) {
         this.credentials = credentials;
-        this.metadataDao = new MetadataDao();
+        this.source = credentials.has("path") ? StoreHelper.getSource(credentials.getString("path")) : StoreHelper.getSource();
+        this.metadataDao = new MetadataDao(source);
+        this.method = Method.valueOf(credentials.optString("key_derivation_method", Method.ARGON2I_MOD.name()));
     }
     
+    /**
+     * Opens the wallet, a wallet already unlocked in this process with the same key is shared
+     * through {@link WalletRegistry} instead of deriving the keys again.
+     */
     public Observable<Wallet> open(){
         if(wallet == null) {
             LOG.debug("Open wallet");
             return Observable.fromCallable(new Callable<Wallet>() {
                 @Override
-                public Wallet call() throws IOException, SodiumException {
-                    Metadata metadata = new MetadataDao().getMetadata();
-                    keysMetadata = new ObjectMapper()
-                            .readerFor(KeysMetadata.class)
-                            .readValue(metadata.getValue());
-                    keyDerivationData = new KeyDerivationData(credentials.getString("key"), keysMetadata);
-                    keys = new Keys().deserialize(keysMetadata.getKeys(), keyDerivationData.deriveMasterKey());
-                    wallet = new Wallet(credentials.getString("id"), keys);
-                    return wallet;
+                public Wallet call() throws IOException, SodiumException, SQLException {
+                    synchronized(WalletService.this) {
+                        if(wallet != null){
+                            return wallet;
+                        }
+
+                        String id = credentials.getString("id");
+                        String key = credentials.getString("key");
+                        Wallet registered = WalletRegistry.acquire(source, id, key, method);
+                        if(registered != null){
+                            LOG.debug(String.format("Wallet unlocked in registry: id=%s", id));
+                            wallet = registered;
+                            return wallet;
+                        }
+
+                        SchemaMigrator.migrate(source);
+                        Metadata metadata = metadataDao.getMetadata();
+                        keysMetadata = new ObjectMapper()
+                                .readerFor(KeysMetadata.class)
+                                .readValue(metadata.getValue());
+                        keyDerivationData = new KeyDerivationData(key, keysMetadata, method);
+                        keys = new Keys().deserialize(keysMetadata.getKeys(), keyDerivationData.deriveMasterKey());
+                        wallet = WalletRegistry.register(source, id, key, method, new Wallet(id, keys, source));
+                        return wallet;
+                    }
                 }
             });
         } else {
@@ -75,11 +114,48 @@ public class WalletService {
         }
     }
 
-    public Observable<Boolean> close(){
+    /**
+     * Releases the wallet, its keys stay in {@link WalletRegistry} until the idle timeout.
+     */
+    public synchronized Observable<Boolean> close(){
+        if(wallet != null){
+            WalletRegistry.release(source, credentials.getString("id"), wallet);
+        }
         wallet = null;
         return Observable.just(Boolean.TRUE);
     }
 
+    public Flowable<WalletRecord> records() {
+        return records(RecordCursor.PAGE_SIZE);
+    }
+
+    public Flowable<WalletRecord> records(int pageSize) {
+        return open().firstOrError().toFlowable().flatMap(new Function<Wallet, Flowable<WalletRecord>>() {
+            @Override
+            public Flowable<WalletRecord> apply(Wallet wallet) {
+                return Flowable.generate(new Callable<RecordCursor>() {
+                    @Override
+                    public RecordCursor call() {
+                        return wallet.cursor(pageSize);
+                    }
+                }, new BiConsumer<RecordCursor, Emitter<WalletRecord>>() {
+                    @Override
+                    public void accept(RecordCursor cursor, Emitter<WalletRecord> emitter) throws SodiumException, SQLException {
+                        if(cursor.hasNext()){
+                            emitter.onNext(cursor.next());
+                        } else {
+                            emitter.onComplete();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @param config backup "path" and "key", plus an optional "chunk_size" (default {@link jssi.wallet.io.Header#CHUNK_SIZE})
+     *               and "parallel" to seal chunks on the common fork join pool.
+     */
     public Observable<Integer> export(JSONObject config) {
         return open().flatMap(new Function<Wallet, Observable<Integer>>() {
             @Override
@@ -90,6 +166,11 @@ public class WalletService {
         });
     }
     
+    /**
+     * @param config backup "path" and "key", plus an optional "batch_size" of records stored per transaction
+     *               (default {@link jssi.wallet.io.Reader#BATCH_SIZE}) and "parallel" to open chunks and encrypt
+     *               records on the common fork join pool. Progress is emitted once per stored batch.
+     */
     public Observable<Integer> restore(JSONObject config) {
         
         return open().flatMap(new Function<Wallet, Observable<Integer>>() {
@@ -108,11 +189,12 @@ public class WalletService {
 
                 byte[] salt = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_KEYBYTES];
                 Crypto_randombytes.buf(salt);
-                keyDerivationData = new KeyDerivationData(credentials.getString("key"), salt);
+                keyDerivationData = new KeyDerivationData(credentials.getString("key"), salt, method);
                 keys = new Keys().init();
                 keysMetadata = new KeysMetadata(keys.serialize(keyDerivationData.deriveMasterKey()), salt);
 
-                Metadata metadata = new Metadata(keysMetadata.toString().getBytes());
+                StoreHelper.createTables(source);
+                Metadata metadata = new Metadata(new ObjectMapper().writeValueAsBytes(keysMetadata), SchemaMigrator.VERSION);
                 metadataDao.create(metadata);
                 return Boolean.TRUE;
             }
@@ -21,6 +21,7 @@ import org.libsodium.api.Crypto_aead_chacha20poly1305_ietf;
 import org.libsodium.api.Crypto_auth_hmacsha256;
 import org.libsodium.api.Crypto_pwhash;
 import org.libsodium.api.Crypto_randombytes;
+import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_PWHASH_MEMLIMIT_INTERACTIVE;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_PWHASH_MEMLIMIT_MODERATE;
@@ -39,23 +40,23 @@ public class Crypto {
         byte[] out = Crypto_auth_hmacsha256.hmacsha256(data, hmac_key);
         byte[] nonce = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES];
         System.arraycopy(out, 0, nonce, 0, nonce.length);
-        byte[] cipher = encrypt(data, nonce, key);
-        
-        byte[] merged = new byte[nonce.length + cipher.length];
-        System.arraycopy(nonce, 0, merged, 0, nonce.length);
-        System.arraycopy(cipher, 0, merged, nonce.length, cipher.length);
-        
-        return merged;
+        return merge(data, nonce, key);
     }
     
     public static byte[] encryptAsNotSearchable(byte[] data, byte[] key) throws SodiumException {
         
         byte[] nonce = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES];
         Crypto_randombytes.buf(nonce);
-        byte[] cipher = encrypt(data, nonce, key);
-        byte[] merged = new byte[nonce.length + cipher.length];
+        return merge(data, nonce, key);
+    }
+
+    /**
+     * nonce || cipher, the cipher is written in place after the nonce.
+     */
+    private static byte[] merge(byte[] data, byte[] nonce, byte[] key) throws SodiumException {
+        byte[] merged = new byte[nonce.length + data.length + CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES];
         System.arraycopy(nonce, 0, merged, 0, nonce.length);
-        System.arraycopy(cipher, 0, merged, nonce.length, cipher.length);
+        Crypto_aead_chacha20poly1305_ietf.encrypt(merged, nonce.length, data, 0, data.length, null, nonce, key);
         return merged;
     }
     
@@ -88,9 +89,9 @@ public class Crypto {
     public static byte[] decryptMerged(byte[] data, byte[] key) throws SodiumException{
         byte[] nonce = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES];
         System.arraycopy( data, 0, nonce, 0, nonce.length );
-        byte[] cipher  = new byte[data.length - nonce.length];
-        System.arraycopy(data, nonce.length, cipher, 0, cipher.length );
-        return decrypt(cipher, nonce, key);
+        byte[] decrypted = new byte[Math.max(0, data.length - nonce.length - CRYPTO_AEAD_CHACHA20POLY1305_IETF_ABYTES)];
+        Crypto_aead_chacha20poly1305_ietf.decrypt(decrypted, 0, data, nonce.length, data.length - nonce.length, null, nonce, key);
+        return decrypted;
     }
     
     public static byte[] hash256(byte[] bytes) {
@@ -64,7 +64,7 @@ public class KeyDerivationData {
         this(passphrase, metadata, Method.ARGON2I_MOD);
     }
     
-    private KeyDerivationData(final String passphrase, final KeysMetadata metadata, Method method){
+    public KeyDerivationData(final String passphrase, final KeysMetadata metadata, Method method){
         this.method = method;
         this.passphrase = passphrase;
         
@@ -16,6 +16,7 @@
 package jssi.wallet.crypto;
 
 import java.io.IOException;
+import java.util.Arrays;
 import org.libsodium.api.Crypto_aead_chacha20poly1305_ietf;
 import org.libsodium.api.Crypto_auth_hmacsha256;
 import org.libsodium.jni.SodiumException;
@@ -110,6 +111,17 @@ public class Keys {
         return this;
     }
 
+    /**
+     * Overwrites every key with zeros, the keys are unusable afterwards.
+     */
+    public void clear(){
+        for(byte[] key : new byte[][]{typeKey, nameKey, valueKey, itemHmacKey, tagNameKey, tagValueKey, tagsHmacKey}){
+            if(key != null){
+                Arrays.fill(key, (byte) 0);
+            }
+        }
+    }
+
     public byte[] getValueKey() {
         return valueKey;
     }
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import jssi.wallet.crypto.Crypto;
+import org.libsodium.jni.SodiumException;
+
+/**
+ * Seals and opens backup chunks. Every chunk uses the header nonce incremented by its index,
+ * exactly as successive sodium_increment calls would, so chunks can be processed in any order
+ * and a batch of them runs in parallel on the given pool while results keep the stream order.
+ *
+ * @author ITON Solutions
+ */
+class ChunkCipher {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final byte[] key;
+    private final byte[] nonce;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool pool used for batches, null to process chunks in the calling thread
+     */
+    ChunkCipher(byte[] key, byte[] nonce, ForkJoinPool pool){
+        this.key = key;
+        this.nonce = nonce.clone();
+        this.pool = pool;
+    }
+
+    int getBatchSize(){
+        return pool == null ? 1 : pool.getParallelism() * CHUNKS_PER_THREAD;
+    }
+
+    List<byte[]> seal(List<byte[]> chunks, long first) throws IOException {
+        return apply(chunks, first, true);
+    }
+
+    List<byte[]> open(List<byte[]> chunks, long first) throws IOException {
+        return apply(chunks, first, false);
+    }
+
+    private List<byte[]> apply(List<byte[]> chunks, final long first, final boolean encrypt) throws IOException {
+
+        List<Callable<byte[]>> tasks = new ArrayList<>(chunks.size());
+        for(int i = 0; i < chunks.size(); i++){
+            final byte[] data = chunks.get(i);
+            final byte[] chunkNonce = nonce(nonce, first + i);
+            tasks.add(new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws SodiumException {
+                    return encrypt ? Crypto.encrypt(data, chunkNonce, key) : Crypto.decrypt(data, chunkNonce, key);
+                }
+            });
+        }
+
+        List<byte[]> result = new ArrayList<>(tasks.size());
+        try {
+            if(pool == null || tasks.size() == 1){
+                for(Callable<byte[]> task : tasks){
+                    result.add(task.call());
+                }
+            } else {
+                for(Future<byte[]> future : pool.invokeAll(tasks)){
+                    result.add(future.get());
+                }
+            }
+        } catch (ExecutionException e){
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException(e.getMessage(), e);
+        } catch (Exception e){
+            throw new IOException(e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Little-endian addition of the chunk index to the base nonce, same as calling
+     * sodium_increment index times.
+     */
+    static byte[] nonce(byte[] base, long index){
+        byte[] result = base.clone();
+        long carry = index;
+        for(int i = 0; i < result.length && carry != 0; i++){
+            long sum = (result[i] & 0xFF) + (carry & 0xFF);
+            result[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return result;
+    }
+}
@@ -15,45 +15,121 @@
  */
 package jssi.wallet.io;
 
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
-import jssi.wallet.crypto.Crypto;
-import org.libsodium.api.Crypto_randombytes;
 import static org.libsodium.jni.SodiumConstants.CRYPTO_AEAD_CHACHA20POLY1305_IETF_TAGBYTES;
-import org.libsodium.jni.SodiumException;
 
 /**
+ * Decrypts the backup stream as it is read. Sealed chunks are read in batches of
+ * {@link ChunkCipher#getBatchSize()} and opened together, only the opened batch is held in memory.
  *
  * @author ITON Solutions
  */
-class Decrypter {
+class Decrypter extends InputStream {
     
-    private final byte[] key;
-    private final byte[] nonce;
-    private final int chunkSize;
+    private final ChunkCipher cipher;
+    private final int sealedSize;
+    private final ReadableByteChannel channel;
+    private final Deque<byte[]> opened = new ArrayDeque<>();
+    private byte[] chunk = new byte[0];
+    private int position = 0;
+    private long index = 0;
+    private boolean eof = false;
             
     
-    Decrypter(final byte[] key, byte[] nonce, int chunkSize){
-        this.key = key;
-        this.nonce = nonce;
-        this.chunkSize = chunkSize;
-        
-    }
-     
-    ByteBuffer decrypt(ByteBuffer buffer) throws IOException, SodiumException{
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        while (buffer.position() < buffer.limit()) {
-            int read = Math.min(chunkSize + CRYPTO_AEAD_CHACHA20POLY1305_IETF_TAGBYTES, buffer.limit() - buffer.position());
-            byte[] data = new byte[read];
-            buffer.get(data);
-            byte[] decrypted = Crypto.decrypt(data, nonce, key);
-            baos.write(decrypted);
-            Crypto_randombytes.increment(nonce);
+    Decrypter(final byte[] key, byte[] nonce, int chunkSize, ReadableByteChannel channel){
+        this(key, nonce, chunkSize, channel, null);
+    }
+
+    Decrypter(final byte[] key, byte[] nonce, int chunkSize, ReadableByteChannel channel, ForkJoinPool pool){
+        this.cipher = new ChunkCipher(key, nonce, pool);
+        this.sealedSize = chunkSize + CRYPTO_AEAD_CHACHA20POLY1305_IETF_TAGBYTES;
+        this.channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!fill()){
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] data, int offset, int length) throws IOException {
+        if(length == 0){
+            return 0;
+        }
+        if(!fill()){
+            return -1;
+        }
+        int size = Math.min(length, chunk.length - position);
+        System.arraycopy(chunk, position, data, offset, size);
+        position += size;
+        return size;
+    }
+
+    void readFully(byte[] data) throws IOException {
+        int offset = 0;
+        while(offset < data.length){
+            int read = read(data, offset, data.length - offset);
+            if(read < 0){
+                throw new EOFException("Unexpected end of backup");
+            }
+            offset += read;
+        }
+    }
+
+    int readInt() throws IOException {
+        byte[] data = new byte[Integer.BYTES];
+        readFully(data);
+        return (data[0] & 0xFF) | (data[1] & 0xFF) << 8 | (data[2] & 0xFF) << 16 | (data[3] & 0xFF) << 24;
+    }
+
+    /**
+     * Moves to the next opened chunk once the current one is consumed,
+     * a new batch of chunks is read and opened when none is left.
+     * @return false at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        while(position == chunk.length){
+            if(opened.isEmpty() && !open()){
+                return false;
+            }
+            chunk = opened.poll();
+            position = 0;
+        }
+        return true;
+    }
+
+    private boolean open() throws IOException {
+        List<byte[]> batch = new ArrayList<>();
+        while(!eof && batch.size() < cipher.getBatchSize()){
+            ByteBuffer buffer = ByteBuffer.allocate(sealedSize);
+            int read = 0;
+            while(buffer.hasRemaining() && read >= 0){
+                read = channel.read(buffer);
+            }
+            eof = read < 0;
+            if(buffer.position() > 0){
+                batch.add(buffer.position() == sealedSize ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position()));
+            }
+        }
+        if(batch.isEmpty()){
+            return false;
         }
-        return ByteBuffer.wrap(baos.toByteArray());
+        opened.addAll(cipher.open(batch, index));
+        index += batch.size();
+        return true;
     }
 }
@@ -15,42 +15,98 @@
  */
 package jssi.wallet.io;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
-
-import jssi.wallet.crypto.Crypto;
-import org.libsodium.api.Crypto_randombytes;
-import org.libsodium.jni.SodiumException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
+ * Splits the plain stream into chunks and writes them sealed to the channel. Full chunks are
+ * collected into batches of {@link ChunkCipher#getBatchSize()} and sealed together, the
+ * batch is written in order once every chunk is done.
  *
  * @author ITON Solutions
  */
-class Encrypter {
+class Encrypter extends OutputStream {
     
-    private final byte[] key;
-    private final byte[] nonce;
+    private final ChunkCipher cipher;
     private final int chunkSize;
+    private final WritableByteChannel channel;
+    private final List<byte[]> batch = new ArrayList<>();
+    private byte[] chunk;
+    private int position = 0;
+    private long index = 0;
             
     
-    Encrypter(final byte[] key, byte[] nonce, int chunkSize){
-        this.key = key;
-        this.nonce = nonce;
+    Encrypter(final byte[] key, byte[] nonce, int chunkSize, WritableByteChannel channel){
+        this(key, nonce, chunkSize, channel, null);
+    }
+
+    Encrypter(final byte[] key, byte[] nonce, int chunkSize, WritableByteChannel channel, ForkJoinPool pool){
+        this.cipher = new ChunkCipher(key, nonce, pool);
         this.chunkSize = chunkSize;
+        this.chunk = new byte[chunkSize];
+        this.channel = channel;
     }
-    
-    byte [] encrypt(ByteBuffer buffer) throws IOException, SodiumException{
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        
-        while(buffer.position() < buffer.limit()){
-            byte[] chunk = new byte[Math.min(chunkSize, buffer.limit() - buffer.position())];
-            buffer.get(chunk);
-            byte[] cipher = Crypto.encrypt(chunk, nonce, key);
-            baos.write(cipher);
-            Crypto_randombytes.increment(nonce);
+
+    @Override
+    public void write(int value) throws IOException {
+        chunk[position++] = (byte) value;
+        if(position == chunk.length){
+            enqueue();
+        }
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        while(length > 0){
+            int size = Math.min(length, chunk.length - position);
+            System.arraycopy(data, offset, chunk, position, size);
+            position += size;
+            offset += size;
+            length -= size;
+            if(position == chunk.length){
+                enqueue();
+            }
+        }
+    }
+
+    /**
+     * Seals the pending chunks and the last, possibly partial, one. The channel is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if(position > 0){
+            batch.add(Arrays.copyOf(chunk, position));
+            position = 0;
+        }
+        seal();
+    }
+
+    private void enqueue() throws IOException {
+        batch.add(chunk);
+        chunk = new byte[chunkSize];
+        position = 0;
+        if(batch.size() >= cipher.getBatchSize()){
+            seal();
+        }
+    }
+
+    private void seal() throws IOException {
+        if(batch.isEmpty()){
+            return;
+        }
+        for(byte[] sealed : cipher.seal(batch, index)){
+            ByteBuffer buffer = ByteBuffer.wrap(sealed);
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
         }
-        return baos.toByteArray();
+        index += batch.size();
+        batch.clear();
     }
 }
@@ -36,6 +36,7 @@ import org.msgpack.value.ArrayValue;
 public class Header {
     
     public static final int CHUNK_SIZE = 1024;
+    public static final int MAX_CHUNK_SIZE = 1024 * 1024;
     
     private KeyDerivationData data;
     private byte[] nonce = new byte[CRYPTO_AEAD_CHACHA20POLY1305_IETF_NONCEBYTES];
@@ -45,6 +46,17 @@ public class Header {
     private int version = 0;
     
     Header(){}
+
+    /**
+     * Header of a new backup sealed in chunks of the given size, larger chunks
+     * cut the per chunk overhead and give parallel workers more to do.
+     */
+    Header(int chunkSize){
+        if(chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE){
+            throw new IllegalArgumentException(String.format("Invalid chunk size %d", chunkSize));
+        }
+        this.chunkSize = chunkSize;
+    }
     
     byte[] serialize(KeyDerivationData data) throws IOException{
         
@@ -87,6 +99,9 @@ public class Header {
                 toBytes(unpacker.unpackValue().asArrayValue(), nonce);
 
                 chunkSize = unpacker.unpackInt();
+                if(chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE){
+                    throw new IOException(String.format("Invalid chunk size %d", chunkSize));
+                }
                 data = new KeyDerivationData(passphrase, salt, method);
            
 
@@ -17,16 +17,18 @@
 package jssi.wallet.io;
 
 import io.reactivex.ObservableEmitter;
-import java.io.FileInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import jssi.wallet.Wallet;
 import jssi.wallet.crypto.Crypto;
@@ -44,6 +46,9 @@ public class Reader implements Runnable {
 
     private static final Logger LOG = LoggerFactory.getLogger(Reader.class);
 
+    // records stored per transaction, progress is emitted once per batch
+    public static final int BATCH_SIZE = 1000;
+
     private Wallet wallet;
     private ObservableEmitter<Integer> emitter;
     private JSONObject config;
@@ -57,54 +62,64 @@ public class Reader implements Runnable {
     @Override
     public void run() {
         try {
+            int batchSize = config.optInt("batch_size", BATCH_SIZE);
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException(String.format("Invalid batch size %d", batchSize));
+            }
+
             Path path = Paths.get(config.getString("path"));
-            FileInputStream fis = new FileInputStream(path.toFile());
-            ByteBuffer buffer;
 
-            try (FileChannel channel = fis.getChannel()) {
-                buffer = ByteBuffer.allocate((int) channel.size());
-                channel.read(buffer);
-            }
-            buffer.flip();
-            
-            byte[] headerBytes = new byte[buffer.order(ByteOrder.LITTLE_ENDIAN).getInt()];
-            buffer.get(headerBytes);
-
-            Header header = new Header().deserialize(headerBytes, config.getString("key"));
-        
-            if(header.getVersion() != 0){
-                IOException e = new IOException(String.format("Invalid version %d, mus be 0", header.getVersion()));
-                emitter.onError(e);
-            }
-       
-            buffer = new Decrypter(header.getDerivationData().deriveMasterKey(),
-                            header.getNonce(),
-                            header.getChunkSize()).decrypt(buffer);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
 
-            byte[] hashBytes = new byte[0x20];
-            buffer.get(hashBytes);
+                ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, buffer);
+                byte[] headerBytes = new byte[buffer.getInt()];
+                readFully(channel, ByteBuffer.wrap(headerBytes));
 
-            byte[] hash = Crypto.hash256(headerBytes);
+                Header header = new Header().deserialize(headerBytes, config.getString("key"));
 
-            if(!Arrays.equals(hashBytes, hash)){
-                IOException e = new IOException(String.format("Invalid hash %s, expected %s", Utils.bytesToHex(hash), Utils.bytesToHex(hashBytes)));
-                emitter.onError(e);
-            }
+                if(header.getVersion() != 0){
+                    IOException e = new IOException(String.format("Invalid version %d, mus be 0", header.getVersion()));
+                    emitter.onError(e);
+                    return;
+                }
 
-            List<WalletRecord> records = new ArrayList<>();
-            int recordSize = buffer.order(ByteOrder.LITTLE_ENDIAN).getInt();
-        
-            while (recordSize > 0) {
-                byte[] record_bytes = new byte[recordSize];
-                buffer.get(record_bytes);
-                records.add(new WalletRecord().deserialize(record_bytes));
-                recordSize = buffer.order(ByteOrder.LITTLE_ENDIAN).getInt();
-            }
-            
-            int count = 0;
-            for(WalletRecord record : records){
-                wallet.addRecord(record);
-                emitter.onNext(++count);
+                ForkJoinPool pool = config.optBoolean("parallel", false) ? ForkJoinPool.commonPool() : null;
+
+                Decrypter decrypter = new Decrypter(header.getDerivationData().deriveMasterKey(),
+                                header.getNonce(),
+                                header.getChunkSize(),
+                                channel,
+                                pool);
+
+                byte[] hashBytes = new byte[0x20];
+                decrypter.readFully(hashBytes);
+
+                byte[] hash = Crypto.hash256(headerBytes);
+
+                if(!Arrays.equals(hashBytes, hash)){
+                    IOException e = new IOException(String.format("Invalid hash %s, expected %s", Utils.bytesToHex(hash), Utils.bytesToHex(hashBytes)));
+                    emitter.onError(e);
+                    return;
+                }
+
+                int count = 0;
+                List<WalletRecord> batch = new ArrayList<>(batchSize);
+                int recordSize = decrypter.readInt();
+
+                while (recordSize > 0) {
+                    byte[] record_bytes = new byte[recordSize];
+                    decrypter.readFully(record_bytes);
+                    batch.add(new WalletRecord().deserialize(record_bytes));
+                    recordSize = decrypter.readInt();
+
+                    if (batch.size() == batchSize || recordSize <= 0) {
+                        wallet.addRecords(batch, pool);
+                        count += batch.size();
+                        batch.clear();
+                        emitter.onNext(count);
+                    }
+                }
             }
             emitter.onComplete();
 
@@ -113,4 +128,13 @@ public class Reader implements Runnable {
             emitter.onError(e);
         }
     }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of backup");
+            }
+        }
+        buffer.flip();
+    }
 }
@@ -16,20 +16,21 @@
 package jssi.wallet.io;
 
 import io.reactivex.ObservableEmitter;
-import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import jssi.wallet.RecordCursor;
 import jssi.wallet.Wallet;
 import jssi.wallet.crypto.Crypto;
 import jssi.wallet.crypto.KeyDerivationData;
-import jssi.wallet.record.WalletRecord;
 import jssi.wallet.util.Utils;
 import org.json.JSONObject;
 import org.libsodium.jni.SodiumException;
@@ -53,8 +54,10 @@ public class Writer implements Runnable {
     @Override
     public void run() {
 
+        Path path = Paths.get(config.getString("path"));
+        boolean created = false;
+
         try {
-            Path path = Paths.get(config.getString("path"));
             if (!Files.exists(path.getParent())) {
                 Files.createDirectories(path.getParent());
             }
@@ -63,39 +66,54 @@ public class Writer implements Runnable {
             LOG.debug(String.format("Total registers in database %d", count));
 
             KeyDerivationData data = new KeyDerivationData(config.getString("key"));
-            Header header = new Header();
+            Header header = new Header(config.optInt("chunk_size", Header.CHUNK_SIZE));
             byte[] header_bytes = header.serialize(data);
-            List<WalletRecord> records = wallet.findAllRecords();
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            baos.write(Crypto.hash256(header_bytes));
-
-            for (WalletRecord record : records) {
-                byte[] decrypted = record.serialize();
-                baos.write(Utils.intToBytes(decrypted.length));
-                baos.write(decrypted);
-                emitter.onNext(count--);
-            }
-
-            baos.write(Utils.intToBytes(0));
-
-            byte[] encrypted = new Encrypter(header.getDerivationData().deriveMasterKey(),
-                    header.getNonce(),
-                    header.getChunkSize()).encrypt(ByteBuffer.wrap(baos.toByteArray()));
-
-            baos = new ByteArrayOutputStream();
-            baos.write(Utils.intToBytes(header_bytes.length));
-            baos.write(header_bytes);
-            baos.write(encrypted);
-
-            try (FileOutputStream fos = new FileOutputStream(Files.createFile(path).toFile())) {
-                baos.writeTo(fos);
+            RecordCursor cursor = wallet.cursor();
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                created = true;
+
+                ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + header_bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(header_bytes.length).put(header_bytes).flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                try (Encrypter encrypter = new Encrypter(header.getDerivationData().deriveMasterKey(),
+                        header.getNonce(),
+                        header.getChunkSize(),
+                        channel,
+                        config.optBoolean("parallel", false) ? ForkJoinPool.commonPool() : null)) {
+
+                    encrypter.write(Crypto.hash256(header_bytes));
+
+                    while (cursor.hasNext()) {
+                        byte[] decrypted = cursor.next().serialize();
+                        encrypter.write(Utils.intToBytes(decrypted.length));
+                        encrypter.write(decrypted);
+                        emitter.onNext(count--);
+                    }
+
+                    encrypter.write(Utils.intToBytes(0));
+                }
             }
             emitter.onComplete();
 
         } catch (IOException | SodiumException | SQLException e) {
             LOG.error(String.format("Error %s", e.getMessage()));
+            // a partial backup must not be mistaken for a complete one
+            if (created) {
+                delete(path);
+            }
             emitter.onError(e);
         }
     }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.error(String.format("Error %s", e.getMessage()));
+        }
+    }
 }
@@ -26,12 +26,19 @@ public class Metadata extends BaseDaoEnabled {
     private Integer id;
     @DatabaseField(columnName = "value", dataType = DataType.BYTE_ARRAY)
     private byte[] value;
+    @DatabaseField(columnName = "version", defaultValue = "0")
+    private int version;
 
     public Metadata() {
     }
 
     public Metadata(byte[] value) {
+        this(value, 0);
+    }
+
+    public Metadata(byte[] value, int version) {
         this.value = value;
+        this.version = version;
     }
 
     public Integer getId() {
@@ -46,6 +53,10 @@ public class Metadata extends BaseDaoEnabled {
         this.value = value;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     @Override
     public int hashCode() {
         int hash = 0;
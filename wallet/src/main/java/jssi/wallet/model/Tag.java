@@ -26,7 +26,7 @@ public class Tag extends BaseDaoEnabled {
 
     @DatabaseField(columnName = "name", uniqueCombo=true, dataType = DataType.BYTE_ARRAY)
     byte[] name;
-    @DatabaseField(columnName = "value", uniqueCombo=true, dataType = DataType.BYTE_ARRAY)
+    @DatabaseField(columnName = "value", dataType = DataType.BYTE_ARRAY)
     byte[] value;
     @DatabaseField(columnName = "item_id",
             foreign = true,
@@ -34,6 +34,7 @@ public class Tag extends BaseDaoEnabled {
             foreignAutoCreate = true,
             canBeNull = false,
             index = true,
+            uniqueCombo = true,
             columnDefinition = "INTEGER CONSTRAINT item_id REFERENCES items(id) ON DELETE CASCADE")
     Item item;
 
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet.query;
+
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.ArgumentHolder;
+import com.j256.ormlite.stmt.SelectArg;
+import jssi.ursa.credential.query.Query;
+import jssi.wallet.crypto.Crypto;
+import jssi.wallet.crypto.Keys;
+import org.libsodium.jni.SodiumException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Translates a {@link Query} into a single SQL condition over the items table.
+ *
+ * Encrypted tag names and values are matched by their deterministic searchable ciphertext,
+ * so every condition resolves through the (name, value) index of the tag tables
+ * and only the matching items have to be decrypted.
+ */
+public class QueryCompiler {
+
+    private static final String ENCRYPTED = "tags_encrypted";
+    private static final String PLAINTEXT = "tags_plaintext";
+
+    private final Keys keys;
+    private final List<ArgumentHolder> arguments = new ArrayList<>();
+    private String clause;
+
+    public QueryCompiler(Keys keys) {
+        this.keys = keys;
+    }
+
+    public QueryCompiler compile(Query query) throws SodiumException {
+        arguments.clear();
+        clause = toSql(query);
+        return this;
+    }
+
+    public String getClause() {
+        return clause;
+    }
+
+    public ArgumentHolder[] getArguments() {
+        return arguments.toArray(new ArgumentHolder[0]);
+    }
+
+    private String toSql(Query query) throws SodiumException {
+
+        if(query == null){
+            throw new IllegalArgumentException("Unsupported query operator");
+        }
+
+        switch (query.getOp()){
+            case And:
+                return join(query.getOperators(), " AND ", "(1 = 1)");
+            case Or:
+                return join(query.getOperators(), " OR ", "(1 = 0)");
+            case Not:
+                return String.format("NOT (%s)", toSql(query.getOperators().get(0)));
+            case Eq:
+                return compare(query, "=");
+            case Neq:
+                return compare(query, "!=");
+            case Gt:
+                return compare(query, ">");
+            case Gte:
+                return compare(query, ">=");
+            case Lt:
+                return compare(query, "<");
+            case Lte:
+                return compare(query, "<=");
+            case Like:
+                return compare(query, "LIKE");
+            case In:
+                return in(query);
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected query operation %s", query.getOp().name()));
+        }
+    }
+
+    private String join(List<Query> operators, String separator, String empty) throws SodiumException {
+
+        if(operators.isEmpty()){
+            return empty;
+        }
+
+        List<String> clauses = new ArrayList<>(operators.size());
+        for(Query operator : operators){
+            clauses.add(toSql(operator));
+        }
+        return String.format("(%s)", String.join(separator, clauses));
+    }
+
+    private String compare(Query query, String operator) throws SodiumException {
+
+        boolean plaintext = query.isPlaintext();
+
+        if(!plaintext && !"=".equals(operator) && !"!=".equals(operator)){
+            throw new IllegalArgumentException(String.format("Operator %s is only allowed on plaintext tags, got %s", operator, query.getKey()));
+        }
+
+        arguments.add(encryptName(query));
+        arguments.add(plaintext && "LIKE".equals(operator)
+                ? new SelectArg(SqlType.STRING, query.getValue())
+                : encryptValue(query, query.getValue()));
+
+        return String.format("items.id IN (SELECT item_id FROM %s WHERE name = ? AND value %s ?)",
+                plaintext ? PLAINTEXT : ENCRYPTED, operator);
+    }
+
+    private String in(Query query) throws SodiumException {
+
+        if(query.getValues().isEmpty()){
+            return "(1 = 0)";
+        }
+
+        arguments.add(encryptName(query));
+        for(String value : query.getValues()){
+            arguments.add(encryptValue(query, value));
+        }
+
+        return String.format("items.id IN (SELECT item_id FROM %s WHERE name = ? AND value IN (%s))",
+                query.isPlaintext() ? PLAINTEXT : ENCRYPTED,
+                String.join(", ", Collections.nCopies(query.getValues().size(), "?")));
+    }
+
+    private ArgumentHolder encryptName(Query query) throws SodiumException {
+        String name = query.isPlaintext() ? query.getKey().substring(1) : query.getKey();
+        byte[] encrypted = Crypto.encryptAsSearchable(name.getBytes(), keys.getTagNameKey(), keys.getTagsHmacKey());
+        return new SelectArg(SqlType.BYTE_ARRAY, encrypted);
+    }
+
+    private ArgumentHolder encryptValue(Query query, String value) throws SodiumException {
+        byte[] encrypted = query.isPlaintext() ? value.getBytes()
+                : Crypto.encryptAsSearchable(value.getBytes(), keys.getTagValueKey(), keys.getTagsHmacKey());
+        return new SelectArg(SqlType.BYTE_ARRAY, encrypted);
+    }
+}
@@ -80,6 +80,25 @@ public class WalletRecord {
         return item;
     }
     
+    public WalletRecord copy(){
+        return new WalletRecord(type, name, value, new HashMap<>(tags));
+    }
+
+    /**
+     * Approximate heap footprint in bytes of the decrypted strings.
+     */
+    public int weigh(){
+        int size = length(type) + length(name) + length(value);
+        for(Map.Entry<String, String> tag : tags.entrySet()){
+            size += length(tag.getKey()) + length(tag.getValue());
+        }
+        return size * 2;
+    }
+
+    private static int length(String value){
+        return value == null ? 0 : value.length();
+    }
+
     public WalletRecord deserialize(byte[] msg) throws IOException{
         
         MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(msg);
@@ -20,11 +20,17 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.PreparedDelete;
+import com.j256.ormlite.stmt.PreparedUpdate;
+import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.stmt.UpdateBuilder;
+import com.j256.ormlite.support.ConnectionSource;
 import jssi.wallet.model.Encrypted;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,8 +41,12 @@ public class EncryptedDao implements Serializable {
     private Dao<Encrypted, Void> dao = null;
 
     public EncryptedDao(){
+        this(StoreHelper.getSource());
+    }
+
+    public EncryptedDao(ConnectionSource source){
         try{
-            dao = DaoManager.createDao(StoreHelper.getSource(), Encrypted.class);
+            dao = DaoManager.createDao(source, Encrypted.class);
         } catch(SQLException e){
             LOG.error(String.format("Error: %s", e));
         }
@@ -65,16 +75,30 @@ public class EncryptedDao implements Serializable {
     public int delete(Collection<Encrypted> encrypted)  {
         int result = 0;
         try {
-            for(Encrypted element : encrypted) {
-                DeleteBuilder<Encrypted, Void> builder = dao.deleteBuilder();
-                builder.where()
-                        .eq("item_id", element.getItem().getId())
-                        .and()
-                        .eq("name", element.getName());
-                result = dao.delete(builder.prepare());
-            }
-        } catch(SQLException e){
-            LOG.error(String.format("Error: %s", e.getCause().getMessage()));
+            SelectArg itemId = new SelectArg(SqlType.INTEGER);
+            SelectArg name   = new SelectArg(SqlType.BYTE_ARRAY);
+
+            DeleteBuilder<Encrypted, Void> builder = dao.deleteBuilder();
+            builder.where()
+                    .eq("item_id", itemId)
+                    .and()
+                    .eq("name", name);
+            PreparedDelete<Encrypted> delete = builder.prepare();
+
+            result = dao.callBatchTasks(new Callable<Integer>() {
+                @Override
+                public Integer call() throws SQLException {
+                    int deleted = 0;
+                    for(Encrypted element : encrypted) {
+                        itemId.setValue(element.getItem().getId());
+                        name.setValue(element.getName());
+                        deleted += dao.delete(delete);
+                    }
+                    return deleted;
+                }
+            });
+        } catch(Exception e){
+            LOG.error(String.format("Error: %s", e));
         }
         return result;
     }
@@ -82,16 +106,32 @@ public class EncryptedDao implements Serializable {
     public int update(Collection<Encrypted> encrypted)  {
         int result = 0;
         try {
-            for(Encrypted element : encrypted) {
-                UpdateBuilder<Encrypted, Void> builder = dao.updateBuilder();
-                builder.updateColumnValue("value", element.getValue());
-                builder.where()
-                        .eq("item_id", element.getItem().getId())
-                        .and()
-                        .eq("name", element.getName());
-                result += dao.update(builder.prepare());
-            }
-        } catch(SQLException e){
+            SelectArg value  = new SelectArg(SqlType.BYTE_ARRAY);
+            SelectArg itemId = new SelectArg(SqlType.INTEGER);
+            SelectArg name   = new SelectArg(SqlType.BYTE_ARRAY);
+
+            UpdateBuilder<Encrypted, Void> builder = dao.updateBuilder();
+            builder.updateColumnValue("value", value);
+            builder.where()
+                    .eq("item_id", itemId)
+                    .and()
+                    .eq("name", name);
+            PreparedUpdate<Encrypted> update = builder.prepare();
+
+            result = dao.callBatchTasks(new Callable<Integer>() {
+                @Override
+                public Integer call() throws SQLException {
+                    int updated = 0;
+                    for(Encrypted element : encrypted) {
+                        value.setValue(element.getValue());
+                        itemId.setValue(element.getItem().getId());
+                        name.setValue(element.getName());
+                        updated += dao.update(update);
+                    }
+                    return updated;
+                }
+            });
+        } catch(Exception e){
             LOG.error(String.format("Error: %s", e));
         }
         return result;
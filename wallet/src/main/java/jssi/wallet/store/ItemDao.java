@@ -17,7 +17,10 @@ package jssi.wallet.store;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.stmt.ArgumentHolder;
 import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.Where;
+import com.j256.ormlite.support.ConnectionSource;
 import jssi.wallet.model.Item;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,8 +40,12 @@ public class ItemDao implements Serializable {
     private Dao<Item, Integer> dao = null;
 
     public ItemDao(){
+        this(StoreHelper.getSource());
+    }
+
+    public ItemDao(ConnectionSource source){
         try{
-            dao = DaoManager.createDao(StoreHelper.getSource(), Item.class);
+            dao = DaoManager.createDao(source, Item.class);
         } catch(SQLException e){
             LOG.error(String.format("Error: %s", e));
         }
@@ -84,6 +91,14 @@ public class ItemDao implements Serializable {
         return items;
     }
 
+    public List<Item> queryForPage(int after, long limit) throws SQLException {
+        QueryBuilder<Item, Integer> builder = dao.queryBuilder();
+        builder.where().gt("id", after);
+        builder.orderBy("id", true).limit(limit);
+
+        return dao.query(builder.prepare());
+    }
+
     public Item queryForFirst(byte[] type, byte[] name) {
         Item item = null;
         try {
@@ -100,6 +115,17 @@ public class ItemDao implements Serializable {
         return item;
     }
 
+    public List<Item> query(byte[] type, String clause, ArgumentHolder... arguments) throws SQLException {
+        QueryBuilder<Item, Integer> builder = dao.queryBuilder();
+        Where<Item, Integer> where = builder.where();
+        if(type != null){
+            where.eq("type", type).and();
+        }
+        where.raw(clause, arguments);
+
+        return dao.query(builder.prepare());
+    }
+
     public int getCount() {
         int result = 0;
         try {
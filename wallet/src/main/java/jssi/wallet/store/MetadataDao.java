@@ -17,6 +17,7 @@ package jssi.wallet.store;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.support.ConnectionSource;
 import jssi.wallet.model.Metadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,8 +31,12 @@ public class MetadataDao {
     private Dao<Metadata, Integer> dao = null;
 
     public MetadataDao(){
+        this(StoreHelper.getSource());
+    }
+
+    public MetadataDao(ConnectionSource source){
         try{
-            dao = DaoManager.createDao(StoreHelper.getSource(), Metadata.class);
+            dao = DaoManager.createDao(source, Metadata.class);
         } catch(SQLException e){
             LOG.error(String.format("Error: %s", e));
         }
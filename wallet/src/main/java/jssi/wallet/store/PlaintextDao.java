@@ -17,8 +17,13 @@ package jssi.wallet.store;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.PreparedDelete;
+import com.j256.ormlite.stmt.PreparedUpdate;
+import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.stmt.UpdateBuilder;
+import com.j256.ormlite.support.ConnectionSource;
 import jssi.wallet.model.Plaintext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +32,7 @@ import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  *
@@ -38,8 +44,12 @@ public class PlaintextDao implements Serializable {
     private Dao<Plaintext, Void> dao = null;
 
     public PlaintextDao(){
+        this(StoreHelper.getSource());
+    }
+
+    public PlaintextDao(ConnectionSource source){
         try{
-            dao = DaoManager.createDao(StoreHelper.getSource(), Plaintext.class);
+            dao = DaoManager.createDao(source, Plaintext.class);
         } catch(SQLException e){
             LOG.error(String.format("Error: %s", e));
         }
@@ -68,16 +78,32 @@ public class PlaintextDao implements Serializable {
     public int update(Collection<Plaintext> plaintext)  {
         int result = 0;
         try {
-            for(Plaintext element : plaintext) {
-                UpdateBuilder<Plaintext, Void> builder = dao.updateBuilder();
-                builder.updateColumnValue("value", element.getValue());
-                builder.where()
-                        .eq("item_id", element.getItem().getId())
-                        .and()
-                        .eq("name", element.getName());
-                result += dao.update(builder.prepare());
-            }
-        } catch(SQLException e){
+            SelectArg value  = new SelectArg(SqlType.BYTE_ARRAY);
+            SelectArg itemId = new SelectArg(SqlType.INTEGER);
+            SelectArg name   = new SelectArg(SqlType.BYTE_ARRAY);
+
+            UpdateBuilder<Plaintext, Void> builder = dao.updateBuilder();
+            builder.updateColumnValue("value", value);
+            builder.where()
+                    .eq("item_id", itemId)
+                    .and()
+                    .eq("name", name);
+            PreparedUpdate<Plaintext> update = builder.prepare();
+
+            result = dao.callBatchTasks(new Callable<Integer>() {
+                @Override
+                public Integer call() throws SQLException {
+                    int updated = 0;
+                    for(Plaintext element : plaintext) {
+                        value.setValue(element.getValue());
+                        itemId.setValue(element.getItem().getId());
+                        name.setValue(element.getName());
+                        updated += dao.update(update);
+                    }
+                    return updated;
+                }
+            });
+        } catch(Exception e){
             LOG.error(String.format("Error: %s", e));
         }
         return result;
@@ -86,16 +112,30 @@ public class PlaintextDao implements Serializable {
     public int delete(Collection<Plaintext> plaintext)  {
         int result = 0;
         try {
-            for(Plaintext element : plaintext) {
-                DeleteBuilder<Plaintext, Void> builder = dao.deleteBuilder();
-                builder.where()
-                        .eq("item_id", element.getItem().getId())
-                        .and()
-                        .eq("name", element.getName());
-                result = dao.delete(builder.prepare());
-            }
-        } catch(SQLException e){
-            LOG.error(String.format("Error: %s", e.getCause().getMessage()));
+            SelectArg itemId = new SelectArg(SqlType.INTEGER);
+            SelectArg name   = new SelectArg(SqlType.BYTE_ARRAY);
+
+            DeleteBuilder<Plaintext, Void> builder = dao.deleteBuilder();
+            builder.where()
+                    .eq("item_id", itemId)
+                    .and()
+                    .eq("name", name);
+            PreparedDelete<Plaintext> delete = builder.prepare();
+
+            result = dao.callBatchTasks(new Callable<Integer>() {
+                @Override
+                public Integer call() throws SQLException {
+                    int deleted = 0;
+                    for(Plaintext element : plaintext) {
+                        itemId.setValue(element.getItem().getId());
+                        name.setValue(element.getName());
+                        deleted += dao.delete(delete);
+                    }
+                    return deleted;
+                }
+            });
+        } catch(Exception e){
+            LOG.error(String.format("Error: %s", e));
         }
         return result;
     }
@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet.store;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.dao.GenericRawResults;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.wallet.model.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+
+/**
+ * Upgrades wallet databases in place.
+ *
+ * The schema version is kept in the version column of the metadata row, databases
+ * created before the column existed are version 0. Every migration runs in its own
+ * transaction and bumps the version when it commits, a failed one is thrown to the
+ * caller and leaves the database at the version before it.
+ */
+public class SchemaMigrator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String[] TAGS = {"tags_encrypted", "tags_plaintext"};
+    private static final String[] INDEXES = {"tags_encrypted_name_value_idx", "tags_plaintext_name_value_idx"};
+
+    // migration N upgrades a database from version N to N + 1
+    private static final String[][] MIGRATIONS = {
+            migrationToVersion1()
+    };
+
+    public static final int VERSION = MIGRATIONS.length;
+
+    private SchemaMigrator(){
+    }
+
+    public static synchronized void migrate(ConnectionSource source) throws SQLException {
+        Dao<Metadata, Integer> dao = DaoManager.createDao(source, Metadata.class);
+        int version = getVersion(dao);
+
+        while (version < VERSION) {
+            LOG.debug(String.format("Migrate wallet schema from version %d to %d", version, version + 1));
+            String[] statements = MIGRATIONS[version];
+            int next = version + 1;
+
+            TransactionManager.callInTransaction(source, new Callable<Void>() {
+                @Override
+                public Void call() throws SQLException {
+                    for(String statement : statements){
+                        dao.executeRaw(statement);
+                    }
+                    dao.executeRaw("UPDATE metadata SET version = " + next);
+                    return null;
+                }
+            });
+            version = next;
+        }
+    }
+
+    /**
+     * Indexes backing the tag searches on (name, value). Items are found through the index of their
+     * unique (type, name) constraint and tags of an item through the unique (name, item_id) one.
+     */
+    static void createIndexes(ConnectionSource source) throws SQLException {
+        Dao<Metadata, Integer> dao = DaoManager.createDao(source, Metadata.class);
+        for(String statement : indexes()){
+            dao.executeRaw(statement);
+        }
+    }
+
+    /**
+     * The version is read from the schema, not from the number of rows: a database without the
+     * version column is version 0 even when no metadata is stored yet, one without a metadata row
+     * is current only when its tables were created with the indexes of the current schema.
+     */
+    static int getVersion(Dao<Metadata, Integer> dao) throws SQLException {
+
+        if(!hasColumn(dao, "metadata", "version")){
+            return 0;
+        }
+
+        String version = first(dao, "SELECT version FROM metadata WHERE id = 1");
+        if(version != null){
+            return Integer.parseInt(version);
+        }
+
+        // the version column only exists from version 1 on
+        return hasIndexes(dao) ? VERSION : 1;
+    }
+
+    private static boolean hasColumn(Dao<Metadata, Integer> dao, String table, String column) throws SQLException {
+        try (GenericRawResults<String[]> results = dao.queryRaw(String.format("PRAGMA table_info(%s)", table))) {
+            for(String[] row : results){
+                // cid, name, type, notnull, dflt_value, pk
+                if(column.equalsIgnoreCase(row[1])){
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private static boolean hasIndexes(Dao<Metadata, Integer> dao) throws SQLException {
+        for(String name : INDEXES){
+            if(first(dao, String.format("SELECT name FROM sqlite_master WHERE type = 'index' AND name = '%s'", name)) == null){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String first(Dao<Metadata, Integer> dao, String query) throws SQLException {
+        try (GenericRawResults<String[]> results = dao.queryRaw(query)) {
+            String[] row = results.getFirstResult();
+            return row == null ? null : row[0];
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private static String[] indexes(){
+        String[] statements = new String[TAGS.length];
+        for(int i = 0; i < TAGS.length; i++){
+            statements[i] = String.format("CREATE INDEX IF NOT EXISTS %s ON %s (name, value)", INDEXES[i], TAGS[i]);
+        }
+        return statements;
+    }
+
+    /**
+     * Adds the version column and rebuilds the tag tables, which were unique on (name, value)
+     * instead of (name, item_id), so that two items can share a tag value.
+     */
+    private static String[] migrationToVersion1(){
+        String[] statements = new String[1 + TAGS.length * 5 + indexes().length];
+        int index = 0;
+
+        statements[index++] = "ALTER TABLE metadata ADD COLUMN version INTEGER DEFAULT 0";
+        for(String table : TAGS){
+            statements[index++] = String.format("CREATE TABLE %s_new (name BLOB, value BLOB, "
+                    + "item_id INTEGER CONSTRAINT item_id REFERENCES items(id) ON DELETE CASCADE, UNIQUE (name, item_id))", table);
+            statements[index++] = String.format("INSERT OR IGNORE INTO %1$s_new (name, value, item_id) SELECT name, value, item_id FROM %1$s", table);
+            statements[index++] = String.format("DROP TABLE %s", table);
+            statements[index++] = String.format("ALTER TABLE %1$s_new RENAME TO %1$s", table);
+            statements[index++] = String.format("CREATE INDEX IF NOT EXISTS %1$s_item_id_idx ON %1$s (item_id)", table);
+        }
+        for(String statement : indexes()){
+            statements[index++] = statement;
+        }
+        return statements;
+    }
+}
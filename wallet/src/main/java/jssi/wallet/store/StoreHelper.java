@@ -16,7 +16,8 @@
 package jssi.wallet.store;
 
 
-import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.TableUtils;
 import jssi.wallet.WalletConstants;
@@ -27,60 +28,99 @@ import jssi.wallet.model.Plaintext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class StoreHelper {
 
     private static final Logger LOG = LoggerFactory.getLogger(StoreHelper.class);
 
 //    private static final String DEFAULT_DB = "jdbc:sqlite:" + WalletConstants.WALLET_DIR + "ubicua.db";
-    private static final String DEFAULT_DB = "jdbc:sqlite:" + WalletConstants.WALLET_DIR + "sqlite.db";
-    private static final String BACKUP_DB  = "jdbc:sqlite:" + WalletConstants.WALLET_DIR + "backup.db";
+    private static final String DEFAULT_DB = WalletConstants.WALLET_DIR + "sqlite.db";
+    private static final String BACKUP_DB  = WalletConstants.WALLET_DIR + "backup.db";
+
+    // WAL lets readers run concurrently with the single writer, the remaining pragmas apply to every pooled connection
+    private static final String PRAGMAS = "?journal_mode=WAL&synchronous=NORMAL&busy_timeout=5000&cache_size=-16384&mmap_size=268435456";
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static final Map<String, ConnectionSource> SOURCES = new ConcurrentHashMap<>();
     public static final StoreHelper INSTANCE =  new StoreHelper();
     private ConnectionSource source = null;
 
 
     private StoreHelper(){
-        try {
-            LOG.debug(String.format("Connect to database: %s", DEFAULT_DB));
-            source = new JdbcConnectionSource(DEFAULT_DB);
-        } catch(SQLException e) {
-            LOG.error(String.format("Error: %s", e.getMessage()));
-        }
+        source = getSource(DEFAULT_DB);
     }
 
     public static ConnectionSource getSource() {
         return INSTANCE.source;
     }
 
-    public static void setBackupSource(){
-        try {
-            LOG.debug(String.format("Connect to database: %s", BACKUP_DB));
-            INSTANCE.source = new JdbcConnectionSource(BACKUP_DB);
-        } catch(SQLException e) {
-            LOG.error(String.format("Error: %s", e.getMessage()));
+    /**
+     * Returns the pooled connection source of the wallet database at the given path,
+     * the source is shared by every wallet opened on the same file until {@link #closeSource(String)}.
+     */
+    public static ConnectionSource getSource(String path) {
+        return SOURCES.computeIfAbsent(path, StoreHelper::connect);
+    }
+
+    public static void closeSource(String path) {
+        ConnectionSource source = SOURCES.remove(path);
+        if(source != null){
+            try {
+                source.close();
+            } catch(IOException e) {
+                LOG.error(String.format("Error: %s", e.getMessage()));
+            }
         }
     }
 
+    public static void setBackupSource(){
+        INSTANCE.source = getSource(BACKUP_DB);
+    }
+
     public static void setDefaultSource(){
+        INSTANCE.source = getSource(DEFAULT_DB);
+    }
+
+    public static <T> T callInTransaction(Callable<T> callable) throws SQLException {
+        return callInTransaction(INSTANCE.source, callable);
+    }
+
+    public static <T> T callInTransaction(ConnectionSource source, Callable<T> callable) throws SQLException {
+        return TransactionManager.callInTransaction(source, callable);
+    }
+
+    public static void createTables(){
+        createTables(INSTANCE.source);
+    }
+
+    public static void createTables(ConnectionSource source){
         try {
-            LOG.debug(String.format("Connect to database: %s", DEFAULT_DB));
-            INSTANCE.source = new JdbcConnectionSource(DEFAULT_DB);
+            LOG.debug(String.format("Create table: %s", "metadata"));
+            TableUtils.createTableIfNotExists(source, Metadata.class);
+            TableUtils.createTableIfNotExists(source, Item.class);
+            TableUtils.createTableIfNotExists(source, Encrypted.class);
+            TableUtils.createTableIfNotExists(source, Plaintext.class);
+            SchemaMigrator.createIndexes(source);
         } catch(SQLException e) {
             LOG.error(String.format("Error: %s", e.getMessage()));
         }
+
     }
 
-    public static void createTables(){
+    private static ConnectionSource connect(String path){
+        JdbcPooledConnectionSource source = null;
         try {
-            LOG.debug(String.format("Create table: %s", "metadata"));
-            TableUtils.createTableIfNotExists(INSTANCE.source, Metadata.class);
-            TableUtils.createTableIfNotExists(INSTANCE.source, Item.class);
-            TableUtils.createTableIfNotExists(INSTANCE.source, Encrypted.class);
-            TableUtils.createTableIfNotExists(INSTANCE.source, Plaintext.class);
+            LOG.debug(String.format("Connect to database: %s", path));
+            source = new JdbcPooledConnectionSource("jdbc:sqlite:" + path + PRAGMAS);
+            source.setMaxConnectionsFree(POOL_SIZE);
         } catch(SQLException e) {
             LOG.error(String.format("Error: %s", e.getMessage()));
         }
-
+        return source;
     }
 }
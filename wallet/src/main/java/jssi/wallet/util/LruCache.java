@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache bounded by the total weight of its values.
+ *
+ * Values loaded from a store are put with the {@link #stamp()} taken before the load, the put is
+ * dropped when an entry was removed in between so that a stale load never follows an invalidation.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class LruCache<K, V> {
+
+    public interface Weigher<V> {
+        int weigh(V value);
+    }
+
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxWeight;
+    private final Weigher<V> weigher;
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long removals;
+
+    public LruCache(long maxWeight, Weigher<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        V value = map.get(key);
+        if(value == null){
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        int size = weigher.weigh(value);
+        if(size > maxWeight){
+            evict(key);
+            return;
+        }
+
+        V previous = map.put(key, value);
+        if(previous != null){
+            weight -= weigher.weigh(previous);
+        }
+        weight += size;
+
+        Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+        while(weight > maxWeight && iterator.hasNext()){
+            Map.Entry<K, V> eldest = iterator.next();
+            weight -= weigher.weigh(eldest.getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Puts the value unless an entry was removed or the cache cleared since the stamp was taken.
+     *
+     * @return false if the value was dropped
+     */
+    public synchronized boolean put(K key, V value, long stamp) {
+        if(stamp != removals){
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * @return stamp to pass to {@link #put(Object, Object, long)}, taken before the value is loaded
+     */
+    public synchronized long stamp() {
+        return removals;
+    }
+
+    public synchronized void remove(K key) {
+        evict(key);
+        removals++;
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+        removals++;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private void evict(K key) {
+        V previous = map.remove(key);
+        if(previous != null){
+            weight -= weigher.weigh(previous);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("LruCache[ size=%d weight=%d hits=%d misses=%d evictions=%d ]", map.size(), weight, hits, misses, evictions);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.wallet.crypto.Keys;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.StoreHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalletCacheTest {
+
+    private static final String TYPE = "cache";
+    private static final String NAME = "record";
+
+    private String path;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        NaCl.sodium();
+        path = File.createTempFile("cache", ".db").getAbsolutePath();
+        ConnectionSource source = StoreHelper.getSource(path);
+        StoreHelper.createTables(source);
+        wallet = new Wallet("cache", new Keys().init(), source);
+        wallet.addRecord(new WalletRecord(TYPE, NAME, "0", new HashMap<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    /**
+     * Readers racing a writer never leave a value older than the last update in the cache.
+     */
+    @Test
+    void ConcurrentUpdateAndRead() throws Exception {
+        int updates = 200;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        wallet.findRecord(TYPE, NAME);
+                    }
+                    return null;
+                }));
+            }
+
+            Future<?> writer = executor.submit(() -> {
+                WalletRecord record = wallet.findRecord(TYPE, NAME);
+                for (int i = 1; i <= updates; i++) {
+                    wallet.updateRecordValue(record, String.valueOf(i));
+                }
+                return null;
+            });
+
+            writer.get(60, TimeUnit.SECONDS);
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(String.valueOf(updates), wallet.findRecord(TYPE, NAME).getValue());
+        assertTrue(wallet.getRecordCache().getHits() > 0);
+    }
+
+    @Test
+    void RolledBackTransactionIsNotCached() throws Exception {
+        WalletRecord record = wallet.findRecord(TYPE, NAME);
+
+        assertThrows(SQLException.class, () -> wallet.callInTransaction(() -> {
+            wallet.updateRecordValue(record, "uncommitted");
+            assertEquals("uncommitted", wallet.findRecord(TYPE, NAME).getValue());
+            throw new SQLException("abort");
+        }));
+
+        assertEquals("0", wallet.findRecord(TYPE, NAME).getValue());
+        assertEquals("0", wallet.findRecord(TYPE, NAME).getValue());
+    }
+
+    @Test
+    void CommittedTransactionInvalidates() throws Exception {
+        WalletRecord record = wallet.findRecord(TYPE, NAME);
+        assertEquals("0", wallet.findRecord(TYPE, NAME).getValue());
+
+        wallet.callInTransaction(() -> wallet.updateRecordValue(record, "committed"));
+
+        assertEquals("committed", wallet.findRecord(TYPE, NAME).getValue());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import com.j256.ormlite.support.ConnectionSource;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import jssi.wallet.crypto.Keys;
+import jssi.wallet.io.Reader;
+import jssi.wallet.io.Writer;
+import jssi.wallet.model.Item;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.ItemDao;
+import jssi.wallet.store.StoreHelper;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalletExportTest {
+
+    private String path;
+    private Path backup;
+    private ConnectionSource source;
+    private Keys keys;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        NaCl.sodium();
+        path = File.createTempFile("export", ".db").getAbsolutePath();
+        backup = Files.createTempDirectory("export").resolve("backup.dat");
+        source = StoreHelper.getSource(path);
+        StoreHelper.createTables(source);
+        keys = new Keys().init();
+
+        Wallet wallet = new Wallet("export", keys, source);
+        for (int i = 0; i < 10; i++) {
+            wallet.addRecord(new WalletRecord("type", "name" + i, "value" + i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+        Files.deleteIfExists(backup);
+        Files.deleteIfExists(backup.getParent());
+    }
+
+    @Test
+    void ExportCompletes() {
+        export(new Wallet("export", keys, source)).assertComplete();
+        assertTrue(Files.exists(backup));
+    }
+
+    @Test
+    void FailedPageAbortsExport() {
+        Wallet wallet = new Wallet("export", keys, source) {
+            @Override
+            public RecordCursor cursor() {
+                return new RecordCursor(new FailingItemDao(source), keys, 3);
+            }
+        };
+
+        export(wallet).assertError(SQLException.class);
+        assertFalse(Files.exists(backup));
+    }
+
+    /**
+     * Records spanning several chunk batches and import transactions, sealed and opened in parallel
+     * with a non-default chunk size, come back unchanged.
+     */
+    @Test
+    void ParallelRoundtrip() throws Exception {
+        Wallet wallet = new Wallet("export", keys, source);
+        List<WalletRecord> records = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            Map<String, String> tags = new HashMap<>();
+            tags.put("index", String.valueOf(i));
+            tags.put("~parity", String.valueOf(i % 2));
+            records.add(new WalletRecord("roundtrip", "name" + i, "value" + i, tags));
+        }
+        wallet.addRecords(records);
+
+        JSONObject config = new JSONObject();
+        config.put("path", backup.toString());
+        config.put("key", "export_key");
+        config.put("parallel", true);
+        config.put("chunk_size", 300);
+        export(wallet, config).assertComplete();
+
+        String imported = File.createTempFile("import", ".db").getAbsolutePath();
+        try {
+            ConnectionSource target = StoreHelper.getSource(imported);
+            StoreHelper.createTables(target);
+            Wallet copy = new Wallet("import", new Keys().init(), target);
+
+            config.put("batch_size", 500);
+            Observable.<Integer>create(emitter -> new Reader(copy, config, emitter).run()).test()
+                    .assertComplete()
+                    .assertValues(500, 1000, 1210);
+
+            assertEquals(contents(wallet), contents(copy));
+            assertEquals("1", copy.findRecord("roundtrip", "name1").getTags().get("~parity"));
+        } finally {
+            StoreHelper.closeSource(imported);
+            new File(imported).delete();
+        }
+    }
+
+    @Test
+    void InvalidBatchSizeFailsImport() throws Exception {
+        Wallet wallet = new Wallet("export", keys, source);
+        export(wallet).assertComplete();
+
+        JSONObject config = new JSONObject();
+        config.put("path", backup.toString());
+        config.put("key", "export_key");
+        for (int batchSize : new int[]{0, -1}) {
+            config.put("batch_size", batchSize);
+            Observable.<Integer>create(emitter -> new Reader(wallet, config, emitter).run()).test()
+                    .assertError(IllegalArgumentException.class)
+                    .assertNoValues();
+        }
+    }
+
+    private TestObserver<Integer> export(Wallet wallet) {
+        JSONObject config = new JSONObject();
+        config.put("path", backup.toString());
+        config.put("key", "export_key");
+        return export(wallet, config);
+    }
+
+    private TestObserver<Integer> export(Wallet wallet, JSONObject config) {
+        return Observable.<Integer>create(emitter -> new Writer(wallet, config, emitter).run()).test();
+    }
+
+    private static Map<String, String> contents(Wallet wallet) throws Exception {
+        Map<String, String> contents = new TreeMap<>();
+        for (WalletRecord record : wallet.findAllRecords()) {
+            contents.put(record.getType() + "/" + record.getName(), record.getValue() + " " + new TreeMap<>(record.getTags()));
+        }
+        return contents;
+    }
+
+    // the second page read fails, as a disk error partway through the export would
+    private static class FailingItemDao extends ItemDao {
+
+        FailingItemDao(ConnectionSource source) {
+            super(source);
+        }
+
+        @Override
+        public List<Item> queryForPage(int after, long limit) throws SQLException {
+            if (after > 0) {
+                throw new SQLException("disk I/O error");
+            }
+            return super.queryForPage(after, limit);
+        }
+    }
+}
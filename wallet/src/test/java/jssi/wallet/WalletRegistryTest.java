@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.wallet.crypto.Keys;
+import jssi.wallet.crypto.Method;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.StoreHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalletRegistryTest {
+
+    private String path;
+    private ConnectionSource source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        NaCl.sodium();
+        path = File.createTempFile("registry", ".db").getAbsolutePath();
+        source = StoreHelper.getSource(path);
+        WalletRegistry.setIdleTimeout(WalletRegistry.IDLE_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        WalletRegistry.clear();
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    @Test
+    void AcquireRegistered() {
+        Wallet wallet = new Wallet("ubicua", new Keys(), source);
+        assertNull(WalletRegistry.acquire(source, "ubicua", "wallet_key", Method.ARGON2I_MOD));
+        assertSame(wallet, WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, wallet));
+        assertSame(wallet, WalletRegistry.acquire(source, "ubicua", "wallet_key", Method.ARGON2I_MOD));
+    }
+
+    @Test
+    void RejectOtherKey() {
+        Wallet wallet = new Wallet("ubicua", new Keys(), source);
+        WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, wallet);
+        assertNull(WalletRegistry.acquire(source, "ubicua", "other_key", Method.ARGON2I_MOD));
+        assertNull(WalletRegistry.acquire(source, "ubicua", "wallet_key", Method.RAW));
+        assertNull(WalletRegistry.acquire(source, "other", "wallet_key", Method.ARGON2I_MOD));
+    }
+
+    @Test
+    void ShareFirstRegistered() {
+        Wallet first = new Wallet("ubicua", new Keys(), source);
+        Wallet second = new Wallet("ubicua", new Keys(), source);
+        WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, first);
+        assertSame(first, WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, second));
+        assertEquals(1, WalletRegistry.size());
+    }
+
+    @Test
+    void SweepReleasedOnly() {
+        Wallet wallet = new Wallet("ubicua", new Keys(), source);
+        wallet.getRecordCache().put(Arrays.asList("type", "name"), new WalletRecord());
+        WalletRegistry.setIdleTimeout(0);
+        WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, wallet);
+
+        WalletRegistry.sweep();
+        assertEquals(1, WalletRegistry.size());
+
+        WalletRegistry.release(source, "ubicua", wallet);
+        WalletRegistry.sweep();
+        assertEquals(0, WalletRegistry.size());
+        assertEquals(0, wallet.getRecordCache().size());
+        assertNull(WalletRegistry.acquire(source, "ubicua", "wallet_key", Method.ARGON2I_MOD));
+    }
+
+    @Test
+    void EvictKeepsHeldWalletOpen() throws Exception {
+        StoreHelper.createTables(source);
+        Wallet wallet = new Wallet("ubicua", new Keys().init(), source);
+        WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, wallet);
+
+        WalletRegistry.evict(source, "ubicua");
+        assertEquals(0, WalletRegistry.size());
+        assertNull(WalletRegistry.acquire(source, "ubicua", "wallet_key", Method.ARGON2I_MOD));
+        assertFalse(wallet.isClosed());
+        wallet.addRecord(new WalletRecord("type", "held", "value"));
+        assertNotNull(wallet.findRecord("type", "held"));
+
+        WalletRegistry.release(source, "ubicua", wallet);
+        assertTrue(wallet.isClosed());
+        assertThrows(IllegalStateException.class, () -> wallet.addRecord(new WalletRecord("type", "evicted", "value")));
+        assertThrows(IllegalStateException.class, () -> wallet.findRecord("type", "held"));
+    }
+
+    @Test
+    void SweptWalletRejectsRecords() throws Exception {
+        StoreHelper.createTables(source);
+        Wallet wallet = new Wallet("ubicua", new Keys().init(), source);
+        WalletRegistry.setIdleTimeout(0);
+        WalletRegistry.register(source, "ubicua", "wallet_key", Method.ARGON2I_MOD, wallet);
+        wallet.addRecord(new WalletRecord("type", "swept", "value"));
+
+        WalletRegistry.release(source, "ubicua", wallet);
+        WalletRegistry.sweep();
+        assertTrue(wallet.isClosed());
+
+        // a holder keeping the wallet past its release neither reads nor writes under zeroed keys
+        WalletRecord record = new WalletRecord("type", "swept", "value");
+        assertThrows(IllegalStateException.class, () -> wallet.addRecord(new WalletRecord("type", "late", "value")));
+        assertThrows(IllegalStateException.class, () -> wallet.updateRecordValue(record, "zeroed"));
+        assertThrows(IllegalStateException.class, () -> wallet.findRecord("type", "swept"));
+        assertThrows(IllegalStateException.class, () -> wallet.count());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet;
+
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableUtils;
+import jssi.wallet.crypto.Keys;
+import jssi.wallet.model.Encrypted;
+import jssi.wallet.record.WalletRecord;
+import jssi.wallet.store.StoreHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WalletSearchTest {
+
+    private String path;
+    private ConnectionSource source;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        NaCl.sodium();
+        path = File.createTempFile("search", ".db").getAbsolutePath();
+        source = StoreHelper.getSource(path);
+        StoreHelper.createTables(source);
+        wallet = new Wallet("search", new Keys().init(), source);
+
+        wallet.addRecord(new WalletRecord("cred", "alice", "1", tags("gvt", "28", "alice")));
+        wallet.addRecord(new WalletRecord("cred", "bob", "2", tags("xyz", "35", "bob")));
+        wallet.addRecord(new WalletRecord("cred", "carol", "3", tags("gvt", "41", "carol")));
+        wallet.addRecord(new WalletRecord("other", "dave", "4", tags("gvt", "50", "dave")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    @Test
+    void EncryptedEq() throws Exception {
+        assertEquals(Arrays.asList("alice", "carol"), search("cred", "{\"schema\":\"gvt\"}"));
+        assertEquals(Arrays.asList("alice", "carol", "dave"), search(null, "{\"schema\":{\"$eq\":\"gvt\"}}"));
+        assertEquals(Collections.singletonList("bob"), search("cred", "{\"schema\":{\"$neq\":\"gvt\"}}"));
+    }
+
+    @Test
+    void EncryptedIn() throws Exception {
+        assertEquals(Collections.singletonList("bob"), search("cred", "{\"schema\":{\"$in\":[\"xyz\",\"none\"]}}"));
+        assertEquals(Arrays.asList("alice", "bob", "carol"), search("cred", "{\"schema\":{\"$in\":[\"xyz\",\"gvt\"]}}"));
+    }
+
+    @Test
+    void PlaintextRange() throws Exception {
+        assertEquals(Arrays.asList("bob", "carol"), search("cred", "{\"~age\":{\"$gt\":\"30\"}}"));
+        assertEquals(Arrays.asList("alice", "bob"), search("cred", "{\"~age\":{\"$lte\":\"35\"}}"));
+        assertEquals(Collections.singletonList("carol"), search("cred", "{\"~age\":{\"$in\":[\"41\",\"50\"]}}"));
+    }
+
+    @Test
+    void PlaintextLike() throws Exception {
+        assertEquals(Arrays.asList("bob", "carol"), search("cred", "{\"~name\":{\"$like\":\"%o%\"}}"));
+    }
+
+    @Test
+    void Combined() throws Exception {
+        assertEquals(Arrays.asList("alice", "bob"),
+                search("cred", "{\"$or\":[{\"schema\":\"xyz\"},{\"$and\":[{\"schema\":\"gvt\"},{\"~age\":{\"$lt\":\"30\"}}]}]}"));
+        assertEquals(Collections.singletonList("bob"), search("cred", "{\"$not\":{\"schema\":\"gvt\"}}"));
+        assertEquals(Collections.singletonList("carol"), search("cred", "{\"schema\":\"gvt\",\"~name\":\"carol\"}"));
+        assertEquals(Arrays.asList("alice", "bob", "carol"), search("cred", "{}"));
+    }
+
+    @Test
+    void EncryptedRangeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> wallet.searchRecords("cred", "{\"schema\":{\"$gt\":\"a\"}}"));
+    }
+
+    @Test
+    void ErrorReachesCaller() throws Exception {
+        TableUtils.dropTable(source, Encrypted.class, false);
+        assertThrows(SQLException.class, () -> wallet.searchRecords("cred", "{\"schema\":\"gvt\"}"));
+    }
+
+    private List<String> search(String type, String query) throws Exception {
+        List<String> names = new ArrayList<>();
+        for (WalletRecord record : wallet.searchRecords(type, query)) {
+            names.add(record.getName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static Map<String, String> tags(String schema, String age, String name) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("schema", schema);
+        tags.put("~age", age);
+        tags.put("~name", name);
+        return tags;
+    }
+}
@@ -15,9 +15,11 @@
  */
 package jssi.wallet;
 
+import com.j256.ormlite.support.ConnectionSource;
 import io.reactivex.Observer;
 import io.reactivex.disposables.Disposable;
 import org.bitcoinj.core.Base58;
+import jssi.wallet.crypto.Keys;
 import jssi.wallet.model.Item;
 import jssi.wallet.record.WalletRecord;
 import jssi.wallet.store.PreexistingEntityException;
@@ -33,11 +35,14 @@ import org.libsodium.jni.SodiumException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -141,6 +146,47 @@ public class WalletTest {
         Thread.sleep(1000);
     }
 
+    @Test
+    public void testCursor() throws InterruptedException {
+        JSONObject credentials = new JSONObject();
+        credentials.put("id", "ubicua_wallet");
+        credentials.put("key", "ubicua_wallet_key");
+        WalletService service = new WalletService(credentials);
+
+        service.open().subscribe(new Observer<Wallet>() {
+            @Override
+            public void onSubscribe(Disposable disposable) {
+                LOG.debug("Received SUBSCRIBED event");
+            }
+
+            @Override
+            public void onNext(Wallet wallet) {
+                try {
+                    LOG.debug(String.format("Wallet opened: id=%s", wallet.getId()));
+                    RecordCursor cursor = wallet.cursor(2);
+                    int count = 0;
+                    while (cursor.hasNext()) {
+                        WalletRecord record = cursor.next();
+                        LOG.debug(String.format("Record: name: %s type: %s value: %s", record.getName(), record.getType(), record.getValue()));
+                        count++;
+                    }
+                    assertEquals(wallet.count(), count);
+                } catch (SodiumException | SQLException e) {
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+                LOG.debug("Received COMPLETED event");
+            }
+        });
+        Thread.sleep(1000);
+    }
+
     @Test
     public void testFindAllKeys() throws InterruptedException {
         JSONObject credentials = new JSONObject();
@@ -272,6 +318,65 @@ public class WalletTest {
         Thread.sleep(1000);
     }
 
+    @Test
+    @Order(8)
+    public void testAddRecords() throws Exception {
+
+        String path = File.createTempFile("batch", ".db").getAbsolutePath();
+        try {
+            ConnectionSource source = StoreHelper.getSource(path);
+            StoreHelper.createTables(source);
+            Wallet wallet = new Wallet("batch", new Keys().init(), source);
+
+            List<Item> items = wallet.addRecords(batch("batch", 100));
+            assertEquals(100, items.size());
+            assertEquals(100, wallet.count());
+            assertEquals("Hello Alice", wallet.findRecord("AIPE:batch", "batch-42").getValue());
+
+            items = wallet.addRecords(batch("parallel", 100), ForkJoinPool.commonPool());
+            assertEquals(100, items.size());
+            assertEquals(200, wallet.count());
+        } finally {
+            StoreHelper.closeSource(path);
+            new File(path).delete();
+        }
+    }
+
+    /**
+     * A duplicate in the middle of the batch rolls back the records stored before it.
+     */
+    @Test
+    @Order(9)
+    public void testAddRecordsRollback() throws Exception {
+
+        String path = File.createTempFile("batch", ".db").getAbsolutePath();
+        try {
+            ConnectionSource source = StoreHelper.getSource(path);
+            StoreHelper.createTables(source);
+            Wallet wallet = new Wallet("batch", new Keys().init(), source);
+            wallet.addRecord(new WalletRecord("AIPE:batch", "batch-50", "Hello Alice", new HashMap<>()));
+
+            assertThrows(PreexistingEntityException.class, () -> wallet.addRecords(batch("batch", 100)));
+            assertEquals(1, wallet.count());
+            assertNull(wallet.findRecord("AIPE:batch", "batch-0"));
+            assertNull(wallet.findRecord("AIPE:batch", "batch-99"));
+        } finally {
+            StoreHelper.closeSource(path);
+            new File(path).delete();
+        }
+    }
+
+    private static List<WalletRecord> batch(String prefix, int size) {
+        List<WalletRecord> records = new ArrayList<>(size);
+        for(int i = 0; i < size; i++){
+            Map<String, String> tags = new HashMap<>();
+            tags.put("INDEX", String.valueOf(i));
+            tags.put("~INDEX", String.valueOf(i));
+            records.add(new WalletRecord("AIPE:batch", String.format("%s-%d", prefix, i), "Hello Alice", tags));
+        }
+        return records;
+    }
+
     @Test
     @Order(4)
     public void testUpdateRecordTags() throws InterruptedException {
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet.io;
+
+import org.junit.jupiter.api.Test;
+import org.libsodium.jni.NaCl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkCipherTest {
+
+    /**
+     * Reference: one sodium_increment step, little-endian with carry.
+     */
+    private static void increment(byte[] nonce) {
+        for (int i = 0; i < nonce.length; i++) {
+            if (++nonce[i] != 0) {
+                break;
+            }
+        }
+    }
+
+    @Test
+    void NonceMatchesIncrement() {
+        byte[] base = new byte[12];
+        base[0] = (byte) 0xF0;
+        base[1] = (byte) 0xFF;
+        byte[] expected = base.clone();
+        for (long index = 0; index < 70000; index++) {
+            assertArrayEquals(expected, ChunkCipher.nonce(base, index));
+            increment(expected);
+        }
+    }
+
+    @Test
+    void NonceCarryAcrossBytes() {
+        byte[] base = new byte[12];
+        for (int i = 0; i < 8; i++) {
+            base[i] = (byte) 0xFF;
+        }
+        byte[] expected = new byte[12];
+        expected[8] = 1;
+        assertArrayEquals(expected, ChunkCipher.nonce(base, 1));
+    }
+
+    @Test
+    void NonceLeavesBaseUntouched() {
+        byte[] base = new byte[12];
+        ChunkCipher.nonce(base, 5);
+        assertArrayEquals(new byte[12], base);
+    }
+
+    /**
+     * Chunks sealed in parallel batches open to the same bytes in parallel and in the calling thread.
+     */
+    @Test
+    void ParallelRoundtrip() throws IOException {
+        NaCl.sodium();
+        Random random = new Random(42);
+        byte[] key = new byte[32];
+        byte[] nonce = new byte[12];
+        random.nextBytes(key);
+        random.nextBytes(nonce);
+
+        int chunkSize = 100;
+        byte[] data = new byte[chunkSize * 1000 + 37];
+        random.nextBytes(data);
+
+        ByteArrayOutputStream sealed = new ByteArrayOutputStream();
+        try (Encrypter encrypter = new Encrypter(key, nonce, chunkSize, Channels.newChannel(sealed), ForkJoinPool.commonPool())) {
+            assertTrue(new ChunkCipher(key, nonce, ForkJoinPool.commonPool()).getBatchSize() > 1);
+            // odd sized writes straddle chunk and batch boundaries
+            for (int offset = 0; offset < data.length; offset += 77) {
+                encrypter.write(data, offset, Math.min(77, data.length - offset));
+            }
+        }
+        assertEquals(data.length + 1001 * 16, sealed.size());
+
+        for (ForkJoinPool pool : new ForkJoinPool[]{ForkJoinPool.commonPool(), null}) {
+            Decrypter decrypter = new Decrypter(key, nonce, chunkSize,
+                    Channels.newChannel(new ByteArrayInputStream(sealed.toByteArray())), pool);
+            byte[] opened = new byte[data.length];
+            decrypter.readFully(opened);
+            assertArrayEquals(data, opened);
+            assertEquals(-1, decrypter.read());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package jssi.wallet.store;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.dao.GenericRawResults;
+import com.j256.ormlite.support.ConnectionSource;
+import jssi.wallet.model.Metadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchemaMigratorTest {
+
+    // wallet tables as created before the version column, tags unique on (name, value)
+    private static final String[] VERSION_0 = {
+            "CREATE TABLE metadata (id INTEGER PRIMARY KEY AUTOINCREMENT, value BLOB)",
+            "CREATE TABLE items (id INTEGER PRIMARY KEY AUTOINCREMENT, type BLOB, name BLOB, value BLOB, key BLOB, UNIQUE (type, name))",
+            "CREATE TABLE tags_encrypted (name BLOB, value BLOB, "
+                    + "item_id INTEGER CONSTRAINT item_id REFERENCES items(id) ON DELETE CASCADE, UNIQUE (name, value))",
+            "CREATE TABLE tags_plaintext (name BLOB, value BLOB, "
+                    + "item_id INTEGER CONSTRAINT item_id REFERENCES items(id) ON DELETE CASCADE, UNIQUE (name, value))"
+    };
+
+    private String path;
+    private ConnectionSource source;
+    private Dao<Metadata, Integer> dao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        path = File.createTempFile("schema", ".db").getAbsolutePath();
+        source = StoreHelper.getSource(path);
+        dao = DaoManager.createDao(source, Metadata.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StoreHelper.closeSource(path);
+        new File(path).delete();
+    }
+
+    @Test
+    void VersionZeroIsMigrated() throws Exception {
+        execute(VERSION_0);
+        execute("INSERT INTO metadata (value) VALUES (x'00')",
+                "INSERT INTO items (type, name) VALUES (x'01', x'01')",
+                "INSERT INTO items (type, name) VALUES (x'01', x'02')",
+                "INSERT INTO tags_encrypted (name, value, item_id) VALUES (x'0a', x'0b', 1)",
+                "INSERT INTO tags_plaintext (name, value, item_id) VALUES ('~age', '28', 1)");
+        assertEquals(0, SchemaMigrator.getVersion(dao));
+
+        SchemaMigrator.migrate(source);
+
+        assertEquals(SchemaMigrator.VERSION, SchemaMigrator.getVersion(dao));
+        assertEquals("1", query("SELECT version FROM metadata WHERE id = 1").get(0));
+        assertEquals(indexes(), query("SELECT name FROM sqlite_master WHERE type = 'index' AND name LIKE 'tags_%' ORDER BY name"));
+        assertEquals("1", query("SELECT count(*) FROM tags_encrypted").get(0));
+        assertEquals("1", query("SELECT count(*) FROM tags_plaintext").get(0));
+
+        // two items can share a tag value now
+        execute("INSERT INTO tags_encrypted (name, value, item_id) VALUES (x'0a', x'0b', 2)");
+        assertEquals("2", query("SELECT count(*) FROM tags_encrypted").get(0));
+    }
+
+    @Test
+    void VersionZeroWithoutMetadataIsMigrated() throws Exception {
+        execute(VERSION_0);
+        assertEquals(0, SchemaMigrator.getVersion(dao));
+
+        SchemaMigrator.migrate(source);
+
+        assertEquals(SchemaMigrator.VERSION, SchemaMigrator.getVersion(dao));
+        assertEquals(indexes(), query("SELECT name FROM sqlite_master WHERE type = 'index' AND name LIKE 'tags_%' ORDER BY name"));
+    }
+
+    @Test
+    void CreatedTablesAreCurrent() throws Exception {
+        StoreHelper.createTables(source);
+        assertEquals(SchemaMigrator.VERSION, SchemaMigrator.getVersion(dao));
+
+        SchemaMigrator.migrate(source);
+        assertEquals(SchemaMigrator.VERSION, SchemaMigrator.getVersion(dao));
+    }
+
+    @Test
+    void FailedMigrationIsThrown() throws Exception {
+        execute(VERSION_0[0]);
+        execute("INSERT INTO metadata (value) VALUES (x'00')");
+
+        assertThrows(SQLException.class, () -> SchemaMigrator.migrate(source));
+        // the migration rolled back, the version column was not added
+        assertEquals(0, SchemaMigrator.getVersion(dao));
+    }
+
+    private List<String> indexes() {
+        List<String> indexes = new ArrayList<>();
+        indexes.add("tags_encrypted_item_id_idx");
+        indexes.add("tags_encrypted_name_value_idx");
+        indexes.add("tags_plaintext_item_id_idx");
+        indexes.add("tags_plaintext_name_value_idx");
+        return indexes;
+    }
+
+    private void execute(String... statements) throws SQLException {
+        for (String statement : statements) {
+            dao.executeRaw(statement);
+        }
+    }
+
+    private List<String> query(String query) throws Exception {
+        List<String> values = new ArrayList<>();
+        try (GenericRawResults<String[]> results = dao.queryRaw(query)) {
+            for (String[] row : results) {
+                values.add(row[0]);
+            }
+        }
+        return values;
+    }
+}
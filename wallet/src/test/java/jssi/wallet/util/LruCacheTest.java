@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2013 The Apache Software Foundation.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package jssi.wallet.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruCacheTest {
+
+    private static LruCache<String, String> cache(long maxWeight) {
+        return new LruCache<>(maxWeight, new LruCache.Weigher<String>() {
+            @Override
+            public int weigh(String value) {
+                return value.length();
+            }
+        });
+    }
+
+    @Test
+    void HitAndMiss() {
+        LruCache<String, String> cache = cache(16);
+        cache.put("a", "1234");
+        assertEquals("1234", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void EvictLeastRecentlyUsed() {
+        LruCache<String, String> cache = cache(8);
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        cache.get("a");
+        cache.put("c", "1234");
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(8, cache.getWeight());
+    }
+
+    @Test
+    void ReplaceAndRemove() {
+        LruCache<String, String> cache = cache(8);
+        cache.put("a", "12");
+        cache.put("a", "1234");
+        assertEquals(4, cache.getWeight());
+        cache.remove("a");
+        assertEquals(0, cache.getWeight());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void SkipOversized() {
+        LruCache<String, String> cache = cache(4);
+        cache.put("a", "12345");
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void DropPutAfterRemove() {
+        LruCache<String, String> cache = cache(8);
+        long stamp = cache.stamp();
+        cache.remove("a");
+        assertFalse(cache.put("a", "old", stamp));
+        assertNull(cache.get("a"));
+
+        stamp = cache.stamp();
+        assertTrue(cache.put("a", "new", stamp));
+        assertEquals("new", cache.get("a"));
+
+        stamp = cache.stamp();
+        cache.clear();
+        assertFalse(cache.put("a", "old", stamp));
+    }
+}